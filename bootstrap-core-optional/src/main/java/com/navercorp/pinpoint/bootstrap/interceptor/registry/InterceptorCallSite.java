@@ -0,0 +1,42 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.bootstrap.interceptor.registry;
+
+import com.navercorp.pinpoint.bootstrap.interceptor.Interceptor;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.ConstantCallSite;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+/**
+ * Bootstrap method of the <tt>invokedynamic</tt> instructions loading interceptors in instrumented methods.
+ * <p>
+ * The interceptor is registered before the instrumented class is defined, so it is bound to a constant call site on first call
+ * and the JIT can inline the interceptor calls instead of reading the {@link InterceptorRegistry} on every invocation.
+ */
+public final class InterceptorCallSite {
+
+    private InterceptorCallSite() {
+    }
+
+    public static CallSite bootstrap(MethodHandles.Lookup lookup, String name, MethodType type, int interceptorId) {
+        final Interceptor interceptor = InterceptorRegistry.getInterceptor(interceptorId);
+        return new ConstantCallSite(MethodHandles.constant(Interceptor.class, interceptor).asType(type));
+    }
+}
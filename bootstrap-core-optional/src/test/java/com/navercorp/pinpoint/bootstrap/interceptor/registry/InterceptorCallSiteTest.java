@@ -0,0 +1,51 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.bootstrap.interceptor.registry;
+
+import com.navercorp.pinpoint.bootstrap.interceptor.Interceptor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+
+public class InterceptorCallSiteTest {
+
+    private static final MethodType GET_INTERCEPTOR_TYPE = MethodType.methodType(Interceptor.class);
+
+    @Test
+    public void constantInterceptor() throws Throwable {
+        final Object lock = new Object();
+        final DefaultInterceptorRegistryAdaptor registryAdaptor = new DefaultInterceptorRegistryAdaptor();
+        final Interceptor interceptor = new Interceptor() {
+        };
+        final int interceptorId = registryAdaptor.addInterceptor(interceptor);
+
+        final CallSite callSite;
+        InterceptorRegistry.bind(registryAdaptor, lock);
+        try {
+            callSite = InterceptorCallSite.bootstrap(MethodHandles.lookup(), "getInterceptor", GET_INTERCEPTOR_TYPE, interceptorId);
+            Assert.assertSame(interceptor, (Interceptor) callSite.dynamicInvoker().invokeExact());
+        } finally {
+            InterceptorRegistry.unbind(lock);
+        }
+        // bound once and for all
+        Assert.assertSame(interceptor, (Interceptor) callSite.dynamicInvoker().invokeExact());
+    }
+}
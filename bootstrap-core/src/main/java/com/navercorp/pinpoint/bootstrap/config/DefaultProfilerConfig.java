@@ -90,6 +90,7 @@ public class DefaultProfilerConfig implements ProfilerConfig {
     private boolean profileEnable = false;
 
     private String profileInstrumentEngine = INSTRUMENT_ENGINE_ASM;
+    private boolean profileInstrumentInvokeDynamic = false;
 
     private int interceptorRegistrySize = 1024*8;
 
@@ -107,6 +108,8 @@ public class DefaultProfilerConfig implements ProfilerConfig {
     private int spanDataSenderSocketTimeout = 1000 * 3;
     private int spanDataSenderChunkSize = 1024 * 16;
     private String spanDataSenderSocketType = "OIO";
+    private boolean spanDataSenderSpanEventCompact = false;
+    private int spanDataSenderCompressThreshold = -1;
 
     private int statDataSenderWriteQueueSize = 1024 * 5;
     private int statDataSenderSocketSendBufferSize = 1024 * 64 * 16;
@@ -123,6 +126,7 @@ public class DefaultProfilerConfig implements ProfilerConfig {
     private boolean traceAgentActiveThread = true;
 
     private int callStackMaxDepth = 512;
+    private boolean callStackMicrosecondTiming = false;
 
     private int jdbcSqlCacheSize = 1024;
     private boolean traceSqlBindValue = false;
@@ -273,6 +277,16 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         return spanDataSenderChunkSize;
     }
 
+    @Override
+    public boolean isSpanDataSenderSpanEventCompact() {
+        return spanDataSenderSpanEventCompact;
+    }
+
+    @Override
+    public int getSpanDataSenderCompressThreshold() {
+        return spanDataSenderCompressThreshold;
+    }
+
     @Override
     public int getStatDataSenderChunkSize() {
         return statDataSenderChunkSize;
@@ -377,6 +391,11 @@ public class DefaultProfilerConfig implements ProfilerConfig {
     public void setCallStackMaxDepth(int callStackMaxDepth) {
         this.callStackMaxDepth = callStackMaxDepth;
     }
+
+    @Override
+    public boolean isCallStackMicrosecondTiming() {
+        return callStackMicrosecondTiming;
+    }
     
     @Override
     public boolean isPropagateInterceptorException() {
@@ -388,6 +407,11 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         return profileInstrumentEngine;
     }
 
+    @Override
+    public boolean isProfileInstrumentInvokeDynamic() {
+        return profileInstrumentInvokeDynamic;
+    }
+
 
     // for test
     void readPropertyValues() {
@@ -396,6 +420,7 @@ public class DefaultProfilerConfig implements ProfilerConfig {
 
         this.profileEnable = readBoolean("profiler.enable", true);
         this.profileInstrumentEngine = readString("profiler.instrument.engine", INSTRUMENT_ENGINE_ASM);
+        this.profileInstrumentInvokeDynamic = readBoolean("profiler.instrument.asm.invokedynamic", false);
 
         this.interceptorRegistrySize = readInt("profiler.interceptorregistry.size", 1024*8);
 
@@ -413,6 +438,8 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         this.spanDataSenderSocketTimeout = readInt("profiler.spandatasender.socket.timeout", 1000 * 3);
         this.spanDataSenderChunkSize = readInt("profiler.spandatasender.chunk.size", 1024 * 16);
         this.spanDataSenderSocketType = readString("profiler.spandatasender.socket.type", "OIO");
+        this.spanDataSenderSpanEventCompact = readBoolean("profiler.spandatasender.spanevent.compact", false);
+        this.spanDataSenderCompressThreshold = readInt("profiler.spandatasender.compress.threshold", -1);
 
         this.statDataSenderWriteQueueSize = readInt("profiler.statdatasender.write.queue.size", 1024 * 5);
         this.statDataSenderSocketSendBufferSize = readInt("profiler.statdatasender.socket.sendbuffersize", 1024 * 64 * 16);
@@ -433,6 +460,7 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         if(this.callStackMaxDepth < 2) {
             this.callStackMaxDepth = 2;
         }
+        this.callStackMicrosecondTiming = readBoolean("profiler.callstack.microsecond.timing", false);
         
         // JDBC
         this.jdbcSqlCacheSize = readInt("profiler.jdbc.sqlcachesize", 1024);
@@ -588,6 +616,8 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         builder.append(propertyPlaceholderHelper);
         builder.append(", profileEnable=");
         builder.append(profileEnable);
+        builder.append(", profileInstrumentInvokeDynamic=");
+        builder.append(profileInstrumentInvokeDynamic);
         builder.append(", collectorSpanServerIp=");
         builder.append(collectorSpanServerIp);
         builder.append(", collectorSpanServerPort=");
@@ -610,6 +640,10 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         builder.append(spanDataSenderChunkSize);
         builder.append(", spanDataSenderSocketType=");
         builder.append(spanDataSenderSocketType);
+        builder.append(", spanDataSenderSpanEventCompact=");
+        builder.append(spanDataSenderSpanEventCompact);
+        builder.append(", spanDataSenderCompressThreshold=");
+        builder.append(spanDataSenderCompressThreshold);
         builder.append(", statDataSenderWriteQueueSize=");
         builder.append(statDataSenderWriteQueueSize);
         builder.append(", statDataSenderSocketSendBufferSize=");
@@ -634,6 +668,8 @@ public class DefaultProfilerConfig implements ProfilerConfig {
         builder.append(traceAgentActiveThread);
         builder.append(", callStackMaxDepth=");
         builder.append(callStackMaxDepth);
+        builder.append(", callStackMicrosecondTiming=");
+        builder.append(callStackMicrosecondTiming);
         builder.append(", jdbcSqlCacheSize=");
         builder.append(jdbcSqlCacheSize);
         builder.append(", traceSqlBindValue=");
@@ -68,6 +68,10 @@ public interface ProfilerConfig {
 
     int getSpanDataSenderChunkSize();
 
+    boolean isSpanDataSenderSpanEventCompact();
+
+    int getSpanDataSenderCompressThreshold();
+
     int getStatDataSenderChunkSize();
 
     boolean isProfileEnable();
@@ -105,10 +109,14 @@ public interface ProfilerConfig {
 
     int getCallStackMaxDepth();
 
+    boolean isCallStackMicrosecondTiming();
+
     boolean isPropagateInterceptorException();
 
     String getProfileInstrumentEngine();
 
+    boolean isProfileInstrumentInvokeDynamic();
+
     String readString(String propertyName, String defaultValue);
 
     int readInt(String propertyName, int defaultValue);
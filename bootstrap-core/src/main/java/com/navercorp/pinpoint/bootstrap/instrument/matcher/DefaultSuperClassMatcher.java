@@ -0,0 +1,57 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.bootstrap.instrument.matcher;
+
+public class DefaultSuperClassMatcher implements SuperClassMatcher {
+    private final String superClassName;
+
+    DefaultSuperClassMatcher(String superClassName) {
+        if (superClassName == null) {
+            throw new NullPointerException("superClassName must not be null");
+        }
+        this.superClassName = superClassName;
+    }
+
+    @Override
+    public String getSuperClassName() {
+        return superClassName;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        DefaultSuperClassMatcher that = (DefaultSuperClassMatcher) o;
+
+        return superClassName.equals(that.superClassName);
+
+    }
+
+    @Override
+    public int hashCode() {
+        return superClassName.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("DefaultSuperClassMatcher{");
+        sb.append(superClassName);
+        sb.append('}');
+        return sb.toString();
+    }
+}
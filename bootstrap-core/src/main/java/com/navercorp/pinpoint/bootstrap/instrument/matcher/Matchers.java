@@ -46,4 +46,22 @@ public final class Matchers {
         return new DefaultMultiClassNameMatcher(Arrays.asList(classNameList));
     }
 
+    /**
+     * @param superClassName class name of the super class, subclasses of subclasses are matched as well
+     */
+    public static Matcher newSuperClassMatcher(String superClassName) {
+        return new DefaultSuperClassMatcher(superClassName);
+    }
+
+    /**
+     * @param interfaceName class name of the interface, implementations of sub interfaces are matched as well
+     */
+    public static Matcher newInterfaceMatcher(String interfaceName) {
+        return new DefaultInterfaceMatcher(interfaceName);
+    }
+
+    public static Matcher newAnnotationMatcher(String annotationName) {
+        return new DefaultAnnotationMatcher(annotationName);
+    }
+
 }
@@ -16,6 +16,8 @@
 
 package com.navercorp.pinpoint.bootstrap.instrument.transformer;
 
+import com.navercorp.pinpoint.bootstrap.instrument.matcher.Matcher;
+
 /**
  * @author Woonduk Kang(emeroad)
  */
@@ -24,7 +26,7 @@ public interface TransformOperations {
 
     void transform(String className, TransformCallback transformCallback);
 
-//    void transform(Matcher className, TransformCallback transformCallback);
+    void transform(Matcher matcher, TransformCallback transformCallback);
 
 
 }
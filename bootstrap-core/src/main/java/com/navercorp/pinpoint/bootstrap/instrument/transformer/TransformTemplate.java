@@ -17,6 +17,7 @@
 package com.navercorp.pinpoint.bootstrap.instrument.transformer;
 
 import com.navercorp.pinpoint.bootstrap.instrument.InstrumentContext;
+import com.navercorp.pinpoint.bootstrap.instrument.matcher.Matcher;
 
 /**
  * @author emeroad
@@ -43,4 +44,15 @@ public class TransformTemplate implements TransformOperations {
         this.instrumentContext.addClassFileTransformer(className, transformCallback);
     }
 
+    @Override
+    public void transform(Matcher matcher, TransformCallback transformCallback) {
+        if (matcher == null) {
+            throw new NullPointerException("matcher must not be null");
+        }
+        if (transformCallback == null) {
+            throw new NullPointerException("transformCallback must not be null");
+        }
+        this.instrumentContext.addClassFileTransformer(matcher, transformCallback);
+    }
+
 }
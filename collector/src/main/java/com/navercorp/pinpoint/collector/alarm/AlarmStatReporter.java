@@ -0,0 +1,298 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.alarm;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.apache.commons.collections.CollectionUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.navercorp.pinpoint.collector.util.CollectorUtils;
+import com.navercorp.pinpoint.common.server.bo.alarm.AgentAlarmStatBo;
+import com.navercorp.pinpoint.common.server.bo.alarm.AlarmStatReportBo;
+import com.navercorp.pinpoint.common.server.bo.alarm.ApplicationAlarmStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
+import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
+import com.navercorp.pinpoint.common.trace.HistogramSlot;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.common.trace.SlotType;
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+
+/**
+ * Keeps the statistics the alarm checkers need as they are received by the collector, and reports them to the web running the alarm batch.
+ * <p>
+ * Every application keeps {@link SlidingWindow}s of its response counts and of the heap/cpu usage of each of its agents.
+ * Every <tt>reportInterval</tt> the sums of all windows are sent as a single {@link AlarmStatReportBo} through the {@link AlarmStatSender}.
+ * Each collector only sees the data sent to itself, the web adds up the latest report of every collector so that the alarm batch
+ * (<tt>batch.alarm.stream.enable</tt>) evaluates SLOW/ERROR/TOTAL COUNT, SLOW/ERROR RATE and HEAP/JVM CPU USAGE RATE rules
+ * on the data of all collectors without reading it back from hbase, and delivers them through its <tt>AlarmMessageSender</tt>.
+ * <p>
+ * The application of an agent is resolved through the {@link com.navercorp.pinpoint.collector.util.AgentApplicationNameCache},
+ * stats of agents that can not be resolved yet are not reported.
+ */
+@Component
+public class AlarmStatReporter {
+
+    static final int RESPONSE_TOTAL = 0;
+    static final int RESPONSE_SLOW = 1;
+    static final int RESPONSE_ERROR = 2;
+    private static final int RESPONSE_FIELD_COUNT = 3;
+
+    static final int AGENT_HEAP_USED = 0;
+    static final int AGENT_HEAP_MAX = 1;
+    static final int AGENT_JVM_CPU = 2;
+    static final int AGENT_JVM_CPU_COUNT = 3;
+    private static final int AGENT_FIELD_COUNT = 4;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Value("#{pinpoint_collector_properties['collector.alarm.stream.enable'] ?: false}")
+    private boolean enable;
+
+    @Value("#{pinpoint_collector_properties['collector.alarm.stream.windowSize'] ?: 300000}")
+    private long windowSize;
+
+    @Value("#{pinpoint_collector_properties['collector.alarm.stream.bucketSize'] ?: 10000}")
+    private long bucketSize;
+
+    @Value("#{pinpoint_collector_properties['collector.alarm.stream.reportInterval'] ?: 10000}")
+    private long reportInterval;
+
+    @Autowired
+    private AlarmStatSender alarmStatSender;
+
+    private final String collectorId = CollectorUtils.getServerIdentifier();
+
+    private final ConcurrentMap<String, ApplicationWindow> applicationWindowMap = new ConcurrentHashMap<>();
+
+    // only accessed by the reporting thread
+    private boolean reportFailed;
+
+    private ScheduledExecutorService executor;
+
+    public AlarmStatReporter() {
+    }
+
+    AlarmStatReporter(AlarmStatSender alarmStatSender, long windowSize, long bucketSize) {
+        this.enable = true;
+        this.alarmStatSender = alarmStatSender;
+        this.windowSize = windowSize;
+        this.bucketSize = bucketSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        logger.info("AlarmStatReporter enable:{}, windowSize:{}ms, bucketSize:{}ms, reportInterval:{}ms", enable, windowSize, bucketSize, reportInterval);
+        if (!enable) {
+            return;
+        }
+        this.executor = Executors.newSingleThreadScheduledExecutor(PinpointThreadFactory.createThreadFactory(this.getClass().getSimpleName(), true));
+        this.executor.scheduleWithFixedDelay(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    report(System.currentTimeMillis());
+                } catch (Throwable th) {
+                    logger.error("alarm stat report failed. Caused:{}", th.getMessage(), th);
+                }
+            }
+        }, reportInterval, reportInterval, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (executor == null) {
+            return;
+        }
+        executor.shutdown();
+        try {
+            executor.awaitTermination(3000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    public void recordResponseTime(String applicationName, ServiceType serviceType, int elapsed, boolean isError) {
+        if (!enable) {
+            return;
+        }
+        recordResponseTime(applicationName, serviceType, elapsed, isError, System.currentTimeMillis());
+    }
+
+    void recordResponseTime(String applicationName, ServiceType serviceType, int elapsed, boolean isError, long timestamp) {
+        final SlidingWindow window = getApplicationWindow(applicationName).responseWindow;
+        window.add(timestamp, RESPONSE_TOTAL, 1);
+        if (isError) {
+            window.add(timestamp, RESPONSE_ERROR, 1);
+            return;
+        }
+        final HistogramSlot slot = serviceType.getHistogramSchema().findHistogramSlot(elapsed, false);
+        final SlotType slotType = slot.getSlotType();
+        if (slotType == SlotType.SLOW || slotType == SlotType.VERY_SLOW) {
+            window.add(timestamp, RESPONSE_SLOW, 1);
+        }
+    }
+
+    public void recordAgentStat(String applicationName, AgentStatBo agentStatBo) {
+        if (!enable) {
+            return;
+        }
+        final ApplicationWindow applicationWindow = getApplicationWindow(applicationName);
+        final SlidingWindow window = applicationWindow.getAgentWindow(agentStatBo.getAgentId());
+        if (CollectionUtils.isNotEmpty(agentStatBo.getJvmGcBos())) {
+            for (JvmGcBo jvmGcBo : agentStatBo.getJvmGcBos()) {
+                if (jvmGcBo.getHeapUsed() == JvmGcBo.UNCOLLECTED_VALUE || jvmGcBo.getHeapMax() == JvmGcBo.UNCOLLECTED_VALUE) {
+                    continue;
+                }
+                window.add(jvmGcBo.getTimestamp(), AGENT_HEAP_USED, jvmGcBo.getHeapUsed());
+                window.add(jvmGcBo.getTimestamp(), AGENT_HEAP_MAX, jvmGcBo.getHeapMax());
+            }
+        }
+        if (CollectionUtils.isNotEmpty(agentStatBo.getCpuLoadBos())) {
+            for (CpuLoadBo cpuLoadBo : agentStatBo.getCpuLoadBos()) {
+                if (cpuLoadBo.getJvmCpuLoad() == CpuLoadBo.UNCOLLECTED_VALUE) {
+                    continue;
+                }
+                window.add(cpuLoadBo.getTimestamp(), AGENT_JVM_CPU, (long) (cpuLoadBo.getJvmCpuLoad() * 100));
+                window.add(cpuLoadBo.getTimestamp(), AGENT_JVM_CPU_COUNT, 1);
+            }
+        }
+    }
+
+    private ApplicationWindow getApplicationWindow(String applicationName) {
+        final ApplicationWindow applicationWindow = applicationWindowMap.get(applicationName);
+        if (applicationWindow != null) {
+            return applicationWindow;
+        }
+        final ApplicationWindow newApplicationWindow = new ApplicationWindow(applicationName);
+        final ApplicationWindow existing = applicationWindowMap.putIfAbsent(applicationName, newApplicationWindow);
+        return existing != null ? existing : newApplicationWindow;
+    }
+
+    void report(long now) {
+        final AlarmStatReportBo report = createReport(now);
+        try {
+            alarmStatSender.send(report);
+            if (reportFailed) {
+                logger.info("alarm stat report recovered. {}", report);
+                reportFailed = false;
+            }
+        } catch (Exception e) {
+            // the next report holds the whole window again, nothing is lost but the latency
+            if (!reportFailed) {
+                logger.warn("alarm stat report failed. Caused:{}", e.getMessage(), e);
+                reportFailed = true;
+            }
+        }
+    }
+
+    AlarmStatReportBo createReport(long now) {
+        final List<ApplicationAlarmStatBo> applicationStats = new ArrayList<>(applicationWindowMap.size());
+        final Iterator<ApplicationWindow> iterator = applicationWindowMap.values().iterator();
+        while (iterator.hasNext()) {
+            final ApplicationWindow applicationWindow = iterator.next();
+            if (applicationWindow.isExpired(now)) {
+                // nothing received for a whole window
+                iterator.remove();
+                continue;
+            }
+            applicationStats.add(applicationWindow.createApplicationAlarmStat(now));
+        }
+
+        final AlarmStatReportBo report = new AlarmStatReportBo();
+        report.setCollectorId(collectorId);
+        report.setReportTime(now);
+        report.setWindowSize(windowSize);
+        report.setApplicationStats(applicationStats);
+        return report;
+    }
+
+    private class ApplicationWindow {
+
+        private final String applicationName;
+        private final SlidingWindow responseWindow;
+        private final ConcurrentMap<String, SlidingWindow> agentWindowMap = new ConcurrentHashMap<>();
+
+        private ApplicationWindow(String applicationName) {
+            this.applicationName = applicationName;
+            this.responseWindow = new SlidingWindow(windowSize, bucketSize, RESPONSE_FIELD_COUNT);
+        }
+
+        private SlidingWindow getAgentWindow(String agentId) {
+            final SlidingWindow agentWindow = agentWindowMap.get(agentId);
+            if (agentWindow != null) {
+                return agentWindow;
+            }
+            final SlidingWindow newAgentWindow = new SlidingWindow(windowSize, bucketSize, AGENT_FIELD_COUNT);
+            final SlidingWindow existing = agentWindowMap.putIfAbsent(agentId, newAgentWindow);
+            return existing != null ? existing : newAgentWindow;
+        }
+
+        private ApplicationAlarmStatBo createApplicationAlarmStat(long now) {
+            final long[] responseSum = responseWindow.sum(now);
+            final ApplicationAlarmStatBo applicationStat = new ApplicationAlarmStatBo();
+            applicationStat.setApplicationName(applicationName);
+            applicationStat.setTotalCount(responseSum[RESPONSE_TOTAL]);
+            applicationStat.setSlowCount(responseSum[RESPONSE_SLOW]);
+            applicationStat.setErrorCount(responseSum[RESPONSE_ERROR]);
+
+            final List<AgentAlarmStatBo> agentStats = new ArrayList<>(agentWindowMap.size());
+            for (Map.Entry<String, SlidingWindow> entry : agentWindowMap.entrySet()) {
+                final long[] agentSum = entry.getValue().sum(now);
+                final AgentAlarmStatBo agentStat = new AgentAlarmStatBo();
+                agentStat.setAgentId(entry.getKey());
+                agentStat.setHeapUsed(agentSum[AGENT_HEAP_USED]);
+                agentStat.setHeapMax(agentSum[AGENT_HEAP_MAX]);
+                agentStat.setJvmCpuLoad(agentSum[AGENT_JVM_CPU]);
+                agentStat.setJvmCpuLoadCount(agentSum[AGENT_JVM_CPU_COUNT]);
+                agentStats.add(agentStat);
+            }
+            applicationStat.setAgentStats(agentStats);
+            return applicationStat;
+        }
+
+        private boolean isExpired(long now) {
+            final Iterator<SlidingWindow> iterator = agentWindowMap.values().iterator();
+            while (iterator.hasNext()) {
+                if (iterator.next().isExpired(now)) {
+                    iterator.remove();
+                }
+            }
+            return responseWindow.isExpired(now) && agentWindowMap.isEmpty();
+        }
+    }
+}
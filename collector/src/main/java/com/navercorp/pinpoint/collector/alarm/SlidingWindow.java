@@ -0,0 +1,104 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.alarm;
+
+import java.util.Arrays;
+
+/**
+ * Counters summed over a sliding time window, kept as a ring of fixed size buckets.
+ * Adding a value only touches the bucket of its timestamp and buckets are recycled as time goes by,
+ * so the sum of the window is available at any time without keeping or rescanning the raw values.
+ */
+public class SlidingWindow {
+
+    private static final long EMPTY_BUCKET = -1;
+
+    private final long windowSize;
+    private final long bucketSize;
+    private final int fieldCount;
+
+    private final long[] bucketTimes;
+    private final long[][] buckets;
+
+    private long lastUpdateTime;
+
+    public SlidingWindow(long windowSize, long bucketSize, int fieldCount) {
+        if (bucketSize <= 0) {
+            throw new IllegalArgumentException("bucketSize must be greater than 0");
+        }
+        if (windowSize < bucketSize) {
+            throw new IllegalArgumentException("windowSize must not be smaller than bucketSize");
+        }
+        if (fieldCount <= 0) {
+            throw new IllegalArgumentException("fieldCount must be greater than 0");
+        }
+        this.windowSize = windowSize;
+        this.bucketSize = bucketSize;
+        this.fieldCount = fieldCount;
+
+        // one extra bucket holds the partially expired bucket at the start of the window
+        final int bucketCount = (int) ((windowSize + bucketSize - 1) / bucketSize) + 1;
+        this.bucketTimes = new long[bucketCount];
+        Arrays.fill(this.bucketTimes, EMPTY_BUCKET);
+        this.buckets = new long[bucketCount][fieldCount];
+    }
+
+    public synchronized void add(long timestamp, int field, long value) {
+        if (field < 0 || field >= fieldCount) {
+            throw new IllegalArgumentException("invalid field:" + field);
+        }
+        final long bucketTime = timestamp - (timestamp % bucketSize);
+        final int index = (int) ((bucketTime / bucketSize) % bucketTimes.length);
+        if (bucketTimes[index] != bucketTime) {
+            if (bucketTime < bucketTimes[index]) {
+                // older than the window, the bucket has already been recycled
+                return;
+            }
+            bucketTimes[index] = bucketTime;
+            Arrays.fill(buckets[index], 0);
+        }
+        buckets[index][field] += value;
+        lastUpdateTime = Math.max(lastUpdateTime, timestamp);
+    }
+
+    /**
+     * @return the sum of every field over the buckets overlapping <tt>(now - windowSize, now]</tt>, indexed by field
+     */
+    public synchronized long[] sum(long now) {
+        final long from = now - windowSize;
+        final long[] sum = new long[fieldCount];
+        for (int i = 0; i < bucketTimes.length; i++) {
+            final long bucketTime = bucketTimes[i];
+            if (bucketTime == EMPTY_BUCKET || bucketTime + bucketSize <= from || bucketTime > now) {
+                continue;
+            }
+            final long[] bucket = buckets[i];
+            for (int field = 0; field < fieldCount; field++) {
+                sum[field] += bucket[field];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * @return true if no value has been added within the window ending at <tt>now</tt>
+     */
+    public synchronized boolean isExpired(long now) {
+        return lastUpdateTime + bucketSize <= now - windowSize;
+    }
+}
@@ -0,0 +1,92 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.alarm;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+
+import org.apache.commons.lang3.StringUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.navercorp.pinpoint.common.server.bo.alarm.AlarmStatReportBo;
+
+/**
+ * Posts reports to the alarm stat api of the web (<tt>alarmStat.pinpoint</tt>).
+ * The address must be the web running the alarm batch (<tt>batch.server.ip</tt>), the reports are kept in its memory.
+ */
+@Component
+public class WebAlarmStatSender implements AlarmStatSender {
+
+    private static final String ALARM_STAT_PATH = "/alarmStat.pinpoint";
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Value("#{pinpoint_collector_properties['collector.alarm.stream.web.address'] ?: ''}")
+    private String webAddress;
+
+    @Value("#{pinpoint_collector_properties['collector.alarm.stream.web.timeout'] ?: 3000}")
+    private int timeout;
+
+    public WebAlarmStatSender() {
+    }
+
+    WebAlarmStatSender(String webAddress, int timeout) {
+        this.webAddress = webAddress;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void send(AlarmStatReportBo report) {
+        if (report == null) {
+            throw new NullPointerException("report must not be null");
+        }
+        if (StringUtils.isEmpty(webAddress)) {
+            throw new IllegalStateException("collector.alarm.stream.web.address is not set");
+        }
+
+        HttpURLConnection connection = null;
+        try {
+            final URL url = new URL(StringUtils.removeEnd(webAddress, "/") + ALARM_STAT_PATH);
+            final byte[] body = objectMapper.writeValueAsBytes(report);
+            connection = (HttpURLConnection) url.openConnection();
+            connection.setConnectTimeout(timeout);
+            connection.setReadTimeout(timeout);
+            connection.setRequestMethod("POST");
+            connection.setDoOutput(true);
+            connection.setFixedLengthStreamingMode(body.length);
+            connection.setRequestProperty("Content-Type", "application/json");
+            try (OutputStream outputStream = connection.getOutputStream()) {
+                outputStream.write(body);
+            }
+
+            final int responseCode = connection.getResponseCode();
+            if (responseCode != HttpURLConnection.HTTP_OK) {
+                throw new IllegalStateException("unexpected response code:" + responseCode + " url:" + url);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("alarm stat report failed. caused:" + e.getMessage(), e);
+        } finally {
+            if (connection != null) {
+                connection.disconnect();
+            }
+        }
+    }
+}
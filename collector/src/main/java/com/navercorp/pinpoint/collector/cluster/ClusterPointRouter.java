@@ -18,10 +18,12 @@ package com.navercorp.pinpoint.collector.cluster;
 
 import com.navercorp.pinpoint.collector.cluster.route.DefaultRouteHandler;
 import com.navercorp.pinpoint.collector.cluster.route.RequestEvent;
+import com.navercorp.pinpoint.collector.cluster.route.RouteResponseListener;
 import com.navercorp.pinpoint.collector.cluster.route.StreamEvent;
 import com.navercorp.pinpoint.collector.cluster.route.StreamRouteHandler;
-import com.navercorp.pinpoint.rpc.MessageListener;
+import com.navercorp.pinpoint.rpc.BatchMessageListener;
 import com.navercorp.pinpoint.rpc.PinpointSocket;
+import com.navercorp.pinpoint.rpc.packet.BatchRequestPacket;
 import com.navercorp.pinpoint.rpc.packet.RequestPacket;
 import com.navercorp.pinpoint.rpc.packet.SendPacket;
 import com.navercorp.pinpoint.rpc.packet.stream.StreamClosePacket;
@@ -49,7 +51,7 @@ import javax.annotation.PreDestroy;
  * @author koo.taejin
  * @author HyunGil Jeong
  */
-public class ClusterPointRouter implements MessageListener, ServerStreamChannelMessageListener {
+public class ClusterPointRouter implements BatchMessageListener, ServerStreamChannelMessageListener {
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
@@ -103,6 +105,40 @@ public class ClusterPointRouter implements MessageListener, ServerStreamChannelM
         }
     }
 
+    /**
+     * Routes every request of the batch without waiting for the previous ones to complete.
+     * Each request is answered separately as soon as its target agent responds,
+     * a request that fails to be routed is answered with a failed result without affecting the others.
+     */
+    @Override
+    public void handleBatchRequest(BatchRequestPacket batchRequestPacket, PinpointSocket pinpointSocket) {
+        logger.info("handleBatchRequest packet:{}, remote:{}", batchRequestPacket, pinpointSocket.getRemoteAddress());
+
+        for (RequestPacket requestPacket : batchRequestPacket.getRequestPackets()) {
+            try {
+                handleBatchedRequest(requestPacket, pinpointSocket);
+            } catch (Exception e) {
+                logger.warn("handleBatchRequest failed. requestId:{}, remote:{} Caused:{}", requestPacket.getRequestId(), pinpointSocket.getRemoteAddress(), e.getMessage(), e);
+                try {
+                    handleRouteRequestFail("Route failed.", requestPacket, pinpointSocket);
+                } catch (Exception responseException) {
+                    logger.warn("response failed. requestId:{}, remote:{} Caused:{}", requestPacket.getRequestId(), pinpointSocket.getRemoteAddress(), responseException.getMessage(), responseException);
+                }
+            }
+        }
+    }
+
+    private void handleBatchedRequest(RequestPacket requestPacket, PinpointSocket pinpointSocket) {
+        TBase<?, ?> request = deserialize(requestPacket.getPayload());
+        if (request == null) {
+            handleRouteRequestFail("Protocol decoding failed.", requestPacket, pinpointSocket);
+        } else if (request instanceof TCommandTransfer) {
+            handleAsyncRouteRequest((TCommandTransfer) request, requestPacket, pinpointSocket);
+        } else {
+            handleRouteRequestFail("Unknown error.", requestPacket, pinpointSocket);
+        }
+    }
+
     @Override
     public StreamCode handleStreamCreate(ServerStreamChannelContext streamChannelContext, StreamCreatePacket packet) {
         logger.info("handleStreamCreate packet:{}, streamChannel:{}", packet, streamChannelContext);
@@ -134,6 +170,18 @@ public class ClusterPointRouter implements MessageListener, ServerStreamChannelM
         return response.getRouteResult() == TRouteResult.OK;
     }
 
+    private void handleAsyncRouteRequest(TCommandTransfer request, final RequestPacket requestPacket, final PinpointSocket pinpointSocket) {
+        TBase<?,?> command = deserialize(request.getPayload());
+
+        RequestEvent event = new RequestEvent(request, pinpointSocket.getRemoteAddress(), requestPacket.getRequestId(), command);
+        routeHandler.onRoute(event, new RouteResponseListener() {
+            @Override
+            public void onResponse(TCommandTransferResponse response) {
+                pinpointSocket.response(requestPacket, serialize(response));
+            }
+        });
+    }
+
     private void handleRouteRequestFail(String message, RequestPacket requestPacket, PinpointSocket pinpointSocket) {
         TResult tResult = new TResult(false);
         tResult.setMessage(message);
@@ -17,11 +17,13 @@
 
 package com.navercorp.pinpoint.collector.cluster.connection;
 
+import com.navercorp.pinpoint.rpc.BatchMessageListener;
 import com.navercorp.pinpoint.rpc.MessageListener;
 import com.navercorp.pinpoint.rpc.PinpointSocket;
 import com.navercorp.pinpoint.rpc.cluster.ClusterOption;
 import com.navercorp.pinpoint.rpc.cluster.Role;
 import com.navercorp.pinpoint.rpc.common.SocketStateCode;
+import com.navercorp.pinpoint.rpc.packet.BatchRequestPacket;
 import com.navercorp.pinpoint.rpc.packet.HandshakeResponseCode;
 import com.navercorp.pinpoint.rpc.packet.PingPacket;
 import com.navercorp.pinpoint.rpc.packet.RequestPacket;
@@ -36,6 +38,7 @@ import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
 import java.net.SocketAddress;
+import java.util.Arrays;
 import java.util.Map;
 
 /**
@@ -62,7 +65,7 @@ public class CollectorClusterAcceptor implements CollectorClusterConnectionProvi
     public void start() {
         logger.info("{} initialization started.", ClassUtils.simpleClassName(this));
 
-        ClusterOption clusterOption = new ClusterOption(true, option.getClusterId(), Role.ROUTER);
+        ClusterOption clusterOption = new ClusterOption(true, option.getClusterId(), Arrays.asList(Role.ROUTER, Role.BATCH_ROUTER));
 
         PinpointServerAcceptor serverAcceptor = new PinpointServerAcceptor(clusterOption);
         serverAcceptor.setMessageListener(new ClusterServerMessageListener(option.getClusterId(), option.getRouteMessageHandler()));
@@ -86,7 +89,7 @@ public class CollectorClusterAcceptor implements CollectorClusterConnectionProvi
         logger.info("{} destroying completed.", ClassUtils.simpleClassName(this));
     }
 
-    class ClusterServerMessageListener implements ServerMessageListener {
+    class ClusterServerMessageListener implements ServerMessageListener, BatchMessageListener {
 
         private final String clusterId;
         private final MessageListener routeMessageListener;
@@ -109,6 +112,19 @@ public class CollectorClusterAcceptor implements CollectorClusterConnectionProvi
             routeMessageListener.handleRequest(requestPacket, pinpointSocket);
         }
 
+        @Override
+        public void handleBatchRequest(BatchRequestPacket batchRequestPacket, PinpointSocket pinpointSocket) {
+            logger.info("handleBatchRequest packet:{}, remote:{}", batchRequestPacket, pinpointSocket.getRemoteAddress());
+
+            if (routeMessageListener instanceof BatchMessageListener) {
+                ((BatchMessageListener) routeMessageListener).handleBatchRequest(batchRequestPacket, pinpointSocket);
+                return;
+            }
+            for (RequestPacket requestPacket : batchRequestPacket.getRequestPackets()) {
+                routeMessageListener.handleRequest(requestPacket, pinpointSocket);
+            }
+        }
+
         @Override
         public HandshakeResponseCode handleHandshake(Map properties) {
             logger.info("handle handShake {}", properties);
@@ -27,6 +27,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.InetSocketAddress;
+import java.util.Arrays;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -47,7 +48,7 @@ public class CollectorClusterConnector implements CollectorClusterConnectionProv
     public void start() {
         logger.info("{} initialization started.", ClassUtils.simpleClassName(this));
 
-        ClusterOption clusterOption = new ClusterOption(true, option.getClusterId(), Role.ROUTER);
+        ClusterOption clusterOption = new ClusterOption(true, option.getClusterId(), Arrays.asList(Role.ROUTER, Role.BATCH_ROUTER));
 
         this.clientFactory = new PinpointClientFactory();
 
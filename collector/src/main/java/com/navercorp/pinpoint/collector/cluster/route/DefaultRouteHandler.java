@@ -20,10 +20,13 @@ import com.navercorp.pinpoint.collector.cluster.ClusterPointLocator;
 import com.navercorp.pinpoint.collector.cluster.TargetClusterPoint;
 import com.navercorp.pinpoint.collector.cluster.route.filter.RouteFilter;
 import com.navercorp.pinpoint.rpc.Future;
+import com.navercorp.pinpoint.rpc.FutureListener;
 import com.navercorp.pinpoint.rpc.ResponseMessage;
 import com.navercorp.pinpoint.thrift.dto.command.TCommandTransferResponse;
 import com.navercorp.pinpoint.thrift.dto.command.TRouteResult;
 import org.apache.thrift.TBase;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 /**
  * @author koo.taejin
@@ -31,6 +34,8 @@ import org.apache.thrift.TBase;
  */
 public class DefaultRouteHandler extends AbstractRouteHandler<RequestEvent> {
 
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
     private final RouteFilterChain<RequestEvent> requestFilterChain;
     private final RouteFilterChain<ResponseEvent> responseFilterChain;
 
@@ -64,19 +69,62 @@ public class DefaultRouteHandler extends AbstractRouteHandler<RequestEvent> {
         return routeResult;
     }
 
-    private TCommandTransferResponse onRoute0(RequestEvent event) {
+    /**
+     * Routes the request without waiting for the target to respond, so that several requests can be in flight at the same time.
+     * The listener is notified from the thread completing the request.
+     */
+    public void onRoute(final RequestEvent event, final RouteResponseListener listener) {
+        requestFilterChain.doEvent(event);
+
+        final TargetClusterPoint clusterPoint = findClusterPoint(event.getDeliveryCommand());
+        final TRouteResult routeResult = checkRoute(event, clusterPoint);
+        if (routeResult != TRouteResult.OK) {
+            onRouteComplete(event, createResponse(routeResult), listener);
+            return;
+        }
+
+        final Future<ResponseMessage> future = clusterPoint.request(event.getDeliveryCommand().getPayload());
+        future.setListener(new FutureListener<ResponseMessage>() {
+            @Override
+            public void onComplete(Future<ResponseMessage> future) {
+                if (future.isSuccess()) {
+                    onRouteComplete(event, createResponse(future.getResult()), listener);
+                } else {
+                    onRouteComplete(event, createResponse(TRouteResult.TIMEOUT), listener);
+                }
+            }
+        });
+    }
+
+    private void onRouteComplete(RequestEvent event, TCommandTransferResponse response, RouteResponseListener listener) {
+        try {
+            responseFilterChain.doEvent(new ResponseEvent(event, event.getRequestId(), response));
+        } catch (Exception e) {
+            // the requester is answered even if a filter fails
+            logger.warn("response filter failed. event:{} Caused:{}", event, e.getMessage(), e);
+        }
+        listener.onResponse(response);
+    }
+
+    private TRouteResult checkRoute(RequestEvent event, TargetClusterPoint clusterPoint) {
         TBase<?,?> requestObject = event.getRequestObject();
         if (requestObject == null) {
-            return createResponse(TRouteResult.EMPTY_REQUEST);
+            return TRouteResult.EMPTY_REQUEST;
         }
-
-        TargetClusterPoint clusterPoint = findClusterPoint(event.getDeliveryCommand());
         if (clusterPoint == null) {
-            return createResponse(TRouteResult.NOT_FOUND);
+            return TRouteResult.NOT_FOUND;
         }
-
         if (!clusterPoint.isSupportCommand(requestObject)) {
-            return createResponse(TRouteResult.NOT_SUPPORTED_REQUEST);
+            return TRouteResult.NOT_SUPPORTED_REQUEST;
+        }
+        return TRouteResult.OK;
+    }
+
+    private TCommandTransferResponse onRoute0(RequestEvent event) {
+        TargetClusterPoint clusterPoint = findClusterPoint(event.getDeliveryCommand());
+        TRouteResult routeResult = checkRoute(event, clusterPoint);
+        if (routeResult != TRouteResult.OK) {
+            return createResponse(routeResult);
         }
 
         Future<ResponseMessage> future = clusterPoint.request(event.getDeliveryCommand().getPayload());
@@ -85,7 +133,10 @@ public class DefaultRouteHandler extends AbstractRouteHandler<RequestEvent> {
             return createResponse(TRouteResult.TIMEOUT);
         }
 
-        ResponseMessage responseMessage = future.getResult();
+        return createResponse(future.getResult());
+    }
+
+    private TCommandTransferResponse createResponse(ResponseMessage responseMessage) {
         if (responseMessage == null) {
             return createResponse(TRouteResult.EMPTY_RESPONSE);
         }
@@ -31,16 +31,27 @@ import com.navercorp.pinpoint.rpc.stream.ServerStreamChannel;
 import com.navercorp.pinpoint.rpc.stream.ServerStreamChannelContext;
 import com.navercorp.pinpoint.rpc.stream.StreamChannelStateChangeEventHandler;
 import com.navercorp.pinpoint.rpc.stream.StreamChannelStateCode;
+import com.navercorp.pinpoint.thrift.dto.command.TCmdActiveThreadCount;
 import com.navercorp.pinpoint.thrift.dto.command.TCommandTransferResponse;
 import com.navercorp.pinpoint.thrift.dto.command.TRouteResult;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
 import com.navercorp.pinpoint.thrift.io.SerializerFactory;
 import com.navercorp.pinpoint.thrift.util.SerializationUtils;
 import org.apache.thrift.TBase;
+import org.jboss.netty.channel.ChannelFuture;
+import org.jboss.netty.channel.ChannelFutureListener;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
 /**
  * @author koo.taejin
  */
@@ -54,6 +65,9 @@ public class StreamRouteHandler extends AbstractRouteHandler<StreamEvent> {
     private final RouteFilterChain<ResponseEvent> responseFilterChain;
     private final RouteFilterChain<StreamRouteCloseEvent> streamCloseFilterChain;
 
+    // streams of requests without parameters (active thread count) are opened once per agent and shared by every consumer
+    private final ConcurrentMap<SharedStreamKey, SharedStreamRouteManager> sharedStreamRouteManagers = new ConcurrentHashMap<>();
+
     @Autowired
     private SerializerFactory<HeaderTBaseSerializer> commandSerializerFactory;
 
@@ -105,6 +119,10 @@ public class StreamRouteHandler extends AbstractRouteHandler<StreamEvent> {
             return createResponse(TRouteResult.NOT_SUPPORTED_REQUEST);
         }
 
+        if (clusterPoint instanceof PinpointServerClusterPoint && isShareable(requestObject)) {
+            return onSharedRoute(event, (PinpointServerClusterPoint) clusterPoint);
+        }
+
         try {
             if (clusterPoint instanceof PinpointServerClusterPoint) {
                 StreamRouteManager routeManager = new StreamRouteManager(event);
@@ -130,6 +148,62 @@ public class StreamRouteHandler extends AbstractRouteHandler<StreamEvent> {
         return createResponse(TRouteResult.UNKNOWN);
     }
     
+    private boolean isShareable(TBase<?, ?> requestObject) {
+        return requestObject instanceof TCmdActiveThreadCount;
+    }
+
+    private TCommandTransferResponse onSharedRoute(StreamEvent event, PinpointServerClusterPoint clusterPoint) {
+        final SharedStreamKey key = new SharedStreamKey(clusterPoint.getPinpointServer(), event.getDeliveryCommand().getPayload());
+        try {
+            while (true) {
+                SharedStreamRouteManager routeManager = sharedStreamRouteManagers.get(key);
+                if (routeManager == null) {
+                    routeManager = openSharedStream(key, clusterPoint);
+                    if (routeManager == null) {
+                        return createResponse(TRouteResult.UNKNOWN);
+                    }
+                }
+
+                SharedStreamConsumer consumer = routeManager.addConsumer(event);
+                if (consumer != null) {
+                    event.getStreamChannelContext().setAttributeIfAbsent(ATTACHMENT_KEY, consumer);
+                    return createResponse(TRouteResult.OK);
+                }
+                // producer closed in the meantime
+                sharedStreamRouteManagers.remove(key, routeManager);
+            }
+        } catch (Exception e) {
+            if (logger.isWarnEnabled()) {
+                logger.warn("Create shared StreamChannel({}) failed. Error:{}", clusterPoint, e.getMessage(), e);
+            }
+        }
+        return createResponse(TRouteResult.UNKNOWN);
+    }
+
+    private SharedStreamRouteManager openSharedStream(SharedStreamKey key, PinpointServerClusterPoint clusterPoint) {
+        final SharedStreamRouteManager routeManager = new SharedStreamRouteManager(key);
+        final SharedStreamRouteManager previous = sharedStreamRouteManagers.putIfAbsent(key, routeManager);
+        if (previous != null) {
+            return previous;
+        }
+
+        ClientStreamChannelContext producerContext = null;
+        try {
+            producerContext = createStreamChannel(clusterPoint, key.payload, routeManager);
+        } finally {
+            if (producerContext == null || producerContext.getCreateFailPacket() != null) {
+                routeManager.close();
+            }
+        }
+        if (producerContext.getCreateFailPacket() != null) {
+            return null;
+        }
+        routeManager.setProducer(producerContext.getStreamChannel());
+        producerContext.getStreamChannel().addStateChangeEventHandler(routeManager);
+        logger.info("shared stream opened. {}", clusterPoint);
+        return routeManager;
+    }
+
     private ClientStreamChannelContext createStreamChannel(PinpointServerClusterPoint clusterPoint, byte[] payload, ClientStreamChannelMessageListener messageListener) {
         PinpointServer pinpointServer = clusterPoint.getPinpointServer();
         return pinpointServer.openStream(payload, messageListener);
@@ -140,6 +214,8 @@ public class StreamRouteHandler extends AbstractRouteHandler<StreamEvent> {
         
         if (attachmentListener instanceof StreamRouteManager) {
             ((StreamRouteManager)attachmentListener).close();
+        } else if (attachmentListener instanceof SharedStreamConsumer) {
+            ((SharedStreamConsumer)attachmentListener).close();
         }
     }
 
@@ -237,4 +313,194 @@ public class StreamRouteHandler extends AbstractRouteHandler<StreamEvent> {
 
     }
 
+    private static final class SharedStreamKey {
+
+        private final PinpointServer pinpointServer;
+        private final byte[] payload;
+
+        private SharedStreamKey(PinpointServer pinpointServer, byte[] payload) {
+            this.pinpointServer = pinpointServer;
+            this.payload = payload;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            SharedStreamKey that = (SharedStreamKey) o;
+            return pinpointServer == that.pinpointServer && Arrays.equals(payload, that.payload);
+        }
+
+        @Override
+        public int hashCode() {
+            return 31 * System.identityHashCode(pinpointServer) + Arrays.hashCode(payload);
+        }
+    }
+
+    /**
+     * Fans the data of a single agent stream out to every consumer subscribed to the same request.
+     * The producer stream is closed once the last consumer leaves.
+     */
+    private class SharedStreamRouteManager implements ClientStreamChannelMessageListener, StreamChannelStateChangeEventHandler<ClientStreamChannel> {
+
+        private final SharedStreamKey key;
+        private final List<SharedStreamConsumer> consumers = new CopyOnWriteArrayList<>();
+
+        private ClientStreamChannel producer;
+        private boolean closed;
+
+        private SharedStreamRouteManager(SharedStreamKey key) {
+            this.key = key;
+        }
+
+        private synchronized SharedStreamConsumer addConsumer(StreamEvent streamEvent) {
+            if (closed) {
+                return null;
+            }
+            SharedStreamConsumer consumer = new SharedStreamConsumer(this, streamEvent);
+            consumers.add(consumer);
+            return consumer;
+        }
+
+        private void removeConsumer(SharedStreamConsumer consumer) {
+            synchronized (this) {
+                if (!consumers.remove(consumer) || !consumers.isEmpty()) {
+                    return;
+                }
+            }
+            close();
+        }
+
+        private synchronized void setProducer(ClientStreamChannel producer) {
+            this.producer = producer;
+            if (closed) {
+                producer.close();
+            }
+        }
+
+        @Override
+        public void handleStreamData(ClientStreamChannelContext producerContext, StreamResponsePacket packet) {
+            TCommandTransferResponse response = createResponse(TRouteResult.OK, packet.getPayload());
+            byte[] serializedResponse = null;
+            for (SharedStreamConsumer consumer : consumers) {
+                StreamChannelStateCode stateCode = consumer.getCurrentState();
+                if (StreamChannelStateCode.CONNECTED == stateCode) {
+                    responseFilterChain.doEvent(new ResponseEvent(consumer.streamEvent, -1, response));
+                    if (serializedResponse == null) {
+                        serializedResponse = serialize(response);
+                    }
+                    consumer.send(serializedResponse);
+                } else if (StreamChannelStateCode.CONNECT_ARRIVED != stateCode) {
+                    logger.warn("Can not route stream data to consumer.(state:{})", stateCode);
+                    consumer.close();
+                }
+            }
+        }
+
+        @Override
+        public void handleStreamClose(ClientStreamChannelContext producerContext, StreamClosePacket packet) {
+            for (SharedStreamConsumer consumer : consumers) {
+                StreamRouteCloseEvent event = new StreamRouteCloseEvent(consumer.streamEvent.getDeliveryCommand(), producerContext, consumer.streamEvent.getStreamChannelContext());
+                streamCloseFilterChain.doEvent(event);
+            }
+            close();
+        }
+
+        @Override
+        public void eventPerformed(ClientStreamChannel streamChannel, StreamChannelStateCode updatedStateCode) throws Exception {
+            logger.info("eventPerformed streamChannel:{}, stateCode:{}", streamChannel, updatedStateCode);
+
+            switch (updatedStateCode) {
+                case CLOSED:
+                case ILLEGAL_STATE:
+                    close();
+                    break;
+            }
+        }
+
+        @Override
+        public void exceptionCaught(ClientStreamChannel streamChannel, StreamChannelStateCode updatedStateCode, Throwable e) {
+            logger.warn("exceptionCaught message:{}, streamChannel:{}, stateCode:{}", e.getMessage(), streamChannel, updatedStateCode, e);
+        }
+
+        private void close() {
+            final ClientStreamChannel producer;
+            synchronized (this) {
+                if (closed) {
+                    return;
+                }
+                closed = true;
+                producer = this.producer;
+            }
+            sharedStreamRouteManagers.remove(key, this);
+
+            for (SharedStreamConsumer consumer : consumers) {
+                consumer.consumer.close();
+            }
+            consumers.clear();
+            if (producer != null) {
+                producer.close();
+            }
+        }
+    }
+
+    /**
+     * Conflates data sent to a consumer - while a write is still in flight only the latest data is kept, older data is dropped.
+     */
+    private static class SharedStreamConsumer {
+
+        private final SharedStreamRouteManager routeManager;
+        private final StreamEvent streamEvent;
+        private final ServerStreamChannel consumer;
+
+        private final AtomicReference<byte[]> pendingData = new AtomicReference<>();
+        private final AtomicBoolean sending = new AtomicBoolean(false);
+
+        private final ChannelFutureListener sendCompleteListener = new ChannelFutureListener() {
+            @Override
+            public void operationComplete(ChannelFuture future) throws Exception {
+                sending.set(false);
+                sendPendingData();
+            }
+        };
+
+        private SharedStreamConsumer(SharedStreamRouteManager routeManager, StreamEvent streamEvent) {
+            this.routeManager = routeManager;
+            this.streamEvent = streamEvent;
+            this.consumer = streamEvent.getStreamChannelContext().getStreamChannel();
+        }
+
+        private StreamChannelStateCode getCurrentState() {
+            return consumer.getCurrentState();
+        }
+
+        private void send(byte[] data) {
+            pendingData.set(data);
+            sendPendingData();
+        }
+
+        private void sendPendingData() {
+            while (pendingData.get() != null && sending.compareAndSet(false, true)) {
+                final byte[] data = pendingData.getAndSet(null);
+                if (data == null) {
+                    sending.set(false);
+                    continue;
+                }
+                try {
+                    consumer.sendData(data).addListener(sendCompleteListener);
+                } catch (Exception e) {
+                    sending.set(false);
+                    close();
+                }
+                return;
+            }
+        }
+
+        private void close() {
+            consumer.close();
+            routeManager.removeConsumer(this);
+        }
+    }
+
 }
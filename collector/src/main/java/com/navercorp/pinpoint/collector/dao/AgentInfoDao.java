@@ -23,4 +23,9 @@ import com.navercorp.pinpoint.thrift.dto.TAgentInfo;
  */
 public interface AgentInfoDao {
     void insert(TAgentInfo agentInfo);
+
+    /**
+     * @return application name of the most recently started agent with the given id, or <tt>null</tt> if there is none
+     */
+    String getApplicationName(String agentId);
 }
@@ -18,6 +18,9 @@ package com.navercorp.pinpoint.collector.dao.hbase;
 
 import com.navercorp.pinpoint.collector.dao.AgentInfoDao;
 import com.navercorp.pinpoint.collector.mapper.thrift.ThriftBoMapper;
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.buffer.FixedBuffer;
+import com.navercorp.pinpoint.common.hbase.ResultsExtractor;
 import com.navercorp.pinpoint.common.server.bo.AgentInfoBo;
 import com.navercorp.pinpoint.common.server.bo.JvmInfoBo;
 import com.navercorp.pinpoint.common.server.bo.ServerMetaDataBo;
@@ -30,6 +33,9 @@ import com.navercorp.pinpoint.thrift.dto.TJvmInfo;
 import com.navercorp.pinpoint.thrift.dto.TServerMetaData;
 
 import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.apache.hadoop.hbase.client.Scan;
 import org.apache.hadoop.hbase.util.Bytes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -95,4 +101,41 @@ public class HbaseAgentInfoDao implements AgentInfoDao {
 
         hbaseTemplate.put(HBaseTables.AGENTINFO, put);
     }
+
+    @Override
+    public String getApplicationName(String agentId) {
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        // rows are keyed by reversed start time, the first one is the most recently started agent
+        byte[] agentIdBytes = Bytes.toBytes(agentId);
+        byte[] startRow = RowKeyUtils.concatFixedByteAndLong(agentIdBytes, HBaseTables.AGENT_NAME_MAX_LEN, 0L);
+        byte[] stopRow = RowKeyUtils.concatFixedByteAndLong(agentIdBytes, HBaseTables.AGENT_NAME_MAX_LEN, Long.MAX_VALUE);
+        Scan scan = new Scan(startRow, stopRow);
+        scan.addColumn(HBaseTables.AGENTINFO_CF_INFO, HBaseTables.AGENTINFO_CF_INFO_IDENTIFIER);
+        scan.setMaxVersions(1);
+        scan.setCaching(1);
+
+        return hbaseTemplate.find(HBaseTables.AGENTINFO, scan, new ApplicationNameResultsExtractor());
+    }
+
+    private static class ApplicationNameResultsExtractor implements ResultsExtractor<String> {
+
+        @Override
+        public String extractData(ResultScanner results) throws Exception {
+            for (Result result : results) {
+                byte[] agentInfoBoValue = result.getValue(HBaseTables.AGENTINFO_CF_INFO, HBaseTables.AGENTINFO_CF_INFO_IDENTIFIER);
+                if (agentInfoBoValue == null) {
+                    continue;
+                }
+                // see AgentInfoBo.writeValue()
+                Buffer buffer = new FixedBuffer(agentInfoBoValue);
+                buffer.readPrefixedString(); // hostName
+                buffer.readPrefixedString(); // ip
+                buffer.readPrefixedString(); // ports
+                return buffer.readPrefixedString();
+            }
+            return null;
+        }
+    }
 }
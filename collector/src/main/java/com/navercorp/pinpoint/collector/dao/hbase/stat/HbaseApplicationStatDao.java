@@ -0,0 +1,280 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.dao.hbase.stat;
+
+import com.navercorp.pinpoint.collector.dao.ApplicationStatDao;
+import com.navercorp.pinpoint.common.hbase.HBaseTables;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatHbaseOperationFactory;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatUtils;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.ApplicationStatSerializer;
+import com.navercorp.pinpoint.common.server.bo.stat.ActiveTraceBo;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatType;
+import com.navercorp.pinpoint.common.server.bo.stat.ApplicationStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.ApplicationStatField;
+import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
+import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
+import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.hadoop.hbase.client.Put;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Rolls up the stats of every agent of an application into count/min/max/sum per time slot as they are received,
+ * so that application-wide charts do not have to scan the stats of every agent.
+ * <p>
+ * Time slots are kept in memory until no more data is expected for them (<tt>closeDelay</tt>) and are then written to
+ * {@link HBaseTables#APPLICATION_STAT_AGGRE}, with the same row key layout and codecs as <tt>AgentStatV2</tt>.
+ * Each collector writes its own partial rollups, which are merged when read.
+ */
+@Repository
+public class HbaseApplicationStatDao implements ApplicationStatDao {
+
+    private static final int NUM_DECIMAL_PLACES = 1;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Value("#{pinpoint_collector_properties['collector.stat.application.rollup.enable'] ?: false}")
+    private boolean enable;
+
+    @Value("#{pinpoint_collector_properties['collector.stat.application.rollup.slotSize'] ?: 5000}")
+    private long slotSize;
+
+    @Value("#{pinpoint_collector_properties['collector.stat.application.rollup.closeDelay'] ?: 60000}")
+    private long closeDelay;
+
+    @Autowired
+    private HbaseOperations2 hbaseTemplate;
+
+    @Autowired
+    private AgentStatHbaseOperationFactory agentStatHbaseOperationFactory;
+
+    @Autowired
+    private ApplicationStatSerializer applicationStatSerializer;
+
+    private final ConcurrentMap<RollupKey, Rollup> rollupMap = new ConcurrentHashMap<>();
+
+    @Override
+    public boolean isEnable() {
+        return enable;
+    }
+
+    @Override
+    public void received(String applicationId, AgentStatBo agentStatBo) {
+        if (applicationId == null) {
+            throw new NullPointerException("applicationId must not be null");
+        }
+        if (agentStatBo == null) {
+            throw new NullPointerException("agentStatBo must not be null");
+        }
+        if (!enable) {
+            return;
+        }
+        if (CollectionUtils.isNotEmpty(agentStatBo.getCpuLoadBos())) {
+            Rollup rollup = getRollup(applicationId, AgentStatType.CPU_LOAD);
+            for (CpuLoadBo cpuLoadBo : agentStatBo.getCpuLoadBos()) {
+                final long timeSlot = getTimeSlot(cpuLoadBo.getTimestamp());
+                if (cpuLoadBo.getJvmCpuLoad() != CpuLoadBo.UNCOLLECTED_VALUE) {
+                    rollup.add(timeSlot, ApplicationStatField.JVM_CPU_LOAD, AgentStatUtils.convertDoubleToLong(cpuLoadBo.getJvmCpuLoad()));
+                }
+                if (cpuLoadBo.getSystemCpuLoad() != CpuLoadBo.UNCOLLECTED_VALUE) {
+                    rollup.add(timeSlot, ApplicationStatField.SYSTEM_CPU_LOAD, AgentStatUtils.convertDoubleToLong(cpuLoadBo.getSystemCpuLoad()));
+                }
+            }
+        }
+        if (CollectionUtils.isNotEmpty(agentStatBo.getJvmGcBos())) {
+            Rollup rollup = getRollup(applicationId, AgentStatType.JVM_GC);
+            for (JvmGcBo jvmGcBo : agentStatBo.getJvmGcBos()) {
+                final long timeSlot = getTimeSlot(jvmGcBo.getTimestamp());
+                if (jvmGcBo.getHeapUsed() != JvmGcBo.UNCOLLECTED_VALUE) {
+                    rollup.add(timeSlot, ApplicationStatField.HEAP_USED, jvmGcBo.getHeapUsed());
+                }
+                if (jvmGcBo.getNonHeapUsed() != JvmGcBo.UNCOLLECTED_VALUE) {
+                    rollup.add(timeSlot, ApplicationStatField.NON_HEAP_USED, jvmGcBo.getNonHeapUsed());
+                }
+            }
+        }
+        if (CollectionUtils.isNotEmpty(agentStatBo.getTransactionBos())) {
+            Rollup rollup = getRollup(applicationId, AgentStatType.TRANSACTION);
+            for (TransactionBo transactionBo : agentStatBo.getTransactionBos()) {
+                final long totalCount = getTotalCount(transactionBo);
+                if (transactionBo.getCollectInterval() > 0 && totalCount != TransactionBo.UNCOLLECTED_VALUE) {
+                    double tps = AgentStatUtils.calculateRate(totalCount, transactionBo.getCollectInterval(), NUM_DECIMAL_PLACES, 0D);
+                    rollup.add(getTimeSlot(transactionBo.getTimestamp()), ApplicationStatField.TPS, AgentStatUtils.convertDoubleToLong(tps));
+                }
+            }
+        }
+        if (CollectionUtils.isNotEmpty(agentStatBo.getActiveTraceBos())) {
+            Rollup rollup = getRollup(applicationId, AgentStatType.ACTIVE_TRACE);
+            for (ActiveTraceBo activeTraceBo : agentStatBo.getActiveTraceBos()) {
+                final long activeTraceCount = getTotalCount(activeTraceBo);
+                if (activeTraceCount != ActiveTraceBo.UNCOLLECTED_ACTIVE_TRACE_COUNT) {
+                    rollup.add(getTimeSlot(activeTraceBo.getTimestamp()), ApplicationStatField.ACTIVE_TRACE_COUNT, activeTraceCount);
+                }
+            }
+        }
+    }
+
+    private long getTotalCount(TransactionBo transactionBo) {
+        final long[] counts = {
+                transactionBo.getSampledNewCount(),
+                transactionBo.getSampledContinuationCount(),
+                transactionBo.getUnsampledNewCount(),
+                transactionBo.getUnsampledContinuationCount()
+        };
+        long totalCount = TransactionBo.UNCOLLECTED_VALUE;
+        for (long count : counts) {
+            if (count != TransactionBo.UNCOLLECTED_VALUE) {
+                totalCount = totalCount == TransactionBo.UNCOLLECTED_VALUE ? count : totalCount + count;
+            }
+        }
+        return totalCount;
+    }
+
+    private long getTotalCount(ActiveTraceBo activeTraceBo) {
+        if (activeTraceBo.getActiveTraceCounts() == null) {
+            return ActiveTraceBo.UNCOLLECTED_ACTIVE_TRACE_COUNT;
+        }
+        long totalCount = ActiveTraceBo.UNCOLLECTED_ACTIVE_TRACE_COUNT;
+        for (Integer count : activeTraceBo.getActiveTraceCounts().values()) {
+            if (count != null && count != ActiveTraceBo.UNCOLLECTED_ACTIVE_TRACE_COUNT) {
+                totalCount = totalCount == ActiveTraceBo.UNCOLLECTED_ACTIVE_TRACE_COUNT ? count : totalCount + count;
+            }
+        }
+        return totalCount;
+    }
+
+    private long getTimeSlot(long timestamp) {
+        return timestamp - (timestamp % slotSize);
+    }
+
+    private Rollup getRollup(String applicationId, AgentStatType agentStatType) {
+        final RollupKey rollupKey = new RollupKey(applicationId, agentStatType);
+        final Rollup rollup = rollupMap.get(rollupKey);
+        if (rollup != null) {
+            return rollup;
+        }
+        final Rollup newRollup = new Rollup(applicationId, agentStatType);
+        final Rollup existing = rollupMap.putIfAbsent(rollupKey, newRollup);
+        return existing != null ? existing : newRollup;
+    }
+
+    @Override
+    public void flushAll() {
+        if (!enable) {
+            return;
+        }
+        final long closeTime = System.currentTimeMillis() - closeDelay;
+        final List<Put> puts = new ArrayList<>();
+        for (Rollup rollup : rollupMap.values()) {
+            List<ApplicationStatBo> closed = rollup.removeClosed(closeTime - slotSize);
+            if (closed.isEmpty()) {
+                continue;
+            }
+            puts.addAll(agentStatHbaseOperationFactory.createPuts(rollup.applicationId, rollup.agentStatType, closed, applicationStatSerializer));
+        }
+        if (puts.isEmpty()) {
+            return;
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("flush {} Put:{}", this.getClass().getSimpleName(), puts.size());
+        }
+        List<Put> rejectedPuts = this.hbaseTemplate.asyncPut(HBaseTables.APPLICATION_STAT_AGGRE, puts);
+        if (CollectionUtils.isNotEmpty(rejectedPuts)) {
+            this.hbaseTemplate.put(HBaseTables.APPLICATION_STAT_AGGRE, rejectedPuts);
+        }
+    }
+
+    private static final class RollupKey {
+        private final String applicationId;
+        private final AgentStatType agentStatType;
+
+        private RollupKey(String applicationId, AgentStatType agentStatType) {
+            this.applicationId = applicationId;
+            this.agentStatType = agentStatType;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (o == null || getClass() != o.getClass()) return false;
+
+            RollupKey that = (RollupKey) o;
+
+            if (!applicationId.equals(that.applicationId)) return false;
+            return agentStatType == that.agentStatType;
+        }
+
+        @Override
+        public int hashCode() {
+            int result = applicationId.hashCode();
+            result = 31 * result + agentStatType.hashCode();
+            return result;
+        }
+    }
+
+    private static final class Rollup {
+        private final String applicationId;
+        private final AgentStatType agentStatType;
+        private final int fieldCount;
+        // time slot -> rollup, guarded by this
+        private final TreeMap<Long, ApplicationStatBo> timeSlotMap = new TreeMap<>();
+
+        private Rollup(String applicationId, AgentStatType agentStatType) {
+            this.applicationId = applicationId;
+            this.agentStatType = agentStatType;
+            this.fieldCount = ApplicationStatField.getFieldCount(agentStatType);
+        }
+
+        private synchronized void add(long timeSlot, ApplicationStatField field, long value) {
+            ApplicationStatBo applicationStatBo = timeSlotMap.get(timeSlot);
+            if (applicationStatBo == null) {
+                applicationStatBo = new ApplicationStatBo(agentStatType, fieldCount);
+                applicationStatBo.setAgentId(applicationId);
+                applicationStatBo.setTimestamp(timeSlot);
+                timeSlotMap.put(timeSlot, applicationStatBo);
+            }
+            applicationStatBo.addValue(field.getIndex(), value);
+        }
+
+        /**
+         * removes the rollups of every time slot up to <tt>lastClosedTimeSlot</tt>, sorted by time slot
+         */
+        private synchronized List<ApplicationStatBo> removeClosed(long lastClosedTimeSlot) {
+            if (timeSlotMap.isEmpty() || timeSlotMap.firstKey() > lastClosedTimeSlot) {
+                return Collections.emptyList();
+            }
+            final Map<Long, ApplicationStatBo> closedMap = timeSlotMap.headMap(lastClosedTimeSlot, true);
+            final List<ApplicationStatBo> closed = new ArrayList<>(closedMap.values());
+            closedMap.clear();
+            return closed;
+        }
+    }
+}
@@ -16,9 +16,11 @@
 
 package com.navercorp.pinpoint.collector.handler;
 
+import com.navercorp.pinpoint.collector.alarm.AlarmStatReporter;
 import com.navercorp.pinpoint.collector.mapper.thrift.stat.AgentStatBatchMapper;
 import com.navercorp.pinpoint.collector.mapper.thrift.stat.AgentStatMapper;
 import com.navercorp.pinpoint.collector.service.AgentStatService;
+import com.navercorp.pinpoint.collector.util.AgentApplicationNameCache;
 import com.navercorp.pinpoint.common.server.bo.stat.ActiveTraceBo;
 import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
 import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
@@ -32,6 +34,7 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.navercorp.pinpoint.collector.dao.AgentStatDaoV2;
+import com.navercorp.pinpoint.collector.dao.ApplicationStatDao;
 import com.navercorp.pinpoint.thrift.dto.TAgentStat;
 import com.navercorp.pinpoint.thrift.dto.TAgentStatBatch;
 
@@ -65,9 +68,18 @@ public class AgentStatHandlerV2 implements Handler {
     @Autowired
     private AgentStatDaoV2<ActiveTraceBo> activeTraceDao;
 
+    @Autowired
+    private ApplicationStatDao applicationStatDao;
+
+    @Autowired
+    private AgentApplicationNameCache agentApplicationNameCache;
+
     @Autowired(required = false)
     private AgentStatService agentStatService;
 
+    @Autowired(required = false)
+    private AlarmStatReporter alarmStatReporter;
+
     @Override
     public void handle(TBase<?, ?> tbase) {
         // FIXME (2014.08) Legacy - TAgentStat should not be sent over the wire.
@@ -114,8 +126,29 @@ public class AgentStatHandlerV2 implements Handler {
             this.cpuLoadDao.insert(agentId, agentStatBo.getCpuLoadBos());
             this.transactionDao.insert(agentId, agentStatBo.getTransactionBos());
             this.activeTraceDao.insert(agentId, agentStatBo.getActiveTraceBos());
+            this.rollupAgentStatBatch(agentStatBo);
         } catch (Exception e) {
             logger.warn("Error inserting AgentStatBo. Caused:{}", e.getMessage(), e);
         }
     }
+
+    private void rollupAgentStatBatch(AgentStatBo agentStatBo) {
+        final boolean alarmStatEnable = this.alarmStatReporter != null && this.alarmStatReporter.isEnable();
+        if (!this.applicationStatDao.isEnable() && !alarmStatEnable) {
+            return;
+        }
+        final String agentId = agentStatBo.getAgentId();
+        final String applicationName = this.agentApplicationNameCache.getApplicationName(agentId);
+        if (applicationName == null) {
+            // no agent info for this agent, neither received by this collector nor stored
+            if (logger.isDebugEnabled()) {
+                logger.debug("Unknown application for agentId:{}, skipping application stat rollup", agentId);
+            }
+            return;
+        }
+        this.applicationStatDao.received(applicationName, agentStatBo);
+        if (this.alarmStatReporter != null) {
+            this.alarmStatReporter.recordAgentStat(applicationName, agentStatBo);
+        }
+    }
 }
@@ -0,0 +1,121 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.util;
+
+import com.navercorp.pinpoint.collector.dao.AgentInfoDao;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Application names of agents, used to find the application agent stats should be rolled up into as agent stats only carry the agent id.
+ * <p>
+ * Names are learned from the agent info received by this collector. Agents connected to another collector are
+ * resolved from the agent info table on their first stat, and the result is cached. Agents without agent info are
+ * looked up again at most once per <tt>collector.stat.application.rollup.unknownAgentRetryInterval</tt>.
+ */
+@Component
+public class AgentApplicationNameCache {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Value("#{pinpoint_collector_properties['collector.stat.application.rollup.maxAgentCount'] ?: 100000}")
+    private int maxAgentCount;
+
+    @Value("#{pinpoint_collector_properties['collector.stat.application.rollup.unknownAgentRetryInterval'] ?: 60000}")
+    private long unknownAgentRetryInterval;
+
+    @Autowired
+    private AgentInfoDao agentInfoDao;
+
+    private Map<String, String> applicationNameMap;
+
+    // agent id -> time of the last lookup that did not find an agent info
+    private Map<String, Long> unknownAgentMap;
+
+    @PostConstruct
+    public void init() {
+        this.applicationNameMap = new LinkedHashMap<String, String>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+                return size() > maxAgentCount;
+            }
+        };
+        this.unknownAgentMap = new LinkedHashMap<String, Long>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Long> eldest) {
+                return size() > maxAgentCount;
+            }
+        };
+    }
+
+    public void put(String agentId, String applicationName) {
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        if (applicationName == null) {
+            throw new NullPointerException("applicationName must not be null");
+        }
+        synchronized (this) {
+            applicationNameMap.put(agentId, applicationName);
+            unknownAgentMap.remove(agentId);
+        }
+    }
+
+    /**
+     * @return application name of the agent, or <tt>null</tt> if no agent info could be found for it
+     */
+    public String getApplicationName(String agentId) {
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        final long currentTime = System.currentTimeMillis();
+        synchronized (this) {
+            final String applicationName = applicationNameMap.get(agentId);
+            if (applicationName != null) {
+                return applicationName;
+            }
+            final Long lastLookupTime = unknownAgentMap.get(agentId);
+            if (lastLookupTime != null && currentTime - lastLookupTime < unknownAgentRetryInterval) {
+                return null;
+            }
+            // concurrent stats of the same agent wait for the retry interval instead of looking it up as well
+            unknownAgentMap.put(agentId, currentTime);
+        }
+
+        final String applicationName = lookupApplicationName(agentId);
+        if (applicationName != null) {
+            put(agentId, applicationName);
+        }
+        return applicationName;
+    }
+
+    private String lookupApplicationName(String agentId) {
+        try {
+            return agentInfoDao.getApplicationName(agentId);
+        } catch (Exception e) {
+            logger.warn("Failed to look up application name. agentId:{}, Caused:{}", agentId, e.getMessage(), e);
+            return null;
+        }
+    }
+}
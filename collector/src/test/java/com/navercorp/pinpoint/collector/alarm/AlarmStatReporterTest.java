@@ -0,0 +1,136 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.alarm;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.navercorp.pinpoint.common.server.bo.alarm.AgentAlarmStatBo;
+import com.navercorp.pinpoint.common.server.bo.alarm.AlarmStatReportBo;
+import com.navercorp.pinpoint.common.server.bo.alarm.ApplicationAlarmStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
+import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+
+public class AlarmStatReporterTest {
+
+    private static final String APPLICATION_NAME = "app";
+    private static final long WINDOW_SIZE = 60000;
+    private static final long BUCKET_SIZE = 1000;
+
+    private AlarmStatSender alarmStatSender;
+    private AlarmStatReporter reporter;
+
+    @Before
+    public void setUp() {
+        alarmStatSender = mock(AlarmStatSender.class);
+        reporter = new AlarmStatReporter(alarmStatSender, WINDOW_SIZE, BUCKET_SIZE);
+    }
+
+    @Test
+    public void responseCount() {
+        final long now = 1000000;
+        reporter.recordResponseTime(APPLICATION_NAME, ServiceType.STAND_ALONE, 10, false, now);
+        reporter.recordResponseTime(APPLICATION_NAME, ServiceType.STAND_ALONE, 10000, false, now);
+        reporter.recordResponseTime(APPLICATION_NAME, ServiceType.STAND_ALONE, 100, true, now + 1000);
+        reporter.report(now + 1000);
+
+        ArgumentCaptor<AlarmStatReportBo> captor = ArgumentCaptor.forClass(AlarmStatReportBo.class);
+        verify(alarmStatSender).send(captor.capture());
+        AlarmStatReportBo report = captor.getValue();
+        Assert.assertEquals(now + 1000, report.getReportTime());
+        Assert.assertEquals(WINDOW_SIZE, report.getWindowSize());
+        Assert.assertNotNull(report.getCollectorId());
+        Assert.assertEquals(1, report.getApplicationStats().size());
+
+        ApplicationAlarmStatBo applicationStat = report.getApplicationStats().get(0);
+        Assert.assertEquals(APPLICATION_NAME, applicationStat.getApplicationName());
+        Assert.assertEquals(3, applicationStat.getTotalCount());
+        Assert.assertEquals(1, applicationStat.getSlowCount());
+        Assert.assertEquals(1, applicationStat.getErrorCount());
+    }
+
+    @Test
+    public void agentStat() {
+        final long now = 1000000;
+        reporter.recordAgentStat(APPLICATION_NAME, createAgentStatBo("agent1", now, 90, 100, 0.5));
+        reporter.recordAgentStat(APPLICATION_NAME, createAgentStatBo("agent1", now + 1000, 70, 100, 0.3));
+
+        AgentAlarmStatBo agentStat = reporter.createReport(now + 1000).getApplicationStats().get(0).getAgentStats().get(0);
+        Assert.assertEquals("agent1", agentStat.getAgentId());
+        Assert.assertEquals(160, agentStat.getHeapUsed());
+        Assert.assertEquals(200, agentStat.getHeapMax());
+        Assert.assertEquals(80, agentStat.getJvmCpuLoad());
+        Assert.assertEquals(2, agentStat.getJvmCpuLoadCount());
+    }
+
+    @Test
+    public void expiredApplicationIsNotReported() {
+        final long now = 1000000;
+        reporter.recordResponseTime(APPLICATION_NAME, ServiceType.STAND_ALONE, 10, false, now);
+
+        Assert.assertEquals(1, reporter.createReport(now + WINDOW_SIZE - 1).getApplicationStats().size());
+        Assert.assertTrue(reporter.createReport(now + WINDOW_SIZE + BUCKET_SIZE).getApplicationStats().isEmpty());
+    }
+
+    @Test
+    public void sendFailure() {
+        doThrow(new IllegalStateException("test")).when(alarmStatSender).send(any(AlarmStatReportBo.class));
+
+        final long now = 1000000;
+        reporter.recordResponseTime(APPLICATION_NAME, ServiceType.STAND_ALONE, 10, false, now);
+        reporter.report(now);
+        reporter.report(now + 1000);
+
+        verify(alarmStatSender, times(2)).send(any(AlarmStatReportBo.class));
+    }
+
+    private AgentStatBo createAgentStatBo(String agentId, long timestamp, long heapUsed, long heapMax, double jvmCpuLoad) {
+        JvmGcBo jvmGcBo = new JvmGcBo();
+        jvmGcBo.setAgentId(agentId);
+        jvmGcBo.setTimestamp(timestamp);
+        jvmGcBo.setHeapUsed(heapUsed);
+        jvmGcBo.setHeapMax(heapMax);
+        List<JvmGcBo> jvmGcBos = new ArrayList<>();
+        jvmGcBos.add(jvmGcBo);
+
+        CpuLoadBo cpuLoadBo = new CpuLoadBo();
+        cpuLoadBo.setAgentId(agentId);
+        cpuLoadBo.setTimestamp(timestamp);
+        cpuLoadBo.setJvmCpuLoad(jvmCpuLoad);
+        List<CpuLoadBo> cpuLoadBos = new ArrayList<>();
+        cpuLoadBos.add(cpuLoadBo);
+
+        AgentStatBo agentStatBo = new AgentStatBo();
+        agentStatBo.setAgentId(agentId);
+        agentStatBo.setJvmGcBos(jvmGcBos);
+        agentStatBo.setCpuLoadBos(cpuLoadBos);
+        return agentStatBo;
+    }
+}
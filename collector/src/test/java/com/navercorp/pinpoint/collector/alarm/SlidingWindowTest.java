@@ -0,0 +1,68 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.alarm;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class SlidingWindowTest {
+
+    private static final long WINDOW_SIZE = 60000;
+    private static final long BUCKET_SIZE = 10000;
+
+    @Test
+    public void sum() {
+        SlidingWindow window = new SlidingWindow(WINDOW_SIZE, BUCKET_SIZE, 2);
+        final long now = 1000000;
+        window.add(now - 50000, 0, 1);
+        window.add(now - 20000, 0, 2);
+        window.add(now - 20000, 1, 5);
+        window.add(now, 0, 3);
+
+        Assert.assertArrayEquals(new long[]{6, 5}, window.sum(now));
+        // the oldest value leaves the window, others are kept without being added again
+        Assert.assertArrayEquals(new long[]{5, 5}, window.sum(now + 20000));
+        Assert.assertArrayEquals(new long[]{0, 0}, window.sum(now + WINDOW_SIZE + BUCKET_SIZE));
+    }
+
+    @Test
+    public void recycleBuckets() {
+        SlidingWindow window = new SlidingWindow(WINDOW_SIZE, BUCKET_SIZE, 1);
+        long time = 1000000;
+        for (int i = 0; i < 100; i++) {
+            window.add(time, 0, 1);
+            time += BUCKET_SIZE;
+        }
+        final long now = time - BUCKET_SIZE;
+        // buckets overlapping (now - windowSize, now]
+        Assert.assertEquals(7, window.sum(now)[0]);
+
+        // values older than the recycled buckets are dropped
+        window.add(now - WINDOW_SIZE * 2, 0, 100);
+        Assert.assertEquals(7, window.sum(now)[0]);
+    }
+
+    @Test
+    public void expired() {
+        SlidingWindow window = new SlidingWindow(WINDOW_SIZE, BUCKET_SIZE, 1);
+        final long now = 1000000;
+        window.add(now, 0, 1);
+        Assert.assertFalse(window.isExpired(now + WINDOW_SIZE));
+        Assert.assertTrue(window.isExpired(now + WINDOW_SIZE + BUCKET_SIZE));
+    }
+}
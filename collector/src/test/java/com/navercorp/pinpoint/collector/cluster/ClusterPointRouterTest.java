@@ -0,0 +1,190 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.cluster;
+
+import com.navercorp.pinpoint.collector.cluster.route.DefaultRouteFilterChain;
+import com.navercorp.pinpoint.collector.cluster.route.DefaultRouteHandler;
+import com.navercorp.pinpoint.collector.cluster.route.StreamRouteHandler;
+import com.navercorp.pinpoint.rpc.DefaultFuture;
+import com.navercorp.pinpoint.rpc.PinpointSocket;
+import com.navercorp.pinpoint.rpc.ResponseMessage;
+import com.navercorp.pinpoint.rpc.packet.BatchRequestPacket;
+import com.navercorp.pinpoint.rpc.packet.RequestPacket;
+import com.navercorp.pinpoint.thrift.dto.TResult;
+import com.navercorp.pinpoint.thrift.dto.command.TCommandEcho;
+import com.navercorp.pinpoint.thrift.dto.command.TCommandTransfer;
+import com.navercorp.pinpoint.thrift.dto.command.TCommandTransferResponse;
+import com.navercorp.pinpoint.thrift.dto.command.TRouteResult;
+import com.navercorp.pinpoint.thrift.io.CommandHeaderTBaseDeserializerFactory;
+import com.navercorp.pinpoint.thrift.io.CommandHeaderTBaseSerializerFactory;
+import com.navercorp.pinpoint.thrift.util.SerializationUtils;
+import org.apache.thrift.TBase;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.net.InetSocketAddress;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class ClusterPointRouterTest {
+
+    private static final String APPLICATION_NAME = "applicationName";
+    private static final long START_TIMESTAMP = 1000L;
+
+    private final CommandHeaderTBaseSerializerFactory serializerFactory = new CommandHeaderTBaseSerializerFactory();
+    private final CommandHeaderTBaseDeserializerFactory deserializerFactory = new CommandHeaderTBaseDeserializerFactory();
+
+    private ClusterPointRepository<TargetClusterPoint> clusterPointRepository;
+    private ClusterPointRouter clusterPointRouter;
+    private PinpointSocket pinpointSocket;
+
+    @Before
+    public void setUp() {
+        clusterPointRepository = new ClusterPointRepository<>();
+        DefaultRouteHandler routeHandler = new DefaultRouteHandler(clusterPointRepository, new DefaultRouteFilterChain(), new DefaultRouteFilterChain());
+        clusterPointRouter = new ClusterPointRouter(clusterPointRepository, routeHandler, mock(StreamRouteHandler.class));
+        ReflectionTestUtils.setField(clusterPointRouter, "commandSerializerFactory", serializerFactory);
+        ReflectionTestUtils.setField(clusterPointRouter, "commandDeserializerFactory", deserializerFactory);
+
+        pinpointSocket = mock(PinpointSocket.class);
+        when(pinpointSocket.getRemoteAddress()).thenReturn(new InetSocketAddress(50505));
+    }
+
+    @Test
+    public void batchRequestShouldRespondEachRequestAsItCompletes() {
+        DefaultFuture<ResponseMessage> future1 = new DefaultFuture<>();
+        DefaultFuture<ResponseMessage> future2 = new DefaultFuture<>();
+        addClusterPoint("agent1", future1);
+        addClusterPoint("agent2", future2);
+
+        RequestPacket request1 = createRequestPacket(1, "agent1");
+        RequestPacket request2 = createRequestPacket(2, "agent2");
+        clusterPointRouter.handleBatchRequest(new BatchRequestPacket(Arrays.asList(request1, request2)), pinpointSocket);
+
+        verify(pinpointSocket, times(0)).response(any(RequestPacket.class), any(byte[].class));
+
+        future2.setResult(createResponseMessage("agent2"));
+        TBase<?, ?> response2 = getResponse(request2);
+        assertRouteResult(TRouteResult.OK, response2);
+        verify(pinpointSocket, times(0)).response(eq(request1), any(byte[].class));
+
+        future1.setResult(createResponseMessage("agent1"));
+        TBase<?, ?> response1 = getResponse(request1);
+        assertRouteResult(TRouteResult.OK, response1);
+        TBase<?, ?> echo = SerializationUtils.deserialize(((TCommandTransferResponse) response1).getPayload(), deserializerFactory, null);
+        assertEquals(new TCommandEcho("agent1"), echo);
+    }
+
+    @Test
+    public void batchRequestShouldAnswerFailedRequestsAndRouteTheOthers() {
+        TargetClusterPoint failClusterPoint = createClusterPoint("failAgent");
+        when(failClusterPoint.request(any(byte[].class))).thenThrow(new RuntimeException("test"));
+        clusterPointRepository.addClusterPoint(failClusterPoint);
+        DefaultFuture<ResponseMessage> future = new DefaultFuture<>();
+        addClusterPoint("agent", future);
+
+        RequestPacket failRequest = createRequestPacket(1, "failAgent");
+        RequestPacket decodeFailRequest = new RequestPacket(2, new byte[] {1, 2, 3});
+        RequestPacket notFoundRequest = createRequestPacket(3, "unknownAgent");
+        RequestPacket request = createRequestPacket(4, "agent");
+        List<RequestPacket> requestPackets = Arrays.asList(failRequest, decodeFailRequest, notFoundRequest, request);
+        clusterPointRouter.handleBatchRequest(new BatchRequestPacket(requestPackets), pinpointSocket);
+
+        assertFalse(((TResult) getResponse(failRequest)).isSuccess());
+        assertFalse(((TResult) getResponse(decodeFailRequest)).isSuccess());
+        assertRouteResult(TRouteResult.NOT_FOUND, getResponse(notFoundRequest));
+        verify(pinpointSocket, times(0)).response(eq(request), any(byte[].class));
+
+        future.setResult(createResponseMessage("agent"));
+        assertRouteResult(TRouteResult.OK, getResponse(request));
+    }
+
+    @Test
+    public void batchRequestShouldAnswerTimeout() {
+        DefaultFuture<ResponseMessage> future = new DefaultFuture<>();
+        addClusterPoint("agent", future);
+
+        RequestPacket request = createRequestPacket(1, "agent");
+        clusterPointRouter.handleBatchRequest(new BatchRequestPacket(Arrays.asList(request)), pinpointSocket);
+
+        future.setFailure(new RuntimeException("timeout"));
+        assertRouteResult(TRouteResult.TIMEOUT, getResponse(request));
+    }
+
+    @Test
+    public void emptyBatchRequest() {
+        PinpointSocket emptySocket = mock(PinpointSocket.class);
+        clusterPointRouter.handleBatchRequest(new BatchRequestPacket(Arrays.<RequestPacket>asList()), emptySocket);
+
+        verify(emptySocket, times(0)).response(any(RequestPacket.class), any(byte[].class));
+    }
+
+    private void addClusterPoint(String agentId, DefaultFuture<ResponseMessage> future) {
+        TargetClusterPoint clusterPoint = createClusterPoint(agentId);
+        when(clusterPoint.request(any(byte[].class))).thenReturn(future);
+        clusterPointRepository.addClusterPoint(clusterPoint);
+    }
+
+    private TargetClusterPoint createClusterPoint(String agentId) {
+        TargetClusterPoint clusterPoint = mock(TargetClusterPoint.class);
+        when(clusterPoint.getApplicationName()).thenReturn(APPLICATION_NAME);
+        when(clusterPoint.getAgentId()).thenReturn(agentId);
+        when(clusterPoint.getStartTimeStamp()).thenReturn(START_TIMESTAMP);
+        when(clusterPoint.isSupportCommand(any(TBase.class))).thenReturn(true);
+        return clusterPoint;
+    }
+
+    private RequestPacket createRequestPacket(int requestId, String agentId) {
+        TCommandTransfer commandTransfer = new TCommandTransfer();
+        commandTransfer.setApplicationName(APPLICATION_NAME);
+        commandTransfer.setAgentId(agentId);
+        commandTransfer.setStartTime(START_TIMESTAMP);
+        commandTransfer.setPayload(SerializationUtils.serialize(new TCommandEcho(agentId), serializerFactory, null));
+        return new RequestPacket(requestId, SerializationUtils.serialize(commandTransfer, serializerFactory, null));
+    }
+
+    private ResponseMessage createResponseMessage(String message) {
+        ResponseMessage responseMessage = new ResponseMessage();
+        responseMessage.setMessage(SerializationUtils.serialize(new TCommandEcho(message), serializerFactory, null));
+        return responseMessage;
+    }
+
+    private TBase<?, ?> getResponse(RequestPacket requestPacket) {
+        ArgumentCaptor<byte[]> captor = ArgumentCaptor.forClass(byte[].class);
+        verify(pinpointSocket).response(eq(requestPacket), captor.capture());
+        return SerializationUtils.deserialize(captor.getValue(), deserializerFactory, null);
+    }
+
+    private void assertRouteResult(TRouteResult expected, TBase<?, ?> response) {
+        assertTrue(response instanceof TCommandTransferResponse);
+        assertEquals(expected, ((TCommandTransferResponse) response).getRouteResult());
+    }
+
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.collector.cluster.route;
+
+import com.navercorp.pinpoint.collector.cluster.ClusterPointLocator;
+import com.navercorp.pinpoint.collector.cluster.PinpointServerClusterPoint;
+import com.navercorp.pinpoint.collector.cluster.TargetClusterPoint;
+import com.navercorp.pinpoint.rpc.packet.HandshakePropertyType;
+import com.navercorp.pinpoint.rpc.server.PinpointServer;
+import com.navercorp.pinpoint.rpc.stream.ClientStreamChannel;
+import com.navercorp.pinpoint.rpc.stream.ClientStreamChannelContext;
+import com.navercorp.pinpoint.rpc.stream.ClientStreamChannelMessageListener;
+import com.navercorp.pinpoint.rpc.stream.ServerStreamChannel;
+import com.navercorp.pinpoint.rpc.stream.ServerStreamChannelContext;
+import com.navercorp.pinpoint.thrift.dto.command.TCmdActiveThreadCount;
+import com.navercorp.pinpoint.thrift.dto.command.TCommandTransfer;
+import com.navercorp.pinpoint.thrift.dto.command.TRouteResult;
+import com.navercorp.pinpoint.thrift.io.TCommandType;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class StreamRouteHandlerTest {
+
+    private static final String APPLICATION_NAME = "applicationName";
+    private static final String AGENT_ID = "agentId";
+    private static final long START_TIMESTAMP = System.currentTimeMillis();
+
+    private PinpointServer pinpointServer;
+    private ClientStreamChannel producer;
+    private StreamRouteHandler streamRouteHandler;
+
+    @Before
+    public void setUp() {
+        Map<Object, Object> properties = new HashMap<>();
+        properties.put(HandshakePropertyType.VERSION.getName(), "1.6.0");
+        properties.put(HandshakePropertyType.APPLICATION_NAME.getName(), APPLICATION_NAME);
+        properties.put(HandshakePropertyType.AGENT_ID.getName(), AGENT_ID);
+        properties.put(HandshakePropertyType.START_TIMESTAMP.getName(), START_TIMESTAMP);
+        properties.put(HandshakePropertyType.SUPPORT_COMMAND_LIST.getName(), Arrays.asList(TCommandType.ACTIVE_THREAD_COUNT.getCode()));
+
+        pinpointServer = mock(PinpointServer.class);
+        when(pinpointServer.getChannelProperties()).thenReturn(properties);
+        producer = mock(ClientStreamChannel.class);
+        when(pinpointServer.openStream(any(byte[].class), any(ClientStreamChannelMessageListener.class))).thenReturn(new ClientStreamChannelContext(producer, mock(ClientStreamChannelMessageListener.class)));
+
+        final List<TargetClusterPoint> clusterPoints = Collections.<TargetClusterPoint>singletonList(new PinpointServerClusterPoint(pinpointServer));
+        ClusterPointLocator<TargetClusterPoint> clusterPointLocator = new ClusterPointLocator<TargetClusterPoint>() {
+            @Override
+            public List<TargetClusterPoint> getClusterPointList() {
+                return clusterPoints;
+            }
+        };
+        streamRouteHandler = new StreamRouteHandler(clusterPointLocator, new DefaultRouteFilterChain<StreamEvent>(),
+                new DefaultRouteFilterChain<ResponseEvent>(), new DefaultRouteFilterChain<StreamRouteCloseEvent>());
+    }
+
+    @Test
+    public void activeThreadCountStreamIsShared() {
+        ServerStreamChannelContext consumerContext1 = createConsumerContext();
+        ServerStreamChannelContext consumerContext2 = createConsumerContext();
+
+        Assert.assertEquals(TRouteResult.OK, streamRouteHandler.onRoute(createStreamEvent(consumerContext1)).getRouteResult());
+        Assert.assertEquals(TRouteResult.OK, streamRouteHandler.onRoute(createStreamEvent(consumerContext2)).getRouteResult());
+        verify(pinpointServer, times(1)).openStream(any(byte[].class), any(ClientStreamChannelMessageListener.class));
+
+        streamRouteHandler.close(consumerContext1);
+        verify(producer, never()).close();
+
+        streamRouteHandler.close(consumerContext2);
+        verify(producer, times(1)).close();
+
+        // a new consumer opens a new producer stream
+        Assert.assertEquals(TRouteResult.OK, streamRouteHandler.onRoute(createStreamEvent(createConsumerContext())).getRouteResult());
+        verify(pinpointServer, times(2)).openStream(any(byte[].class), any(ClientStreamChannelMessageListener.class));
+    }
+
+    private ServerStreamChannelContext createConsumerContext() {
+        return new ServerStreamChannelContext(mock(ServerStreamChannel.class));
+    }
+
+    private StreamEvent createStreamEvent(ServerStreamChannelContext consumerContext) {
+        TCommandTransfer commandTransfer = new TCommandTransfer();
+        commandTransfer.setApplicationName(APPLICATION_NAME);
+        commandTransfer.setAgentId(AGENT_ID);
+        commandTransfer.setStartTime(START_TIMESTAMP);
+        commandTransfer.setPayload(new byte[]{1, 2, 3});
+        return new StreamEvent(commandTransfer, consumerContext, new TCmdActiveThreadCount());
+    }
+}
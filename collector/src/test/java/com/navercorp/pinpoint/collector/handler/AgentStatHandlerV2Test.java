@@ -37,6 +37,8 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 
 import com.navercorp.pinpoint.collector.dao.AgentStatDaoV2;
+import com.navercorp.pinpoint.collector.dao.ApplicationStatDao;
+import com.navercorp.pinpoint.collector.util.AgentApplicationNameCache;
 import com.navercorp.pinpoint.thrift.dto.TAgentInfo;
 import com.navercorp.pinpoint.thrift.dto.TAgentStat;
 import com.navercorp.pinpoint.thrift.dto.TAgentStatBatch;
@@ -69,6 +71,12 @@ public class AgentStatHandlerV2Test {
     @Mock
     private AgentStatDaoV2<ActiveTraceBo> activeTraceDao;
 
+    @Mock
+    private ApplicationStatDao applicationStatDao;
+
+    @Mock
+    private AgentApplicationNameCache agentApplicationNameCache;
+
     @InjectMocks
     private AgentStatHandlerV2 agentStatHandler = new AgentStatHandlerV2();
 
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.collector.util;
+
+import com.navercorp.pinpoint.collector.dao.AgentInfoDao;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyZeroInteractions;
+import static org.mockito.Mockito.when;
+
+public class AgentApplicationNameCacheTest {
+
+    private AgentInfoDao agentInfoDao;
+
+    private AgentApplicationNameCache agentApplicationNameCache;
+
+    @Before
+    public void setUp() {
+        agentInfoDao = mock(AgentInfoDao.class);
+        agentApplicationNameCache = new AgentApplicationNameCache();
+        ReflectionTestUtils.setField(agentApplicationNameCache, "maxAgentCount", 100);
+        ReflectionTestUtils.setField(agentApplicationNameCache, "unknownAgentRetryInterval", 60000L);
+        ReflectionTestUtils.setField(agentApplicationNameCache, "agentInfoDao", agentInfoDao);
+        agentApplicationNameCache.init();
+    }
+
+    @Test
+    public void receivedAgentInfo() {
+        agentApplicationNameCache.put("agentId", "applicationName");
+
+        Assert.assertEquals("applicationName", agentApplicationNameCache.getApplicationName("agentId"));
+        verifyZeroInteractions(agentInfoDao);
+    }
+
+    @Test
+    public void lookupAgentInfoOnMiss() {
+        when(agentInfoDao.getApplicationName("agentId")).thenReturn("applicationName");
+
+        Assert.assertEquals("applicationName", agentApplicationNameCache.getApplicationName("agentId"));
+        Assert.assertEquals("applicationName", agentApplicationNameCache.getApplicationName("agentId"));
+        verify(agentInfoDao, times(1)).getApplicationName("agentId");
+    }
+
+    @Test
+    public void unknownAgent() {
+        Assert.assertNull(agentApplicationNameCache.getApplicationName("agentId"));
+        Assert.assertNull(agentApplicationNameCache.getApplicationName("agentId"));
+        verify(agentInfoDao, times(1)).getApplicationName("agentId");
+
+        ReflectionTestUtils.setField(agentApplicationNameCache, "unknownAgentRetryInterval", 0L);
+        when(agentInfoDao.getApplicationName("agentId")).thenReturn("applicationName");
+        Assert.assertEquals("applicationName", agentApplicationNameCache.getApplicationName("agentId"));
+    }
+
+    @Test
+    public void lookupFailure() {
+        when(agentInfoDao.getApplicationName("agentId")).thenThrow(new RuntimeException("test"));
+
+        Assert.assertNull(agentApplicationNameCache.getApplicationName("agentId"));
+    }
+}
@@ -38,6 +38,8 @@ public final class HBaseTables {
 
     @Deprecated public static final TableName AGENT_STAT = TableName.valueOf("AgentStat");
     public static final TableName AGENT_STAT_VER2 = TableName.valueOf("AgentStatV2");
+    // application-wide rollups of agent stats, same row key layout and column family as AgentStatV2
+    public static final TableName APPLICATION_STAT_AGGRE = TableName.valueOf("ApplicationStatAggre");
 
     public static final byte[] AGENT_STAT_CF_STATISTICS = Bytes.toBytes("S"); // agent statistics column family
     // FIXME (2014.08) Legacy column for storing serialzied TAgentStat Thrift DTO.
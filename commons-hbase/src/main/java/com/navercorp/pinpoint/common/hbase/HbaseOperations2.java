@@ -67,6 +67,18 @@ public interface HbaseOperations2 {
     <T> T get(TableName tableName, final Get get, final RowMapper<T> mapper);
     <T> List<T> get(TableName tableName, final List<Get> get, final RowMapper<T> mapper);
 
+    /**
+     * Gets multiple rows from the given table. The gets are grouped by the region server hosting each row
+     * and each group is issued concurrently. The results are mapped in the order of the given list.
+     * Falls back to {@link #get(TableName, List, RowMapper)} if parallel execution is not enabled.
+     *
+     * @param tableName target table
+     * @param getList   gets to execute
+     * @param mapper    row mapper
+     * @return list of objects mapping the target rows, in request order
+     */
+    <T> List<T> getParallel(TableName tableName, final List<Get> getList, final RowMapper<T> mapper);
+
     void put(TableName tableName, final byte[] rowName, final byte[] familyName, final byte[] qualifier, final byte[] value);
     void put(TableName tableName, final byte[] rowName, final byte[] familyName, final byte[] qualifier, final Long timestamp, final byte[] value);
     <T> void put(TableName tableName, final byte[] rowName, final byte[] familyName, final byte[] qualifier, final T value, final ValueMapper<T> mapper);
@@ -25,12 +25,15 @@ import com.navercorp.pinpoint.common.util.StopWatch;
 import com.sematext.hbase.wd.AbstractRowKeyDistributor;
 import com.sematext.hbase.wd.DistributedScanner;
 import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.hbase.HRegionLocation;
+import org.apache.hadoop.hbase.ServerName;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Delete;
 import org.apache.hadoop.hbase.client.Durability;
 import org.apache.hadoop.hbase.client.Get;
 import org.apache.hadoop.hbase.client.Increment;
 import org.apache.hadoop.hbase.client.Put;
+import org.apache.hadoop.hbase.client.RegionLocator;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
@@ -43,14 +46,19 @@ import org.springframework.util.Assert;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.concurrent.Callable;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -64,6 +72,7 @@ public class HbaseTemplate2 extends HbaseAccessor implements HbaseOperations2, I
     private static final int DEFAULT_MAX_THREADS_PER_PARALLEL_SCAN = 1;
 
     private static final long DEFAULT_DESTORY_TIMEOUT = 2000;
+    private static final long DEFAULT_PARALLEL_GET_TIMEOUT = 10000;
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final boolean debugEnabled = this.logger.isDebugEnabled();
@@ -74,6 +83,7 @@ public class HbaseTemplate2 extends HbaseAccessor implements HbaseOperations2, I
     private boolean enableParallelScan = false;
     private int maxThreads = DEFAULT_MAX_THREADS_FOR_PARALLEL_SCANNER;
     private int maxThreadsPerParallelScan = DEFAULT_MAX_THREADS_PER_PARALLEL_SCAN;
+    private long parallelGetTimeout = DEFAULT_PARALLEL_GET_TIMEOUT;
 
     private HBaseAsyncOperation asyncOperation = DisabledHBaseAsyncOperation.INSTANCE;
 
@@ -96,6 +106,10 @@ public class HbaseTemplate2 extends HbaseAccessor implements HbaseOperations2, I
         this.maxThreadsPerParallelScan = maxThreadsPerParallelScan;
     }
 
+    public void setParallelGetTimeout(long parallelGetTimeout) {
+        this.parallelGetTimeout = parallelGetTimeout;
+    }
+
     public void setAsyncOperation(HBaseAsyncOperation asyncOperation) {
         if (asyncOperation == null) {
             throw new NullPointerException("asyncOperation");
@@ -117,6 +131,11 @@ public class HbaseTemplate2 extends HbaseAccessor implements HbaseOperations2, I
         }
     }
 
+    // for test
+    void setExecutor(ExecutorService executor) {
+        this.executor = executor;
+    }
+
     @Override
     public void destroy() throws Exception {
         StopWatch stopWatch = new StopWatch();
@@ -297,16 +316,136 @@ public class HbaseTemplate2 extends HbaseAccessor implements HbaseOperations2, I
             @Override
             public List<T> doInTable(Table table) throws Throwable {
                 Result[] result = table.get(getList);
-                List<T> list = new ArrayList<>(result.length);
-                for (int i = 0; i < result.length; i++) {
-                    T t = mapper.mapRow(result[i], i);
-                    list.add(t);
-                }
-                return list;
+                return mapResults(result, mapper);
             }
         });
     }
 
+    @Override
+    public <T> List<T> getParallel(final TableName tableName, final List<Get> getList, final RowMapper<T> mapper) {
+        assertAccessAvailable();
+        if (!this.enableParallelScan || getList.size() <= 1) {
+            return get(tableName, getList, mapper);
+        }
+        final Collection<List<Integer>> groups = groupByRegionServer(tableName, getList);
+        if (groups.size() <= 1) {
+            return get(tableName, getList, mapper);
+        }
+
+        final Result[] results = new Result[getList.size()];
+        final List<Future<Void>> futures = new ArrayList<>(groups.size());
+        try {
+            for (final List<Integer> group : groups) {
+                futures.add(this.executor.submit(new Callable<Void>() {
+                    @Override
+                    public Void call() throws Exception {
+                        final List<Get> groupGetList = new ArrayList<>(group.size());
+                        for (Integer index : group) {
+                            groupGetList.add(getList.get(index));
+                        }
+                        final Result[] groupResults = execute(tableName, new TableCallback<Result[]>() {
+                            @Override
+                            public Result[] doInTable(Table table) throws Throwable {
+                                return table.get(groupGetList);
+                            }
+                        });
+                        for (int i = 0; i < groupResults.length; i++) {
+                            results[group.get(i)] = groupResults[i];
+                        }
+                        return null;
+                    }
+                }));
+            }
+        } catch (RejectedExecutionException e) {
+            logger.warn("getParallel [{}] rejected by executor, fallback to serial get. cause:{}", tableName, e.getMessage());
+            cancelAll(futures);
+            return get(tableName, getList, mapper);
+        }
+
+        try {
+            final long deadline = System.currentTimeMillis() + this.parallelGetTimeout;
+            for (Future<Void> future : futures) {
+                final long remainingTime = Math.max(deadline - System.currentTimeMillis(), 0);
+                future.get(remainingTime, TimeUnit.MILLISECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancelAll(futures);
+            throw new HbaseSystemException(e);
+        } catch (TimeoutException e) {
+            logger.warn("getParallel [{}] timed out. timeout:{}ms", tableName, this.parallelGetTimeout);
+            cancelAll(futures);
+            throw new HbaseSystemException(e);
+        } catch (ExecutionException e) {
+            cancelAll(futures);
+            final Throwable cause = e.getCause();
+            if (cause instanceof Error) {
+                throw ((Error) cause);
+            }
+            if (cause instanceof RuntimeException) {
+                throw ((RuntimeException) cause);
+            }
+            throw new HbaseSystemException((Exception) cause);
+        }
+
+        try {
+            return mapResults(results, mapper);
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new HbaseSystemException(e);
+        }
+    }
+
+    private <T> List<T> mapResults(Result[] results, RowMapper<T> mapper) throws Exception {
+        final List<T> list = new ArrayList<>(results.length);
+        for (int i = 0; i < results.length; i++) {
+            T t = mapper.mapRow(results[i], i);
+            list.add(t);
+        }
+        return list;
+    }
+
+    /**
+     * Groups the indexes of the given gets by the region server currently hosting each row.
+     * Region locations are served from the connection's meta cache, so this usually does not issue any rpc.
+     */
+    private Collection<List<Integer>> groupByRegionServer(TableName tableName, List<Get> getList) {
+        final Map<ServerName, List<Integer>> groups = new LinkedHashMap<>();
+        final RegionLocator regionLocator = getTableFactory().getRegionLocator(tableName);
+        try {
+            for (int i = 0; i < getList.size(); i++) {
+                final HRegionLocation location = regionLocator.getRegionLocation(getList.get(i).getRow());
+                final ServerName serverName = location.getServerName();
+                List<Integer> group = groups.get(serverName);
+                if (group == null) {
+                    group = new ArrayList<>();
+                    groups.put(serverName, group);
+                }
+                group.add(i);
+            }
+        } catch (IOException e) {
+            throw new HbaseSystemException(e);
+        } finally {
+            closeRegionLocator(regionLocator);
+        }
+        return groups.values();
+    }
+
+    private void closeRegionLocator(RegionLocator regionLocator) {
+        try {
+            regionLocator.close();
+        } catch (IOException e) {
+            logger.warn("RegionLocator.close() error:{}", e.getMessage(), e);
+        }
+    }
+
+    private <T> void cancelAll(List<Future<T>> futures) {
+        for (Future<T> future : futures) {
+            future.cancel(true);
+        }
+    }
+
     @Override
     public void put(TableName tableName, final byte[] rowName, final byte[] familyName, final byte[] qualifier, final byte[] value) {
         put(tableName, rowName, familyName, qualifier, null, value);
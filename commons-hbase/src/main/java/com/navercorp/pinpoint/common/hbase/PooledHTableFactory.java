@@ -21,6 +21,7 @@ import org.apache.hadoop.conf.Configuration;
 import org.apache.hadoop.hbase.TableName;
 import org.apache.hadoop.hbase.client.Connection;
 import org.apache.hadoop.hbase.client.ConnectionFactory;
+import org.apache.hadoop.hbase.client.RegionLocator;
 import org.apache.hadoop.hbase.client.Table;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -103,6 +104,15 @@ public class PooledHTableFactory implements TableFactory, DisposableBean {
     }
 
 
+    @Override
+    public RegionLocator getRegionLocator(TableName tableName) {
+        try {
+            return connection.getRegionLocator(tableName);
+        } catch (IOException e) {
+            throw new HbaseSystemException(e);
+        }
+    }
+
     @Override
     public void destroy() throws Exception {
         logger.info("PooledHTableFactory.destroy()");
@@ -19,6 +19,7 @@
 package com.navercorp.pinpoint.common.hbase;
 
 import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.RegionLocator;
 import org.apache.hadoop.hbase.client.Table;
 
 /**
@@ -41,4 +42,12 @@ public interface TableFactory {
    * @param table
    */
   void releaseTable(final Table table);
+
+  /**
+   * Returns a RegionLocator for the given table, used to find out which region server hosts a row.
+   * The caller is responsible for closing the returned instance.
+   * @param tableName name of the HBase table.
+   * @return RegionLocator instance.
+   */
+  RegionLocator getRegionLocator(TableName tableName);
 }
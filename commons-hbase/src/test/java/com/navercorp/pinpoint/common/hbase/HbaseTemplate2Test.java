@@ -0,0 +1,232 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.hbase;
+
+import org.apache.hadoop.hbase.Cell;
+import org.apache.hadoop.hbase.HBaseConfiguration;
+import org.apache.hadoop.hbase.HRegionLocation;
+import org.apache.hadoop.hbase.KeyValue;
+import org.apache.hadoop.hbase.ServerName;
+import org.apache.hadoop.hbase.TableName;
+import org.apache.hadoop.hbase.client.Get;
+import org.apache.hadoop.hbase.client.RegionLocator;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.Table;
+import org.apache.hadoop.hbase.util.Bytes;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class HbaseTemplate2Test {
+
+    private static final TableName TABLE_NAME = TableName.valueOf("test");
+    private static final byte[] FAMILY = Bytes.toBytes("f");
+
+    private static final ServerName SERVER1 = ServerName.valueOf("server1", 16020, 1L);
+    private static final ServerName SERVER2 = ServerName.valueOf("server2", 16020, 1L);
+
+    private final List<List<Get>> getCalls = Collections.synchronizedList(new ArrayList<List<Get>>());
+
+    private HbaseTemplate2 hbaseTemplate2;
+    private Table table;
+
+    @Before
+    public void setUp() throws Exception {
+        table = mock(Table.class);
+        when(table.get(anyListOf(Get.class))).thenAnswer(new Answer<Result[]>() {
+            @Override
+            public Result[] answer(InvocationOnMock invocation) throws Throwable {
+                @SuppressWarnings("unchecked")
+                final List<Get> getList = (List<Get>) invocation.getArguments()[0];
+                getCalls.add(getList);
+                return toResults(getList);
+            }
+        });
+
+        final RegionLocator regionLocator = mock(RegionLocator.class);
+        when(regionLocator.getRegionLocation(any(byte[].class))).thenAnswer(new Answer<HRegionLocation>() {
+            @Override
+            public HRegionLocation answer(InvocationOnMock invocation) throws Throwable {
+                final byte[] row = (byte[]) invocation.getArguments()[0];
+                // even rows on server1, odd rows on server2
+                final ServerName serverName = row[row.length - 1] % 2 == 0 ? SERVER1 : SERVER2;
+                final HRegionLocation location = mock(HRegionLocation.class);
+                when(location.getServerName()).thenReturn(serverName);
+                return location;
+            }
+        });
+
+        final TableFactory tableFactory = mock(TableFactory.class);
+        when(tableFactory.getTable(TABLE_NAME)).thenReturn(table);
+        when(tableFactory.getRegionLocator(TABLE_NAME)).thenReturn(regionLocator);
+
+        hbaseTemplate2 = new HbaseTemplate2();
+        hbaseTemplate2.setConfiguration(HBaseConfiguration.create());
+        hbaseTemplate2.setTableFactory(tableFactory);
+        hbaseTemplate2.setEnableParallelScan(true);
+        hbaseTemplate2.setMaxThreads(4);
+        hbaseTemplate2.setMaxThreadsPerParallelScan(4);
+        hbaseTemplate2.afterPropertiesSet();
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        hbaseTemplate2.destroy();
+    }
+
+    @Test
+    public void getParallel_groupByRegionServer() {
+        final List<Get> getList = createGetList(4);
+
+        final List<String> rows = hbaseTemplate2.getParallel(TABLE_NAME, getList, RowNameMapper.INSTANCE);
+
+        Assert.assertEquals(Arrays.asList("row0", "row1", "row2", "row3"), rows);
+        Assert.assertEquals(2, getCalls.size());
+        for (List<Get> getCall : getCalls) {
+            Assert.assertEquals(2, getCall.size());
+        }
+    }
+
+    @Test
+    public void getParallel_singleRegionServer() {
+        final List<Get> getList = Arrays.asList(new Get(Bytes.toBytes("row0")), new Get(Bytes.toBytes("row2")));
+
+        final List<String> rows = hbaseTemplate2.getParallel(TABLE_NAME, getList, RowNameMapper.INSTANCE);
+
+        Assert.assertEquals(Arrays.asList("row0", "row2"), rows);
+        Assert.assertEquals(1, getCalls.size());
+    }
+
+    @Test
+    public void getParallel_timeout() throws Exception {
+        hbaseTemplate2.setParallelGetTimeout(100);
+        when(table.get(anyListOf(Get.class))).thenAnswer(new Answer<Result[]>() {
+            @Override
+            public Result[] answer(InvocationOnMock invocation) throws Throwable {
+                TimeUnit.SECONDS.sleep(10);
+                return null;
+            }
+        });
+
+        try {
+            hbaseTemplate2.getParallel(TABLE_NAME, createGetList(4), RowNameMapper.INSTANCE);
+            Assert.fail("timeout expected");
+        } catch (HbaseSystemException e) {
+            Assert.assertTrue(e.getCause() instanceof TimeoutException);
+        }
+    }
+
+    @Test
+    public void getParallel_rejected() {
+        final AcceptOnceExecutor executor = new AcceptOnceExecutor();
+        hbaseTemplate2.setExecutor(executor);
+
+        final List<String> rows = hbaseTemplate2.getParallel(TABLE_NAME, createGetList(4), RowNameMapper.INSTANCE);
+
+        Assert.assertEquals(Arrays.asList("row0", "row1", "row2", "row3"), rows);
+        // fell back to a single serial get
+        Assert.assertEquals(1, getCalls.size());
+        Assert.assertEquals(4, getCalls.get(0).size());
+        Assert.assertTrue(executor.accepted.isCancelled());
+    }
+
+    private static List<Get> createGetList(int size) {
+        final List<Get> getList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            getList.add(new Get(Bytes.toBytes("row" + i)));
+        }
+        return getList;
+    }
+
+    private static Result[] toResults(List<Get> getList) {
+        final Result[] results = new Result[getList.size()];
+        for (int i = 0; i < results.length; i++) {
+            final byte[] row = getList.get(i).getRow();
+            final Cell cell = new KeyValue(row, FAMILY, FAMILY, row);
+            results[i] = Result.create(new Cell[]{cell});
+        }
+        return results;
+    }
+
+    private enum RowNameMapper implements RowMapper<String> {
+        INSTANCE;
+
+        @Override
+        public String mapRow(Result result, int rowNum) throws Exception {
+            return Bytes.toString(result.getRow());
+        }
+    }
+
+    /**
+     * keeps the first task without running it, rejects all the others.
+     */
+    private static class AcceptOnceExecutor extends AbstractExecutorService {
+
+        private Future<?> accepted;
+
+        @Override
+        public void execute(Runnable command) {
+            if (accepted == null) {
+                accepted = (Future<?>) command;
+                return;
+            }
+            throw new RejectedExecutionException("rejected");
+        }
+
+        @Override
+        public void shutdown() {
+        }
+
+        @Override
+        public List<Runnable> shutdownNow() {
+            return Collections.emptyList();
+        }
+
+        @Override
+        public boolean isShutdown() {
+            return false;
+        }
+
+        @Override
+        public boolean isTerminated() {
+            return true;
+        }
+
+        @Override
+        public boolean awaitTermination(long timeout, TimeUnit unit) {
+            return true;
+        }
+    }
+}
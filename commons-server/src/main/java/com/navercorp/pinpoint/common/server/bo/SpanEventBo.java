@@ -16,6 +16,8 @@
 
 package com.navercorp.pinpoint.common.server.bo;
 
+import com.navercorp.pinpoint.common.util.ElapsedMicrosUtils;
+
 import java.util.List;
 
 /**
@@ -32,6 +34,8 @@ public class SpanEventBo implements Event {
 
     private int startElapsed;
     private int endElapsed;
+    // sub millisecond parts of startElapsed and endElapsed packed by ElapsedMicrosUtils, -1 if not recorded
+    private int elapsedMicros = -1;
 
     private String rpc;
     private short serviceType;
@@ -92,6 +96,25 @@ public class SpanEventBo implements Event {
         this.endElapsed = endElapsed;
     }
 
+    public int getElapsedMicros() {
+        return elapsedMicros;
+    }
+
+    public void setElapsedMicros(int elapsedMicros) {
+        this.elapsedMicros = elapsedMicros;
+    }
+
+    public boolean hasElapsedMicros() {
+        return elapsedMicros != -1;
+    }
+
+    public long getEndElapsedMicros() {
+        if (!hasElapsedMicros()) {
+            return endElapsed * 1000L;
+        }
+        return ElapsedMicrosUtils.toEndElapsedMicros(endElapsed, elapsedMicros);
+    }
+
     public String getRpc() {
         return rpc;
     }
@@ -228,6 +251,8 @@ public class SpanEventBo implements Event {
         builder.append(startElapsed);
         builder.append(", endElapsed=");
         builder.append(endElapsed);
+        builder.append(", elapsedMicros=");
+        builder.append(elapsedMicros);
         builder.append(", rpc=");
         builder.append(rpc);
         builder.append(", serviceType=");
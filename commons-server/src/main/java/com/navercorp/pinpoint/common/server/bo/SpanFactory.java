@@ -5,6 +5,7 @@ package com.navercorp.pinpoint.common.server.bo;
 import com.navercorp.pinpoint.common.server.bo.filter.EmptySpanEventFilter;
 import com.navercorp.pinpoint.common.server.bo.filter.SpanEventFilter;
 import com.navercorp.pinpoint.common.server.util.AcceptedTimeService;
+import com.navercorp.pinpoint.common.server.util.AnnotationUtils;
 import com.navercorp.pinpoint.common.server.util.EmptyAcceptedTimeService;
 import com.navercorp.pinpoint.common.util.AnnotationTranscoder;
 import com.navercorp.pinpoint.common.util.TransactionId;
@@ -142,6 +143,7 @@ public class SpanFactory {
         }
 
         List<AnnotationBo> annotationList = buildAnnotationList(tSpanEvent.getAnnotations());
+        spanEvent.setElapsedMicros(AnnotationUtils.removeElapsedMicros(annotationList));
         spanEvent.setAnnotationBoList(annotationList);
 
         final TIntStringValue exceptionInfo = tSpanEvent.getExceptionInfo();
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.alarm;
+
+/**
+ * Heap and jvm cpu usage of an agent summed over the window of an {@link AlarmStatReportBo}.
+ * <tt>jvmCpuLoad</tt> is the sum of the sampled loads in percent, <tt>jvmCpuLoadCount</tt> the number of samples.
+ */
+public class AgentAlarmStatBo {
+
+    private String agentId;
+    private long heapUsed;
+    private long heapMax;
+    private long jvmCpuLoad;
+    private long jvmCpuLoadCount;
+
+    public String getAgentId() {
+        return agentId;
+    }
+
+    public void setAgentId(String agentId) {
+        this.agentId = agentId;
+    }
+
+    public long getHeapUsed() {
+        return heapUsed;
+    }
+
+    public void setHeapUsed(long heapUsed) {
+        this.heapUsed = heapUsed;
+    }
+
+    public long getHeapMax() {
+        return heapMax;
+    }
+
+    public void setHeapMax(long heapMax) {
+        this.heapMax = heapMax;
+    }
+
+    public long getJvmCpuLoad() {
+        return jvmCpuLoad;
+    }
+
+    public void setJvmCpuLoad(long jvmCpuLoad) {
+        this.jvmCpuLoad = jvmCpuLoad;
+    }
+
+    public long getJvmCpuLoadCount() {
+        return jvmCpuLoadCount;
+    }
+
+    public void setJvmCpuLoadCount(long jvmCpuLoadCount) {
+        this.jvmCpuLoadCount = jvmCpuLoadCount;
+    }
+
+    @Override
+    public String toString() {
+        return "AgentAlarmStatBo{" +
+                "agentId='" + agentId + '\'' +
+                ", heapUsed=" + heapUsed +
+                ", heapMax=" + heapMax +
+                ", jvmCpuLoad=" + jvmCpuLoad +
+                ", jvmCpuLoadCount=" + jvmCpuLoadCount +
+                '}';
+    }
+}
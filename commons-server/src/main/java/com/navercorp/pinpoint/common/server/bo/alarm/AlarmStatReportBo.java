@@ -0,0 +1,74 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.alarm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Alarm statistics a collector periodically reports to the web running the alarm batch.
+ * Every report holds the sums over the whole window ending at <tt>reportTime</tt> and replaces the previous report of the same collector.
+ */
+public class AlarmStatReportBo {
+
+    private String collectorId;
+    private long reportTime;
+    private long windowSize;
+    private List<ApplicationAlarmStatBo> applicationStats = new ArrayList<>();
+
+    public String getCollectorId() {
+        return collectorId;
+    }
+
+    public void setCollectorId(String collectorId) {
+        this.collectorId = collectorId;
+    }
+
+    public long getReportTime() {
+        return reportTime;
+    }
+
+    public void setReportTime(long reportTime) {
+        this.reportTime = reportTime;
+    }
+
+    public long getWindowSize() {
+        return windowSize;
+    }
+
+    public void setWindowSize(long windowSize) {
+        this.windowSize = windowSize;
+    }
+
+    public List<ApplicationAlarmStatBo> getApplicationStats() {
+        return applicationStats;
+    }
+
+    public void setApplicationStats(List<ApplicationAlarmStatBo> applicationStats) {
+        this.applicationStats = applicationStats;
+    }
+
+    @Override
+    public String toString() {
+        return "AlarmStatReportBo{" +
+                "collectorId='" + collectorId + '\'' +
+                ", reportTime=" + reportTime +
+                ", windowSize=" + windowSize +
+                ", applicationStats=" + applicationStats.size() +
+                '}';
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.alarm;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Response counts of an application and stats of its agents, summed over the window of an {@link AlarmStatReportBo}.
+ */
+public class ApplicationAlarmStatBo {
+
+    private String applicationName;
+    private long totalCount;
+    private long slowCount;
+    private long errorCount;
+    private List<AgentAlarmStatBo> agentStats = new ArrayList<>();
+
+    public String getApplicationName() {
+        return applicationName;
+    }
+
+    public void setApplicationName(String applicationName) {
+        this.applicationName = applicationName;
+    }
+
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    public void setTotalCount(long totalCount) {
+        this.totalCount = totalCount;
+    }
+
+    public long getSlowCount() {
+        return slowCount;
+    }
+
+    public void setSlowCount(long slowCount) {
+        this.slowCount = slowCount;
+    }
+
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    public void setErrorCount(long errorCount) {
+        this.errorCount = errorCount;
+    }
+
+    public List<AgentAlarmStatBo> getAgentStats() {
+        return agentStats;
+    }
+
+    public void setAgentStats(List<AgentAlarmStatBo> agentStats) {
+        this.agentStats = agentStats;
+    }
+
+    @Override
+    public String toString() {
+        return "ApplicationAlarmStatBo{" +
+                "applicationName='" + applicationName + '\'' +
+                ", totalCount=" + totalCount +
+                ", slowCount=" + slowCount +
+                ", errorCount=" + errorCount +
+                ", agentStats=" + agentStats +
+                '}';
+    }
+}
@@ -17,6 +17,7 @@
 package com.navercorp.pinpoint.common.server.bo.codec.stat;
 
 import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.UnsignedLongEncodingStrategy;
 import com.navercorp.pinpoint.common.server.bo.codec.strategy.EncodingStrategy;
 import org.springframework.stereotype.Component;
 
@@ -58,6 +59,20 @@ public class AgentStatDataPointCodec {
         return timestamps;
     }
 
+    public void decodeTimestamps(long initialTimestamp, Buffer buffer, long[] timestamps, int numValues) {
+        if (numValues < 1) {
+            return;
+        }
+        timestamps[0] = initialTimestamp;
+        long prevTimestamp = initialTimestamp;
+        long prevDelta = 0;
+        for (int i = 1; i < numValues; ++i) {
+            prevDelta += buffer.readVLong();
+            prevTimestamp += prevDelta;
+            timestamps[i] = prevTimestamp;
+        }
+    }
+
     public <T extends Number> void encodeValues(Buffer buffer, EncodingStrategy<T> encodingStrategy, List<T> values) {
         encodingStrategy.encodeValues(buffer, values);
     }
@@ -65,6 +80,10 @@ public class AgentStatDataPointCodec {
     public <T extends Number> List<T> decodeValues(Buffer buffer, EncodingStrategy<T> encodingStrategy, int numValues) {
         return encodingStrategy.decodeValues(buffer, numValues);
     }
+
+    public void decodeValues(Buffer buffer, UnsignedLongEncodingStrategy encodingStrategy, long[] values, int numValues) {
+        encodingStrategy.decodeValues(buffer, values, numValues);
+    }
 }
 
 
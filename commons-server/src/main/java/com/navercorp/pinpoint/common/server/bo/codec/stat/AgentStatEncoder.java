@@ -28,12 +28,32 @@ import java.util.List;
  */
 public class AgentStatEncoder<T extends AgentStatDataPoint> {
 
+    // codec version written by the collector, see collector.stat.codec.version in pinpoint-collector.properties
+    protected static final String AGENT_STAT_CODEC_VERSION = "${collector.stat.codec.version:2}";
+
     private final AgentStatCodec<T> codec;
 
     public AgentStatEncoder(AgentStatCodec<T> codec) {
+        if (codec == null) {
+            throw new NullPointerException("codec must not be null");
+        }
         this.codec = codec;
     }
 
+    /**
+     * Returns the codec writing the given version. Nodes reading agent stats must be able to decode the version
+     * before it is written, so newer versions have to be enabled explicitly once every web has been upgraded.
+     */
+    @SafeVarargs
+    protected static <T extends AgentStatDataPoint> AgentStatCodec<T> selectCodec(int version, AgentStatCodec<T>... codecs) {
+        for (AgentStatCodec<T> codec : codecs) {
+            if (codec.getVersion() == version) {
+                return codec;
+            }
+        }
+        throw new IllegalArgumentException("Unsupported agent stat codec version : " + version);
+    }
+
     public ByteBuffer encodeQualifier(long timestampDelta) {
         // Variable-length encoding of 5 minutes (300000 ms) takes up max 3 bytes
         Buffer qualifierBuffer = new AutomaticBuffer(3);
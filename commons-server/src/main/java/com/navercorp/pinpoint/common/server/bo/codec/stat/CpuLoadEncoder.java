@@ -19,6 +19,7 @@ package com.navercorp.pinpoint.common.server.bo.codec.stat;
 import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -28,7 +29,9 @@ import org.springframework.stereotype.Component;
 public class CpuLoadEncoder extends AgentStatEncoder<CpuLoadBo> {
 
     @Autowired
-    private CpuLoadEncoder(@Qualifier("cpuLoadCodecV2") AgentStatCodec<CpuLoadBo> cpuLoadCodec) {
-        super(cpuLoadCodec);
+    private CpuLoadEncoder(@Qualifier("cpuLoadCodecV2") AgentStatCodec<CpuLoadBo> cpuLoadCodecV2,
+                           @Qualifier("cpuLoadCodecV3") AgentStatCodec<CpuLoadBo> cpuLoadCodecV3,
+                           @Value(AGENT_STAT_CODEC_VERSION) int codecVersion) {
+        super(selectCodec(codecVersion, cpuLoadCodecV2, cpuLoadCodecV3));
     }
 }
@@ -19,6 +19,7 @@ package com.navercorp.pinpoint.common.server.bo.codec.stat;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -28,7 +29,9 @@ import org.springframework.stereotype.Component;
 public class JvmGcEncoder extends AgentStatEncoder<JvmGcBo> {
 
     @Autowired
-    public JvmGcEncoder(@Qualifier("jvmGcCodecV2") AgentStatCodec<JvmGcBo> jvmGcCodec) {
-        super(jvmGcCodec);
+    public JvmGcEncoder(@Qualifier("jvmGcCodecV2") AgentStatCodec<JvmGcBo> jvmGcCodecV2,
+                        @Qualifier("jvmGcCodecV3") AgentStatCodec<JvmGcBo> jvmGcCodecV3,
+                        @Value(AGENT_STAT_CODEC_VERSION) int codecVersion) {
+        super(selectCodec(codecVersion, jvmGcCodecV2, jvmGcCodecV3));
     }
 }
@@ -19,6 +19,7 @@ package com.navercorp.pinpoint.common.server.bo.codec.stat;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 /**
@@ -28,7 +29,9 @@ import org.springframework.stereotype.Component;
 public class TransactionEncoder extends AgentStatEncoder<TransactionBo> {
 
     @Autowired
-    public TransactionEncoder(@Qualifier("transactionCodecV2") AgentStatCodec<TransactionBo> transactionCodec) {
-        super(transactionCodec);
+    public TransactionEncoder(@Qualifier("transactionCodecV2") AgentStatCodec<TransactionBo> transactionCodecV2,
+                              @Qualifier("transactionCodecV3") AgentStatCodec<TransactionBo> transactionCodecV3,
+                              @Value(AGENT_STAT_CODEC_VERSION) int codecVersion) {
+        super(selectCodec(codecVersion, transactionCodecV2, transactionCodecV3));
     }
 }
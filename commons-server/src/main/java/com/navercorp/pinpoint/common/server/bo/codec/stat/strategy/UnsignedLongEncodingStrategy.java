@@ -20,10 +20,12 @@ import com.navercorp.pinpoint.common.buffer.Buffer;
 import com.navercorp.pinpoint.common.server.bo.codec.ArithmeticOperation;
 import com.navercorp.pinpoint.common.server.bo.codec.TypedBufferHandler;
 import com.navercorp.pinpoint.common.server.bo.codec.strategy.EncodingStrategy;
+import com.navercorp.pinpoint.common.server.bo.codec.strategy.impl.BitPackingEncodingStrategy;
 import com.navercorp.pinpoint.common.server.bo.codec.strategy.impl.DeltaEncodingStrategy;
 import com.navercorp.pinpoint.common.server.bo.codec.strategy.impl.DeltaOfDeltaEncodingStrategy;
 import com.navercorp.pinpoint.common.server.bo.codec.strategy.impl.RepeatCountEncodingStrategy;
 import com.navercorp.pinpoint.common.server.bo.codec.strategy.impl.ValueEncodingStrategy;
+import com.navercorp.pinpoint.common.server.bo.codec.strategy.impl.XorEncodingStrategy;
 import com.navercorp.pinpoint.common.util.BytesUtils;
 
 import java.util.ArrayList;
@@ -35,10 +37,69 @@ import java.util.List;
  * @author HyunGil Jeong
  */
 public enum UnsignedLongEncodingStrategy implements EncodingStrategy<Long> {
-    NONE(new ValueEncodingStrategy.Unsigned<Long>(TypedBufferHandler.LONG_BUFFER_HANDLER)),
-    REPEAT_COUNT(new RepeatCountEncodingStrategy.Unsigned<Long>(TypedBufferHandler.LONG_BUFFER_HANDLER)),
-    DELTA(new DeltaEncodingStrategy.Unsigned<Long>(TypedBufferHandler.LONG_BUFFER_HANDLER, ArithmeticOperation.LONG_OPERATIONS)),
-    DELTA_OF_DELTA(new DeltaOfDeltaEncodingStrategy.Unsigned<Long>(TypedBufferHandler.LONG_BUFFER_HANDLER, ArithmeticOperation.LONG_OPERATIONS));
+    NONE(new ValueEncodingStrategy.Unsigned<Long>(TypedBufferHandler.LONG_BUFFER_HANDLER)) {
+        @Override
+        public void decodeValues(Buffer buffer, long[] values, int numValues) {
+            for (int i = 0; i < numValues; ++i) {
+                values[i] = buffer.readVLong();
+            }
+        }
+    },
+    REPEAT_COUNT(new RepeatCountEncodingStrategy.Unsigned<Long>(TypedBufferHandler.LONG_BUFFER_HANDLER)) {
+        @Override
+        public void decodeValues(Buffer buffer, long[] values, int numValues) {
+            int totalCount = 0;
+            while (totalCount < numValues) {
+                final int count = Math.min(buffer.readVInt(), numValues - totalCount);
+                final long value = buffer.readVLong();
+                Arrays.fill(values, totalCount, totalCount + count, value);
+                totalCount += count;
+            }
+        }
+    },
+    DELTA(new DeltaEncodingStrategy.Unsigned<Long>(TypedBufferHandler.LONG_BUFFER_HANDLER, ArithmeticOperation.LONG_OPERATIONS)) {
+        @Override
+        public void decodeValues(Buffer buffer, long[] values, int numValues) {
+            if (numValues < 1) {
+                return;
+            }
+            long previousValue = buffer.readVLong();
+            values[0] = previousValue;
+            for (int i = 1; i < numValues; ++i) {
+                previousValue ^= buffer.readVLong();
+                values[i] = previousValue;
+            }
+        }
+    },
+    DELTA_OF_DELTA(new DeltaOfDeltaEncodingStrategy.Unsigned<Long>(TypedBufferHandler.LONG_BUFFER_HANDLER, ArithmeticOperation.LONG_OPERATIONS)) {
+        @Override
+        public void decodeValues(Buffer buffer, long[] values, int numValues) {
+            if (numValues < 1) {
+                return;
+            }
+            long previousValue = buffer.readVLong();
+            long previousDelta = 0;
+            values[0] = previousValue;
+            for (int i = 1; i < numValues; ++i) {
+                previousDelta += buffer.readSVLong();
+                previousValue += previousDelta;
+                values[i] = previousValue;
+            }
+        }
+    },
+    // strategies below are only chosen by analyzers built with bit packing enabled, as codecs prior to V3 cannot decode them
+    BIT_PACKING(new BitPackingEncodingStrategy()) {
+        @Override
+        public void decodeValues(Buffer buffer, long[] values, int numValues) {
+            ((BitPackingEncodingStrategy) getDelegate()).decodeValues(buffer, values, numValues);
+        }
+    },
+    XOR(new XorEncodingStrategy()) {
+        @Override
+        public void decodeValues(Buffer buffer, long[] values, int numValues) {
+            ((XorEncodingStrategy) getDelegate()).decodeValues(buffer, values, numValues);
+        }
+    };
 
     private final EncodingStrategy<Long> delegate;
 
@@ -46,6 +107,10 @@ public enum UnsignedLongEncodingStrategy implements EncodingStrategy<Long> {
         this.delegate = delegate;
     }
 
+    EncodingStrategy<Long> getDelegate() {
+        return delegate;
+    }
+
     @Override
     public byte getCode() {
         return this.delegate.getCode();
@@ -61,6 +126,12 @@ public enum UnsignedLongEncodingStrategy implements EncodingStrategy<Long> {
         return this.delegate.decodeValues(buffer, numValues);
     }
 
+    /**
+     * Decodes the same values as {@link #decodeValues(Buffer, int)} into the first <tt>numValues</tt> elements of
+     * <tt>values</tt>, without boxing them.
+     */
+    public abstract void decodeValues(Buffer buffer, long[] values, int numValues);
+
     public static UnsignedLongEncodingStrategy getFromCode(int code) {
         for (UnsignedLongEncodingStrategy encodingStrategy : UnsignedLongEncodingStrategy.values()) {
             if (encodingStrategy.getCode() == (code & 0xFF)) {
@@ -92,6 +163,8 @@ public enum UnsignedLongEncodingStrategy implements EncodingStrategy<Long> {
 
         public static class Builder implements StrategyAnalyzerBuilder<Long> {
 
+            private final boolean bitPacking;
+
             private final List<Long> values = new ArrayList<Long>();
             private long previousValue = 0L;
             private long previousDelta = 0L;
@@ -100,9 +173,29 @@ public enum UnsignedLongEncodingStrategy implements EncodingStrategy<Long> {
             private int byteSizeDelta = 0;
             private int byteSizeDeltaOfDelta = 0;
             private int byteSizeRepeatCount = 0;
+            private int byteSizeBitPacking = 0;
+            private int byteSizeXor = 0;
 
             private int repeatedValueCount = 0;
 
+            private long minValue = Long.MAX_VALUE;
+            private long maxValue = Long.MIN_VALUE;
+
+            private long xorBitCount = 0;
+            private int xorLeadingZeros = Long.SIZE;
+            private int xorTrailingZeros = Long.SIZE;
+
+            public Builder() {
+                this(false);
+            }
+
+            /**
+             * @param bitPacking whether {@link #BIT_PACKING} and {@link #XOR} may be chosen as well
+             */
+            public Builder(boolean bitPacking) {
+                this.bitPacking = bitPacking;
+            }
+
             @Override
             public StrategyAnalyzerBuilder<Long> addValue(Long value) {
                 long delta = value - this.previousValue;
@@ -113,6 +206,8 @@ public enum UnsignedLongEncodingStrategy implements EncodingStrategy<Long> {
                     this.previousDelta = delta;
                 }
                 this.previousValue = value;
+                this.minValue = Math.min(this.minValue, value);
+                this.maxValue = Math.max(this.maxValue, value);
 
                 this.values.add(value);
                 return this;
@@ -123,6 +218,11 @@ public enum UnsignedLongEncodingStrategy implements EncodingStrategy<Long> {
                 if (this.repeatedValueCount > 0) {
                     this.byteSizeRepeatCount += BytesUtils.computeVar32Size(this.repeatedValueCount);
                 }
+                if (!this.values.isEmpty()) {
+                    final long bitPackedBitCount = (long) this.values.size() * BitPackingEncodingStrategy.getBitWidth(this.minValue, this.maxValue);
+                    this.byteSizeBitPacking = expectedBytesVLength(this.minValue) + 1 + toByteSize(bitPackedBitCount);
+                    this.byteSizeXor += toByteSize(this.xorBitCount);
+                }
                 EncodingStrategy<Long> bestStrategy;
                 int minimumNumBytesUsed = Collections.min(Arrays.asList(
                         this.byteSizeValue,
@@ -138,6 +238,15 @@ public enum UnsignedLongEncodingStrategy implements EncodingStrategy<Long> {
                 } else {
                     bestStrategy = REPEAT_COUNT;
                 }
+                if (this.bitPacking) {
+                    if (this.byteSizeBitPacking < minimumNumBytesUsed) {
+                        bestStrategy = BIT_PACKING;
+                        minimumNumBytesUsed = this.byteSizeBitPacking;
+                    }
+                    if (this.byteSizeXor < minimumNumBytesUsed) {
+                        bestStrategy = XOR;
+                    }
+                }
                 List<Long> values = new ArrayList<Long>(this.values);
                 this.values.clear();
                 return new Analyzer(bestStrategy, values);
@@ -159,6 +268,14 @@ public enum UnsignedLongEncodingStrategy implements EncodingStrategy<Long> {
                 return byteSizeRepeatCount;
             }
 
+            int getByteSizeBitPacking() {
+                return byteSizeBitPacking;
+            }
+
+            int getByteSizeXor() {
+                return byteSizeXor;
+            }
+
             private void initializeByteSizes(long value) {
                 int expectedNumBytesUsedByValue = expectedBytesVLength(value);
                 this.byteSizeValue = expectedNumBytesUsedByValue;
@@ -166,6 +283,7 @@ public enum UnsignedLongEncodingStrategy implements EncodingStrategy<Long> {
                 this.byteSizeDeltaOfDelta = expectedNumBytesUsedByValue;
                 this.repeatedValueCount = 1;
                 this.byteSizeRepeatCount = expectedNumBytesUsedByValue;
+                this.byteSizeXor = expectedNumBytesUsedByValue;
             }
 
             private void updateByteSizes(long value, long delta) {
@@ -180,6 +298,28 @@ public enum UnsignedLongEncodingStrategy implements EncodingStrategy<Long> {
                 } else {
                     this.repeatedValueCount++;
                 }
+                updateXorBitCount(value ^ this.previousValue);
+            }
+
+            // mirrors XorEncodingStrategy
+            private void updateXorBitCount(long xor) {
+                if (xor == 0) {
+                    this.xorBitCount += 1;
+                    return;
+                }
+                final int leadingZeros = Long.numberOfLeadingZeros(xor);
+                final int trailingZeros = Long.numberOfTrailingZeros(xor);
+                if (leadingZeros >= this.xorLeadingZeros && trailingZeros >= this.xorTrailingZeros) {
+                    this.xorBitCount += 2 + Long.SIZE - this.xorLeadingZeros - this.xorTrailingZeros;
+                } else {
+                    this.xorBitCount += 2 + XorEncodingStrategy.LEADING_ZEROS_BITS + XorEncodingStrategy.MEANINGFUL_BITS_LENGTH_BITS + Long.SIZE - leadingZeros - trailingZeros;
+                    this.xorLeadingZeros = leadingZeros;
+                    this.xorTrailingZeros = trailingZeros;
+                }
+            }
+
+            private int toByteSize(long bitCount) {
+                return (int) ((bitCount + 7) / 8);
             }
 
             private int expectedBytesVLength(long value) {
@@ -0,0 +1,163 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.codec.stat.v2;
+
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatDataPointCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.AgentStatHeaderDecoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.AgentStatHeaderEncoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.BitCountingHeaderDecoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.header.BitCountingHeaderEncoder;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.StrategyAnalyzer;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.UnsignedLongEncodingStrategy;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatDecodingContext;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatType;
+import com.navercorp.pinpoint.common.server.bo.stat.ApplicationStatBo;
+import org.apache.commons.collections.CollectionUtils;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Encodes the count, min, max and sum of each field as a separate series so that every series
+ * gets its own best encoding strategy, as with the agent stat codecs.
+ */
+@Component("applicationStatCodecV2")
+public class ApplicationStatCodecV2 implements AgentStatCodec<ApplicationStatBo> {
+
+    private static final byte VERSION = 2;
+
+    private static final int NUM_SERIES_PER_FIELD = 4;
+
+    private final AgentStatDataPointCodec codec;
+
+    @Autowired
+    public ApplicationStatCodecV2(AgentStatDataPointCodec codec) {
+        Assert.notNull(codec, "agentStatDataPointCodec must not be null");
+        this.codec = codec;
+    }
+
+    @Override
+    public byte getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    public void encodeValues(Buffer valueBuffer, List<ApplicationStatBo> applicationStatBos) {
+        if (CollectionUtils.isEmpty(applicationStatBos)) {
+            throw new IllegalArgumentException("applicationStatBos must not be empty");
+        }
+        final ApplicationStatBo first = applicationStatBos.get(0);
+        final AgentStatType agentStatType = first.getAgentStatType();
+        final int fieldCount = first.getFieldCount();
+        final int numValues = applicationStatBos.size();
+        valueBuffer.putVInt(numValues);
+        valueBuffer.putByte(agentStatType.getRawTypeCode());
+        valueBuffer.putVInt(fieldCount);
+
+        List<Long> timestamps = new ArrayList<Long>(numValues);
+        List<UnsignedLongEncodingStrategy.Analyzer.Builder> analyzerBuilders = new ArrayList<UnsignedLongEncodingStrategy.Analyzer.Builder>(fieldCount * NUM_SERIES_PER_FIELD);
+        for (int i = 0; i < fieldCount * NUM_SERIES_PER_FIELD; ++i) {
+            analyzerBuilders.add(new UnsignedLongEncodingStrategy.Analyzer.Builder());
+        }
+        for (ApplicationStatBo applicationStatBo : applicationStatBos) {
+            if (applicationStatBo.getAgentStatType() != agentStatType || applicationStatBo.getFieldCount() != fieldCount) {
+                throw new IllegalArgumentException("applicationStatBos must be of the same type. expected:" + agentStatType + ", actual:" + applicationStatBo.getAgentStatType());
+            }
+            timestamps.add(applicationStatBo.getTimestamp());
+            for (int fieldIndex = 0; fieldIndex < fieldCount; ++fieldIndex) {
+                final int seriesIndex = fieldIndex * NUM_SERIES_PER_FIELD;
+                analyzerBuilders.get(seriesIndex).addValue(applicationStatBo.getCount(fieldIndex));
+                analyzerBuilders.get(seriesIndex + 1).addValue(applicationStatBo.getMin(fieldIndex));
+                analyzerBuilders.get(seriesIndex + 2).addValue(applicationStatBo.getMax(fieldIndex));
+                analyzerBuilders.get(seriesIndex + 3).addValue(applicationStatBo.getSum(fieldIndex));
+            }
+        }
+        this.codec.encodeTimestamps(valueBuffer, timestamps);
+
+        List<StrategyAnalyzer<Long>> strategyAnalyzers = new ArrayList<StrategyAnalyzer<Long>>(analyzerBuilders.size());
+        for (UnsignedLongEncodingStrategy.Analyzer.Builder analyzerBuilder : analyzerBuilders) {
+            strategyAnalyzers.add(analyzerBuilder.build());
+        }
+        this.encodeDataPoints(valueBuffer, strategyAnalyzers);
+    }
+
+    private void encodeDataPoints(Buffer valueBuffer, List<StrategyAnalyzer<Long>> strategyAnalyzers) {
+        // encode header
+        AgentStatHeaderEncoder headerEncoder = new BitCountingHeaderEncoder();
+        for (StrategyAnalyzer<Long> strategyAnalyzer : strategyAnalyzers) {
+            headerEncoder.addCode(strategyAnalyzer.getBestStrategy().getCode());
+        }
+        final byte[] header = headerEncoder.getHeader();
+        valueBuffer.putPrefixedBytes(header);
+        // encode values
+        for (StrategyAnalyzer<Long> strategyAnalyzer : strategyAnalyzers) {
+            this.codec.encodeValues(valueBuffer, strategyAnalyzer.getBestStrategy(), strategyAnalyzer.getValues());
+        }
+    }
+
+    @Override
+    public List<ApplicationStatBo> decodeValues(Buffer valueBuffer, AgentStatDecodingContext decodingContext) {
+        final String applicationId = decodingContext.getAgentId();
+        final long baseTimestamp = decodingContext.getBaseTimestamp();
+        final long timestampDelta = decodingContext.getTimestampDelta();
+        final long initialTimestamp = baseTimestamp + timestampDelta;
+
+        final int numValues = valueBuffer.readVInt();
+        final AgentStatType agentStatType = AgentStatType.fromTypeCode(valueBuffer.readByte());
+        final int fieldCount = valueBuffer.readVInt();
+        final int numSeries = fieldCount * NUM_SERIES_PER_FIELD;
+        // timestamps first, then every series
+        final long[][] columns = decodingContext.getColumnBuffers(numSeries + 1, numValues);
+        final long[] timestamps = columns[0];
+        this.codec.decodeTimestamps(initialTimestamp, valueBuffer, timestamps, numValues);
+
+        // decode headers
+        final byte[] header = valueBuffer.readPrefixedBytes();
+        AgentStatHeaderDecoder headerDecoder = new BitCountingHeaderDecoder(header);
+        UnsignedLongEncodingStrategy[] encodingStrategies = new UnsignedLongEncodingStrategy[numSeries];
+        for (int i = 0; i < numSeries; ++i) {
+            encodingStrategies[i] = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        }
+        // decode values
+        for (int i = 0; i < numSeries; ++i) {
+            this.codec.decodeValues(valueBuffer, encodingStrategies[i], columns[i + 1], numValues);
+        }
+
+        List<ApplicationStatBo> applicationStatBos = new ArrayList<ApplicationStatBo>(numValues);
+        for (int i = 0; i < numValues; ++i) {
+            ApplicationStatBo applicationStatBo = new ApplicationStatBo(agentStatType, fieldCount);
+            applicationStatBo.setAgentId(applicationId);
+            applicationStatBo.setTimestamp(timestamps[i]);
+            for (int fieldIndex = 0; fieldIndex < fieldCount; ++fieldIndex) {
+                final int columnIndex = (fieldIndex * NUM_SERIES_PER_FIELD) + 1;
+                applicationStatBo.addValues(
+                        fieldIndex,
+                        columns[columnIndex][i],
+                        columns[columnIndex + 1][i],
+                        columns[columnIndex + 2][i],
+                        columns[columnIndex + 3][i]);
+            }
+            applicationStatBos.add(applicationStatBo);
+        }
+        return applicationStatBos;
+    }
+}
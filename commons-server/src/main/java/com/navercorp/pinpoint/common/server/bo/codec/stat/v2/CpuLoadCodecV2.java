@@ -25,7 +25,6 @@ import com.navercorp.pinpoint.common.server.bo.codec.stat.header.BitCountingHead
 import com.navercorp.pinpoint.common.server.bo.codec.stat.header.BitCountingHeaderEncoder;
 import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.StrategyAnalyzer;
 import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.UnsignedLongEncodingStrategy;
-import com.navercorp.pinpoint.common.server.bo.codec.strategy.EncodingStrategy;
 import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatDecodingContext;
 import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatUtils;
 import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
@@ -44,6 +43,8 @@ import java.util.List;
 public class CpuLoadCodecV2 implements AgentStatCodec<CpuLoadBo> {
 
     private static final byte VERSION = 2;
+    // start timestamps, timestamps and data point values
+    private static final int NUM_COLUMNS = 4;
 
     private final AgentStatDataPointCodec codec;
 
@@ -68,8 +69,8 @@ public class CpuLoadCodecV2 implements AgentStatCodec<CpuLoadBo> {
 
         List<Long> startTimestamps = new ArrayList<Long>(numValues);
         List<Long> timestamps = new ArrayList<Long>(numValues);
-        UnsignedLongEncodingStrategy.Analyzer.Builder jvmCpuLoadAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
-        UnsignedLongEncodingStrategy.Analyzer.Builder systemCpuLoadAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder jvmCpuLoadAnalyzerBuilder = newAnalyzerBuilder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder systemCpuLoadAnalyzerBuilder = newAnalyzerBuilder();
         for (CpuLoadBo cpuLoadBo : cpuLoadBos) {
             startTimestamps.add(cpuLoadBo.getStartTimestamp());
             timestamps.add(cpuLoadBo.getTimestamp());
@@ -96,6 +97,14 @@ public class CpuLoadCodecV2 implements AgentStatCodec<CpuLoadBo> {
         this.codec.encodeValues(valueBuffer, systemCpuLoadStrategyAnalyzer.getBestStrategy(), systemCpuLoadStrategyAnalyzer.getValues());
     }
 
+    /**
+     * Creates the analyzer choosing the encoding strategy of each data point column.
+     * Strategies chosen here must be decodable by {@link #decodeValues(Buffer, AgentStatDecodingContext)}.
+     */
+    protected UnsignedLongEncodingStrategy.Analyzer.Builder newAnalyzerBuilder() {
+        return new UnsignedLongEncodingStrategy.Analyzer.Builder();
+    }
+
     @Override
     public List<CpuLoadBo> decodeValues(Buffer valueBuffer, AgentStatDecodingContext decodingContext) {
         final String agentId = decodingContext.getAgentId();
@@ -104,26 +113,31 @@ public class CpuLoadCodecV2 implements AgentStatCodec<CpuLoadBo> {
         final long initialTimestamp = baseTimestamp + timestampDelta;
 
         int numValues = valueBuffer.readVInt();
-        List<Long> startTimestamps = this.codec.decodeValues(valueBuffer, UnsignedLongEncodingStrategy.REPEAT_COUNT, numValues);
-        List<Long> timestamps = this.codec.decodeTimestamps(initialTimestamp, valueBuffer, numValues);
+        final long[][] columns = decodingContext.getColumnBuffers(NUM_COLUMNS, numValues);
+        final long[] startTimestamps = columns[0];
+        final long[] timestamps = columns[1];
+        final long[] jvmCpuLoads = columns[2];
+        final long[] systemCpuLoads = columns[3];
+        this.codec.decodeValues(valueBuffer, UnsignedLongEncodingStrategy.REPEAT_COUNT, startTimestamps, numValues);
+        this.codec.decodeTimestamps(initialTimestamp, valueBuffer, timestamps, numValues);
 
         // decode headers
         final byte[] header = valueBuffer.readPrefixedBytes();
         AgentStatHeaderDecoder headerDecoder = new BitCountingHeaderDecoder(header);
-        EncodingStrategy<Long> jvmCpuLoadEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
-        EncodingStrategy<Long> systemCpuLoadEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        UnsignedLongEncodingStrategy jvmCpuLoadEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        UnsignedLongEncodingStrategy systemCpuLoadEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
         // decode values
-        List<Long> jvmCpuLoads = this.codec.decodeValues(valueBuffer, jvmCpuLoadEncodingStrategy, numValues);
-        List<Long> systemCpuLoads = this.codec.decodeValues(valueBuffer, systemCpuLoadEncodingStrategy, numValues);
+        this.codec.decodeValues(valueBuffer, jvmCpuLoadEncodingStrategy, jvmCpuLoads, numValues);
+        this.codec.decodeValues(valueBuffer, systemCpuLoadEncodingStrategy, systemCpuLoads, numValues);
 
         List<CpuLoadBo> cpuLoadBos = new ArrayList<CpuLoadBo>(numValues);
         for (int i = 0; i < numValues; ++i) {
             CpuLoadBo cpuLoadBo = new CpuLoadBo();
             cpuLoadBo.setAgentId(agentId);
-            cpuLoadBo.setStartTimestamp(startTimestamps.get(i));
-            cpuLoadBo.setTimestamp(timestamps.get(i));
-            cpuLoadBo.setJvmCpuLoad(AgentStatUtils.convertLongToDouble(jvmCpuLoads.get(i)));
-            cpuLoadBo.setSystemCpuLoad(AgentStatUtils.convertLongToDouble(systemCpuLoads.get(i)));
+            cpuLoadBo.setStartTimestamp(startTimestamps[i]);
+            cpuLoadBo.setTimestamp(timestamps[i]);
+            cpuLoadBo.setJvmCpuLoad(AgentStatUtils.convertLongToDouble(jvmCpuLoads[i]));
+            cpuLoadBo.setSystemCpuLoad(AgentStatUtils.convertLongToDouble(systemCpuLoads[i]));
             cpuLoadBos.add(cpuLoadBo);
         }
         return cpuLoadBos;
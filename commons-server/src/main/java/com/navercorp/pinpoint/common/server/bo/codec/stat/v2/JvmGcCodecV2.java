@@ -26,7 +26,6 @@ import com.navercorp.pinpoint.common.server.bo.codec.stat.header.BitCountingHead
 import com.navercorp.pinpoint.common.server.bo.codec.stat.header.BitCountingHeaderEncoder;
 import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.StrategyAnalyzer;
 import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.UnsignedLongEncodingStrategy;
-import com.navercorp.pinpoint.common.server.bo.codec.strategy.EncodingStrategy;
 import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatDecodingContext;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
 import org.apache.commons.collections.CollectionUtils;
@@ -44,6 +43,8 @@ import java.util.List;
 public class JvmGcCodecV2 implements AgentStatCodec<JvmGcBo> {
 
     private static final byte VERSION = 2;
+    // start timestamps, timestamps and data point values
+    private static final int NUM_COLUMNS = 8;
 
     private final AgentStatDataPointCodec codec;
 
@@ -70,12 +71,12 @@ public class JvmGcCodecV2 implements AgentStatCodec<JvmGcBo> {
 
         List<Long> startTimestamps = new ArrayList<Long>(numValues);
         List<Long> timestamps = new ArrayList<Long>(numValues);
-        UnsignedLongEncodingStrategy.Analyzer.Builder heapUsedAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
-        UnsignedLongEncodingStrategy.Analyzer.Builder heapMaxAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
-        UnsignedLongEncodingStrategy.Analyzer.Builder nonHeapUsedAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
-        UnsignedLongEncodingStrategy.Analyzer.Builder nonHeapMaxAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
-        UnsignedLongEncodingStrategy.Analyzer.Builder gcOldCountAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
-        UnsignedLongEncodingStrategy.Analyzer.Builder gcOldTimeAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder heapUsedAnalyzerBuilder = newAnalyzerBuilder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder heapMaxAnalyzerBuilder = newAnalyzerBuilder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder nonHeapUsedAnalyzerBuilder = newAnalyzerBuilder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder nonHeapMaxAnalyzerBuilder = newAnalyzerBuilder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder gcOldCountAnalyzerBuilder = newAnalyzerBuilder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder gcOldTimeAnalyzerBuilder = newAnalyzerBuilder();
         for (JvmGcBo jvmGcBo : jvmGcBos) {
             startTimestamps.add(jvmGcBo.getStartTimestamp());
             timestamps.add(jvmGcBo.getTimestamp());
@@ -126,6 +127,14 @@ public class JvmGcCodecV2 implements AgentStatCodec<JvmGcBo> {
         this.codec.encodeValues(valueBuffer, gcOldTimeStrategyAnalyzer.getBestStrategy(), gcOldTimeStrategyAnalyzer.getValues());
     }
 
+    /**
+     * Creates the analyzer choosing the encoding strategy of each data point column.
+     * Strategies chosen here must be decodable by {@link #decodeValues(Buffer, AgentStatDecodingContext)}.
+     */
+    protected UnsignedLongEncodingStrategy.Analyzer.Builder newAnalyzerBuilder() {
+        return new UnsignedLongEncodingStrategy.Analyzer.Builder();
+    }
+
     @Override
     public List<JvmGcBo> decodeValues(Buffer valueBuffer, AgentStatDecodingContext decodingContext) {
         final String agentId = decodingContext.getAgentId();
@@ -135,39 +144,48 @@ public class JvmGcCodecV2 implements AgentStatCodec<JvmGcBo> {
 
         final JvmGcType gcType = JvmGcType.getTypeByCode(valueBuffer.readVInt());
         int numValues = valueBuffer.readVInt();
-        List<Long> startTimestamps = this.codec.decodeValues(valueBuffer, UnsignedLongEncodingStrategy.REPEAT_COUNT, numValues);
-        List<Long> timestamps = this.codec.decodeTimestamps(initialTimestamp, valueBuffer, numValues);
+        final long[][] columns = decodingContext.getColumnBuffers(NUM_COLUMNS, numValues);
+        final long[] startTimestamps = columns[0];
+        final long[] timestamps = columns[1];
+        final long[] heapUseds = columns[2];
+        final long[] heapMaxes = columns[3];
+        final long[] nonHeapUseds = columns[4];
+        final long[] nonHeapMaxes = columns[5];
+        final long[] gcOldCounts = columns[6];
+        final long[] gcOldTimes = columns[7];
+        this.codec.decodeValues(valueBuffer, UnsignedLongEncodingStrategy.REPEAT_COUNT, startTimestamps, numValues);
+        this.codec.decodeTimestamps(initialTimestamp, valueBuffer, timestamps, numValues);
 
         // decode headers
         final byte[] header = valueBuffer.readPrefixedBytes();
         AgentStatHeaderDecoder headerDecoder = new BitCountingHeaderDecoder(header);
-        EncodingStrategy<Long> heapUsedEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
-        EncodingStrategy<Long> heapMaxEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
-        EncodingStrategy<Long> nonHeapUsedEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
-        EncodingStrategy<Long> nonHeapMaxEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
-        EncodingStrategy<Long> gcOldCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
-        EncodingStrategy<Long> gcOldTimeEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        UnsignedLongEncodingStrategy heapUsedEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        UnsignedLongEncodingStrategy heapMaxEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        UnsignedLongEncodingStrategy nonHeapUsedEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        UnsignedLongEncodingStrategy nonHeapMaxEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        UnsignedLongEncodingStrategy gcOldCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        UnsignedLongEncodingStrategy gcOldTimeEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
         // decode values
-        List<Long> heapUseds = this.codec.decodeValues(valueBuffer, heapUsedEncodingStrategy, numValues);
-        List<Long> heapMaxes = this.codec.decodeValues(valueBuffer, heapMaxEncodingStrategy, numValues);
-        List<Long> nonHeapUseds = this.codec.decodeValues(valueBuffer, nonHeapUsedEncodingStrategy, numValues);
-        List<Long> nonHeapMaxes = this.codec.decodeValues(valueBuffer, nonHeapMaxEncodingStrategy, numValues);
-        List<Long> gcOldCounts = this.codec.decodeValues(valueBuffer, gcOldCountEncodingStrategy,  numValues);
-        List<Long> gcOldTimes = this.codec.decodeValues(valueBuffer, gcOldTimeEncodingStrategy, numValues);
+        this.codec.decodeValues(valueBuffer, heapUsedEncodingStrategy, heapUseds, numValues);
+        this.codec.decodeValues(valueBuffer, heapMaxEncodingStrategy, heapMaxes, numValues);
+        this.codec.decodeValues(valueBuffer, nonHeapUsedEncodingStrategy, nonHeapUseds, numValues);
+        this.codec.decodeValues(valueBuffer, nonHeapMaxEncodingStrategy, nonHeapMaxes, numValues);
+        this.codec.decodeValues(valueBuffer, gcOldCountEncodingStrategy, gcOldCounts, numValues);
+        this.codec.decodeValues(valueBuffer, gcOldTimeEncodingStrategy, gcOldTimes, numValues);
 
         List<JvmGcBo> jvmGcBos = new ArrayList<JvmGcBo>(numValues);
         for (int i = 0; i < numValues; ++i) {
             JvmGcBo jvmGcBo = new JvmGcBo();
             jvmGcBo.setAgentId(agentId);
-            jvmGcBo.setStartTimestamp(startTimestamps.get(i));
-            jvmGcBo.setTimestamp(timestamps.get(i));
+            jvmGcBo.setStartTimestamp(startTimestamps[i]);
+            jvmGcBo.setTimestamp(timestamps[i]);
             jvmGcBo.setGcType(gcType);
-            jvmGcBo.setHeapUsed(heapUseds.get(i));
-            jvmGcBo.setHeapMax(heapMaxes.get(i));
-            jvmGcBo.setNonHeapUsed(nonHeapUseds.get(i));
-            jvmGcBo.setNonHeapMax(nonHeapMaxes.get(i));
-            jvmGcBo.setGcOldCount(gcOldCounts.get(i));
-            jvmGcBo.setGcOldTime(gcOldTimes.get(i));
+            jvmGcBo.setHeapUsed(heapUseds[i]);
+            jvmGcBo.setHeapMax(heapMaxes[i]);
+            jvmGcBo.setNonHeapUsed(nonHeapUseds[i]);
+            jvmGcBo.setNonHeapMax(nonHeapMaxes[i]);
+            jvmGcBo.setGcOldCount(gcOldCounts[i]);
+            jvmGcBo.setGcOldTime(gcOldTimes[i]);
             jvmGcBos.add(jvmGcBo);
         }
         return jvmGcBos;
@@ -25,7 +25,6 @@ import com.navercorp.pinpoint.common.server.bo.codec.stat.header.BitCountingHead
 import com.navercorp.pinpoint.common.server.bo.codec.stat.header.BitCountingHeaderEncoder;
 import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.StrategyAnalyzer;
 import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.UnsignedLongEncodingStrategy;
-import com.navercorp.pinpoint.common.server.bo.codec.strategy.EncodingStrategy;
 import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatDecodingContext;
 import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatUtils;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcDetailedBo;
@@ -43,6 +42,8 @@ import java.util.List;
 public class JvmGcDetailedCodecV2 implements AgentStatCodec<JvmGcDetailedBo> {
 
     private static final byte VERSION = 2;
+    // start timestamps, timestamps and data point values
+    private static final int NUM_COLUMNS = 10;
 
     private final AgentStatDataPointCodec codec;
 
@@ -66,14 +67,14 @@ public class JvmGcDetailedCodecV2 implements AgentStatCodec<JvmGcDetailedBo> {
 
         List<Long> startTimestamps = new ArrayList<Long>(numValues);
         List<Long> timestamps = new ArrayList<Long>(numValues);
-        UnsignedLongEncodingStrategy.Analyzer.Builder gcNewCountAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
-        UnsignedLongEncodingStrategy.Analyzer.Builder gcNewTimeAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
-        UnsignedLongEncodingStrategy.Analyzer.Builder codeCacheUsedStrategyAnalyzer = new UnsignedLongEncodingStrategy.Analyzer.Builder();
-        UnsignedLongEncodingStrategy.Analyzer.Builder newGenUsedStrategyAnalyzer = new UnsignedLongEncodingStrategy.Analyzer.Builder();
-        UnsignedLongEncodingStrategy.Analyzer.Builder oldGenUsedStrategyAnalyzer = new UnsignedLongEncodingStrategy.Analyzer.Builder();
-        UnsignedLongEncodingStrategy.Analyzer.Builder survivorSpaceUsedStrategyAnalyzer = new UnsignedLongEncodingStrategy.Analyzer.Builder();
-        UnsignedLongEncodingStrategy.Analyzer.Builder permGenUsedStrategyAnalyzer = new UnsignedLongEncodingStrategy.Analyzer.Builder();
-        UnsignedLongEncodingStrategy.Analyzer.Builder metaspaceUsedStrategyAnalyzer = new UnsignedLongEncodingStrategy.Analyzer.Builder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder gcNewCountAnalyzerBuilder = newAnalyzerBuilder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder gcNewTimeAnalyzerBuilder = newAnalyzerBuilder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder codeCacheUsedStrategyAnalyzer = newAnalyzerBuilder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder newGenUsedStrategyAnalyzer = newAnalyzerBuilder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder oldGenUsedStrategyAnalyzer = newAnalyzerBuilder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder survivorSpaceUsedStrategyAnalyzer = newAnalyzerBuilder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder permGenUsedStrategyAnalyzer = newAnalyzerBuilder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder metaspaceUsedStrategyAnalyzer = newAnalyzerBuilder();
         for (JvmGcDetailedBo jvmGcDetailedBo : jvmGcDetailedBos) {
             startTimestamps.add(jvmGcDetailedBo.getStartTimestamp());
             timestamps.add(jvmGcDetailedBo.getTimestamp());
@@ -133,6 +134,14 @@ public class JvmGcDetailedCodecV2 implements AgentStatCodec<JvmGcDetailedBo> {
         this.codec.encodeValues(valueBuffer, metaspaceUsedStrategyAnalyzer.getBestStrategy(), metaspaceUsedStrategyAnalyzer.getValues());
     }
 
+    /**
+     * Creates the analyzer choosing the encoding strategy of each data point column.
+     * Strategies chosen here must be decodable by {@link #decodeValues(Buffer, AgentStatDecodingContext)}.
+     */
+    protected UnsignedLongEncodingStrategy.Analyzer.Builder newAnalyzerBuilder() {
+        return new UnsignedLongEncodingStrategy.Analyzer.Builder();
+    }
+
     @Override
     public List<JvmGcDetailedBo> decodeValues(Buffer valueBuffer, AgentStatDecodingContext decodingContext) {
         final String agentId = decodingContext.getAgentId();
@@ -141,44 +150,55 @@ public class JvmGcDetailedCodecV2 implements AgentStatCodec<JvmGcDetailedBo> {
         final long initialTimestamp = baseTimestamp + timestampDelta;
 
         int numValues = valueBuffer.readVInt();
-        List<Long> startTimestamps = this.codec.decodeValues(valueBuffer, UnsignedLongEncodingStrategy.REPEAT_COUNT, numValues);
-        List<Long> timestamps = this.codec.decodeTimestamps(initialTimestamp, valueBuffer, numValues);
+        final long[][] columns = decodingContext.getColumnBuffers(NUM_COLUMNS, numValues);
+        final long[] startTimestamps = columns[0];
+        final long[] timestamps = columns[1];
+        final long[] gcNewCounts = columns[2];
+        final long[] gcNewTimes = columns[3];
+        final long[] codeCacheUseds = columns[4];
+        final long[] newGenUseds = columns[5];
+        final long[] oldGenUseds = columns[6];
+        final long[] survivorSpaceUseds = columns[7];
+        final long[] permGenUseds = columns[8];
+        final long[] metaspaceUseds = columns[9];
+        this.codec.decodeValues(valueBuffer, UnsignedLongEncodingStrategy.REPEAT_COUNT, startTimestamps, numValues);
+        this.codec.decodeTimestamps(initialTimestamp, valueBuffer, timestamps, numValues);
 
         // decode headers
         final byte[] header = valueBuffer.readPrefixedBytes();
         AgentStatHeaderDecoder headerDecoder = new BitCountingHeaderDecoder(header);
-        EncodingStrategy<Long> gcNewCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
-        EncodingStrategy<Long> gcNewTimeEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
-        EncodingStrategy<Long> codeCacheUsedEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
-        EncodingStrategy<Long> newGenUsedEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
-        EncodingStrategy<Long> oldGenUsedEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
-        EncodingStrategy<Long> survivorSpaceUsedEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
-        EncodingStrategy<Long> permGenUsedEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
-        EncodingStrategy<Long> metaspaceUsedEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        UnsignedLongEncodingStrategy gcNewCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        UnsignedLongEncodingStrategy gcNewTimeEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        UnsignedLongEncodingStrategy codeCacheUsedEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        UnsignedLongEncodingStrategy newGenUsedEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        UnsignedLongEncodingStrategy oldGenUsedEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        UnsignedLongEncodingStrategy survivorSpaceUsedEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        UnsignedLongEncodingStrategy permGenUsedEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        UnsignedLongEncodingStrategy metaspaceUsedEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
         // decode values
-        List<Long> gcNewCounts = this.codec.decodeValues(valueBuffer, gcNewCountEncodingStrategy, numValues);
-        List<Long> gcNewTimes = this.codec.decodeValues(valueBuffer, gcNewTimeEncodingStrategy, numValues);
-        List<Long> codeCacheUseds = this.codec.decodeValues(valueBuffer, codeCacheUsedEncodingStrategy, numValues);
-        List<Long> newGenUseds = this.codec.decodeValues(valueBuffer, newGenUsedEncodingStrategy, numValues);
-        List<Long> oldGenUseds = this.codec.decodeValues(valueBuffer, oldGenUsedEncodingStrategy, numValues);
-        List<Long> survivorSpaceUseds = this.codec.decodeValues(valueBuffer, survivorSpaceUsedEncodingStrategy, numValues);
-        List<Long> permGenUseds = this.codec.decodeValues(valueBuffer, permGenUsedEncodingStrategy, numValues);
-        List<Long> metaspaceUseds = this.codec.decodeValues(valueBuffer, metaspaceUsedEncodingStrategy, numValues);
+        this.codec.decodeValues(valueBuffer, gcNewCountEncodingStrategy, gcNewCounts, numValues);
+        this.codec.decodeValues(valueBuffer, gcNewTimeEncodingStrategy, gcNewTimes, numValues);
+        this.codec.decodeValues(valueBuffer, codeCacheUsedEncodingStrategy, codeCacheUseds, numValues);
+        this.codec.decodeValues(valueBuffer, newGenUsedEncodingStrategy, newGenUseds, numValues);
+        this.codec.decodeValues(valueBuffer, oldGenUsedEncodingStrategy, oldGenUseds, numValues);
+        this.codec.decodeValues(valueBuffer, survivorSpaceUsedEncodingStrategy, survivorSpaceUseds, numValues);
+        this.codec.decodeValues(valueBuffer, permGenUsedEncodingStrategy, permGenUseds, numValues);
+        this.codec.decodeValues(valueBuffer, metaspaceUsedEncodingStrategy, metaspaceUseds, numValues);
 
         List<JvmGcDetailedBo> jvmGcDetailedBos = new ArrayList<JvmGcDetailedBo>(numValues);
         for (int i = 0; i < numValues; ++i) {
             JvmGcDetailedBo jvmGcDetailedBo = new JvmGcDetailedBo();
             jvmGcDetailedBo.setAgentId(agentId);
-            jvmGcDetailedBo.setStartTimestamp(startTimestamps.get(i));
-            jvmGcDetailedBo.setTimestamp(timestamps.get(i));
-            jvmGcDetailedBo.setGcNewCount(gcNewCounts.get(i));
-            jvmGcDetailedBo.setGcNewTime(gcNewTimes.get(i));
-            jvmGcDetailedBo.setCodeCacheUsed(AgentStatUtils.convertLongToDouble(codeCacheUseds.get(i)));
-            jvmGcDetailedBo.setNewGenUsed(AgentStatUtils.convertLongToDouble(newGenUseds.get(i)));
-            jvmGcDetailedBo.setOldGenUsed(AgentStatUtils.convertLongToDouble(oldGenUseds.get(i)));
-            jvmGcDetailedBo.setSurvivorSpaceUsed(AgentStatUtils.convertLongToDouble(survivorSpaceUseds.get(i)));
-            jvmGcDetailedBo.setPermGenUsed(AgentStatUtils.convertLongToDouble(permGenUseds.get(i)));
-            jvmGcDetailedBo.setMetaspaceUsed(AgentStatUtils.convertLongToDouble(metaspaceUseds.get(i)));
+            jvmGcDetailedBo.setStartTimestamp(startTimestamps[i]);
+            jvmGcDetailedBo.setTimestamp(timestamps[i]);
+            jvmGcDetailedBo.setGcNewCount(gcNewCounts[i]);
+            jvmGcDetailedBo.setGcNewTime(gcNewTimes[i]);
+            jvmGcDetailedBo.setCodeCacheUsed(AgentStatUtils.convertLongToDouble(codeCacheUseds[i]));
+            jvmGcDetailedBo.setNewGenUsed(AgentStatUtils.convertLongToDouble(newGenUseds[i]));
+            jvmGcDetailedBo.setOldGenUsed(AgentStatUtils.convertLongToDouble(oldGenUseds[i]));
+            jvmGcDetailedBo.setSurvivorSpaceUsed(AgentStatUtils.convertLongToDouble(survivorSpaceUseds[i]));
+            jvmGcDetailedBo.setPermGenUsed(AgentStatUtils.convertLongToDouble(permGenUseds[i]));
+            jvmGcDetailedBo.setMetaspaceUsed(AgentStatUtils.convertLongToDouble(metaspaceUseds[i]));
             jvmGcDetailedBos.add(jvmGcDetailedBo);
         }
         return jvmGcDetailedBos;
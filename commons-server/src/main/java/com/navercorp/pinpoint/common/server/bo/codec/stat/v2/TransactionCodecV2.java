@@ -25,7 +25,6 @@ import com.navercorp.pinpoint.common.server.bo.codec.stat.header.BitCountingHead
 import com.navercorp.pinpoint.common.server.bo.codec.stat.header.BitCountingHeaderEncoder;
 import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.StrategyAnalyzer;
 import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.UnsignedLongEncodingStrategy;
-import com.navercorp.pinpoint.common.server.bo.codec.strategy.EncodingStrategy;
 import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatDecodingContext;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
 import org.apache.commons.collections.CollectionUtils;
@@ -43,6 +42,8 @@ import java.util.List;
 public class TransactionCodecV2 implements AgentStatCodec<TransactionBo> {
 
     private static final byte VERSION = 2;
+    // start timestamps, timestamps and data point values
+    private static final int NUM_COLUMNS = 7;
 
     private final AgentStatDataPointCodec codec;
 
@@ -67,11 +68,11 @@ public class TransactionCodecV2 implements AgentStatCodec<TransactionBo> {
 
         List<Long> startTimestamps = new ArrayList<Long>(numValues);
         List<Long> timestamps = new ArrayList<Long>(numValues);
-        UnsignedLongEncodingStrategy.Analyzer.Builder collectIntervalAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
-        UnsignedLongEncodingStrategy.Analyzer.Builder sampledNewCountAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
-        UnsignedLongEncodingStrategy.Analyzer.Builder sampledContinuationCountAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
-        UnsignedLongEncodingStrategy.Analyzer.Builder unsampledNewCountAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
-        UnsignedLongEncodingStrategy.Analyzer.Builder unsampledContinuationCountAnalyzerBuilder = new UnsignedLongEncodingStrategy.Analyzer.Builder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder collectIntervalAnalyzerBuilder = newAnalyzerBuilder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder sampledNewCountAnalyzerBuilder = newAnalyzerBuilder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder sampledContinuationCountAnalyzerBuilder = newAnalyzerBuilder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder unsampledNewCountAnalyzerBuilder = newAnalyzerBuilder();
+        UnsignedLongEncodingStrategy.Analyzer.Builder unsampledContinuationCountAnalyzerBuilder = newAnalyzerBuilder();
         for (TransactionBo transactionBo : transactionBos) {
             startTimestamps.add(transactionBo.getStartTimestamp());
             timestamps.add(transactionBo.getTimestamp());
@@ -116,6 +117,14 @@ public class TransactionCodecV2 implements AgentStatCodec<TransactionBo> {
         this.codec.encodeValues(valueBuffer, unsampledContinuationCountStrategyAnalyzer.getBestStrategy(), unsampledContinuationCountStrategyAnalyzer.getValues());
     }
 
+    /**
+     * Creates the analyzer choosing the encoding strategy of each data point column.
+     * Strategies chosen here must be decodable by {@link #decodeValues(Buffer, AgentStatDecodingContext)}.
+     */
+    protected UnsignedLongEncodingStrategy.Analyzer.Builder newAnalyzerBuilder() {
+        return new UnsignedLongEncodingStrategy.Analyzer.Builder();
+    }
+
     @Override
     public List<TransactionBo> decodeValues(Buffer valueBuffer, AgentStatDecodingContext decodingContext) {
         final String agentId = decodingContext.getAgentId();
@@ -124,35 +133,43 @@ public class TransactionCodecV2 implements AgentStatCodec<TransactionBo> {
         final long initialTimestamp = baseTimestamp + timestampDelta;
 
         int numValues = valueBuffer.readVInt();
-        List<Long> startTimestamps = this.codec.decodeValues(valueBuffer, UnsignedLongEncodingStrategy.REPEAT_COUNT, numValues);
-        List<Long> timestamps = this.codec.decodeTimestamps(initialTimestamp, valueBuffer, numValues);
+        final long[][] columns = decodingContext.getColumnBuffers(NUM_COLUMNS, numValues);
+        final long[] startTimestamps = columns[0];
+        final long[] timestamps = columns[1];
+        final long[] collectIntervals = columns[2];
+        final long[] sampledNewCounts = columns[3];
+        final long[] sampledContinuationCounts = columns[4];
+        final long[] unsampledNewCounts = columns[5];
+        final long[] unsampledContinuationCounts = columns[6];
+        this.codec.decodeValues(valueBuffer, UnsignedLongEncodingStrategy.REPEAT_COUNT, startTimestamps, numValues);
+        this.codec.decodeTimestamps(initialTimestamp, valueBuffer, timestamps, numValues);
 
         // decode headers
         final byte[] header = valueBuffer.readPrefixedBytes();
         AgentStatHeaderDecoder headerDecoder = new BitCountingHeaderDecoder(header);
-        EncodingStrategy<Long> collectIntervalEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
-        EncodingStrategy<Long> sampledNewCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
-        EncodingStrategy<Long> sampledContinuationCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
-        EncodingStrategy<Long> unsampledNewCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
-        EncodingStrategy<Long> unsampledContinuationCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        UnsignedLongEncodingStrategy collectIntervalEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        UnsignedLongEncodingStrategy sampledNewCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        UnsignedLongEncodingStrategy sampledContinuationCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        UnsignedLongEncodingStrategy unsampledNewCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
+        UnsignedLongEncodingStrategy unsampledContinuationCountEncodingStrategy = UnsignedLongEncodingStrategy.getFromCode(headerDecoder.getCode());
         // decode values
-        List<Long> collectIntervals = this.codec.decodeValues(valueBuffer, collectIntervalEncodingStrategy, numValues);
-        List<Long> sampledNewCounts = this.codec.decodeValues(valueBuffer, sampledNewCountEncodingStrategy, numValues);
-        List<Long> sampledContinuationCounts = this.codec.decodeValues(valueBuffer, sampledContinuationCountEncodingStrategy, numValues);
-        List<Long> unsampledNewCounts = this.codec.decodeValues(valueBuffer, unsampledNewCountEncodingStrategy, numValues);
-        List<Long> unsampledContinuationCounts = this.codec.decodeValues(valueBuffer, unsampledContinuationCountEncodingStrategy, numValues);
+        this.codec.decodeValues(valueBuffer, collectIntervalEncodingStrategy, collectIntervals, numValues);
+        this.codec.decodeValues(valueBuffer, sampledNewCountEncodingStrategy, sampledNewCounts, numValues);
+        this.codec.decodeValues(valueBuffer, sampledContinuationCountEncodingStrategy, sampledContinuationCounts, numValues);
+        this.codec.decodeValues(valueBuffer, unsampledNewCountEncodingStrategy, unsampledNewCounts, numValues);
+        this.codec.decodeValues(valueBuffer, unsampledContinuationCountEncodingStrategy, unsampledContinuationCounts, numValues);
 
         List<TransactionBo> transactionBos = new ArrayList<TransactionBo>(numValues);
         for (int i = 0; i < numValues; ++i) {
             TransactionBo transactionBo = new TransactionBo();
             transactionBo.setAgentId(agentId);
-            transactionBo.setStartTimestamp(startTimestamps.get(i));
-            transactionBo.setTimestamp(timestamps.get(i));
-            transactionBo.setCollectInterval(collectIntervals.get(i));
-            transactionBo.setSampledNewCount(sampledNewCounts.get(i));
-            transactionBo.setSampledContinuationCount(sampledContinuationCounts.get(i));
-            transactionBo.setUnsampledNewCount(unsampledNewCounts.get(i));
-            transactionBo.setUnsampledContinuationCount(unsampledContinuationCounts.get(i));
+            transactionBo.setStartTimestamp(startTimestamps[i]);
+            transactionBo.setTimestamp(timestamps[i]);
+            transactionBo.setCollectInterval(collectIntervals[i]);
+            transactionBo.setSampledNewCount(sampledNewCounts[i]);
+            transactionBo.setSampledContinuationCount(sampledContinuationCounts[i]);
+            transactionBo.setUnsampledNewCount(unsampledNewCounts[i]);
+            transactionBo.setUnsampledContinuationCount(unsampledContinuationCounts[i]);
             transactionBos.add(transactionBo);
         }
         return transactionBos;
@@ -0,0 +1,48 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.codec.stat.v3;
+
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatDataPointCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.strategy.UnsignedLongEncodingStrategy;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.v2.CpuLoadCodecV2;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Same layout as {@link CpuLoadCodecV2}, with data point columns that may also be bit-packed or xor encoded.
+ */
+@Component("cpuLoadCodecV3")
+public class CpuLoadCodecV3 extends CpuLoadCodecV2 {
+
+    private static final byte VERSION = 3;
+
+    @Autowired
+    public CpuLoadCodecV3(AgentStatDataPointCodec codec) {
+        super(codec);
+    }
+
+    @Override
+    public byte getVersion() {
+        return VERSION;
+    }
+
+    @Override
+    protected UnsignedLongEncodingStrategy.Analyzer.Builder newAnalyzerBuilder() {
+        return new UnsignedLongEncodingStrategy.Analyzer.Builder(true);
+    }
+}
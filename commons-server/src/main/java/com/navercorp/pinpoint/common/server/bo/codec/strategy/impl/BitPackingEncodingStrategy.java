@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.codec.strategy.impl;
+
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.server.bo.codec.strategy.EncodingStrategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Frame of reference encoding - stores the minimum value followed by the offset of every value from it, bit-packed
+ * using the number of bits required by the largest offset.
+ * <p>
+ * Well suited for counters and gauges that stay within a narrow range, where even a single byte per value is wasteful.
+ */
+public class BitPackingEncodingStrategy implements EncodingStrategy<Long> {
+
+    private static final byte CODE = 4;
+
+    @Override
+    public byte getCode() {
+        return CODE;
+    }
+
+    @Override
+    public void encodeValues(Buffer buffer, List<Long> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        long minValue = Long.MAX_VALUE;
+        long maxValue = Long.MIN_VALUE;
+        for (Long value : values) {
+            minValue = Math.min(minValue, value);
+            maxValue = Math.max(maxValue, value);
+        }
+        final int bitWidth = getBitWidth(minValue, maxValue);
+        buffer.putVLong(minValue);
+        buffer.putByte((byte) bitWidth);
+        BitWriter bitWriter = new BitWriter(buffer);
+        for (Long value : values) {
+            bitWriter.writeBits(value - minValue, bitWidth);
+        }
+        bitWriter.flush();
+    }
+
+    @Override
+    public List<Long> decodeValues(Buffer buffer, int numValues) {
+        if (numValues < 1) {
+            return Collections.emptyList();
+        }
+        long[] values = new long[numValues];
+        decodeValues(buffer, values, numValues);
+        List<Long> decodedValues = new ArrayList<Long>(numValues);
+        for (long value : values) {
+            decodedValues.add(value);
+        }
+        return decodedValues;
+    }
+
+    public void decodeValues(Buffer buffer, long[] values, int numValues) {
+        if (numValues < 1) {
+            return;
+        }
+        final long minValue = buffer.readVLong();
+        final int bitWidth = buffer.readUnsignedByte();
+        BitReader bitReader = new BitReader(buffer);
+        for (int i = 0; i < numValues; ++i) {
+            values[i] = minValue + bitReader.readBits(bitWidth);
+        }
+    }
+
+    /**
+     * Returns the number of bits required to store the offset of every value between <tt>minValue</tt> and <tt>maxValue</tt>.
+     * The range is treated as unsigned so that it never overflows.
+     */
+    public static int getBitWidth(long minValue, long maxValue) {
+        return Long.SIZE - Long.numberOfLeadingZeros(maxValue - minValue);
+    }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.codec.strategy.impl;
+
+import com.navercorp.pinpoint.common.buffer.Buffer;
+
+/**
+ * Reads bit sequences written by {@link BitWriter}. Padding bits of the last byte read are discarded.
+ */
+final class BitReader {
+
+    private final Buffer buffer;
+    private int current;
+    private int numBits;
+
+    BitReader(Buffer buffer) {
+        this.buffer = buffer;
+    }
+
+    boolean readBit() {
+        return readBits(1) == 1;
+    }
+
+    long readBits(int numBits) {
+        long value = 0;
+        while (numBits > 0) {
+            if (this.numBits == 0) {
+                this.current = this.buffer.readUnsignedByte();
+                this.numBits = 8;
+            }
+            final int bitsToRead = Math.min(this.numBits, numBits);
+            final int bits = (this.current >>> (this.numBits - bitsToRead)) & ((1 << bitsToRead) - 1);
+            value = (value << bitsToRead) | bits;
+            this.numBits -= bitsToRead;
+            numBits -= bitsToRead;
+        }
+        return value;
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.codec.strategy.impl;
+
+import com.navercorp.pinpoint.common.buffer.Buffer;
+
+/**
+ * Writes bit sequences (most significant bit first) into a {@link Buffer}, one byte at a time.
+ * {@link #flush()} must be called once all bits are written, padding the last byte with zeros.
+ */
+final class BitWriter {
+
+    private final Buffer buffer;
+    private int current;
+    private int numBits;
+
+    BitWriter(Buffer buffer) {
+        this.buffer = buffer;
+    }
+
+    void writeBit(boolean bit) {
+        writeBits(bit ? 1 : 0, 1);
+    }
+
+    /**
+     * Writes the lowest <tt>numBits</tt> bits of <tt>value</tt>.
+     */
+    void writeBits(long value, int numBits) {
+        while (numBits > 0) {
+            final int bitsToWrite = Math.min(8 - this.numBits, numBits);
+            final int bits = (int) (value >>> (numBits - bitsToWrite)) & ((1 << bitsToWrite) - 1);
+            this.current = (this.current << bitsToWrite) | bits;
+            this.numBits += bitsToWrite;
+            numBits -= bitsToWrite;
+            if (this.numBits == 8) {
+                this.buffer.putByte((byte) this.current);
+                this.current = 0;
+                this.numBits = 0;
+            }
+        }
+    }
+
+    void flush() {
+        if (this.numBits > 0) {
+            this.buffer.putByte((byte) (this.current << (8 - this.numBits)));
+            this.current = 0;
+            this.numBits = 0;
+        }
+    }
+}
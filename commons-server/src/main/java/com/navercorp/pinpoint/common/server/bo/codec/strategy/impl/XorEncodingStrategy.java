@@ -0,0 +1,122 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.codec.strategy.impl;
+
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.server.bo.codec.strategy.EncodingStrategy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Gorilla style XOR encoding - the first value is stored as is, every following value is xor-ed with its previous value
+ * and only the meaningful bits of the result are stored :
+ * <ul>
+ *     <li>'0' : same value as the previous one</li>
+ *     <li>'10' : meaningful bits fit in the previous window of leading/trailing zeros, followed by the bits of that window</li>
+ *     <li>'11' : 6 bits of leading zeros, 6 bits of meaningful bit length (minus 1), followed by the meaningful bits</li>
+ * </ul>
+ * Suited for slowly changing gauges, where consecutive values share most of their high and low bits.
+ */
+public class XorEncodingStrategy implements EncodingStrategy<Long> {
+
+    private static final byte CODE = 5;
+
+    public static final int LEADING_ZEROS_BITS = 6;
+    public static final int MEANINGFUL_BITS_LENGTH_BITS = 6;
+
+    @Override
+    public byte getCode() {
+        return CODE;
+    }
+
+    @Override
+    public void encodeValues(Buffer buffer, List<Long> values) {
+        if (values.isEmpty()) {
+            return;
+        }
+        long previousValue = values.get(0);
+        buffer.putVLong(previousValue);
+        BitWriter bitWriter = new BitWriter(buffer);
+        int previousLeadingZeros = Long.SIZE;
+        int previousTrailingZeros = Long.SIZE;
+        for (int i = 1; i < values.size(); ++i) {
+            final long value = values.get(i);
+            final long xor = value ^ previousValue;
+            previousValue = value;
+            if (xor == 0) {
+                bitWriter.writeBit(false);
+                continue;
+            }
+            bitWriter.writeBit(true);
+            final int leadingZeros = Long.numberOfLeadingZeros(xor);
+            final int trailingZeros = Long.numberOfTrailingZeros(xor);
+            if (leadingZeros >= previousLeadingZeros && trailingZeros >= previousTrailingZeros) {
+                bitWriter.writeBit(false);
+                bitWriter.writeBits(xor >>> previousTrailingZeros, Long.SIZE - previousLeadingZeros - previousTrailingZeros);
+            } else {
+                final int meaningfulBits = Long.SIZE - leadingZeros - trailingZeros;
+                bitWriter.writeBit(true);
+                bitWriter.writeBits(leadingZeros, LEADING_ZEROS_BITS);
+                bitWriter.writeBits(meaningfulBits - 1, MEANINGFUL_BITS_LENGTH_BITS);
+                bitWriter.writeBits(xor >>> trailingZeros, meaningfulBits);
+                previousLeadingZeros = leadingZeros;
+                previousTrailingZeros = trailingZeros;
+            }
+        }
+        bitWriter.flush();
+    }
+
+    @Override
+    public List<Long> decodeValues(Buffer buffer, int numValues) {
+        if (numValues < 1) {
+            return Collections.emptyList();
+        }
+        long[] values = new long[numValues];
+        decodeValues(buffer, values, numValues);
+        List<Long> decodedValues = new ArrayList<Long>(numValues);
+        for (long value : values) {
+            decodedValues.add(value);
+        }
+        return decodedValues;
+    }
+
+    public void decodeValues(Buffer buffer, long[] values, int numValues) {
+        if (numValues < 1) {
+            return;
+        }
+        long previousValue = buffer.readVLong();
+        values[0] = previousValue;
+        BitReader bitReader = new BitReader(buffer);
+        int leadingZeros = Long.SIZE;
+        int trailingZeros = Long.SIZE;
+        for (int i = 1; i < numValues; ++i) {
+            if (bitReader.readBit()) {
+                if (bitReader.readBit()) {
+                    leadingZeros = (int) bitReader.readBits(LEADING_ZEROS_BITS);
+                    final int meaningfulBits = (int) bitReader.readBits(MEANINGFUL_BITS_LENGTH_BITS) + 1;
+                    trailingZeros = Long.SIZE - leadingZeros - meaningfulBits;
+                }
+                final long meaningfulXor = bitReader.readBits(Long.SIZE - leadingZeros - trailingZeros);
+                previousValue ^= meaningfulXor << trailingZeros;
+            }
+            values[i] = previousValue;
+        }
+    }
+}
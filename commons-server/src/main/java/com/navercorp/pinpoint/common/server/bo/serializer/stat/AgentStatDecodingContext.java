@@ -27,6 +27,8 @@ public class AgentStatDecodingContext {
 
     private long timestampDelta;
 
+    private long[][] columnBuffers;
+
     public String getAgentId() {
         return agentId;
     }
@@ -50,4 +52,20 @@ public class AgentStatDecodingContext {
     public void setTimestampDelta(long timestampDelta) {
         this.timestampDelta = timestampDelta;
     }
+
+    /**
+     * Returns buffers for codecs to decode value columns into. Buffers are reused by every value decoded with this
+     * context, and are only valid until the next value is decoded.
+     *
+     * @param numColumns number of columns
+     * @param numValues number of values of each column
+     */
+    public long[][] getColumnBuffers(int numColumns, int numValues) {
+        if (this.columnBuffers == null || this.columnBuffers.length < numColumns || this.columnBuffers[0].length < numValues) {
+            final int columnSize = this.columnBuffers == null ? numValues : Math.max(numValues, this.columnBuffers[0].length);
+            final int numColumnBuffers = this.columnBuffers == null ? numColumns : Math.max(numColumns, this.columnBuffers.length);
+            this.columnBuffers = new long[numColumnBuffers][columnSize];
+        }
+        return this.columnBuffers;
+    }
 }
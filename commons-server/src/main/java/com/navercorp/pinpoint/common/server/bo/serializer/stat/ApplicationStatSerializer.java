@@ -0,0 +1,80 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.serializer.stat;
+
+import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.hbase.HBaseTables;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.ApplicationStatEncoder;
+import com.navercorp.pinpoint.common.server.bo.serializer.HbaseSerializer;
+import com.navercorp.pinpoint.common.server.bo.serializer.SerializationContext;
+import com.navercorp.pinpoint.common.server.bo.stat.ApplicationStatBo;
+import org.apache.commons.collections.CollectionUtils;
+import org.apache.hadoop.hbase.HConstants;
+import org.apache.hadoop.hbase.client.Put;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.Assert;
+
+import java.nio.ByteBuffer;
+import java.security.SecureRandom;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serializes partial application stat rollups.
+ * <p>
+ * Several collectors (and a collector flushing late data more than once) may write rollups for the same time slot,
+ * so the qualifier is suffixed with a writer id and a sequence to keep every partial rollup in its own cell.
+ * The qualifier still starts with the timestamp delta, so it is read with {@link com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatDecoder#decodeQualifier(Buffer)}
+ * like any other agent stat qualifier.
+ */
+@Component
+public class ApplicationStatSerializer implements HbaseSerializer<List<ApplicationStatBo>, Put> {
+
+    private final ApplicationStatEncoder encoder;
+
+    private final long writerId = new SecureRandom().nextLong();
+    private final AtomicLong sequence = new AtomicLong();
+
+    @Autowired
+    public ApplicationStatSerializer(ApplicationStatEncoder encoder) {
+        Assert.notNull(encoder, "encoder must not be null");
+        this.encoder = encoder;
+    }
+
+    @Override
+    public void serialize(List<ApplicationStatBo> applicationStatBos, Put put, SerializationContext context) {
+        if (CollectionUtils.isEmpty(applicationStatBos)) {
+            throw new IllegalArgumentException("applicationStatBos should not be empty");
+        }
+        long initialTimestamp = applicationStatBos.get(0).getTimestamp();
+        long baseTimestamp = AgentStatUtils.getBaseTimestamp(initialTimestamp);
+        long timestampDelta = initialTimestamp - baseTimestamp;
+        ByteBuffer qualifierBuffer = encodeQualifier(timestampDelta);
+        ByteBuffer valueBuffer = this.encoder.encodeValue(applicationStatBos);
+        put.addColumn(HBaseTables.AGENT_STAT_CF_STATISTICS, qualifierBuffer, HConstants.LATEST_TIMESTAMP, valueBuffer);
+    }
+
+    private ByteBuffer encodeQualifier(long timestampDelta) {
+        Buffer qualifierBuffer = new AutomaticBuffer(16);
+        qualifierBuffer.putVLong(timestampDelta);
+        qualifierBuffer.putLong(this.writerId);
+        qualifierBuffer.putVLong(this.sequence.getAndIncrement());
+        return qualifierBuffer.wrapByteBuffer();
+    }
+}
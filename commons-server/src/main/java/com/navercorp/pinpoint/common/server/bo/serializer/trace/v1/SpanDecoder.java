@@ -4,6 +4,7 @@ import com.navercorp.pinpoint.common.buffer.Buffer;
 import com.navercorp.pinpoint.common.server.bo.AnnotationBo;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import com.navercorp.pinpoint.common.server.util.AnnotationUtils;
 import com.navercorp.pinpoint.common.util.TransactionId;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -148,6 +149,7 @@ public class SpanDecoder {
         }
 
         final List<AnnotationBo> annotationBoList = annotationBoDecoder.decode(buffer);
+        spanEvent.setElapsedMicros(AnnotationUtils.removeElapsedMicros(annotationBoList));
         spanEvent.setAnnotationBoList(annotationBoList);
         if (buffer.hasRemaining()) {
             spanEvent.setNextAsyncId(buffer.readSVInt());
@@ -7,6 +7,7 @@ import com.navercorp.pinpoint.common.server.bo.BasicSpan;
 import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
 import com.navercorp.pinpoint.common.server.bo.serializer.HbaseSerializer;
 import com.navercorp.pinpoint.common.server.bo.serializer.SerializationContext;
+import com.navercorp.pinpoint.common.server.util.AnnotationUtils;
 import org.apache.hadoop.hbase.client.Put;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
@@ -88,7 +89,7 @@ public class SpanEventSerializer implements HbaseSerializer<SpanEventEncodingCon
         } else {
             buffer.putBoolean(false);
         }
-        final List<AnnotationBo> annotationBoList = spanEventBo.getAnnotationBoList();
+        final List<AnnotationBo> annotationBoList = AnnotationUtils.addElapsedMicros(spanEventBo.getAnnotationBoList(), spanEventBo.getElapsedMicros());
         this.annotationSerializer.writeAnnotationList(annotationBoList, buffer);
 
         buffer.putSVInt(spanEventBo.getNextAsyncId());
@@ -9,6 +9,7 @@ import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanBitFiled;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanEventBitField;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanEventQualifierBitField;
+import com.navercorp.pinpoint.common.server.util.AnnotationUtils;
 import com.navercorp.pinpoint.common.util.AnnotationTranscoder;
 import com.navercorp.pinpoint.common.util.TransactionId;
 import org.slf4j.Logger;
@@ -263,6 +264,7 @@ public class SpanDecoderV0 implements SpanDecoder {
 
         if (bitField.isSetAnnotation()) {
             List<AnnotationBo> annotationBoList = readAnnotationList(buffer, decodingContext);
+            spanEventBo.setElapsedMicros(AnnotationUtils.removeElapsedMicros(annotationBoList));
             spanEventBo.setAnnotationBoList(annotationBoList);
         }
 
@@ -313,6 +315,7 @@ public class SpanDecoderV0 implements SpanDecoder {
 
         if (bitField.isSetAnnotation()) {
             List<AnnotationBo> annotationBoList = readAnnotationList(buffer, decodingContext);
+            firstSpanEvent.setElapsedMicros(AnnotationUtils.removeElapsedMicros(annotationBoList));
             firstSpanEvent.setAnnotationBoList(annotationBoList);
         }
 
@@ -9,6 +9,7 @@ import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanBitFiled;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanEventBitField;
 import com.navercorp.pinpoint.common.server.bo.serializer.trace.v2.bitfield.SpanEventQualifierBitField;
+import com.navercorp.pinpoint.common.server.util.AnnotationUtils;
 import com.navercorp.pinpoint.common.util.AnnotationTranscoder;
 import org.apache.commons.collections.CollectionUtils;
 import org.springframework.stereotype.Component;
@@ -235,7 +236,7 @@ public class SpanEncoderV0 implements SpanEncoder {
         }
 
         if (bitField.isSetAnnotation()) {
-            final List<AnnotationBo> annotationBoList = spanEventBo.getAnnotationBoList();
+            final List<AnnotationBo> annotationBoList = getAnnotationBoList(spanEventBo);
             writeAnnotationList(buffer, annotationBoList, encodingContext);
         }
 
@@ -326,7 +327,7 @@ public class SpanEncoderV0 implements SpanEncoder {
         }
 
         if (bitField.isSetAnnotation()) {
-            List<AnnotationBo> annotationBoList = spanEventBo.getAnnotationBoList();
+            List<AnnotationBo> annotationBoList = getAnnotationBoList(spanEventBo);
             writeAnnotationList(buffer, annotationBoList, encodingContext);
         }
 
@@ -340,6 +341,11 @@ public class SpanEncoderV0 implements SpanEncoder {
         }
     }
 
+    private List<AnnotationBo> getAnnotationBoList(SpanEventBo spanEventBo) {
+        // stored as a plain annotation to keep the column format readable by older versions
+        return AnnotationUtils.addElapsedMicros(spanEventBo.getAnnotationBoList(), spanEventBo.getElapsedMicros());
+    }
+
     private void writeAnnotationList(Buffer buffer, List<AnnotationBo> annotationBoList, SpanEncodingContext<?> encodingContext) {
         if (CollectionUtils.isEmpty(annotationBoList)) {
             return;
@@ -59,7 +59,8 @@ public class SpanEventBitField {
         }
 
         final List<AnnotationBo> annotationBoList = spanEventBo.getAnnotationBoList();
-        if (CollectionUtils.isNotEmpty(annotationBoList)) {
+        // elapsedMicros is written as an annotation, so that older readers can skip it
+        if (CollectionUtils.isNotEmpty(annotationBoList) || spanEventBo.hasElapsedMicros()) {
             bitFiled.setAnnotation(true);
         }
 
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.stat;
+
+import java.util.Arrays;
+
+/**
+ * Stat values of every agent of an application within a time slot, rolled up into count/min/max/sum per {@link ApplicationStatField}.
+ * <p>
+ * Rollups are mergeable, so partial rollups written by different collectors for the same time slot
+ * are merged when read. {@link #getAgentId()} holds the application id.
+ */
+public class ApplicationStatBo implements AgentStatDataPoint {
+
+    private String agentId;
+    private long startTimestamp;
+    private long timestamp;
+    private final AgentStatType agentStatType;
+
+    private final long[] counts;
+    private final long[] mins;
+    private final long[] maxs;
+    private final long[] sums;
+
+    public ApplicationStatBo(AgentStatType agentStatType, int fieldCount) {
+        if (agentStatType == null) {
+            throw new NullPointerException("agentStatType must not be null");
+        }
+        if (fieldCount < 0) {
+            throw new IllegalArgumentException("fieldCount must not be negative");
+        }
+        this.agentStatType = agentStatType;
+        this.counts = new long[fieldCount];
+        this.mins = new long[fieldCount];
+        this.maxs = new long[fieldCount];
+        this.sums = new long[fieldCount];
+    }
+
+    @Override
+    public String getAgentId() {
+        return agentId;
+    }
+
+    @Override
+    public void setAgentId(String agentId) {
+        this.agentId = agentId;
+    }
+
+    @Override
+    public long getStartTimestamp() {
+        return startTimestamp;
+    }
+
+    @Override
+    public void setStartTimestamp(long startTimestamp) {
+        this.startTimestamp = startTimestamp;
+    }
+
+    @Override
+    public long getTimestamp() {
+        return timestamp;
+    }
+
+    @Override
+    public void setTimestamp(long timestamp) {
+        this.timestamp = timestamp;
+    }
+
+    @Override
+    public AgentStatType getAgentStatType() {
+        return agentStatType;
+    }
+
+    public int getFieldCount() {
+        return counts.length;
+    }
+
+    public long getCount(int fieldIndex) {
+        return counts[fieldIndex];
+    }
+
+    public long getMin(int fieldIndex) {
+        return mins[fieldIndex];
+    }
+
+    public long getMax(int fieldIndex) {
+        return maxs[fieldIndex];
+    }
+
+    public long getSum(int fieldIndex) {
+        return sums[fieldIndex];
+    }
+
+    public void addValue(int fieldIndex, long value) {
+        addValues(fieldIndex, 1, value, value, value);
+    }
+
+    public void addValues(int fieldIndex, long count, long min, long max, long sum) {
+        if (count <= 0) {
+            return;
+        }
+        if (counts[fieldIndex] == 0) {
+            mins[fieldIndex] = min;
+            maxs[fieldIndex] = max;
+        } else {
+            mins[fieldIndex] = Math.min(mins[fieldIndex], min);
+            maxs[fieldIndex] = Math.max(maxs[fieldIndex], max);
+        }
+        counts[fieldIndex] += count;
+        sums[fieldIndex] += sum;
+    }
+
+    public void merge(ApplicationStatBo applicationStatBo) {
+        if (applicationStatBo == null) {
+            throw new NullPointerException("applicationStatBo must not be null");
+        }
+        if (this.agentStatType != applicationStatBo.agentStatType) {
+            throw new IllegalArgumentException("agentStatType not equals. this=" + this.agentStatType + ", other=" + applicationStatBo.agentStatType);
+        }
+        final int fieldCount = Math.min(getFieldCount(), applicationStatBo.getFieldCount());
+        for (int i = 0; i < fieldCount; ++i) {
+            addValues(i, applicationStatBo.counts[i], applicationStatBo.mins[i], applicationStatBo.maxs[i], applicationStatBo.sums[i]);
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        ApplicationStatBo that = (ApplicationStatBo) o;
+
+        if (startTimestamp != that.startTimestamp) return false;
+        if (timestamp != that.timestamp) return false;
+        if (agentId != null ? !agentId.equals(that.agentId) : that.agentId != null) return false;
+        if (agentStatType != that.agentStatType) return false;
+        if (!Arrays.equals(counts, that.counts)) return false;
+        if (!Arrays.equals(mins, that.mins)) return false;
+        if (!Arrays.equals(maxs, that.maxs)) return false;
+        return Arrays.equals(sums, that.sums);
+    }
+
+    @Override
+    public int hashCode() {
+        int result = agentId != null ? agentId.hashCode() : 0;
+        result = 31 * result + (int) (startTimestamp ^ (startTimestamp >>> 32));
+        result = 31 * result + (int) (timestamp ^ (timestamp >>> 32));
+        result = 31 * result + agentStatType.hashCode();
+        result = 31 * result + Arrays.hashCode(counts);
+        result = 31 * result + Arrays.hashCode(mins);
+        result = 31 * result + Arrays.hashCode(maxs);
+        result = 31 * result + Arrays.hashCode(sums);
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return "ApplicationStatBo{" +
+                "applicationId='" + agentId + '\'' +
+                ", timestamp=" + timestamp +
+                ", agentStatType=" + agentStatType +
+                ", counts=" + Arrays.toString(counts) +
+                ", mins=" + Arrays.toString(mins) +
+                ", maxs=" + Arrays.toString(maxs) +
+                ", sums=" + Arrays.toString(sums) +
+                '}';
+    }
+}
@@ -0,0 +1,72 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.stat;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Agent stat values rolled up per application, see {@link ApplicationStatBo}.
+ * <p>
+ * The index of a field within its {@link AgentStatType} is part of the stored format and must not be changed.
+ * Decimal values are stored as longs using {@code AgentStatUtils.convertDoubleToLong}.
+ */
+public enum ApplicationStatField {
+    JVM_CPU_LOAD(AgentStatType.CPU_LOAD, 0, true),
+    SYSTEM_CPU_LOAD(AgentStatType.CPU_LOAD, 1, true),
+    HEAP_USED(AgentStatType.JVM_GC, 0, false),
+    NON_HEAP_USED(AgentStatType.JVM_GC, 1, false),
+    TPS(AgentStatType.TRANSACTION, 0, true),
+    ACTIVE_TRACE_COUNT(AgentStatType.ACTIVE_TRACE, 0, false);
+
+    private final AgentStatType agentStatType;
+    private final int index;
+    private final boolean decimal;
+
+    ApplicationStatField(AgentStatType agentStatType, int index, boolean decimal) {
+        this.agentStatType = agentStatType;
+        this.index = index;
+        this.decimal = decimal;
+    }
+
+    public AgentStatType getAgentStatType() {
+        return agentStatType;
+    }
+
+    public int getIndex() {
+        return index;
+    }
+
+    public boolean isDecimal() {
+        return decimal;
+    }
+
+    public static List<ApplicationStatField> getFields(AgentStatType agentStatType) {
+        List<ApplicationStatField> fields = new ArrayList<ApplicationStatField>();
+        for (ApplicationStatField field : values()) {
+            if (field.agentStatType == agentStatType) {
+                fields.add(field);
+            }
+        }
+        return Collections.unmodifiableList(fields);
+    }
+
+    public static int getFieldCount(AgentStatType agentStatType) {
+        return getFields(agentStatType).size();
+    }
+}
@@ -16,10 +16,12 @@
 
 package com.navercorp.pinpoint.common.server.util;
 
+import java.util.ArrayList;
 import java.util.List;
 
 import com.navercorp.pinpoint.common.server.bo.AnnotationBo;
 import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.common.util.ElapsedMicrosUtils;
 import org.apache.commons.collections.CollectionUtils;
 
 /**
@@ -62,4 +64,48 @@ public final class AnnotationUtils {
         return null;
     }
 
+    /**
+     * Removes the {@link AnnotationKey#ELAPSED_MICROS} annotation from the list.
+     *
+     * @return the packed sub millisecond elapsed time, -1 if not found
+     */
+    public static int removeElapsedMicros(List<AnnotationBo> annotationBoList) {
+        if (CollectionUtils.isEmpty(annotationBoList)) {
+            return -1;
+        }
+        for (int i = 0; i < annotationBoList.size(); i++) {
+            final AnnotationBo annotation = annotationBoList.get(i);
+            if (annotation.getKey() != AnnotationKey.ELAPSED_MICROS.getCode()) {
+                continue;
+            }
+            annotationBoList.remove(i);
+            final Object value = annotation.getValue();
+            if (value instanceof Integer && ElapsedMicrosUtils.isValid((Integer) value)) {
+                return (Integer) value;
+            }
+            return -1;
+        }
+        return -1;
+    }
+
+    /**
+     * @return a copy of the list with the {@link AnnotationKey#ELAPSED_MICROS} annotation appended,
+     * or the list itself if <tt>elapsedMicros</tt> is -1
+     */
+    public static List<AnnotationBo> addElapsedMicros(List<AnnotationBo> annotationBoList, int elapsedMicros) {
+        if (elapsedMicros == -1) {
+            return annotationBoList;
+        }
+        final int size = annotationBoList == null ? 0 : annotationBoList.size();
+        final List<AnnotationBo> copy = new ArrayList<AnnotationBo>(size + 1);
+        if (annotationBoList != null) {
+            copy.addAll(annotationBoList);
+        }
+        final AnnotationBo annotation = new AnnotationBo();
+        annotation.setKey(AnnotationKey.ELAPSED_MICROS.getCode());
+        annotation.setValue(elapsedMicros);
+        copy.add(annotation);
+        return copy;
+    }
+
 }
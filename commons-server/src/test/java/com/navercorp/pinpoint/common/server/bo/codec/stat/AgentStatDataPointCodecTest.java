@@ -49,6 +49,23 @@ public class AgentStatDataPointCodecTest {
         Assert.assertEquals(expectedTimestamps, decodedTimestamps);
     }
 
+    @Test
+    public void test_timestamps_into_array() {
+        // Given
+        final long initialTimestamp = System.currentTimeMillis();
+        final int numValues = (int) (Math.random() * 100) + 1;
+        final List<Long> expectedTimestamps = createTimestamps(initialTimestamp, 5000L, 10L, numValues);
+        final Buffer timestampBuffer = new AutomaticBuffer();
+        codec.encodeTimestamps(timestampBuffer, expectedTimestamps);
+        // When
+        long[] decodedTimestamps = new long[numValues];
+        codec.decodeTimestamps(initialTimestamp, new FixedBuffer(timestampBuffer.getBuffer()), decodedTimestamps, numValues);
+        // Then
+        for (int i = 0; i < numValues; ++i) {
+            Assert.assertEquals(expectedTimestamps.get(i).longValue(), decodedTimestamps[i]);
+        }
+    }
+
     @Test
     public void test_single_timestamp() {
         // Given
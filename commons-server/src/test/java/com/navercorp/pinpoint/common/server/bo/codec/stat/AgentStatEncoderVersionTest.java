@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.codec.stat;
+
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatDecodingContext;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatDataPoint;
+import org.junit.Assert;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.nio.ByteBuffer;
+import java.util.List;
+
+/**
+ * Old webs can not decode newer codec versions, so collectors must keep writing V2 unless configured otherwise.
+ */
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration("classpath:applicationContext-test.xml")
+public class AgentStatEncoderVersionTest {
+
+    private static final byte DEFAULT_VERSION = 2;
+
+    private static final String AGENT_ID = "testAgentId";
+
+    @Autowired
+    private CpuLoadEncoder cpuLoadEncoder;
+
+    @Autowired
+    private JvmGcEncoder jvmGcEncoder;
+
+    @Autowired
+    private JvmGcDetailedEncoder jvmGcDetailedEncoder;
+
+    @Autowired
+    private TransactionEncoder transactionEncoder;
+
+    @Test
+    public void encoders_should_write_v2_by_default() {
+        final long startTimestamp = System.currentTimeMillis();
+        final long initialTimestamp = startTimestamp + 1000L;
+        Assert.assertEquals(DEFAULT_VERSION, getWrittenVersion(cpuLoadEncoder, TestAgentStatFactory.createCpuLoadBos(AGENT_ID, startTimestamp, initialTimestamp)));
+        Assert.assertEquals(DEFAULT_VERSION, getWrittenVersion(jvmGcEncoder, TestAgentStatFactory.createJvmGcBos(AGENT_ID, startTimestamp, initialTimestamp)));
+        Assert.assertEquals(DEFAULT_VERSION, getWrittenVersion(jvmGcDetailedEncoder, TestAgentStatFactory.createJvmGcDetailedBos(AGENT_ID, startTimestamp, initialTimestamp)));
+        Assert.assertEquals(DEFAULT_VERSION, getWrittenVersion(transactionEncoder, TestAgentStatFactory.createTransactionBos(AGENT_ID, startTimestamp, initialTimestamp)));
+    }
+
+    @Test
+    public void codec_should_be_selected_by_version() {
+        AgentStatCodec<AgentStatDataPoint> codecV2 = new TestAgentStatCodec((byte) 2);
+        AgentStatCodec<AgentStatDataPoint> codecV3 = new TestAgentStatCodec((byte) 3);
+
+        Assert.assertSame(codecV2, AgentStatEncoder.selectCodec(2, codecV2, codecV3));
+        Assert.assertSame(codecV3, AgentStatEncoder.selectCodec(3, codecV2, codecV3));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void unknown_codec_version_should_be_rejected() {
+        AgentStatEncoder.selectCodec(4, new TestAgentStatCodec((byte) 2), new TestAgentStatCodec((byte) 3));
+    }
+
+    private <T extends AgentStatDataPoint> byte getWrittenVersion(AgentStatEncoder<T> encoder, List<T> agentStats) {
+        ByteBuffer value = encoder.encodeValue(agentStats);
+        return value.get(0);
+    }
+
+    private static class TestAgentStatCodec implements AgentStatCodec<AgentStatDataPoint> {
+
+        private final byte version;
+
+        private TestAgentStatCodec(byte version) {
+            this.version = version;
+        }
+
+        @Override
+        public byte getVersion() {
+            return version;
+        }
+
+        @Override
+        public void encodeValues(Buffer valueBuffer, List<AgentStatDataPoint> agentStats) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public List<AgentStatDataPoint> decodeValues(Buffer valueBuffer, AgentStatDecodingContext decodingContext) {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
@@ -0,0 +1,75 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.common.server.bo.codec.stat.strategy;
+
+import com.navercorp.pinpoint.common.server.bo.codec.stat.TestAgentStatDataPointFactory;
+import com.navercorp.pinpoint.common.server.bo.codec.strategy.EncodingStrategy;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs the same tests as {@link UnsignedLongEncodingStrategyTest} with bit packing strategies enabled.
+ */
+public class UnsignedLongBitPackingEncodingStrategyTest extends UnsignedLongEncodingStrategyTest {
+
+    @Override
+    protected StrategyAnalyzer.StrategyAnalyzerBuilder<Long> getStrategyAnalyzerBuilder() {
+        return new UnsignedLongEncodingStrategy.Analyzer.Builder(true);
+    }
+
+    @Override
+    protected List<EncodingStrategy<Long>> getEncodingStrategies() {
+        return Arrays.<EncodingStrategy<Long>>asList(UnsignedLongEncodingStrategy.values());
+    }
+
+    @Override
+    protected void checkBuilder(StrategyAnalyzer.StrategyAnalyzerBuilder<Long> analyzerBuilder, Map<EncodingStrategy<Long>, Integer> bufferSizes) {
+        super.checkBuilder(analyzerBuilder, bufferSizes);
+        UnsignedLongEncodingStrategy.Analyzer.Builder builder = (UnsignedLongEncodingStrategy.Analyzer.Builder) analyzerBuilder;
+        int actualBitPackingEncodedSize = bufferSizes.get(UnsignedLongEncodingStrategy.BIT_PACKING);
+        int actualXorEncodedSize = bufferSizes.get(UnsignedLongEncodingStrategy.XOR);
+        Assert.assertEquals(actualBitPackingEncodedSize, builder.getByteSizeBitPacking());
+        Assert.assertEquals(actualXorEncodedSize, builder.getByteSizeXor());
+    }
+
+    @Test
+    public void test_narrow_range_values() {
+        // cpu load like gauges, stored as scaled longs
+        for (int i = 0; i < NUM_TEST_RUNS; ++i) {
+            testFor(TestAgentStatDataPointFactory.LONG.createRandomValues(0L, 1000L));
+            testFor(TestAgentStatDataPointFactory.LONG.createFluctuatingValues(400L, 600L, 0L, 20L));
+        }
+    }
+
+    @Test
+    public void test_negative_values() {
+        List<Long> values = new ArrayList<Long>();
+        // uncollected values are stored as -1
+        values.add(-1L);
+        values.add(-1L);
+        values.add(10L);
+        values.add(12L);
+        values.add(-1L);
+        testFor(values);
+    }
+}
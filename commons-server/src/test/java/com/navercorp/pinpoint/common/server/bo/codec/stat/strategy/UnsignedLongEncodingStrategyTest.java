@@ -16,6 +16,9 @@
 
 package com.navercorp.pinpoint.common.server.bo.codec.stat.strategy;
 
+import com.navercorp.pinpoint.common.buffer.AutomaticBuffer;
+import com.navercorp.pinpoint.common.buffer.Buffer;
+import com.navercorp.pinpoint.common.buffer.FixedBuffer;
 import com.navercorp.pinpoint.common.server.bo.codec.stat.TestAgentStatDataPointFactory;
 import com.navercorp.pinpoint.common.server.bo.codec.strategy.EncodingStrategy;
 import org.junit.Assert;
@@ -37,7 +40,11 @@ public class UnsignedLongEncodingStrategyTest extends EncodingStrategyTestBase<L
 
     @Override
     protected List<EncodingStrategy<Long>> getEncodingStrategies() {
-        return Arrays.<EncodingStrategy<Long>>asList(UnsignedLongEncodingStrategy.values());
+        return Arrays.<EncodingStrategy<Long>>asList(
+                UnsignedLongEncodingStrategy.NONE,
+                UnsignedLongEncodingStrategy.REPEAT_COUNT,
+                UnsignedLongEncodingStrategy.DELTA,
+                UnsignedLongEncodingStrategy.DELTA_OF_DELTA);
     }
 
     @Override
@@ -84,8 +91,10 @@ public class UnsignedLongEncodingStrategyTest extends EncodingStrategyTestBase<L
         for (int i = 0; i < NUM_TEST_RUNS; ++i) {
             List<Long> constantValues = TestAgentStatDataPointFactory.LONG.createConstantValues(minValue, maxValue);
             testFor(constantValues);
+            testArrayDecoding(constantValues);
             List<Long> randomValues = TestAgentStatDataPointFactory.LONG.createRandomValues(minValue, maxValue);
             testFor(randomValues);
+            testArrayDecoding(randomValues);
             List<Long> increasingValues1 = TestAgentStatDataPointFactory.LONG.createIncreasingValues(minValue, maxValue, 0L, minValue / 10);
             testFor(increasingValues1);
             List<Long> increasingValues2 = TestAgentStatDataPointFactory.LONG.createIncreasingValues(minValue, maxValue, minValue / 10, maxValue / 10);
@@ -98,6 +107,19 @@ public class UnsignedLongEncodingStrategyTest extends EncodingStrategyTestBase<L
             testFor(fluctuatingValues1);
             List<Long> fluctuatingValues2 = TestAgentStatDataPointFactory.LONG.createFluctuatingValues(minValue, maxValue, minValue / 10, maxValue / 10);
             testFor(fluctuatingValues2);
+            testArrayDecoding(fluctuatingValues2);
+        }
+    }
+
+    private void testArrayDecoding(List<Long> values) {
+        for (UnsignedLongEncodingStrategy encodingStrategy : UnsignedLongEncodingStrategy.values()) {
+            Buffer encodedBuffer = new AutomaticBuffer();
+            encodingStrategy.encodeValues(encodedBuffer, values);
+            long[] decodedValues = new long[values.size()];
+            encodingStrategy.decodeValues(new FixedBuffer(encodedBuffer.getBuffer()), decodedValues, values.size());
+            for (int i = 0; i < values.size(); ++i) {
+                Assert.assertEquals(encodingStrategy.name(), values.get(i).longValue(), decodedValues[i]);
+            }
         }
     }
 }
@@ -0,0 +1,87 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.server.bo.codec.stat.v2;
+
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatCodec;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatCodecTestBase;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatType;
+import com.navercorp.pinpoint.common.server.bo.stat.ApplicationStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.ApplicationStatField;
+import org.junit.Assert;
+import org.junit.runner.RunWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.junit4.SpringJUnit4ClassRunner;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+@RunWith(SpringJUnit4ClassRunner.class)
+@ContextConfiguration("classpath:applicationContext-test.xml")
+public class ApplicationStatCodecV2Test extends AgentStatCodecTestBase<ApplicationStatBo> {
+
+    private static final long SLOT_SIZE = 5000L;
+    private static final int MAX_NUM_TEST_VALUES = 10 + 1; // Random API's upper bound field is exclusive
+    private static final int MAX_NUM_AGENTS = 20 + 1;
+
+    private final Random random = new Random();
+
+    @Autowired
+    private ApplicationStatCodecV2 applicationStatCodecV2;
+
+    @Override
+    protected List<ApplicationStatBo> createAgentStats(String agentId, long startTimestamp, long initialTimestamp) {
+        final AgentStatType agentStatType = AgentStatType.CPU_LOAD;
+        final int fieldCount = ApplicationStatField.getFieldCount(agentStatType);
+        final int numValues = 1 + random.nextInt(MAX_NUM_TEST_VALUES);
+        List<ApplicationStatBo> applicationStatBos = new ArrayList<ApplicationStatBo>(numValues);
+        for (int i = 0; i < numValues; ++i) {
+            ApplicationStatBo applicationStatBo = new ApplicationStatBo(agentStatType, fieldCount);
+            applicationStatBo.setAgentId(agentId);
+            applicationStatBo.setTimestamp(initialTimestamp + (i * SLOT_SIZE));
+            // numAgents may be 0, leaving the field empty
+            for (int fieldIndex = 0; fieldIndex < fieldCount; ++fieldIndex) {
+                final int numAgents = random.nextInt(MAX_NUM_AGENTS);
+                for (int j = 0; j < numAgents; ++j) {
+                    applicationStatBo.addValue(fieldIndex, random.nextInt(100000));
+                }
+            }
+            applicationStatBos.add(applicationStatBo);
+        }
+        return applicationStatBos;
+    }
+
+    @Override
+    protected AgentStatCodec<ApplicationStatBo> getCodec() {
+        return applicationStatCodecV2;
+    }
+
+    @Override
+    protected void verify(ApplicationStatBo expected, ApplicationStatBo actual) {
+        Assert.assertEquals("applicationId", expected.getAgentId(), actual.getAgentId());
+        Assert.assertEquals("timestamp", expected.getTimestamp(), actual.getTimestamp());
+        Assert.assertEquals("agentStatType", expected.getAgentStatType(), actual.getAgentStatType());
+        Assert.assertEquals("fieldCount", expected.getFieldCount(), actual.getFieldCount());
+        for (int i = 0; i < expected.getFieldCount(); ++i) {
+            Assert.assertEquals("count", expected.getCount(i), actual.getCount(i));
+            Assert.assertEquals("min", expected.getMin(i), actual.getMin(i));
+            Assert.assertEquals("max", expected.getMax(i), actual.getMax(i));
+            Assert.assertEquals("sum", expected.getSum(i), actual.getSum(i));
+        }
+    }
+}
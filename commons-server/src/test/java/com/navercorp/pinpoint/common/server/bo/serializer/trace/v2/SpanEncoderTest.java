@@ -3,11 +3,13 @@ package com.navercorp.pinpoint.common.server.bo.serializer.trace.v2;
 import com.google.common.collect.Lists;
 import com.navercorp.pinpoint.common.buffer.Buffer;
 import com.navercorp.pinpoint.common.buffer.OffsetFixedBuffer;
+import com.navercorp.pinpoint.common.server.bo.AnnotationBo;
 import com.navercorp.pinpoint.common.server.bo.RandomTSpan;
 import com.navercorp.pinpoint.common.server.bo.SpanBo;
 import com.navercorp.pinpoint.common.server.bo.SpanChunkBo;
 import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
 import com.navercorp.pinpoint.common.server.bo.SpanFactory;
+import com.navercorp.pinpoint.common.util.ElapsedMicrosUtils;
 import com.navercorp.pinpoint.thrift.dto.TSpan;
 import com.navercorp.pinpoint.thrift.dto.TSpanChunk;
 import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
@@ -145,7 +147,7 @@ public class SpanEncoderTest {
     }
 
 
-    private void assertSpan(SpanBo spanBo) {
+    private SpanBo assertSpan(SpanBo spanBo) {
         spanBo.setCollectorAcceptTime(getCollectorAcceptTime());
 
         SpanEncodingContext<SpanBo> encodingContext = new SpanEncodingContext<SpanBo>(spanBo);
@@ -171,6 +173,7 @@ public class SpanEncoderTest {
         List<SpanEventBo> spanEventBoList = spanBo.getSpanEventBoList();
         List<SpanEventBo> decodedSpanEventBoList = decode.getSpanEventBoList();
         Assert.assertTrue(EqualsBuilder.reflectionEquals(spanEventBoList, decodedSpanEventBoList));
+        return decode;
     }
 
     private void assertSpanChunk(SpanChunkBo spanChunkBo) {
@@ -229,4 +232,23 @@ public class SpanEncoderTest {
 
         assertSpan(spanBo);
     }
+
+    @Test
+    public void testEncodeSpanColumnValue_spanEvent_elapsedMicros() {
+        SpanBo spanBo = randomComplexSpan();
+        SpanEventBo spanEventBo0 = spanBo.getSpanEventBoList().get(0);
+        spanEventBo0.setAnnotationBoList(Lists.<AnnotationBo>newArrayList());
+        spanEventBo0.setElapsedMicros(ElapsedMicrosUtils.pack(1999, 42));
+        SpanEventBo spanEventBo2 = spanBo.getSpanEventBoList().get(2);
+        spanEventBo2.setElapsedMicros(ElapsedMicrosUtils.pack(0, 999));
+
+        SpanBo decode = assertSpan(spanBo);
+
+        List<SpanEventBo> decodedSpanEventBoList = decode.getSpanEventBoList();
+        Assert.assertEquals(spanEventBo0.getElapsedMicros(), decodedSpanEventBoList.get(0).getElapsedMicros());
+        Assert.assertTrue(decodedSpanEventBoList.get(0).getAnnotationBoList().isEmpty());
+        Assert.assertFalse(decodedSpanEventBoList.get(1).hasElapsedMicros());
+        Assert.assertEquals(spanEventBo2.getElapsedMicros(), decodedSpanEventBoList.get(2).getElapsedMicros());
+        Assert.assertEquals(spanEventBo2.getAnnotationBoList().size(), decodedSpanEventBoList.get(2).getAnnotationBoList().size());
+    }
 }
\ No newline at end of file
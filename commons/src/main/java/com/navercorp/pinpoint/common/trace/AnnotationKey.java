@@ -188,6 +188,8 @@ public interface AnnotationKey {
     AnnotationKey EXCEPTION = AnnotationKeyFactory.of(-50, "Exception", VIEW_IN_RECORD_SET);
     @Deprecated
     AnnotationKey EXCEPTION_CLASS = AnnotationKeyFactory.of(-51, "ExceptionClass");
+    // sub millisecond parts of the span event's elapsed time. see ElapsedMicrosUtils
+    AnnotationKey ELAPSED_MICROS = AnnotationKeyFactory.of(-60, "elapsed.micros");
     AnnotationKey UNKNOWN = AnnotationKeyFactory.of(-9999, "UNKNOWN");
 
     AnnotationKey ASYNC = AnnotationKeyFactory.of(-100, "Asynchronous Invocation", VIEW_IN_RECORD_SET);
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.util;
+
+/**
+ * Packs the sub millisecond parts of a span event's start and end elapsed time into the int value of
+ * {@link com.navercorp.pinpoint.common.trace.AnnotationKey#ELAPSED_MICROS}.
+ * <p>
+ * The millisecond parts are still sent as startElapsed / endElapsed, so readers unaware of the annotation keep working.
+ */
+public final class ElapsedMicrosUtils {
+
+    private static final int MICROS_PER_MILLI = 1000;
+
+    private ElapsedMicrosUtils() {
+    }
+
+    /**
+     * @param startElapsedMicros microseconds between the span start and the span event start
+     * @param endElapsedMicros microseconds between the span event start and end
+     */
+    public static int pack(long startElapsedMicros, long endElapsedMicros) {
+        if (startElapsedMicros < 0 || endElapsedMicros < 0) {
+            throw new IllegalArgumentException("negative elapsed micros. start:" + startElapsedMicros + ", end:" + endElapsedMicros);
+        }
+        final int startFraction = (int) (startElapsedMicros % MICROS_PER_MILLI);
+        final int endFraction = (int) (endElapsedMicros % MICROS_PER_MILLI);
+        return startFraction * MICROS_PER_MILLI + endFraction;
+    }
+
+    public static long toStartElapsedMicros(int startElapsed, int packed) {
+        return startElapsed * (long) MICROS_PER_MILLI + getStartFraction(packed);
+    }
+
+    public static long toEndElapsedMicros(int endElapsed, int packed) {
+        return endElapsed * (long) MICROS_PER_MILLI + getEndFraction(packed);
+    }
+
+    public static boolean isValid(int packed) {
+        return packed >= 0 && packed < MICROS_PER_MILLI * MICROS_PER_MILLI;
+    }
+
+    private static int getStartFraction(int packed) {
+        return packed / MICROS_PER_MILLI;
+    }
+
+    private static int getEndFraction(int packed) {
+        return packed % MICROS_PER_MILLI;
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.common.util;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class ElapsedMicrosUtilsTest {
+
+    @Test
+    public void pack() {
+        final int packed = ElapsedMicrosUtils.pack(12345, 6789);
+        Assert.assertTrue(ElapsedMicrosUtils.isValid(packed));
+
+        Assert.assertEquals(12345, ElapsedMicrosUtils.toStartElapsedMicros(12, packed));
+        Assert.assertEquals(6789, ElapsedMicrosUtils.toEndElapsedMicros(6, packed));
+    }
+
+    @Test
+    public void packBounds() {
+        Assert.assertEquals(0, ElapsedMicrosUtils.pack(0, 0));
+        Assert.assertEquals(0, ElapsedMicrosUtils.pack(1000, 2000));
+
+        final int max = ElapsedMicrosUtils.pack(999, 999);
+        Assert.assertEquals(999999, max);
+        Assert.assertTrue(ElapsedMicrosUtils.isValid(max));
+
+        // only the sub millisecond parts are packed
+        final int large = ElapsedMicrosUtils.pack(Long.MAX_VALUE, Integer.MAX_VALUE * 1000L + 1);
+        Assert.assertTrue(ElapsedMicrosUtils.isValid(large));
+        Assert.assertEquals(807, ElapsedMicrosUtils.toStartElapsedMicros(0, large));
+        Assert.assertEquals(1, ElapsedMicrosUtils.toEndElapsedMicros(0, large));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeStartElapsed() {
+        ElapsedMicrosUtils.pack(-1, 0);
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void negativeEndElapsed() {
+        ElapsedMicrosUtils.pack(0, -1);
+    }
+
+    @Test
+    public void isValid() {
+        Assert.assertFalse(ElapsedMicrosUtils.isValid(-1));
+        Assert.assertFalse(ElapsedMicrosUtils.isValid(1000000));
+    }
+}
@@ -17,20 +17,16 @@
 
 package com.navercorp.pinpoint.test.classloader;
 
-import com.navercorp.pinpoint.bootstrap.instrument.matcher.ClassNameMatcher;
-import com.navercorp.pinpoint.bootstrap.instrument.matcher.Matcher;
-import com.navercorp.pinpoint.bootstrap.instrument.matcher.MultiClassNameMatcher;
 import com.navercorp.pinpoint.profiler.ClassFileTransformerDispatcher;
+import com.navercorp.pinpoint.profiler.instrument.transformer.DefaultTransformerRegistry;
 import com.navercorp.pinpoint.profiler.plugin.xml.transformer.MatchableClassFileTransformer;
 import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
 import com.navercorp.pinpoint.test.util.BytecodeUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.instrument.ClassFileTransformer;
 import java.lang.instrument.IllegalClassFormatException;
-import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 /**
  * @author Woonduk Kang(emeroad)
@@ -39,7 +35,8 @@ public class DefaultTranslator implements Translator {
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    private final ConcurrentMap<String, MatchableClassFileTransformer> transformerMap = new ConcurrentHashMap<String, MatchableClassFileTransformer>();
+    // not thread safe, transformers are registered while setting up the test
+    private final DefaultTransformerRegistry transformerRegistry = new DefaultTransformerRegistry();
 
     private final ClassLoader loader;
     private final ClassFileTransformerDispatcher dispatcher;
@@ -53,30 +50,7 @@ public class DefaultTranslator implements Translator {
     }
 
     public void addTransformer(MatchableClassFileTransformer transformer) {
-        // TODO extract matcher process
-        final Matcher matcher = transformer.getMatcher();
-        if (matcher instanceof ClassNameMatcher) {
-            ClassNameMatcher classNameMatcher = (ClassNameMatcher) matcher;
-            String className = classNameMatcher.getClassName();
-            addTransformer0(transformer, className);
-        } else if (matcher instanceof MultiClassNameMatcher) {
-            final MultiClassNameMatcher classNameMatcher = (MultiClassNameMatcher) matcher;
-            List<String> classNameList = classNameMatcher.getClassNames();
-            for (String className : classNameList) {
-                addTransformer0(transformer, className);
-            }
-        } else {
-            throw new IllegalArgumentException("unsupported Matcher " + matcher);
-        }
-
-    }
-
-    private void addTransformer0(MatchableClassFileTransformer transformer, String className) {
-        final String checkClassInternalName = JavaAssistUtils.javaNameToJvmName(className);
-        MatchableClassFileTransformer old = transformerMap.put(checkClassInternalName, transformer);
-        if (old != null) {
-            throw new IllegalStateException("Modifier already exist new:" + transformer.getClass() + " old:" + old.getMatcher());
-        }
+        transformerRegistry.addTransformer(transformer.getMatcher(), transformer);
     }
 
     @Override
@@ -90,30 +64,31 @@ public class DefaultTranslator implements Translator {
 
         final String classInternalName = JavaAssistUtils.javaNameToJvmName(className);
         try {
+            final byte[] classFile = BytecodeUtils.getClassFile(this.loader, className);
+            if (classFile == null) {
+                throw new ClassNotFoundException(className + " not found");
+            }
+
             // Find Modifier from agent and try transforming
-            final byte[] transformBytes = dispatcher.transform(this.loader, classInternalName, null, null, null);
+            final byte[] transformBytes = dispatcher.transform(this.loader, classInternalName, null, null, classFile);
             if (transformBytes != null) {
                 return transformBytes;
             }
 
-            final byte[] customTransformBytes = customTransformer(classInternalName);
+            final byte[] customTransformBytes = customTransformer(classInternalName, classFile);
             if (customTransformBytes != null) {
                 return customTransformBytes;
             }
 
-            final byte[] classFile = BytecodeUtils.getClassFile(this.loader, className);
-            if (classFile == null) {
-                throw new ClassNotFoundException(className + " not found");
-            }
             return classFile;
         } catch (Throwable th) {
             throw new RuntimeException(className + " transform fail" , th);
         }
     }
 
-    private byte[] customTransformer(String jvmClassName) {
+    private byte[] customTransformer(String jvmClassName, byte[] classFile) {
         logger.info("Modify find classname:{}, loader:{}", jvmClassName, loader);
-        MatchableClassFileTransformer transformer = transformerMap.get(jvmClassName);
+        ClassFileTransformer transformer = transformerRegistry.findTransformer(loader, jvmClassName, classFile);
         if (transformer == null) {
             return null;
         }
@@ -125,7 +100,7 @@ public class DefaultTranslator implements Translator {
         thread.setContextClassLoader(loader);
         try {
             String javaClassName = JavaAssistUtils.jvmNameToJavaName(jvmClassName);
-            byte[] transformBytes = transformer.transform(loader, javaClassName, null, null, null);
+            byte[] transformBytes = transformer.transform(loader, javaClassName, null, null, classFile);
 
             return transformBytes;
         } catch (IllegalClassFormatException e) {
@@ -19,23 +19,22 @@ package com.navercorp.pinpoint.test.classloader;
 
 import java.io.ByteArrayInputStream;
 import java.io.IOException;
+import java.io.InputStream;
+import java.lang.instrument.ClassFileTransformer;
 import java.lang.instrument.IllegalClassFormatException;
-import java.util.List;
-import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.ConcurrentMap;
 
 import javassist.ClassPool;
 import javassist.CtClass;
+import javassist.NotFoundException;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import com.navercorp.pinpoint.bootstrap.instrument.matcher.ClassNameMatcher;
-import com.navercorp.pinpoint.bootstrap.instrument.matcher.Matcher;
-import com.navercorp.pinpoint.bootstrap.instrument.matcher.MultiClassNameMatcher;
 import com.navercorp.pinpoint.profiler.ClassFileTransformerDispatcher;
+import com.navercorp.pinpoint.profiler.instrument.transformer.DefaultTransformerRegistry;
 import com.navercorp.pinpoint.profiler.plugin.xml.transformer.MatchableClassFileTransformer;
 import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
+import com.navercorp.pinpoint.test.util.BytecodeUtils;
 
 /**
  * @author emeroad
@@ -44,7 +43,8 @@ public class JavassistTranslator implements Translator {
 
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
 
-    private final ConcurrentMap<String, MatchableClassFileTransformer> transformerMap = new ConcurrentHashMap<String, MatchableClassFileTransformer>();
+    // not thread safe, transformers are registered while setting up the test
+    private final DefaultTransformerRegistry transformerRegistry = new DefaultTransformerRegistry();
 
     private final ClassLoader loader;
     private final ClassFileTransformerDispatcher dispatcher;
@@ -64,30 +64,7 @@ public class JavassistTranslator implements Translator {
     }
 
     public void addTransformer(MatchableClassFileTransformer transformer) {
-        // TODO extract matcher process
-        final Matcher matcher = transformer.getMatcher();
-        if (matcher instanceof ClassNameMatcher) {
-            ClassNameMatcher classNameMatcher = (ClassNameMatcher) matcher;
-            String className = classNameMatcher.getClassName();
-            addTransformer0(transformer, className);
-        } else if (matcher instanceof MultiClassNameMatcher) {
-            final MultiClassNameMatcher classNameMatcher = (MultiClassNameMatcher) matcher;
-            List<String> classNameList = classNameMatcher.getClassNames();
-            for (String className : classNameList) {
-                addTransformer0(transformer, className);
-            }
-        } else {
-            throw new IllegalArgumentException("unsupported Matcher " + matcher);
-        }
-
-    }
-
-    private void addTransformer0(MatchableClassFileTransformer transformer, String className) {
-        final String checkClassInternalName = JavaAssistUtils.javaNameToJvmName(className);
-        MatchableClassFileTransformer old = transformerMap.put(checkClassInternalName, transformer);
-        if (old != null) {
-            throw new IllegalStateException("Modifier already exist new:" + transformer.getClass() + " old:" + old.getMatcher());
-        }
+        transformerRegistry.addTransformer(transformer.getMatcher(), transformer);
     }
 
     @Override
@@ -101,15 +78,17 @@ public class JavassistTranslator implements Translator {
 
         final String classInternalName = JavaAssistUtils.javaNameToJvmName(className);
         try {
+            final byte[] classFile = getClassFile(className);
+
             // Find Modifier from agent and try transforming
-            final byte[] transformBytes = dispatcher.transform(this.loader, classInternalName, null, null, null);
+            final byte[] transformBytes = dispatcher.transform(this.loader, classInternalName, null, null, classFile);
             if (transformBytes != null) {
                 logger.debug(classInternalName + " find in dispatcher");
                 makeClass(classPool, transformBytes, classInternalName);
                 return transformBytes;
             }
 
-            final byte[] customTransformBytes = customTransformer(classPool, classInternalName);
+            final byte[] customTransformBytes = customTransformer(classPool, classInternalName, classFile);
             if (customTransformBytes != null) {
                 logger.debug(classInternalName + " find in transformerMap");
                 return customTransformBytes;
@@ -123,9 +102,9 @@ public class JavassistTranslator implements Translator {
 
     }
 
-    private byte[] customTransformer(ClassPool pool, String jvmClassName) {
+    private byte[] customTransformer(ClassPool pool, String jvmClassName, byte[] classFile) {
         logger.info("Modify find classname:{}, loader:{}", jvmClassName, loader);
-        MatchableClassFileTransformer transformer = transformerMap.get(jvmClassName);
+        ClassFileTransformer transformer = transformerRegistry.findTransformer(loader, jvmClassName, classFile);
         if (transformer == null) {
             return null;
         }
@@ -137,7 +116,7 @@ public class JavassistTranslator implements Translator {
         thread.setContextClassLoader(loader);
         try {
             String javaClassName = JavaAssistUtils.jvmNameToJavaName(jvmClassName);
-            byte[] transformBytes = transformer.transform(loader, javaClassName, null, null, null);
+            byte[] transformBytes = transformer.transform(loader, javaClassName, null, null, classFile);
             makeClass(pool, transformBytes, jvmClassName);
             return transformBytes;
         } catch (IllegalClassFormatException e) {
@@ -147,6 +126,15 @@ public class JavassistTranslator implements Translator {
         }
     }
 
+    private byte[] getClassFile(String className) throws NotFoundException, IOException {
+        // read without creating a CtClass, classes made in the class pool have no class file
+        final InputStream in = classPool.openClassfile(className);
+        if (in == null) {
+            return null;
+        }
+        return BytecodeUtils.readClass(in, true);
+    }
+
     private CtClass makeClass(ClassPool pool, byte[] transform, String jvmClassName) {
         try {
             if (logger.isDebugEnabled()) {
@@ -86,7 +86,7 @@ public class ClassFileTransformerDispatcher implements ClassFileTransformer, Dyn
             return null;
         }
 
-        ClassFileTransformer transformer = this.transformerRegistry.findTransformer(classInternalName);
+        ClassFileTransformer transformer = this.transformerRegistry.findTransformer(classLoader, classInternalName, classFileBuffer);
         if (transformer == null) {
             // For debug
             // TODO What if a modifier is duplicated?
@@ -59,12 +59,15 @@ import com.navercorp.pinpoint.profiler.sender.EnhancedDataSender;
 import com.navercorp.pinpoint.profiler.sender.TcpDataSender;
 import com.navercorp.pinpoint.profiler.sender.UdpDataSenderFactory;
 import com.navercorp.pinpoint.profiler.util.ApplicationServerTypeResolver;
+import com.navercorp.pinpoint.profiler.util.MemoryPoolMXBeanUtils;
 import com.navercorp.pinpoint.profiler.util.RuntimeMXBeanUtils;
 import com.navercorp.pinpoint.rpc.ClassPreLoader;
 import com.navercorp.pinpoint.rpc.client.PinpointClient;
 import com.navercorp.pinpoint.rpc.client.PinpointClientFactory;
 import com.navercorp.pinpoint.rpc.packet.HandshakePropertyType;
 import com.navercorp.pinpoint.rpc.util.ClientFactoryUtils;
+import com.navercorp.pinpoint.thrift.io.SpanEventCodecTBaseLocator;
+import com.navercorp.pinpoint.thrift.io.TBaseLocator;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -156,6 +159,8 @@ public class DefaultAgent implements Agent {
             throw new NullPointerException("interceptorRegistryBinder must not be null");
         }
         logger.info("AgentOption:{}", agentOption);
+        final long initStartTime = System.currentTimeMillis();
+        final long initStartClassMetadataUsed = MemoryPoolMXBeanUtils.getClassMetadataUsed();
 
         this.binder = new Slf4jLoggerBinder();
         bindPLoggerFactory(this.binder);
@@ -179,7 +184,9 @@ public class DefaultAgent implements Agent {
             logger.info("DefaultAgent classLoader:{}", this.getClass().getClassLoader());
         }
 
+        final long pluginStartClassMetadataUsed = MemoryPoolMXBeanUtils.getClassMetadataUsed();
         pluginContexts = loadPlugins(agentOption);
+        logger.info("Plugin class metadata used:{}KB", toKiloBytes(pluginStartClassMetadataUsed, MemoryPoolMXBeanUtils.getClassMetadataUsed()));
 
         this.classFileTransformer = new ClassFileTransformerDispatcher(this, pluginContexts);
         this.dynamicTransformService = new DynamicTransformService(instrumentation, classFileTransformer);
@@ -222,6 +229,16 @@ public class DefaultAgent implements Agent {
         this.agentStatMonitor = new AgentStatMonitor(this.statDataSender, this.agentInformation.getAgentId(), this.agentInformation.getStartTime(), agentStatCollectorFactory);
         
         InterceptorInvokerHelper.setPropagateException(profilerConfig.isPropagateInterceptorException());
+
+        logger.info("DefaultAgent initialized. elapsed:{}ms, class metadata used:{}KB", System.currentTimeMillis() - initStartTime,
+                toKiloBytes(initStartClassMetadataUsed, MemoryPoolMXBeanUtils.getClassMetadataUsed()));
+    }
+
+    private static long toKiloBytes(long before, long after) {
+        if (before == -1 || after == -1) {
+            return -1;
+        }
+        return (after - before) / 1024;
     }
 
     private InstrumentClassPool createInstrumentEngine(AgentOption agentOption, InterceptorRegistryBinder interceptorRegistryBinder) {
@@ -409,7 +426,13 @@ public class DefaultAgent implements Agent {
     }
     
     protected DataSender createUdpSpanDataSender(int port, String threadName, int writeQueueSize, int timeout, int sendBufferSize) {
-        UdpDataSenderFactory factory = new UdpDataSenderFactory(this.profilerConfig.getCollectorSpanServerIp(), port, threadName, writeQueueSize, timeout, sendBufferSize);
+        TBaseLocator locator = null;
+        if (profilerConfig.isSpanDataSenderSpanEventCompact()) {
+            logger.info("compact span event encoding enabled");
+            locator = new SpanEventCodecTBaseLocator();
+        }
+        UdpDataSenderFactory factory = new UdpDataSenderFactory(this.profilerConfig.getCollectorSpanServerIp(), port, threadName, writeQueueSize, timeout, sendBufferSize,
+                locator, profilerConfig.getSpanDataSenderCompressThreshold());
         return factory.create(profilerConfig.getSpanDataSenderSocketType());
     }
 
@@ -0,0 +1,66 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.context;
+
+import com.navercorp.pinpoint.bootstrap.context.TraceId;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Shared by a trace and all of its asynchronous continuations, so that each handoff only has to carry an async id.
+ * <p>
+ * Async ids only need to be unique within the span their events belong to, the counter is therefore kept per trace
+ * instead of being shared (and contended) by every trace of the agent.
+ */
+final class AsyncTraceRoot {
+
+    private final TraceId traceId;
+    private final long spanStartTime;
+    private final AtomicInteger asyncId = new AtomicInteger();
+
+    AsyncTraceRoot(TraceId traceId, long spanStartTime) {
+        if (traceId == null) {
+            throw new NullPointerException("traceId must not be null");
+        }
+        this.traceId = traceId;
+        this.spanStartTime = spanStartTime;
+    }
+
+    TraceId getTraceId() {
+        return traceId;
+    }
+
+    long getSpanStartTime() {
+        return spanStartTime;
+    }
+
+    int nextAsyncId() {
+        final int id = asyncId.incrementAndGet();
+        // -1 stands for "no async id"
+        return id == -1 ? asyncId.incrementAndGet() : id;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder("{");
+        sb.append("traceId=").append(traceId);
+        sb.append(", spanStartTime=").append(spanStartTime);
+        sb.append(", asyncId=").append(asyncId);
+        sb.append('}');
+        return sb.toString();
+    }
+}
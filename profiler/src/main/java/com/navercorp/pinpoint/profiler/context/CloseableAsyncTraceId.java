@@ -34,6 +34,10 @@ public class CloseableAsyncTraceId implements AsyncTraceId, AsyncTraceCloseable
         this.closeable = closeable;
     }
 
+    AsyncTraceId getAsyncTraceId() {
+        return traceId;
+    }
+
     @Override
     public int getAsyncId() {
         return this.traceId.getAsyncId();
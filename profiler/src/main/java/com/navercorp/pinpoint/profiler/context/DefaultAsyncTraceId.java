@@ -24,19 +24,22 @@ import com.navercorp.pinpoint.bootstrap.context.TraceId;
  */
 public class DefaultAsyncTraceId implements AsyncTraceId {
 
-    private final TraceId traceId;
+    // trace id and span start time are shared by every handoff of the trace
+    private final AsyncTraceRoot asyncTraceRoot;
     private final int asyncId;
-    private final long startTime;
     private short asyncSequence = 0;
 
-    public DefaultAsyncTraceId(final TraceId traceId, final int asyncId, final long startTime) {
-        if (traceId == null) {
-            throw new IllegalArgumentException("traceId must not be null.");
+    DefaultAsyncTraceId(final AsyncTraceRoot asyncTraceRoot, final int asyncId) {
+        if (asyncTraceRoot == null) {
+            throw new IllegalArgumentException("asyncTraceRoot must not be null.");
         }
 
-        this.traceId = traceId;
+        this.asyncTraceRoot = asyncTraceRoot;
         this.asyncId = asyncId;
-        this.startTime = startTime;
+    }
+
+    AsyncTraceRoot getAsyncTraceRoot() {
+        return asyncTraceRoot;
     }
 
     public int getAsyncId() {
@@ -50,65 +53,65 @@ public class DefaultAsyncTraceId implements AsyncTraceId {
 
     @Override
     public TraceId getNextTraceId() {
-        return traceId.getNextTraceId();
+        return asyncTraceRoot.getTraceId().getNextTraceId();
     }
 
     @Override
     public long getSpanId() {
-        return traceId.getSpanId();
+        return asyncTraceRoot.getTraceId().getSpanId();
     }
 
     @Override
     public String getTransactionId() {
-        return traceId.getTransactionId();
+        return asyncTraceRoot.getTraceId().getTransactionId();
     }
 
     @Override
     public String getAgentId() {
-        return traceId.getAgentId();
+        return asyncTraceRoot.getTraceId().getAgentId();
     }
 
     @Override
     public long getAgentStartTime() {
-        return traceId.getAgentStartTime();
+        return asyncTraceRoot.getTraceId().getAgentStartTime();
     }
 
     @Override
     public long getTransactionSequence() {
-        return traceId.getTransactionSequence();
+        return asyncTraceRoot.getTraceId().getTransactionSequence();
     }
 
     @Override
     public long getParentSpanId() {
-        return traceId.getParentSpanId();
+        return asyncTraceRoot.getTraceId().getParentSpanId();
     }
 
     @Override
     public short getFlags() {
-        return traceId.getFlags();
+        return asyncTraceRoot.getTraceId().getFlags();
     }
 
     @Override
     public boolean isRoot() {
-        return traceId.isRoot();
+        return asyncTraceRoot.getTraceId().isRoot();
     }
 
     @Override
     public long getSpanStartTime() {
-        return startTime;
+        return asyncTraceRoot.getSpanStartTime();
     }
 
     @Override
     public TraceId getParentTraceId() {
-        return traceId;
+        return asyncTraceRoot.getTraceId();
     }
 
     @Override
     public String toString() {
         final StringBuilder sb = new StringBuilder("{");
-        sb.append("traceId=").append(traceId);
+        sb.append("traceId=").append(asyncTraceRoot.getTraceId());
         sb.append(", asyncId=").append(asyncId);
-        sb.append(", startTime=").append(startTime);
+        sb.append(", startTime=").append(asyncTraceRoot.getSpanStartTime());
         sb.append(", asyncSequence=").append(asyncSequence);
         sb.append('}');
         return sb.toString();
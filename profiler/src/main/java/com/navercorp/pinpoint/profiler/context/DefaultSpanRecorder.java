@@ -55,7 +55,7 @@ public class DefaultSpanRecorder extends AbstractRecorder implements SpanRecorde
 
     @Override
     public void recordStartTime(long startTime) {
-        span.setStartTime(startTime);
+        span.recordStartTime(startTime);
     }
 
     @Override
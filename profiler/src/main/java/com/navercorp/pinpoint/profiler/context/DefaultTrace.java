@@ -51,7 +51,11 @@ public final class DefaultTrace implements Trace {
     private boolean closed = false;
 
     private Thread bindThread;
-    private final DefaultTraceScopePool scopePool = new DefaultTraceScopePool();
+    // created on the first addScope(), most traces never use one
+    private DefaultTraceScopePool scopePool;
+
+    // created on the first asynchronous handoff, inherited by continuations
+    private AsyncTraceRoot asyncTraceRoot;
 
     public DefaultTrace(final TraceContext traceContext, long transactionId, boolean sampling) {
         if (traceContext == null) {
@@ -90,6 +94,11 @@ public final class DefaultTrace implements Trace {
         setCurrentThread();
     }
 
+    DefaultTrace(TraceContext traceContext, AsyncTraceRoot asyncTraceRoot, long transactionId, boolean sampling) {
+        this(traceContext, asyncTraceRoot.getTraceId(), transactionId, sampling);
+        this.asyncTraceRoot = asyncTraceRoot;
+    }
+
     private CallStack createCallStack(ProfilerConfig profilerConfig, Span span) {
         if (profilerConfig != null) {
             final int maxCallStackDepth = profilerConfig.getCallStackMaxDepth();
@@ -105,6 +114,10 @@ public final class DefaultTrace implements Trace {
         span.setApplicationName(traceContext.getApplicationName());
         span.setAgentStartTime(traceContext.getAgentStartTime());
         span.setApplicationServiceType(traceContext.getServerTypeCode());
+        final ProfilerConfig profilerConfig = traceContext.getProfilerConfig();
+        if (profilerConfig != null) {
+            span.setMicrosecondTiming(profilerConfig.isCallStackMicrosecondTiming());
+        }
         span.markBeforeTime();
 
         return span;
@@ -308,7 +321,12 @@ public final class DefaultTrace implements Trace {
     @Override
     public AsyncTraceId getAsyncTraceId(boolean closeable) {
         // ignored closeable.
-        return new DefaultAsyncTraceId(traceId, traceContext.getAsyncId(), spanRecorder.getSpan().getStartTime());
+        AsyncTraceRoot asyncTraceRoot = this.asyncTraceRoot;
+        if (asyncTraceRoot == null) {
+            asyncTraceRoot = new AsyncTraceRoot(traceId, spanRecorder.getSpan().getStartTime());
+            this.asyncTraceRoot = asyncTraceRoot;
+        }
+        return new DefaultAsyncTraceId(asyncTraceRoot, asyncTraceRoot.nextAsyncId());
     }
 
     @Override
@@ -343,11 +361,20 @@ public final class DefaultTrace implements Trace {
 
     @Override
     public TraceScope getScope(String name) {
+        if (scopePool == null) {
+            if (name == null) {
+                throw new IllegalArgumentException("name must not be null");
+            }
+            return null;
+        }
         return scopePool.get(name);
     }
 
     @Override
     public TraceScope addScope(String name) {
+        if (scopePool == null) {
+            scopePool = new DefaultTraceScopePool();
+        }
         return scopePool.add(name);
     }
 }
\ No newline at end of file
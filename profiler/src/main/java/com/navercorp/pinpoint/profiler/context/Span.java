@@ -32,6 +32,10 @@ import com.navercorp.pinpoint.thrift.dto.TSpan;
 public class Span extends TSpan implements FrameAttachment {
     private boolean timeRecording = true;
     private Object frameObject;
+
+    // span events are timed with System.nanoTime() relative to startNanoTime, which is taken along with startTime.
+    private boolean microsecondTiming = false;
+    private long startNanoTime;
     
     public Span() {
     }
@@ -62,10 +66,26 @@ public class Span extends TSpan implements FrameAttachment {
 
     public void markBeforeTime() {
         this.setStartTime(System.currentTimeMillis());
+        if (microsecondTiming) {
+            this.startNanoTime = System.nanoTime();
+        }
+    }
+
+    public void recordStartTime(long startTime) {
+        if (microsecondTiming && isSetStartTime()) {
+            // keep the nano anchor in line with the new wall clock start
+            this.startNanoTime -= (getStartTime() - startTime) * 1000000L;
+        }
+        this.setStartTime(startTime);
     }
 
     public void markAfterTime() {
-        final int after = (int)(System.currentTimeMillis() - this.getStartTime());
+        final int after;
+        if (microsecondTiming) {
+            after = (int) (getElapsedMicros() / 1000);
+        } else {
+            after = (int) (System.currentTimeMillis() - this.getStartTime());
+        }
 
         // TODO  have to change int to long
         if (after != 0) {
@@ -102,6 +122,21 @@ public class Span extends TSpan implements FrameAttachment {
         super.setErr(exception);
     }
 
+    /**
+     * @return microseconds elapsed since {@link #markBeforeTime()}, only meaningful with microsecond timing
+     */
+    long getElapsedMicros() {
+        return (System.nanoTime() - startNanoTime) / 1000;
+    }
+
+    public boolean isMicrosecondTiming() {
+        return microsecondTiming;
+    }
+
+    public void setMicrosecondTiming(boolean microsecondTiming) {
+        this.microsecondTiming = microsecondTiming;
+    }
+
     public boolean isTimeRecording() {
         return timeRecording;
     }
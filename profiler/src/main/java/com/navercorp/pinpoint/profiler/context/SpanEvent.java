@@ -17,6 +17,8 @@
 package com.navercorp.pinpoint.profiler.context;
 
 import com.navercorp.pinpoint.bootstrap.context.FrameAttachment;
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.common.util.ElapsedMicrosUtils;
 import com.navercorp.pinpoint.thrift.dto.TIntStringValue;
 import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
 
@@ -32,6 +34,7 @@ public class SpanEvent extends TSpanEvent implements FrameAttachment {
     private int stackId;
     private boolean timeRecording = true;
     private Object frameObject;
+    private long startElapsedMicros;
 
     public SpanEvent(Span span) {
         if (span == null) {
@@ -58,6 +61,11 @@ public class SpanEvent extends TSpanEvent implements FrameAttachment {
 
 
     public void markStartTime() {
+        if (span.isMicrosecondTiming()) {
+            this.startElapsedMicros = span.getElapsedMicros();
+            this.setStartElapsed((int) (startElapsedMicros / 1000));
+            return;
+        }
 //        spanEvent.setStartElapsed((int) (startTime - parentSpanStartTime));
         final int startElapsed = (int)(System.currentTimeMillis() - span.getStartTime());
         
@@ -71,6 +79,19 @@ public class SpanEvent extends TSpanEvent implements FrameAttachment {
     }
 
     public void markAfterTime() {
+        if (span.isMicrosecondTiming()) {
+            final long endElapsedMicros = span.getElapsedMicros() - startElapsedMicros;
+            final int endElapsed = (int) (endElapsedMicros / 1000);
+            if (endElapsed != 0) {
+                this.setEndElapsed(endElapsed);
+            }
+            // negative when the span start has been re-recorded around this event
+            if (startElapsedMicros >= 0 && endElapsedMicros >= 0) {
+                final int elapsedMicros = ElapsedMicrosUtils.pack(startElapsedMicros, endElapsedMicros);
+                this.addAnnotation(new Annotation(AnnotationKey.ELAPSED_MICROS.getCode(), elapsedMicros));
+            }
+            return;
+        }
         final int endElapsed = (int)(System.currentTimeMillis() - getStartTime());
         if (endElapsed != 0) {
             this.setEndElapsed(endElapsed);
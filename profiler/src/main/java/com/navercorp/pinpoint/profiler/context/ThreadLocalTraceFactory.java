@@ -198,9 +198,9 @@ public class ThreadLocalTraceFactory implements TraceFactory {
     public Trace continueAsyncTraceObject(AsyncTraceId traceId, int asyncId, long startTime) {
         checkBeforeTraceObject();
 
-        final TraceId parentTraceId = traceId.getParentTraceId();
+        final AsyncTraceRoot asyncTraceRoot = getAsyncTraceRoot(traceId);
         final boolean sampling = true;
-        final DefaultTrace trace = new DefaultTrace(traceContext, parentTraceId, IdGenerator.UNTRACKED_ID, sampling);
+        final DefaultTrace trace = new DefaultTrace(traceContext, asyncTraceRoot, IdGenerator.UNTRACKED_ID, sampling);
         final Storage storage = storageFactory.createStorage();
         trace.setStorage(new AsyncStorage(storage));
 
@@ -210,6 +210,17 @@ public class ThreadLocalTraceFactory implements TraceFactory {
         return asyncTrace;
     }
 
+    private AsyncTraceRoot getAsyncTraceRoot(AsyncTraceId asyncTraceId) {
+        if (asyncTraceId instanceof CloseableAsyncTraceId) {
+            return getAsyncTraceRoot(((CloseableAsyncTraceId) asyncTraceId).getAsyncTraceId());
+        }
+        if (asyncTraceId instanceof DefaultAsyncTraceId) {
+            return ((DefaultAsyncTraceId) asyncTraceId).getAsyncTraceRoot();
+        }
+        // a new root would restart the async ids of the span
+        throw new IllegalArgumentException("unsupported asyncTraceId:" + asyncTraceId);
+    }
+
     // entry point async trace.
     @Override
     public Trace continueAsyncTraceObject(final TraceId traceId) {
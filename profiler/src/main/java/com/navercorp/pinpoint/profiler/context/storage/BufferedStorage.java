@@ -37,6 +37,7 @@ public class BufferedStorage implements Storage {
 
     private final int bufferSize;
 
+    // created on the first stored span event
     private List<SpanEvent> storage;
     private final DataSender dataSender;
     private final SpanChunkFactory spanChunkFactory;
@@ -55,17 +56,19 @@ public class BufferedStorage implements Storage {
         this.dataSender = dataSender;
         this.spanChunkFactory = spanChunkFactory;
         this.bufferSize = bufferSize;
-        this.storage = new ArrayList<SpanEvent>(bufferSize);
     }
 
     @Override
     public void store(SpanEvent spanEvent) {
         List<SpanEvent> flushData = null;
+        if (storage == null) {
+            storage = new ArrayList<SpanEvent>(bufferSize);
+        }
         storage.add(spanEvent);
         if (storage.size() >= bufferSize) {
             // data copy
             flushData = storage;
-            storage = new ArrayList<SpanEvent>(bufferSize);
+            storage = null;
         }
 
         if (flushData != null) {
@@ -81,7 +84,7 @@ public class BufferedStorage implements Storage {
     public void store(Span span) {
         List<SpanEvent> spanEventList;
         spanEventList = storage;
-        this.storage = new ArrayList<SpanEvent>(bufferSize);
+        this.storage = null;
 
         if (spanEventList != null && !spanEventList.isEmpty()) {
             span.setSpanEventList((List) spanEventList);
@@ -96,7 +99,7 @@ public class BufferedStorage implements Storage {
     public void flush() {
         List<SpanEvent> spanEventList;
         spanEventList = storage;
-        this.storage = new ArrayList<SpanEvent>(bufferSize);
+        this.storage = null;
 
         if (spanEventList != null && !spanEventList.isEmpty()) {
             final SpanChunk spanChunk = spanChunkFactory.create(spanEventList);
@@ -53,6 +53,8 @@ import java.util.List;
 public class ASMClass implements InstrumentClass {
     private static final String FIELD_PREFIX = "_$PINPOINT$_";
 
+    private static final boolean INTERCEPTOR_CALL_SITE_AVAILABLE = isInterceptorCallSiteAvailable();
+
     private final Logger logger = LoggerFactory.getLogger(this.getClass());
     private final InstrumentContext pluginContext;
     private final InterceptorRegistryBinder interceptorRegistryBinder;
@@ -93,6 +95,21 @@ public class ASMClass implements InstrumentClass {
         return this.classNode.isAnnotation();
     }
 
+    // classes of the bootstrap class loader keep using the registry, java.lang.invoke may itself be instrumented.
+    boolean isInvokeDynamicInterceptorSupported() {
+        return INTERCEPTOR_CALL_SITE_AVAILABLE && this.classLoader != null && this.classNode.getMajorVersion() >= Opcodes.V1_7;
+    }
+
+    private static boolean isInterceptorCallSiteAvailable() {
+        try {
+            // shipped with pinpoint-bootstrap-core-optional, appended to the bootstrap class path.
+            Class.forName(ASMMethodVariables.INTERCEPTOR_CALL_SITE_CLASS_NAME, false, null);
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
     @Override
     public String getName() {
         return this.name;
@@ -186,7 +203,7 @@ public class ASMClass implements InstrumentClass {
             throw new NotFoundInstrumentException("advice class name must not be null");
         }
 
-        final ASMClassNodeAdapter adviceClassNode = ASMClassNodeAdapter.get(this.pluginContext, this.classLoader, JavaAssistUtils.javaNameToJvmName(adviceClassName));
+        final ASMClassNodeAdapter adviceClassNode = ASMClassNodeAdapter.get(this.pluginContext, this.classLoader, JavaAssistUtils.javaNameToJvmName(adviceClassName), false, this.classNode.getClassNodeCache());
         if (adviceClassNode == null) {
             throw new NotFoundInstrumentException(adviceClassName + " not found.");
         }
@@ -203,7 +220,7 @@ public class ASMClass implements InstrumentClass {
             throw new InstrumentException(getName() + " already have method(" + methodName + ").");
         }
 
-        final ASMClassNodeAdapter superClassNode = ASMClassNodeAdapter.get(this.pluginContext, this.classLoader, this.classNode.getSuperClassInternalName());
+        final ASMClassNodeAdapter superClassNode = ASMClassNodeAdapter.get(this.pluginContext, this.classLoader, this.classNode.getSuperClassInternalName(), false, this.classNode.getClassNodeCache());
         if (superClassNode == null) {
             throw new NotFoundInstrumentException(getName() + " not found super class(" + this.classNode.getSuperClassInternalName() + ")");
         }
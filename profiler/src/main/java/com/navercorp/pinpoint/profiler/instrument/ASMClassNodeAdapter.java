@@ -47,10 +47,23 @@ public class ASMClassNodeAdapter {
     }
 
     public static ASMClassNodeAdapter get(final InstrumentContext pluginContext, final ClassLoader classLoader, final String classInternalName, final boolean skipCode) {
+        return get(pluginContext, classLoader, classInternalName, skipCode, null);
+    }
+
+    public static ASMClassNodeAdapter get(final InstrumentContext pluginContext, final ClassLoader classLoader, final String classInternalName, final boolean skipCode, final ASMClassNodeCache classNodeCache) {
         if (pluginContext == null || classInternalName == null) {
             throw new IllegalArgumentException("plugin context or class name must not be null.");
         }
 
+        final boolean cacheable = skipCode && classNodeCache != null;
+        if (cacheable) {
+            // class nodes without code are only read, they can be shared by every transformation.
+            final ClassNode cachedClassNode = classNodeCache.get(classLoader, classInternalName);
+            if (cachedClassNode != null) {
+                return new ASMClassNodeAdapter(pluginContext, classLoader, cachedClassNode, true, classNodeCache);
+            }
+        }
+
         InputStream in = null;
         try {
             in = pluginContext.getResourceAsStream(classLoader, classInternalName + ".class");
@@ -59,11 +72,14 @@ public class ASMClassNodeAdapter {
                 final ClassNode classNode = new ClassNode();
                 if (skipCode) {
                     classReader.accept(classNode, ClassReader.SKIP_CODE);
+                    if (cacheable) {
+                        classNodeCache.put(classLoader, classInternalName, classNode);
+                    }
                 } else {
                     classReader.accept(classNode, 0);
                 }
 
-                return new ASMClassNodeAdapter(pluginContext, classLoader, classNode, skipCode);
+                return new ASMClassNodeAdapter(pluginContext, classLoader, classNode, skipCode, classNodeCache);
             }
         } catch (IOException ignored) {
             // not found class.
@@ -83,16 +99,27 @@ public class ASMClassNodeAdapter {
     private final ClassLoader classLoader;
     private final ClassNode classNode;
     private final boolean skipCode;
+    // may be null, class nodes read without code are then read again on every lookup.
+    private final ASMClassNodeCache classNodeCache;
 
     public ASMClassNodeAdapter(final InstrumentContext pluginContext, final ClassLoader classLoader, final ClassNode classNode) {
         this(pluginContext, classLoader, classNode, false);
     }
 
     public ASMClassNodeAdapter(final InstrumentContext pluginContext, final ClassLoader classLoader, final ClassNode classNode, final boolean skipCode) {
+        this(pluginContext, classLoader, classNode, skipCode, null);
+    }
+
+    public ASMClassNodeAdapter(final InstrumentContext pluginContext, final ClassLoader classLoader, final ClassNode classNode, final boolean skipCode, final ASMClassNodeCache classNodeCache) {
         this.pluginContext = pluginContext;
         this.classLoader = classLoader;
         this.classNode = classNode;
         this.skipCode = skipCode;
+        this.classNodeCache = classNodeCache;
+    }
+
+    ASMClassNodeCache getClassNodeCache() {
+        return classNodeCache;
     }
 
     public String getInternalName() {
@@ -119,6 +146,10 @@ public class ASMClassNodeAdapter {
         return (classNode.access & Opcodes.ACC_ANNOTATION) != 0;
     }
 
+    public int getMajorVersion() {
+        return classNode.version & 0xFFFF;
+    }
+
     public String[] getInterfaceNames() {
         final List<String> interfaces = this.classNode.interfaces;
         if (interfaces == null || interfaces.size() == 0) {
@@ -135,6 +166,14 @@ public class ASMClassNodeAdapter {
         return list.toArray(new String[list.size()]);
     }
 
+    public String[] getInterfaceInternalNames() {
+        final List<String> interfaces = this.classNode.interfaces;
+        if (interfaces == null || interfaces.size() == 0) {
+            return new String[0];
+        }
+        return interfaces.toArray(new String[interfaces.size()]);
+    }
+
     public ASMMethodNodeAdapter getDeclaredMethod(final String methodName, final String desc) {
         if (this.skipCode) {
             throw new IllegalStateException("not supported operation, skipCode option is true.");
@@ -210,7 +249,7 @@ public class ASMClassNodeAdapter {
 
         if (this.classNode.superName != null) {
             // skip code.
-            final ASMClassNodeAdapter classNode = ASMClassNodeAdapter.get(this.pluginContext, this.classLoader, this.classNode.superName, true);
+            final ASMClassNodeAdapter classNode = ASMClassNodeAdapter.get(this.pluginContext, this.classLoader, this.classNode.superName, true, this.classNodeCache);
             if (classNode != null) {
                 return classNode.hasMethod(methodName, desc);
             }
@@ -227,6 +266,10 @@ public class ASMClassNodeAdapter {
         final List<FieldNode> fields = this.classNode.fields;
         for (FieldNode fieldNode : fields) {
             if ((fieldNode.name != null && fieldNode.name.equals(fieldName)) && (fieldDesc == null || (fieldNode.desc != null && fieldNode.desc.equals(fieldDesc)))) {
+                if (this.skipCode) {
+                    // class nodes read without code may be shared, callers get a copy they are free to modify.
+                    return new ASMFieldNodeAdapter(new FieldNode(fieldNode.access, fieldNode.name, fieldNode.desc, fieldNode.signature, fieldNode.value));
+                }
                 return new ASMFieldNodeAdapter(fieldNode);
             }
         }
@@ -239,7 +282,7 @@ public class ASMClassNodeAdapter {
                     continue;
                 }
 
-                final ASMClassNodeAdapter classNodeAdapter = ASMClassNodeAdapter.get(this.pluginContext, this.classLoader, interfaceClassName, true);
+                final ASMClassNodeAdapter classNodeAdapter = ASMClassNodeAdapter.get(this.pluginContext, this.classLoader, interfaceClassName, true, this.classNodeCache);
                 if (classNodeAdapter != null) {
                     final ASMFieldNodeAdapter fieldNode = classNodeAdapter.getField(fieldName, fieldDesc);
                     if (fieldNode != null) {
@@ -251,7 +294,7 @@ public class ASMClassNodeAdapter {
 
         // find super class.
         if (this.classNode.superName != null) {
-            final ASMClassNodeAdapter classNodeAdapter = ASMClassNodeAdapter.get(this.pluginContext, this.classLoader, this.classNode.superName, true);
+            final ASMClassNodeAdapter classNodeAdapter = ASMClassNodeAdapter.get(this.pluginContext, this.classLoader, this.classNode.superName, true, this.classNodeCache);
             if (classNodeAdapter != null) {
                 final ASMFieldNodeAdapter fieldNode = classNodeAdapter.getField(fieldName, fieldDesc);
                 if (fieldNode != null) {
@@ -428,7 +471,7 @@ public class ASMClassNodeAdapter {
             }
 
             // skip code.
-            classNode = ASMClassNodeAdapter.get(this.pluginContext, this.classLoader, superClassInternalName, true);
+            classNode = ASMClassNodeAdapter.get(this.pluginContext, this.classLoader, superClassInternalName, true, this.classNodeCache);
         }
 
         return false;
@@ -446,7 +489,7 @@ public class ASMClassNodeAdapter {
                 continue;
             }
             // skip code.
-            ASMClassNodeAdapter adapter = get(this.pluginContext, this.classLoader, node.name, true);
+            ASMClassNodeAdapter adapter = get(this.pluginContext, this.classLoader, node.name, true, this.classNodeCache);
             if (adapter != null) {
                 innerClasses.add(adapter);
             }
@@ -463,7 +506,7 @@ public class ASMClassNodeAdapter {
             flags = ClassWriter.COMPUTE_MAXS;
         }
 
-        final ClassWriter classWriter = new ASMClassWriter(this.pluginContext, this.classNode.name, this.classNode.superName, flags, this.classLoader);
+        final ClassWriter classWriter = new ASMClassWriter(this.pluginContext, this.classNode.name, this.classNode.superName, flags, this.classLoader, this.classNodeCache);
         this.classNode.accept(classWriter);
         return classWriter.toByteArray();
     }
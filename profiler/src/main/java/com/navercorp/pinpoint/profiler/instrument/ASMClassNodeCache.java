@@ -0,0 +1,83 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument;
+
+import org.objectweb.asm.tree.ClassNode;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Class nodes read without code, shared by the transformations of an {@link ASMClassPool} to walk the class hierarchy (super classes, interfaces, fields and method signatures).
+ * <p>
+ * Nodes are kept per class loader (weakly referenced, so that class loaders can be collected) and the least recently used
+ * nodes of a class loader are evicted once it holds more than <tt>maxSize</tt> nodes.
+ * Cached nodes are shared and must not be modified.
+ */
+public class ASMClassNodeCache {
+
+    private final int maxSize;
+
+    private final Map<ClassLoader, Map<String, ClassNode>> classLoaderCache = new WeakHashMap<ClassLoader, Map<String, ClassNode>>();
+    private final Map<String, ClassNode> bootstrapCache;
+
+    public ASMClassNodeCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be greater than 0");
+        }
+        this.maxSize = maxSize;
+        this.bootstrapCache = newCache(maxSize);
+    }
+
+    public ClassNode get(ClassLoader classLoader, String classInternalName) {
+        synchronized (this) {
+            final Map<String, ClassNode> cache = getCache(classLoader, false);
+            if (cache == null) {
+                return null;
+            }
+            return cache.get(classInternalName);
+        }
+    }
+
+    public void put(ClassLoader classLoader, String classInternalName, ClassNode classNode) {
+        synchronized (this) {
+            getCache(classLoader, true).put(classInternalName, classNode);
+        }
+    }
+
+    private Map<String, ClassNode> getCache(ClassLoader classLoader, boolean create) {
+        if (classLoader == null) {
+            return bootstrapCache;
+        }
+        Map<String, ClassNode> cache = classLoaderCache.get(classLoader);
+        if (cache == null && create) {
+            cache = newCache(maxSize);
+            classLoaderCache.put(classLoader, cache);
+        }
+        return cache;
+    }
+
+    private static Map<String, ClassNode> newCache(final int maxSize) {
+        return new LinkedHashMap<String, ClassNode>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, ClassNode> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+}
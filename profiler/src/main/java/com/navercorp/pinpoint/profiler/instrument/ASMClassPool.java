@@ -37,6 +37,8 @@ public class ASMClassPool implements InstrumentClassPool {
     private final boolean isDebug = logger.isDebugEnabled();
 
     private final InterceptorRegistryBinder interceptorRegistryBinder;
+    // class nodes read without code, shared by the transformations of this pool
+    private final ASMClassNodeCache classNodeCache = new ASMClassNodeCache(1024);
 
     public ASMClassPool(final InterceptorRegistryBinder interceptorRegistryBinder, final List<String> bootStrapJars) {
         if (interceptorRegistryBinder == null) {
@@ -54,7 +56,7 @@ public class ASMClassPool implements InstrumentClassPool {
 
         try {
             if (classFileBuffer == null) {
-                ASMClassNodeAdapter classNode = ASMClassNodeAdapter.get(instrumentContext, classLoader, JavaAssistUtils.javaNameToJvmName(className));
+                ASMClassNodeAdapter classNode = ASMClassNodeAdapter.get(instrumentContext, classLoader, JavaAssistUtils.javaNameToJvmName(className), false, classNodeCache);
                 if (classNode == null) {
                     return null;
                 }
@@ -67,7 +69,7 @@ public class ASMClassPool implements InstrumentClassPool {
             final ClassNode classNode = new ClassNode();
             classReader.accept(classNode, 0);
 
-            return new ASMClass(instrumentContext, interceptorRegistryBinder, classLoader, classNode);
+            return new ASMClass(instrumentContext, interceptorRegistryBinder, classLoader, new ASMClassNodeAdapter(instrumentContext, classLoader, classNode, false, classNodeCache));
         } catch (Exception e) {
             throw new NotFoundInstrumentException(e);
         }
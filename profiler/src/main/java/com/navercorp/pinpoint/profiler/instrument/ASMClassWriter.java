@@ -16,14 +16,10 @@
 package com.navercorp.pinpoint.profiler.instrument;
 
 import com.navercorp.pinpoint.bootstrap.instrument.InstrumentContext;
-import org.objectweb.asm.ClassReader;
 import org.objectweb.asm.ClassWriter;
-import org.objectweb.asm.Opcodes;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
-import java.io.IOException;
-import java.io.InputStream;
 import java.util.HashSet;
 import java.util.Set;
 
@@ -39,13 +35,19 @@ public final class ASMClassWriter extends ClassWriter {
     private ClassLoader classLoader;
     private String classInternalName;
     private String superClassInternalName;
+    private final ASMClassNodeCache classNodeCache;
 
     public ASMClassWriter(final InstrumentContext pluginContext, final String classInternalName, final String superClassInternalName, final int flags, final ClassLoader classLoader) {
+        this(pluginContext, classInternalName, superClassInternalName, flags, classLoader, null);
+    }
+
+    public ASMClassWriter(final InstrumentContext pluginContext, final String classInternalName, final String superClassInternalName, final int flags, final ClassLoader classLoader, final ASMClassNodeCache classNodeCache) {
         super(flags);
         this.pluginContext = pluginContext;
         this.classInternalName = classInternalName;
         this.superClassInternalName = superClassInternalName;
         this.classLoader = classLoader;
+        this.classNodeCache = classNodeCache;
     }
 
     @Override
@@ -81,22 +83,22 @@ public final class ASMClassWriter extends ClassWriter {
             return getCommonSuperClass(type1ClassInternalName, superClassInternalName);
         }
 
-        ClassReader type1ClassReader = getClassReader(type1ClassInternalName);
-        ClassReader type2ClassReader = getClassReader(type2ClassInternalName);
-        if (type1ClassReader == null || type2ClassReader == null) {
-            logger.warn("Skip get common super class. not found class {type1ClassInternalName={}, reader={}}, {type2ClassInternalName={}, reader={}}", type1ClassInternalName, type1ClassReader, type2ClassInternalName, type2ClassReader);
+        ASMClassNodeAdapter type1ClassNode = getClassNode(type1ClassInternalName);
+        ASMClassNodeAdapter type2ClassNode = getClassNode(type2ClassInternalName);
+        if (type1ClassNode == null || type2ClassNode == null) {
+            logger.warn("Skip get common super class. not found class {type1ClassInternalName={}, classNode={}}, {type2ClassInternalName={}, classNode={}}", type1ClassInternalName, type1ClassNode, type2ClassInternalName, type2ClassNode);
             return OBJECT_CLASS_INTERNAL_NAME;
         }
 
         // interface.
-        if (isInterface(type1ClassReader)) {
+        if (isInterface(type1ClassNode)) {
             String interfaceInternalName = type1ClassInternalName;
-            if (isImplements(interfaceInternalName, type2ClassReader)) {
+            if (isImplements(interfaceInternalName, type2ClassNode)) {
                 return interfaceInternalName;
             }
-            if (isInterface(type2ClassReader)) {
+            if (isInterface(type2ClassNode)) {
                 interfaceInternalName = type2ClassInternalName;
-                if (isImplements(interfaceInternalName, type1ClassReader)) {
+                if (isImplements(interfaceInternalName, type1ClassNode)) {
                     return interfaceInternalName;
                 }
             }
@@ -104,9 +106,9 @@ public final class ASMClassWriter extends ClassWriter {
         }
 
         // interface.
-        if (isInterface(type2ClassReader)) {
+        if (isInterface(type2ClassNode)) {
             String interfaceName = type2ClassInternalName;
-            if (isImplements(interfaceName, type1ClassReader)) {
+            if (isImplements(interfaceName, type1ClassNode)) {
                 return interfaceName;
             }
             return OBJECT_CLASS_INTERNAL_NAME;
@@ -117,13 +119,13 @@ public final class ASMClassWriter extends ClassWriter {
         superClassNames.add(type1ClassInternalName);
         superClassNames.add(type2ClassInternalName);
 
-        String type1SuperClassName = type1ClassReader.getSuperName();
+        String type1SuperClassName = type1ClassNode.getSuperClassInternalName();
         if (!superClassNames.add(type1SuperClassName)) {
             // find common superClass.
             return type1SuperClassName;
         }
 
-        String type2SuperClassName = type2ClassReader.getSuperName();
+        String type2SuperClassName = type2ClassNode.getSuperClassInternalName();
         if (!superClassNames.add(type2SuperClassName)) {
             // find common superClass.
             return type2SuperClassName;
@@ -153,15 +155,15 @@ public final class ASMClassWriter extends ClassWriter {
     }
 
 
-    private boolean isInterface(final ClassReader classReader) {
-        return (classReader.getAccess() & Opcodes.ACC_INTERFACE) != 0;
+    private boolean isInterface(final ASMClassNodeAdapter classNode) {
+        return classNode.isInterface();
     }
 
-    private boolean isImplements(final String interfaceInternalName, final ClassReader classReader) {
-        ClassReader classInfo = classReader;
+    private boolean isImplements(final String interfaceInternalName, final ASMClassNodeAdapter classNode) {
+        ASMClassNodeAdapter classInfo = classNode;
 
         while (classInfo != null) {
-            final String[] interfaceInternalNames = classInfo.getInterfaces();
+            final String[] interfaceInternalNames = classInfo.getInterfaceInternalNames();
             for (String name : interfaceInternalNames) {
                 if (name != null && name.equals(interfaceInternalName)) {
                     return true;
@@ -170,7 +172,7 @@ public final class ASMClassWriter extends ClassWriter {
 
             for (String name : interfaceInternalNames) {
                 if(name != null) {
-                    final ClassReader interfaceInfo = getClassReader(name);
+                    final ASMClassNodeAdapter interfaceInfo = getClassNode(name);
                     if (interfaceInfo != null) {
                         if (isImplements(interfaceInternalName, interfaceInfo)) {
                             return true;
@@ -179,11 +181,11 @@ public final class ASMClassWriter extends ClassWriter {
                 }
             }
 
-            final String superClassInternalName = classInfo.getSuperName();
+            final String superClassInternalName = classInfo.getSuperClassInternalName();
             if (superClassInternalName == null || superClassInternalName.equals(OBJECT_CLASS_INTERNAL_NAME)) {
                 break;
             }
-            classInfo = getClassReader(superClassInternalName);
+            classInfo = getClassNode(superClassInternalName);
         }
 
         return false;
@@ -191,32 +193,16 @@ public final class ASMClassWriter extends ClassWriter {
 
 
     private String getSuperClassInternalName(final String classInternalName) {
-        final ClassReader classReader = getClassReader(classInternalName);
-        if (classReader == null) {
+        final ASMClassNodeAdapter classNode = getClassNode(classInternalName);
+        if (classNode == null) {
             return null;
         }
 
-        return classReader.getSuperName();
+        return classNode.getSuperClassInternalName();
     }
 
-    private ClassReader getClassReader(final String classInternalName) {
-        InputStream in = null;
-        try {
-            in = pluginContext.getResourceAsStream(this.classLoader, classInternalName + ".class");
-            if (in != null) {
-                return new ClassReader(in);
-            }
-        } catch (IOException ignored) {
-            // not found class.
-        } finally {
-            if (in != null) {
-                try {
-                    in.close();
-                } catch (IOException ignored) {
-                }
-            }
-        }
-
-        return null;
+    private ASMClassNodeAdapter getClassNode(final String classInternalName) {
+        // skip code, class nodes without code are cached.
+        return ASMClassNodeAdapter.get(this.pluginContext, this.classLoader, classInternalName, true, this.classNodeCache);
     }
 }
\ No newline at end of file
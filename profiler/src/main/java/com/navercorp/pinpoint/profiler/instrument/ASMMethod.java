@@ -16,6 +16,7 @@
 package com.navercorp.pinpoint.profiler.instrument;
 
 import com.navercorp.pinpoint.bootstrap.context.MethodDescriptor;
+import com.navercorp.pinpoint.bootstrap.context.TraceContext;
 import com.navercorp.pinpoint.bootstrap.instrument.InstrumentContext;
 import com.navercorp.pinpoint.bootstrap.instrument.InstrumentException;
 import com.navercorp.pinpoint.bootstrap.instrument.InstrumentMethod;
@@ -282,6 +283,8 @@ public class ASMMethod implements InstrumentMethod {
             apiId = this.pluginContext.getTraceContext().cacheApi(this.descriptor);
         }
 
+        this.methodNode.setInvokeDynamicInterceptor(isInvokeDynamicInterceptor());
+
         // add before interceptor.
         if (isBeforeInterceptor(captureType) && interceptorDefinition.getBeforeMethod() != null) {
             this.methodNode.addBeforeInterceptor(interceptorId, interceptorDefinition, apiId);
@@ -303,6 +306,14 @@ public class ASMMethod implements InstrumentMethod {
         }
     }
 
+    private boolean isInvokeDynamicInterceptor() {
+        final TraceContext traceContext = this.pluginContext.getTraceContext();
+        if (traceContext == null || traceContext.getProfilerConfig() == null) {
+            return false;
+        }
+        return traceContext.getProfilerConfig().isProfileInstrumentInvokeDynamic() && this.declaringClass.isInvokeDynamicInterceptorSupported();
+    }
+
     private boolean isBeforeInterceptor(CaptureType captureType) {
         return CaptureType.BEFORE == captureType || CaptureType.AROUND == captureType;
     }
@@ -60,6 +60,10 @@ public class ASMMethodNodeAdapter {
         return this.declaringClassInternalName;
     }
 
+    public void setInvokeDynamicInterceptor(boolean invokeDynamicInterceptor) {
+        this.methodVariables.setInvokeDynamicInterceptor(invokeDynamicInterceptor);
+    }
+
     // find interceptor local variable.
     public boolean hasInterceptor() {
         return this.methodVariables.hasInterceptor();
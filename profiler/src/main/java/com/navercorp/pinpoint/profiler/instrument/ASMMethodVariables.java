@@ -20,6 +20,7 @@ import com.navercorp.pinpoint.bootstrap.interceptor.registry.InterceptorRegistry
 import com.navercorp.pinpoint.profiler.instrument.interceptor.InterceptorDefinition;
 import com.navercorp.pinpoint.profiler.instrument.interceptor.InterceptorType;
 import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
+import org.objectweb.asm.Handle;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
 import org.objectweb.asm.commons.Method;
@@ -27,6 +28,7 @@ import org.objectweb.asm.tree.AbstractInsnNode;
 import org.objectweb.asm.tree.InsnList;
 import org.objectweb.asm.tree.InsnNode;
 import org.objectweb.asm.tree.IntInsnNode;
+import org.objectweb.asm.tree.InvokeDynamicInsnNode;
 import org.objectweb.asm.tree.LabelNode;
 import org.objectweb.asm.tree.LdcInsnNode;
 import org.objectweb.asm.tree.LocalVariableNode;
@@ -61,6 +63,10 @@ public class ASMMethodVariables {
 
     private static final Type OBJECT_TYPE = Type.getObjectType("java/lang/Object");
 
+    static final String INTERCEPTOR_CALL_SITE_CLASS_NAME = "com.navercorp.pinpoint.bootstrap.interceptor.registry.InterceptorCallSite";
+    private static final Handle INTERCEPTOR_CALL_SITE_BOOTSTRAP = new Handle(Opcodes.H_INVOKESTATIC, JavaAssistUtils.javaNameToJvmName(INTERCEPTOR_CALL_SITE_CLASS_NAME), "bootstrap",
+            "(Ljava/lang/invoke/MethodHandles$Lookup;Ljava/lang/String;Ljava/lang/invoke/MethodType;I)Ljava/lang/invoke/CallSite;");
+
     private final LabelNode interceptorVariableStartLabelNode = new LabelNode();
     private final LabelNode interceptorVariableEndLabelNode = new LabelNode();
 
@@ -70,6 +76,7 @@ public class ASMMethodVariables {
     private final Type returnType;
 
     private boolean initializedInterceptorLocalVariables = false;
+    private boolean invokeDynamicInterceptor = false;
     private AbstractInsnNode enterInsnNode;
     private AbstractInsnNode exitInsnNode;
 
@@ -171,6 +178,10 @@ public class ASMMethodVariables {
         return this.returnType.getClassName();
     }
 
+    public void setInvokeDynamicInterceptor(boolean invokeDynamicInterceptor) {
+        this.invokeDynamicInterceptor = invokeDynamicInterceptor;
+    }
+
     public boolean hasInterceptor() {
         final List<LocalVariableNode> localVariableNodes = this.methodNode.localVariables;
         if (localVariableNodes == null) {
@@ -297,8 +308,13 @@ public class ASMMethodVariables {
     private void initInterceptorVar(final InsnList instructions, final int interceptorId) {
         assertInitializedInterceptorLocalVariables();
         this.interceptorVarIndex = addInterceptorLocalVariable("_$PINPOINT$_interceptor", "Lcom/navercorp/pinpoint/bootstrap/interceptor/Interceptor;");
-        push(instructions, interceptorId);
-        instructions.add(new MethodInsnNode(Opcodes.INVOKESTATIC, Type.getInternalName(InterceptorRegistry.class), "getInterceptor", "(I)" + Type.getDescriptor(Interceptor.class), false));
+        if (this.invokeDynamicInterceptor) {
+            // bound once to a constant call site. see InterceptorCallSite
+            instructions.add(new InvokeDynamicInsnNode("getInterceptor", "()" + Type.getDescriptor(Interceptor.class), INTERCEPTOR_CALL_SITE_BOOTSTRAP, interceptorId));
+        } else {
+            push(instructions, interceptorId);
+            instructions.add(new MethodInsnNode(Opcodes.INVOKESTATIC, Type.getInternalName(InterceptorRegistry.class), "getInterceptor", "(I)" + Type.getDescriptor(Interceptor.class), false));
+        }
         storeVar(instructions, this.interceptorVarIndex);
         this.resultVarIndex = addInterceptorLocalVariable("_$PINPOINT$_result", "Ljava/lang/Object;");
         loadNull(instructions);
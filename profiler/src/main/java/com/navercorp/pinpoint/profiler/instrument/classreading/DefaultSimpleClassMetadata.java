@@ -46,7 +46,8 @@ public class DefaultSimpleClassMetadata implements SimpleClassMetadata {
         this.version = version;
         this.accessFlag = accessFlag;
         this.className = JavaAssistUtils.jvmNameToJavaName(className);
-        this.superClassName = JavaAssistUtils.jvmNameToJavaName(superClassName);
+        // java.lang.Object and module-info have no super class
+        this.superClassName = superClassName == null ? null : JavaAssistUtils.jvmNameToJavaName(superClassName);
         this.interfaceNameList = JavaAssistUtils.jvmNameToJavaName(interfaceNameList);
         this.classBinary = classBinary;
     }
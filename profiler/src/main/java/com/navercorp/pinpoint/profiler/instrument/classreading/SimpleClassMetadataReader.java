@@ -17,7 +17,16 @@
 
 package com.navercorp.pinpoint.profiler.instrument.classreading;
 
+import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
+import org.objectweb.asm.AnnotationVisitor;
 import org.objectweb.asm.ClassReader;
+import org.objectweb.asm.ClassVisitor;
+import org.objectweb.asm.Opcodes;
+import org.objectweb.asm.Type;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * @author Woonduk Kang(emeroad)
@@ -31,6 +40,20 @@ public class SimpleClassMetadataReader {
         return simpleClassMetadataReader.getSimpleClassMetadata();
     }
 
+    /**
+     * @return class names of the annotations of the class itself, fields and methods are skipped.
+     */
+    public static List<String> readAnnotationNames(byte[] classBinary) {
+        if (classBinary == null) {
+            throw new NullPointerException("classBinary must not be null");
+        }
+
+        final ClassReader classReader = new ClassReader(classBinary);
+        final AnnotationNameCollector collector = new AnnotationNameCollector();
+        classReader.accept(collector, ClassReader.SKIP_CODE | ClassReader.SKIP_DEBUG | ClassReader.SKIP_FRAMES);
+        return collector.annotationNames;
+    }
+
     SimpleClassMetadataReader(byte[] classBinary) {
         if (classBinary == null) {
             throw new NullPointerException("classBinary must not be null");
@@ -55,5 +78,23 @@ public class SimpleClassMetadataReader {
         return simpleClassMetadata;
     }
 
+    private static class AnnotationNameCollector extends ClassVisitor {
+
+        private List<String> annotationNames = Collections.emptyList();
+
+        private AnnotationNameCollector() {
+            super(Opcodes.ASM5);
+        }
+
+        @Override
+        public AnnotationVisitor visitAnnotation(String desc, boolean visible) {
+            if (annotationNames.isEmpty()) {
+                annotationNames = new ArrayList<String>(2);
+            }
+            annotationNames.add(JavaAssistUtils.jvmNameToJavaName(Type.getType(desc).getInternalName()));
+            return null;
+        }
+    }
+
 
 }
@@ -0,0 +1,243 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
+import org.objectweb.asm.ClassReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Resolves which of the indexed types a class extends or implements, reading class file headers only.
+ * <p>
+ * Resolved types are cached per class loader so that the header of an ancestor is read at most once.
+ * Ancestors are usually not loaded yet when a class is transformed (the super class is resolved while the class is being defined),
+ * so the headers of ancestors that have not been seen are read from the resources of the class loader.
+ * Following the parent first delegation, an ancestor is cached under the top most class loader providing its class file,
+ * so that an ancestor shared by the children of a class loader is read only once.
+ * Whether a class loader provides the class file of an ancestor is memoized per class loader as well, so that finding the defining
+ * class loader of an ancestor probes each class loader once, even for classes of the same name defined by sibling class loaders.
+ */
+public class ClassHierarchyIndex {
+
+    private static final String OBJECT_CLASS_NAME = "java.lang.Object";
+    private static final String JAVA_PACKAGE_PREFIX = "java.";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final Set<String> typeNames;
+
+    // classes of the java package can only be defined by the bootstrap class loader
+    private final ConcurrentMap<String, List<String>> bootstrapCache = new ConcurrentHashMap<String, List<String>>();
+    private final Map<ClassLoader, ClassLoaderCache> classLoaderCache = Collections.synchronizedMap(new WeakHashMap<ClassLoader, ClassLoaderCache>());
+
+    /**
+     * @param typeNames class names of the super classes and interfaces to look for
+     */
+    public ClassHierarchyIndex(Set<String> typeNames) {
+        if (typeNames == null) {
+            throw new NullPointerException("typeNames must not be null");
+        }
+        this.typeNames = typeNames;
+    }
+
+    /**
+     * @return class names of the indexed types the given class extends or implements, nearest first
+     */
+    public List<String> getTypeNames(ClassLoader classLoader, String className, String superClassName, List<String> interfaceNames) {
+        if (className == null) {
+            throw new NullPointerException("className must not be null");
+        }
+        if (interfaceNames == null) {
+            throw new NullPointerException("interfaceNames must not be null");
+        }
+
+        final ConcurrentMap<String, List<String>> cache = getCache(classLoader, className);
+        List<String> resolved = cache.get(className);
+        if (resolved == null) {
+            resolved = resolve(classLoader, superClassName, interfaceNames);
+            cache.put(className, resolved);
+        }
+        return resolved;
+    }
+
+    private List<String> getTypeNames(ClassLoader classLoader, String className) {
+        if (OBJECT_CLASS_NAME.equals(className)) {
+            return Collections.emptyList();
+        }
+
+        final List<String> cached = getCachedTypeNames(classLoader, className);
+        if (cached != null) {
+            return cached;
+        }
+        final String classPath = JavaAssistUtils.javaNameToJvmName(className) + ".class";
+        final ClassLoader definingClassLoader = findDefiningClassLoader(classLoader, className, classPath);
+        final List<String> resolved = readAndResolve(definingClassLoader, className, classPath);
+        getCache(definingClassLoader, className).put(className, resolved);
+        return resolved;
+    }
+
+    private List<String> getCachedTypeNames(ClassLoader classLoader, String className) {
+        if (classLoader == null || className.startsWith(JAVA_PACKAGE_PREFIX)) {
+            return bootstrapCache.get(className);
+        }
+        ClassLoader current = classLoader;
+        while (current != null) {
+            final ClassLoaderCache cache = classLoaderCache.get(current);
+            if (cache != null) {
+                final List<String> resolved = cache.typeNames.get(className);
+                if (resolved != null) {
+                    return resolved;
+                }
+            }
+            current = current.getParent();
+        }
+        return bootstrapCache.get(className);
+    }
+
+    private ClassLoader findDefiningClassLoader(ClassLoader classLoader, String className, String classPath) {
+        if (classLoader == null || className.startsWith(JAVA_PACKAGE_PREFIX)) {
+            return classLoader;
+        }
+        if (!hasClassFile(classLoader, className, classPath)) {
+            // parents are asked first, none of them provides it either
+            return classLoader;
+        }
+        final List<ClassLoader> classLoaders = new ArrayList<ClassLoader>(4);
+        for (ClassLoader current = classLoader.getParent(); current != null; current = current.getParent()) {
+            classLoaders.add(current);
+        }
+        for (int i = classLoaders.size() - 1; i >= 0; i--) {
+            final ClassLoader parent = classLoaders.get(i);
+            if (hasClassFile(parent, className, classPath)) {
+                return parent;
+            }
+        }
+        return classLoader;
+    }
+
+    private boolean hasClassFile(ClassLoader classLoader, String className, String classPath) {
+        final ClassLoaderCache cache = getClassLoaderCache(classLoader);
+        Boolean found = cache.classFileFound.get(className);
+        if (found == null) {
+            found = classLoader.getResource(classPath) != null;
+            cache.classFileFound.put(className, found);
+        }
+        return found;
+    }
+
+    private List<String> readAndResolve(ClassLoader classLoader, String className, String classPath) {
+        final InputStream in = getResourceAsStream(classLoader, classPath);
+        if (in == null) {
+            if (logger.isDebugEnabled()) {
+                logger.debug("class file not found. classLoader:{} className:{}", classLoader, className);
+            }
+            return Collections.emptyList();
+        }
+        try {
+            final ClassReader classReader = new ClassReader(in);
+            final String superClassName = classReader.getSuperName();
+            return resolve(classLoader, superClassName == null ? null : JavaAssistUtils.jvmNameToJavaName(superClassName), JavaAssistUtils.jvmNameToJavaName(classReader.getInterfaces()));
+        } catch (IOException e) {
+            logger.warn("Failed to read class file. classLoader:{} className:{} Caused:{}", classLoader, className, e.getMessage(), e);
+            return Collections.emptyList();
+        } finally {
+            try {
+                in.close();
+            } catch (IOException ignored) {
+                // skip
+            }
+        }
+    }
+
+    private InputStream getResourceAsStream(ClassLoader classLoader, String classPath) {
+        if (classLoader == null) {
+            return ClassLoader.getSystemResourceAsStream(classPath);
+        }
+        return classLoader.getResourceAsStream(classPath);
+    }
+
+    private List<String> resolve(ClassLoader classLoader, String superClassName, List<String> interfaceNames) {
+        List<String> resolved = null;
+        if (superClassName != null) {
+            resolved = addTypeNames(resolved, classLoader, superClassName);
+        }
+        for (String interfaceName : interfaceNames) {
+            resolved = addTypeNames(resolved, classLoader, interfaceName);
+        }
+        if (resolved == null) {
+            return Collections.emptyList();
+        }
+        return resolved;
+    }
+
+    private List<String> addTypeNames(List<String> resolved, ClassLoader classLoader, String typeName) {
+        if (typeNames.contains(typeName)) {
+            resolved = addTypeName(resolved, typeName);
+        }
+        for (String ancestorTypeName : getTypeNames(classLoader, typeName)) {
+            resolved = addTypeName(resolved, ancestorTypeName);
+        }
+        return resolved;
+    }
+
+    private List<String> addTypeName(List<String> resolved, String typeName) {
+        if (resolved == null) {
+            resolved = new ArrayList<String>(2);
+        } else if (resolved.contains(typeName)) {
+            return resolved;
+        }
+        resolved.add(typeName);
+        return resolved;
+    }
+
+    private ConcurrentMap<String, List<String>> getCache(ClassLoader classLoader, String className) {
+        if (classLoader == null || className.startsWith(JAVA_PACKAGE_PREFIX)) {
+            return bootstrapCache;
+        }
+        return getClassLoaderCache(classLoader).typeNames;
+    }
+
+    private ClassLoaderCache getClassLoaderCache(ClassLoader classLoader) {
+        synchronized (classLoaderCache) {
+            ClassLoaderCache cache = classLoaderCache.get(classLoader);
+            if (cache == null) {
+                cache = new ClassLoaderCache();
+                classLoaderCache.put(classLoader, cache);
+            }
+            return cache;
+        }
+    }
+
+    private static class ClassLoaderCache {
+        // resolved type names of the classes defined by the class loader
+        private final ConcurrentMap<String, List<String>> typeNames = new ConcurrentHashMap<String, List<String>>();
+        // whether the class loader (itself or through its parents) provides the class file of a class
+        private final ConcurrentMap<String, Boolean> classFileFound = new ConcurrentHashMap<String, Boolean>();
+    }
+}
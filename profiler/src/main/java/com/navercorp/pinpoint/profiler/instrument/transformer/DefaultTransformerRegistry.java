@@ -21,12 +21,28 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
+import com.navercorp.pinpoint.bootstrap.instrument.matcher.AnnotationMatcher;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.ClassNameMatcher;
+import com.navercorp.pinpoint.bootstrap.instrument.matcher.InterfaceMatcher;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.Matcher;
 import com.navercorp.pinpoint.bootstrap.instrument.matcher.MultiClassNameMatcher;
+import com.navercorp.pinpoint.bootstrap.instrument.matcher.SuperClassMatcher;
+import com.navercorp.pinpoint.profiler.instrument.classreading.SimpleClassMetadata;
+import com.navercorp.pinpoint.profiler.instrument.classreading.SimpleClassMetadataReader;
 import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
+import org.objectweb.asm.Opcodes;
 
 /**
+ * Finds the transformer of a class in the following order, the first match wins:
+ * <ol>
+ * <li>class name ({@link ClassNameMatcher}, {@link MultiClassNameMatcher}), an exact name match shadows every other match of the class</li>
+ * <li>annotation of the class ({@link AnnotationMatcher})</li>
+ * <li>super class or interface ({@link SuperClassMatcher}, {@link InterfaceMatcher}), the nearest type of the class hierarchy first</li>
+ * </ol>
+ * A class name, an annotation and a hierarchy type can each be registered by a single transformer, registering another one throws
+ * an {@link IllegalStateException}. Super classes and interfaces share the same registry, so a type can not be matched by both.
+ * Interfaces and annotations themselves are never matched through their hierarchy or annotations.
+ *
  * @author emeroad
  * @author netspider
  * @author hyungil.jeong
@@ -39,11 +55,59 @@ public class DefaultTransformerRegistry implements TransformerRegistry {
     // Set the map size big intentionally to keep hash collision low.
     private final Map<String, ClassFileTransformer> registry = new HashMap<String, ClassFileTransformer>(512);
 
+    // keyed by java class name as super classes and interfaces are looked up from the class file header
+    private final Map<String, ClassFileTransformer> hierarchyRegistry = new HashMap<String, ClassFileTransformer>();
+    private final Map<String, ClassFileTransformer> annotationRegistry = new HashMap<String, ClassFileTransformer>();
+    private final ClassHierarchyIndex hierarchyIndex = new ClassHierarchyIndex(hierarchyRegistry.keySet());
+
     @Override
-    public ClassFileTransformer findTransformer(String className) {
-        return registry.get(className);
+    public ClassFileTransformer findTransformer(ClassLoader classLoader, String classInternalName, byte[] classFileBuffer) {
+        final ClassFileTransformer transformer = registry.get(classInternalName);
+        if (transformer != null) {
+            return transformer;
+        }
+        if (hierarchyRegistry.isEmpty() && annotationRegistry.isEmpty()) {
+            return null;
+        }
+        if (classFileBuffer == null) {
+            return null;
+        }
+        return findHierarchyTransformer(classLoader, classFileBuffer);
+    }
+
+    private ClassFileTransformer findHierarchyTransformer(ClassLoader classLoader, byte[] classFileBuffer) {
+        final SimpleClassMetadata classMetadata = SimpleClassMetadataReader.readSimpleClassMetadata(classFileBuffer);
+
+        List<String> typeNames = null;
+        if (!hierarchyRegistry.isEmpty()) {
+            // interfaces are indexed as well, their implementations may be loaded later on
+            typeNames = hierarchyIndex.getTypeNames(classLoader, classMetadata.getClassName(), classMetadata.getSuperClassName(), classMetadata.getInterfaceNames());
+        }
+        if ((classMetadata.getAccessFlag() & Opcodes.ACC_INTERFACE) != 0) {
+            // interfaces and annotations have nothing to instrument
+            return null;
+        }
+
+        if (!annotationRegistry.isEmpty()) {
+            for (String annotationName : SimpleClassMetadataReader.readAnnotationNames(classFileBuffer)) {
+                final ClassFileTransformer transformer = annotationRegistry.get(annotationName);
+                if (transformer != null) {
+                    return transformer;
+                }
+            }
+        }
+        if (typeNames != null) {
+            for (String typeName : typeNames) {
+                final ClassFileTransformer transformer = hierarchyRegistry.get(typeName);
+                if (transformer != null) {
+                    return transformer;
+                }
+            }
+        }
+        return null;
     }
-    
+
+
     public void addTransformer(Matcher matcher, ClassFileTransformer transformer) {
         // TODO extract matcher process
         if (matcher instanceof ClassNameMatcher) {
@@ -56,6 +120,15 @@ public class DefaultTransformerRegistry implements TransformerRegistry {
             for (String className : classNameList) {
                 addModifier0(transformer, className);
             }
+        } else if (matcher instanceof SuperClassMatcher) {
+            final SuperClassMatcher superClassMatcher = (SuperClassMatcher) matcher;
+            addTransformer0(hierarchyRegistry, transformer, superClassMatcher.getSuperClassName());
+        } else if (matcher instanceof InterfaceMatcher) {
+            final InterfaceMatcher interfaceMatcher = (InterfaceMatcher) matcher;
+            addTransformer0(hierarchyRegistry, transformer, interfaceMatcher.getInterfaceName());
+        } else if (matcher instanceof AnnotationMatcher) {
+            final AnnotationMatcher annotationMatcher = (AnnotationMatcher) matcher;
+            addTransformer0(annotationRegistry, transformer, annotationMatcher.getAnnotationName());
         } else {
             throw new IllegalArgumentException("unsupported matcher :" + matcher);
         }
@@ -69,4 +142,13 @@ public class DefaultTransformerRegistry implements TransformerRegistry {
             throw new IllegalStateException("Transformer already exist. className:" + classInternalName + " new:" + transformer.getClass() + " old:" + old.getClass());
         }
     }
+
+    private void addTransformer0(Map<String, ClassFileTransformer> registry, ClassFileTransformer transformer, String typeName) {
+        final String className = JavaAssistUtils.jvmNameToJavaName(typeName);
+        ClassFileTransformer old = registry.put(className, transformer);
+
+        if (old != null) {
+            throw new IllegalStateException("Transformer already exist. typeName:" + className + " new:" + transformer.getClass() + " old:" + old.getClass());
+        }
+    }
 }
@@ -23,6 +23,6 @@ import java.lang.instrument.ClassFileTransformer;
  */
 public interface TransformerRegistry {
 
-    ClassFileTransformer findTransformer(String className);
+    ClassFileTransformer findTransformer(ClassLoader classLoader, String classInternalName, byte[] classFileBuffer);
 
 }
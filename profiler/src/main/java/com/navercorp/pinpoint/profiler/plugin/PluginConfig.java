@@ -54,9 +54,19 @@ public class PluginConfig {
     private final ClassNameFilter pluginPackageFilter;
 
     public PluginConfig(URL pluginJar, ProfilerPlugin plugin, Instrumentation instrumentation, InstrumentClassPool classPool, List<String> bootstrapJarPaths, ClassNameFilter pluginPackageFilter) {
+        this(pluginJar, createJarFile(pluginJar), plugin, instrumentation, classPool, bootstrapJarPaths, pluginPackageFilter);
+    }
+
+    /**
+     * @param pluginJarFile opened jar file of the plugin, shared by the plugins of the same jar
+     */
+    public PluginConfig(URL pluginJar, JarFile pluginJarFile, ProfilerPlugin plugin, Instrumentation instrumentation, InstrumentClassPool classPool, List<String> bootstrapJarPaths, ClassNameFilter pluginPackageFilter) {
         if (pluginJar == null) {
             throw new NullPointerException("pluginJar must not be null");
         }
+        if (pluginJarFile == null) {
+            throw new NullPointerException("pluginJarFile must not be null");
+        }
         if (plugin == null) {
             throw new NullPointerException("plugin must not be null");
         }
@@ -64,7 +74,7 @@ public class PluginConfig {
             throw new NullPointerException("bootstrapJarPaths must not be null");
         }
         this.pluginJar = pluginJar;
-        this.pluginJarFile = createJarFile(pluginJar);
+        this.pluginJarFile = pluginJarFile;
         this.plugin = plugin;
 
         this.instrumentation = instrumentation;
@@ -96,7 +106,7 @@ public class PluginConfig {
         return this.pluginJarURLExternalForm;
     }
 
-    private JarFile createJarFile(URL pluginJar) {
+    private static JarFile createJarFile(URL pluginJar) {
         try {
             final URI uri = pluginJar.toURI();
             return new JarFile(new File(uri));
@@ -22,6 +22,11 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.jar.Attributes;
 import java.util.jar.JarFile;
 import java.util.jar.Manifest;
@@ -36,6 +41,7 @@ import org.slf4j.LoggerFactory;
 
 import com.navercorp.pinpoint.bootstrap.plugin.ProfilerPlugin;
 import com.navercorp.pinpoint.common.plugin.PluginLoader;
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
 import com.navercorp.pinpoint.profiler.DefaultAgent;
 import com.navercorp.pinpoint.profiler.instrument.ClassInjector;
 import com.navercorp.pinpoint.profiler.instrument.JarProfilerPluginClassInjector;
@@ -58,19 +64,23 @@ public class ProfilerPluginLoader {
     }
     
     public List<DefaultProfilerPluginContext> load(URL[] pluginJars) {
+        final long startTime = System.currentTimeMillis();
+
+        final List<PluginJar> pluginJarList = loadPluginJars(pluginJars);
+
         List<DefaultProfilerPluginContext> pluginContexts = new ArrayList<DefaultProfilerPluginContext>(pluginJars.length);
         List<String> disabled = agent.getProfilerConfig().getDisabledPlugins();
-        
-        for (URL jar : pluginJars) {
 
-            final JarFile pluginJarFile = createJarFile(jar);
-            final List<String> pluginPackageList = getPluginPackage(pluginJarFile);
+        // plugins are set up one by one in the order of the jars, as they register their transformers to the same context
+        for (PluginJar pluginJar : pluginJarList) {
 
-            final ClassNameFilter pluginFilterChain = createPluginFilterChain(pluginPackageList);
+            final URL jar = pluginJar.jar;
+            final List<String> pluginPackageList = pluginJar.pluginPackageList;
 
-            final List<ProfilerPlugin> plugins = PluginLoader.load(ProfilerPlugin.class, new URL[] { jar });
+            final ClassNameFilter pluginFilterChain = createPluginFilterChain(pluginPackageList);
 
-            for (ProfilerPlugin plugin : plugins) {
+            boolean jarFileInUse = false;
+            for (ProfilerPlugin plugin : pluginJar.plugins) {
                 if (disabled.contains(plugin.getClass().getName())) {
                     logger.info("Skip disabled plugin: {}", plugin.getClass().getName());
                     continue;
@@ -81,16 +91,87 @@ public class ProfilerPluginLoader {
                 
                 logger.info("Loading plugin:{} pluginPackage:{}", plugin.getClass().getName(), plugin);
 
-                PluginConfig pluginConfig = new PluginConfig(jar, plugin, agent.getInstrumentation(), agent.getClassPool(), agent.getBootstrapJarPaths(), pluginFilterChain);
+                PluginConfig pluginConfig = new PluginConfig(jar, pluginJar.jarFile, plugin, agent.getInstrumentation(), agent.getClassPool(), agent.getBootstrapJarPaths(), pluginFilterChain);
                 final DefaultProfilerPluginContext context = setupPlugin(pluginConfig);
                 pluginContexts.add(context);
+                jarFileInUse = true;
+            }
+            if (!jarFileInUse) {
+                closeJarFile(pluginJar.jarFile);
             }
         }
-        
 
+        logger.info("{} plugins loaded from {} jars. elapsed:{}ms", pluginContexts.size(), pluginJars.length, System.currentTimeMillis() - startTime);
         return pluginContexts;
     }
 
+    /**
+     * Opening the jars and instantiating their plugins only depend on the jar itself, so the jars are loaded in parallel.
+     */
+    private List<PluginJar> loadPluginJars(URL[] pluginJars) {
+        final List<PluginJar> pluginJarList = new ArrayList<PluginJar>(pluginJars.length);
+        final int threadCount = Math.min(pluginJars.length, Runtime.getRuntime().availableProcessors());
+        if (threadCount <= 1) {
+            for (URL jar : pluginJars) {
+                pluginJarList.add(loadPluginJar(jar));
+            }
+            return pluginJarList;
+        }
+
+        final ExecutorService executor = Executors.newFixedThreadPool(threadCount, new PinpointThreadFactory("Pinpoint-PluginLoader", true));
+        try {
+            final List<Future<PluginJar>> futureList = new ArrayList<Future<PluginJar>>(pluginJars.length);
+            for (final URL jar : pluginJars) {
+                final Future<PluginJar> future = executor.submit(new Callable<PluginJar>() {
+                    @Override
+                    public PluginJar call() {
+                        return loadPluginJar(jar);
+                    }
+                });
+                futureList.add(future);
+            }
+            for (Future<PluginJar> future : futureList) {
+                pluginJarList.add(getPluginJar(future));
+            }
+            return pluginJarList;
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private PluginJar loadPluginJar(URL jar) {
+        final JarFile pluginJarFile = createJarFile(jar);
+        final List<String> pluginPackageList = getPluginPackage(pluginJarFile);
+        final List<ProfilerPlugin> plugins = PluginLoader.load(ProfilerPlugin.class, new URL[] { jar });
+        return new PluginJar(jar, pluginJarFile, pluginPackageList, plugins);
+    }
+
+    private PluginJar getPluginJar(Future<PluginJar> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException("Interrupted while loading plugins", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new RuntimeException("Failed to load plugin. " + cause, cause);
+        }
+    }
+
+    private void closeJarFile(JarFile jarFile) {
+        try {
+            jarFile.close();
+        } catch (IOException ex) {
+            logger.info("{} IoError :{}", jarFile.getName(), ex.getMessage(), ex);
+        }
+    }
+
     private ClassNameFilter createPluginFilterChain(List<String> packageList) {
 
         final ClassNameFilter pluginPackageFilter = new PluginPackageFilter(packageList);
@@ -170,4 +251,18 @@ public class ProfilerPluginLoader {
         return context;
     }
 
+    private static class PluginJar {
+        private final URL jar;
+        private final JarFile jarFile;
+        private final List<String> pluginPackageList;
+        private final List<ProfilerPlugin> plugins;
+
+        private PluginJar(URL jar, JarFile jarFile, List<String> pluginPackageList, List<ProfilerPlugin> plugins) {
+            this.jar = jar;
+            this.jarFile = jarFile;
+            this.pluginPackageList = pluginPackageList;
+            this.plugins = plugins;
+        }
+    }
+
 }
@@ -24,6 +24,7 @@ import com.navercorp.pinpoint.rpc.buffer.ByteBufferType;
 import com.navercorp.pinpoint.thrift.io.ByteBufferOutputStream;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer2;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory2;
+import com.navercorp.pinpoint.thrift.io.TBaseLocator;
 import org.apache.thrift.TBase;
 import org.apache.thrift.TException;
 import org.slf4j.Logger;
@@ -60,6 +61,10 @@ public class NioUDPDataSender extends AbstractDataSender implements DataSender {
     }
 
     public NioUDPDataSender(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize) {
+        this(host, port, threadName, queueSize, timeout, sendBufferSize, null);
+    }
+
+    public NioUDPDataSender(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize, TBaseLocator locator) {
         if (host == null ) {
             throw new NullPointerException("host must not be null");
         }
@@ -80,7 +85,12 @@ public class NioUDPDataSender extends AbstractDataSender implements DataSender {
         logger.info("NioUDPDataSender initialized. host={}, port={}", host, port);
         this.datagramChannel = createChannel(host, port, timeout, sendBufferSize);
 
-        HeaderTBaseSerializerFactory2 serializerFactory = new HeaderTBaseSerializerFactory2();
+        HeaderTBaseSerializerFactory2 serializerFactory;
+        if (locator == null) {
+            serializerFactory = new HeaderTBaseSerializerFactory2();
+        } else {
+            serializerFactory = new HeaderTBaseSerializerFactory2(locator);
+        }
         this.serializer = serializerFactory.createSerializer();
 
         ByteBufferFactory bufferFactory = ByteBufferFactoryLocator.getFactory(ByteBufferType.DIRECT);
@@ -38,7 +38,9 @@ import com.navercorp.pinpoint.rpc.client.PinpointClientReconnectEventListener;
 import com.navercorp.pinpoint.rpc.util.TimerFactory;
 import com.navercorp.pinpoint.thrift.dto.TResult;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializer;
+import com.navercorp.pinpoint.thrift.io.DeserializerFactory;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializerFactory;
+import com.navercorp.pinpoint.thrift.io.ThreadLocalHeaderTBaseDeserializerFactory;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
 
@@ -64,6 +66,8 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
 
 
     private final HeaderTBaseSerializer serializer = HeaderTBaseSerializerFactory.DEFAULT_FACTORY.createSerializer();
+    // responses are handled by io and timer threads
+    private final DeserializerFactory<HeaderTBaseDeserializer> deserializerFactory = new ThreadLocalHeaderTBaseDeserializerFactory<HeaderTBaseDeserializer>(HeaderTBaseDeserializerFactory.DEFAULT_FACTORY);
 
     private final RetryQueue retryQueue = new RetryQueue();
 
@@ -169,8 +173,7 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
             @Override
             public void onComplete(Future<ResponseMessage> future) {
                 if (future.isSuccess()) {
-                    // Should cache?
-                    HeaderTBaseDeserializer deserializer = HeaderTBaseDeserializerFactory.DEFAULT_FACTORY.createDeserializer();
+                    HeaderTBaseDeserializer deserializer = deserializerFactory.createDeserializer();
                     TBase<?, ?> response = deserialize(deserializer, future.getResult());
                     if (response instanceof TResult) {
                         TResult result = (TResult) response;
@@ -204,8 +207,7 @@ public class TcpDataSender extends AbstractDataSender implements EnhancedDataSen
             @Override
             public void onComplete(Future<ResponseMessage> future) {
                 if (future.isSuccess()) {
-                    // Should cache?
-                    HeaderTBaseDeserializer deserializer = HeaderTBaseDeserializerFactory.DEFAULT_FACTORY.createDeserializer();
+                    HeaderTBaseDeserializer deserializer = deserializerFactory.createDeserializer();
                     TBase<?, ?> response = deserialize(deserializer, future.getResult());
                     if (response instanceof TResult) {
                         TResult result = (TResult) response;
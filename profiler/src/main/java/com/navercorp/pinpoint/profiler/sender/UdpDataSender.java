@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.profiler.sender;
 
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+import com.navercorp.pinpoint.thrift.io.TBaseLocator;
 import org.apache.thrift.TBase;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -41,6 +42,8 @@ public class UdpDataSender extends AbstractDataSender implements DataSender {
     public static final int SOCKET_TIMEOUT = 1000 * 5;
     public static final int SEND_BUFFER_SIZE = 1024 * 64 * 16;
     public static final int UDP_MAX_PACKET_LENGTH = 65507;
+    // serialized data beyond this hardly deflates into a single packet, so the buffer is not expanded any further
+    private static final int UDP_MAX_EXPAND_LENGTH = UDP_MAX_PACKET_LENGTH * 4;
 
     // Caution. not thread safe
     protected final DatagramPacket reusePacket = new DatagramPacket(new byte[1], 1);
@@ -48,7 +51,7 @@ public class UdpDataSender extends AbstractDataSender implements DataSender {
     protected final DatagramSocket udpSocket;
 
     // Caution. not thread safe
-    private final HeaderTBaseSerializer serializer = new HeaderTBaseSerializerFactory(false, UDP_MAX_PACKET_LENGTH, false).createSerializer();
+    private final HeaderTBaseSerializer serializer;
 
     private final AsyncQueueingExecutor<Object> executor;
 
@@ -57,6 +60,10 @@ public class UdpDataSender extends AbstractDataSender implements DataSender {
     }
 
     public UdpDataSender(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize) {
+        this(host, port, threadName, queueSize, timeout, sendBufferSize, null, HeaderTBaseSerializerFactory.DISABLED_COMPRESS_THRESHOLD);
+    }
+
+    public UdpDataSender(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize, TBaseLocator locator, int compressThreshold) {
         if (host == null ) {
             throw new NullPointerException("host must not be null");
         }
@@ -77,6 +84,8 @@ public class UdpDataSender extends AbstractDataSender implements DataSender {
         logger.info("UdpDataSender initialized. host={}, port={}", host, port);
         this.udpSocket = createSocket(host, port, timeout, sendBufferSize);
 
+        this.serializer = createSerializer(locator, compressThreshold);
+
         this.executor = createAsyncQueueingExecutor(queueSize, threadName);
     }
 
@@ -90,6 +99,21 @@ public class UdpDataSender extends AbstractDataSender implements DataSender {
         executor.stop();
     }
 
+    private HeaderTBaseSerializer createSerializer(TBaseLocator locator, int compressThreshold) {
+        final HeaderTBaseSerializerFactory defaultFactory = HeaderTBaseSerializerFactory.DEFAULT_FACTORY;
+        if (locator == null) {
+            locator = defaultFactory.getLocator();
+        }
+        // data larger than a packet may still fit once compressed, isLimit() discards it otherwise
+        final boolean autoExpand = compressThreshold >= 0;
+        if (autoExpand) {
+            logger.info("UdpDataSender compress threshold:{}", compressThreshold);
+        }
+        HeaderTBaseSerializerFactory serializerFactory = new HeaderTBaseSerializerFactory(false, UDP_MAX_PACKET_LENGTH, autoExpand, UDP_MAX_EXPAND_LENGTH,
+                defaultFactory.getProtocolFactory(), locator, compressThreshold);
+        return serializerFactory.createSerializer();
+    }
+
     private DatagramSocket createSocket(String host, int port, int timeout, int sendBufferSize) {
         try {
             final DatagramSocket datagramSocket = new DatagramSocket();
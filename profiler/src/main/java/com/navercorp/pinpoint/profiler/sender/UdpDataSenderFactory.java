@@ -17,6 +17,11 @@
 
 package com.navercorp.pinpoint.profiler.sender;
 
+import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
+import com.navercorp.pinpoint.thrift.io.TBaseLocator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
 /**
  * @Author Taejin Koo
  */
@@ -24,20 +29,30 @@ public final class UdpDataSenderFactory {
 
 //    String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize
 
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
     private final String host;
     private final int port;
     private final String threadName;
     private final int queueSize;
     private final int timeout;
     private final int sendBufferSize;
+    private final TBaseLocator locator;
+    private final int compressThreshold;
 
     public UdpDataSenderFactory(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize) {
+        this(host, port, threadName, queueSize, timeout, sendBufferSize, null, HeaderTBaseSerializerFactory.DISABLED_COMPRESS_THRESHOLD);
+    }
+
+    public UdpDataSenderFactory(String host, int port, String threadName, int queueSize, int timeout, int sendBufferSize, TBaseLocator locator, int compressThreshold) {
         this.host = host;
         this.port = port;
         this.threadName = threadName;
         this.queueSize = queueSize;
         this.timeout = timeout;
         this.sendBufferSize = sendBufferSize;
+        this.locator = locator;
+        this.compressThreshold = compressThreshold;
     }
 
     public DataSender create(String typeName) {
@@ -46,9 +61,12 @@ public final class UdpDataSenderFactory {
 
     public DataSender create(UdpDataSenderType type) {
         if (type == UdpDataSenderType.NIO) {
-            return new NioUDPDataSender(host, port, threadName, queueSize, timeout, sendBufferSize);
+            if (compressThreshold >= 0) {
+                logger.warn("compression is not supported by {} sender, sending uncompressed data", type);
+            }
+            return new NioUDPDataSender(host, port, threadName, queueSize, timeout, sendBufferSize, locator);
         } else if (type == UdpDataSenderType.OIO) {
-            return new UdpDataSender(host, port, threadName, queueSize, timeout, sendBufferSize);
+            return new UdpDataSender(host, port, threadName, queueSize, timeout, sendBufferSize, locator, compressThreshold);
         } else {
             throw new IllegalArgumentException("Unknown type.");
         }
@@ -0,0 +1,46 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.util;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryUsage;
+
+public final class MemoryPoolMXBeanUtils {
+
+    private static final String METASPACE = "Metaspace";
+    private static final String PERM_GEN_SUFFIX = "Perm Gen";
+
+    private MemoryPoolMXBeanUtils() {
+    }
+
+    /**
+     * @return used bytes of the memory pool holding class metadata (Metaspace, or Perm Gen prior to java 8), -1 if not available
+     */
+    public static long getClassMetadataUsed() {
+        for (MemoryPoolMXBean memoryPool : ManagementFactory.getMemoryPoolMXBeans()) {
+            final String name = memoryPool.getName();
+            if (METASPACE.equals(name) || name.endsWith(PERM_GEN_SUFFIX)) {
+                final MemoryUsage usage = memoryPool.getUsage();
+                if (usage != null) {
+                    return usage.getUsed();
+                }
+            }
+        }
+        return -1;
+    }
+}
@@ -51,4 +51,25 @@ public class DefaultTraceTest {
         trace.traceBlockEnd();
         trace.close();
     }
+
+    @Test
+    public void testAsyncTraceId() {
+        DefaultTraceContext defaultTraceContext = new DefaultTraceContext(new TestAgentInformation());
+        DefaultTrace trace = new DefaultTrace(defaultTraceContext, 1, true);
+
+        DefaultAsyncTraceId asyncTraceId1 = (DefaultAsyncTraceId) trace.getAsyncTraceId();
+        DefaultAsyncTraceId asyncTraceId2 = (DefaultAsyncTraceId) trace.getAsyncTraceId();
+        Assert.assertEquals(1, asyncTraceId1.getAsyncId());
+        Assert.assertEquals(2, asyncTraceId2.getAsyncId());
+        Assert.assertSame(asyncTraceId1.getAsyncTraceRoot(), asyncTraceId2.getAsyncTraceRoot());
+        Assert.assertSame(trace.getTraceId(), asyncTraceId1.getParentTraceId());
+        Assert.assertEquals(trace.getSpan().getStartTime(), asyncTraceId1.getSpanStartTime());
+
+        // handoffs of a continuation keep counting within the same span
+        DefaultTrace continuation = new DefaultTrace(defaultTraceContext, asyncTraceId1.getAsyncTraceRoot(), IdGenerator.UNTRACKED_ID, true);
+        DefaultAsyncTraceId asyncTraceId3 = (DefaultAsyncTraceId) continuation.getAsyncTraceId();
+        Assert.assertEquals(3, asyncTraceId3.getAsyncId());
+        Assert.assertSame(trace.getTraceId(), asyncTraceId3.getParentTraceId());
+        Assert.assertEquals(asyncTraceId1.getSpanStartTime(), asyncTraceId3.getSpanStartTime());
+    }
 }
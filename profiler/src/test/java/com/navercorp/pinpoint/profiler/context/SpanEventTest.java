@@ -22,9 +22,12 @@ import org.junit.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.navercorp.pinpoint.common.trace.AnnotationKey;
+import com.navercorp.pinpoint.common.util.ElapsedMicrosUtils;
 import com.navercorp.pinpoint.profiler.context.DefaultTraceId;
 import com.navercorp.pinpoint.profiler.context.Span;
 import com.navercorp.pinpoint.profiler.context.SpanEvent;
+import com.navercorp.pinpoint.thrift.dto.TAnnotation;
 
 /**
  * @author emeroad
@@ -53,6 +56,92 @@ public class SpanEventTest {
         Assert.assertEquals("endTime", span.getStartTime() + spanEvent.getStartElapsed() + spanEvent.getEndElapsed(), spanEvent.getAfterTime());
     }
 
+    @Test
+    public void testMarkStartTimeMicros() throws Exception {
+        Span span = newMicrosecondTimingSpan();
+        span.markBeforeTime();
+
+        final SpanEvent spanEvent = new SpanEvent(span);
+        spanEvent.markStartTime();
+        Thread.sleep(10);
+        spanEvent.markAfterTime();
+        logger.debug("spanEvent:{}", spanEvent);
+
+        final TAnnotation annotation = findElapsedMicros(spanEvent);
+        Assert.assertNotNull(annotation);
+        final int packed = annotation.getValue().getIntValue();
+        Assert.assertTrue(ElapsedMicrosUtils.isValid(packed));
+
+        final long endElapsedMicros = ElapsedMicrosUtils.toEndElapsedMicros(spanEvent.getEndElapsed(), packed);
+        Assert.assertTrue(endElapsedMicros >= 10000);
+        Assert.assertEquals(spanEvent.getEndElapsed(), endElapsedMicros / 1000);
+    }
+
+    @Test
+    public void testRecordStartTimeMicros() throws Exception {
+        Span span = newMicrosecondTimingSpan();
+        span.markBeforeTime();
+        // the span started a second earlier, e.g. in another thread
+        span.recordStartTime(span.getStartTime() - 1000);
+
+        final SpanEvent spanEvent = new SpanEvent(span);
+        spanEvent.markStartTime();
+        logger.debug("spanEvent:{}", spanEvent);
+
+        Assert.assertTrue(spanEvent.getStartElapsed() >= 1000);
+        Assert.assertTrue(spanEvent.getStartElapsed() < 2000);
+    }
+
+    @Test
+    public void testNegativeStartElapsedMicros() throws Exception {
+        Span span = newMicrosecondTimingSpan();
+        span.markBeforeTime();
+        // the span start is recorded later than the span event start
+        span.recordStartTime(span.getStartTime() + 1000);
+
+        final SpanEvent spanEvent = new SpanEvent(span);
+        spanEvent.markStartTime();
+        spanEvent.markAfterTime();
+        logger.debug("spanEvent:{}", spanEvent);
+
+        Assert.assertNull(findElapsedMicros(spanEvent));
+    }
+
+    @Test
+    public void testNegativeEndElapsedMicros() throws Exception {
+        Span span = newMicrosecondTimingSpan();
+        span.markBeforeTime();
+
+        final SpanEvent spanEvent = new SpanEvent(span);
+        spanEvent.markStartTime();
+        // the span start is re-marked after the span event started
+        span.recordStartTime(span.getStartTime() + 1000);
+        spanEvent.markAfterTime();
+        logger.debug("spanEvent:{}", spanEvent);
+
+        Assert.assertNull(findElapsedMicros(spanEvent));
+    }
+
+    private Span newMicrosecondTimingSpan() {
+        Span span = new Span();
+        span.setAgentId("agentId");
+        span.recordTraceId(new DefaultTraceId("agentTime", 0, 0));
+        span.setMicrosecondTiming(true);
+        return span;
+    }
+
+    private TAnnotation findElapsedMicros(SpanEvent spanEvent) {
+        if (spanEvent.getAnnotations() == null) {
+            return null;
+        }
+        for (TAnnotation annotation : spanEvent.getAnnotations()) {
+            if (annotation.getKey() == AnnotationKey.ELAPSED_MICROS.getCode()) {
+                return annotation;
+            }
+        }
+        return null;
+    }
+
     @Test
     public void testGetStartTime() throws Exception {
 
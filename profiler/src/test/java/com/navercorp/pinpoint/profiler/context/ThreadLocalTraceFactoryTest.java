@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.profiler.context;
 
 import java.util.Collections;
 
+import com.navercorp.pinpoint.bootstrap.context.AsyncTraceId;
 import com.navercorp.pinpoint.bootstrap.context.ServerMetaDataHolder;
 import com.navercorp.pinpoint.bootstrap.context.Trace;
 import com.navercorp.pinpoint.common.Version;
@@ -33,6 +34,7 @@ import com.navercorp.pinpoint.profiler.sampler.TrueSampler;
 
 import org.junit.Assert;
 import org.junit.Test;
+import org.mockito.Mockito;
 
 public class ThreadLocalTraceFactoryTest {
 
@@ -92,6 +94,32 @@ public class ThreadLocalTraceFactoryTest {
 
     }
 
+    @Test
+    public void testContinueAsyncTraceObject() throws Exception {
+        ThreadLocalTraceFactory traceFactory = getTraceFactory();
+
+        Trace trace = traceFactory.newTraceObject();
+        DefaultAsyncTraceId asyncTraceId = (DefaultAsyncTraceId) trace.getAsyncTraceId();
+        traceFactory.removeTraceObject();
+
+        Trace asyncTrace = traceFactory.continueAsyncTraceObject(asyncTraceId, asyncTraceId.getAsyncId(), asyncTraceId.getSpanStartTime());
+        try {
+            DefaultAsyncTraceId nextAsyncTraceId = (DefaultAsyncTraceId) asyncTrace.getAsyncTraceId();
+            Assert.assertSame(asyncTraceId.getAsyncTraceRoot(), nextAsyncTraceId.getAsyncTraceRoot());
+            Assert.assertEquals(asyncTraceId.getAsyncId() + 1, nextAsyncTraceId.getAsyncId());
+        } finally {
+            traceFactory.removeTraceObject();
+        }
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testContinueUnknownAsyncTraceObject() throws Exception {
+        ThreadLocalTraceFactory traceFactory = getTraceFactory();
+
+        AsyncTraceId asyncTraceId = Mockito.mock(AsyncTraceId.class);
+        traceFactory.continueAsyncTraceObject(asyncTraceId, 1, System.currentTimeMillis());
+    }
+
     @Test
     public void testDetachTraceObject() throws Exception {
 
@@ -104,4 +104,21 @@ public class BufferedStorageTest {
         Assert.assertEquals(0, countingDataSender.getSpanCounter(), 1);
         Assert.assertEquals(0, countingDataSender.getSpanChunkCounter(), 0);
     }
+
+    @Test
+    public void testFlush_empty() throws Exception {
+        BufferedStorage bufferedStorage = new BufferedStorage(countingDataSender, spanChunkFactory, 10);
+
+        bufferedStorage.flush();
+        Assert.assertEquals(0, countingDataSender.getTotalCount());
+
+        Span span = new Span();
+        SpanEvent spanEvent = new SpanEvent(span);
+        bufferedStorage.store(spanEvent);
+        bufferedStorage.flush();
+        bufferedStorage.flush();
+
+        Assert.assertEquals(1, countingDataSender.getSpanChunkCounter());
+        Assert.assertEquals(1, countingDataSender.getTotalCount());
+    }
 }
\ No newline at end of file
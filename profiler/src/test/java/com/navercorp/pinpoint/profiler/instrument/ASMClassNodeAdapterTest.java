@@ -24,6 +24,7 @@ import org.junit.Before;
 import org.junit.Test;
 import org.mockito.invocation.InvocationOnMock;
 import org.mockito.stubbing.Answer;
+import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.tree.ClassNode;
 import org.objectweb.asm.tree.MethodNode;
 
@@ -34,6 +35,7 @@ import java.util.List;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
 import static org.mockito.Matchers.any;
 import static org.mockito.Mockito.mock;
@@ -99,6 +101,22 @@ public class ASMClassNodeAdapterTest {
         }
     }
 
+    @Test
+    public void getFieldOfCachedClassNode() {
+        final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        final ASMClassNodeCache classNodeCache = new ASMClassNodeCache(10);
+        final String classInternalName = "com/navercorp/pinpoint/profiler/instrument/mock/BaseClass";
+
+        ASMClassNodeAdapter adapter = ASMClassNodeAdapter.get(pluginContext, classLoader, classInternalName, true, classNodeCache);
+        ASMFieldNodeAdapter fieldNode = adapter.getField("o", null);
+        assertTrue(fieldNode.isFinal());
+        fieldNode.setAccess(fieldNode.getAccess() & ~Opcodes.ACC_FINAL);
+
+        // the cached class node is left unmodified
+        adapter = ASMClassNodeAdapter.get(pluginContext, classLoader, classInternalName, true, classNodeCache);
+        assertTrue(adapter.getField("o", null).isFinal());
+    }
+
     @Test
     public void getter() {
         final ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
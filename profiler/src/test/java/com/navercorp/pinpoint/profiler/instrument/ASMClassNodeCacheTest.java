@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument;
+
+import org.junit.Assert;
+import org.junit.Test;
+import org.objectweb.asm.tree.ClassNode;
+
+import java.net.URL;
+import java.net.URLClassLoader;
+
+public class ASMClassNodeCacheTest {
+
+    @Test
+    public void getAndPut() {
+        ASMClassNodeCache cache = new ASMClassNodeCache(10);
+        ClassLoader classLoader = new URLClassLoader(new URL[0]);
+        ClassNode classNode = new ClassNode();
+
+        Assert.assertNull(cache.get(classLoader, "com/test/Foo"));
+        cache.put(classLoader, "com/test/Foo", classNode);
+        Assert.assertSame(classNode, cache.get(classLoader, "com/test/Foo"));
+
+        // class loaders do not share class nodes
+        Assert.assertNull(cache.get(new URLClassLoader(new URL[0]), "com/test/Foo"));
+        Assert.assertNull(cache.get(null, "com/test/Foo"));
+
+        ClassNode bootstrapClassNode = new ClassNode();
+        cache.put(null, "com/test/Foo", bootstrapClassNode);
+        Assert.assertSame(bootstrapClassNode, cache.get(null, "com/test/Foo"));
+        Assert.assertSame(classNode, cache.get(classLoader, "com/test/Foo"));
+    }
+
+    @Test
+    public void evictLeastRecentlyUsed() {
+        ASMClassNodeCache cache = new ASMClassNodeCache(2);
+        ClassLoader classLoader = new URLClassLoader(new URL[0]);
+        cache.put(classLoader, "com/test/Foo", new ClassNode());
+        cache.put(classLoader, "com/test/Bar", new ClassNode());
+        // Foo is used more recently than Bar
+        Assert.assertNotNull(cache.get(classLoader, "com/test/Foo"));
+
+        cache.put(classLoader, "com/test/Baz", new ClassNode());
+        Assert.assertNotNull(cache.get(classLoader, "com/test/Foo"));
+        Assert.assertNull(cache.get(classLoader, "com/test/Bar"));
+        Assert.assertNotNull(cache.get(classLoader, "com/test/Baz"));
+    }
+}
@@ -32,6 +32,7 @@ import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertNull;
 
@@ -109,6 +110,31 @@ public class ASMMethodVariablesTest {
         assertNotNull(variables.getEnterInsnNode());
     }
 
+    @Test
+    public void initInvokeDynamicInterceptorVariable() throws Exception {
+        MethodNode methodNode = ASMClassNodeLoader.get("com.navercorp.pinpoint.profiler.instrument.mock.ArgsClass", "arg");
+        ASMMethodVariables variables = new ASMMethodVariables("com/navercorp/pinpoint/profiler/instrument/mock/ArgsClass", methodNode);
+        variables.setInvokeDynamicInterceptor(true);
+
+        final int interceptorId = 7;
+        final InterceptorDefinition interceptorDefinition = new InterceptorDefinitionFactory().createInterceptorDefinition(ArgsArrayInterceptor.class);
+        InsnList instructions = new InsnList();
+        variables.initInterceptorLocalVariables(instructions, interceptorId, interceptorDefinition, -1);
+
+        InvokeDynamicInsnNode invokeDynamicInsnNode = null;
+        for (AbstractInsnNode insnNode = instructions.getFirst(); insnNode != null; insnNode = insnNode.getNext()) {
+            if (insnNode instanceof InvokeDynamicInsnNode) {
+                invokeDynamicInsnNode = (InvokeDynamicInsnNode) insnNode;
+            }
+            if (insnNode instanceof MethodInsnNode) {
+                assertNotEquals("getInterceptor", ((MethodInsnNode) insnNode).name);
+            }
+        }
+        assertNotNull(invokeDynamicInsnNode);
+        assertEquals("com/navercorp/pinpoint/bootstrap/interceptor/registry/InterceptorCallSite", invokeDynamicInsnNode.bsm.getOwner());
+        assertEquals(Arrays.<Object>asList(interceptorId), Arrays.asList(invokeDynamicInsnNode.bsmArgs));
+    }
+
     @Test
     public void findInitConstructorInstruction() throws Exception {
         MethodNode methodNode = ASMClassNodeLoader.get("com.navercorp.pinpoint.profiler.instrument.mock.AbstractClass", "<init>");
@@ -0,0 +1,146 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.InputStream;
+import java.net.URL;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ClassHierarchyIndexTest {
+
+    @Test
+    public void ancestorSharedByClassLoadersIsReadOnce() {
+        final String basePath = Base.class.getName().replace('.', '/') + ".class";
+        final CountingClassLoader parent = new CountingClassLoader(getClass().getClassLoader(), basePath);
+        final ClassLoader child1 = new ClassLoader(parent) {
+        };
+        final ClassLoader child2 = new ClassLoader(parent) {
+        };
+        final ClassHierarchyIndex index = new ClassHierarchyIndex(Collections.singleton(Runnable.class.getName()));
+
+        final List<String> typeNames1 = index.getTypeNames(child1, "test.Child1", Base.class.getName(), Collections.<String>emptyList());
+        final List<String> typeNames2 = index.getTypeNames(child2, "test.Child2", Base.class.getName(), Collections.<String>emptyList());
+
+        Assert.assertEquals(Collections.singletonList(Runnable.class.getName()), typeNames1);
+        Assert.assertEquals(Collections.singletonList(Runnable.class.getName()), typeNames2);
+        Assert.assertEquals(1, parent.getReadCount());
+    }
+
+    @Test
+    public void classFileLookupOfParentIsMemoized() {
+        // class of the same name defined by both children, the parent does not provide it
+        final String libraryPath = "test/Library.class";
+        final URL libraryClassFile = getClass().getClassLoader().getResource(Base.class.getName().replace('.', '/') + ".class");
+        final CountingClassLoader parent = new CountingClassLoader(getClass().getClassLoader(), libraryPath);
+        final ClassLoader child1 = new LibraryClassLoader(parent, libraryPath, libraryClassFile);
+        final ClassLoader child2 = new LibraryClassLoader(parent, libraryPath, libraryClassFile);
+        final ClassHierarchyIndex index = new ClassHierarchyIndex(Collections.singleton(Runnable.class.getName()));
+
+        final List<String> typeNames1 = index.getTypeNames(child1, "test.Child1", "test.Library", Collections.<String>emptyList());
+        final List<String> typeNames2 = index.getTypeNames(child2, "test.Child2", "test.Library", Collections.<String>emptyList());
+
+        Assert.assertEquals(Collections.singletonList(Runnable.class.getName()), typeNames1);
+        Assert.assertEquals(Collections.singletonList(Runnable.class.getName()), typeNames2);
+        // each child delegates to the parent when probed and when read, the parent itself is probed only for the first child
+        Assert.assertEquals(5, parent.getLookupCount());
+    }
+
+    @Test
+    public void directTypeName() {
+        final ClassHierarchyIndex index = new ClassHierarchyIndex(Collections.singleton(Base.class.getName()));
+
+        final List<String> typeNames = index.getTypeNames(getClass().getClassLoader(), "test.Child", Base.class.getName(), Collections.<String>emptyList());
+
+        Assert.assertEquals(Collections.singletonList(Base.class.getName()), typeNames);
+    }
+
+    public static class Base implements Runnable {
+        @Override
+        public void run() {
+        }
+    }
+
+    // provides the class files of the given class loader without delegating to it, so that it is the top most class loader providing them
+    private static class CountingClassLoader extends ClassLoader {
+
+        private final ClassLoader resourceLoader;
+        private final String countedResourceName;
+        private final AtomicInteger readCount = new AtomicInteger();
+        private final AtomicInteger lookupCount = new AtomicInteger();
+
+        private CountingClassLoader(ClassLoader resourceLoader, String countedResourceName) {
+            super(null);
+            this.resourceLoader = resourceLoader;
+            this.countedResourceName = countedResourceName;
+        }
+
+        @Override
+        protected URL findResource(String name) {
+            return resourceLoader.getResource(name);
+        }
+
+        @Override
+        public URL getResource(String name) {
+            if (countedResourceName.equals(name)) {
+                lookupCount.incrementAndGet();
+            }
+            return super.getResource(name);
+        }
+
+        @Override
+        public InputStream getResourceAsStream(String name) {
+            if (countedResourceName.equals(name)) {
+                readCount.incrementAndGet();
+            }
+            return super.getResourceAsStream(name);
+        }
+
+        private int getReadCount() {
+            return readCount.get();
+        }
+
+        private int getLookupCount() {
+            return lookupCount.get();
+        }
+    }
+
+    private static class LibraryClassLoader extends ClassLoader {
+
+        private final String libraryPath;
+        private final URL libraryClassFile;
+
+        private LibraryClassLoader(ClassLoader parent, String libraryPath, URL libraryClassFile) {
+            super(parent);
+            this.libraryPath = libraryPath;
+            this.libraryClassFile = libraryClassFile;
+        }
+
+        @Override
+        protected URL findResource(String name) {
+            if (libraryPath.equals(name)) {
+                return libraryClassFile;
+            }
+            return null;
+        }
+    }
+}
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.profiler.instrument.transformer;
+
+import com.navercorp.pinpoint.bootstrap.instrument.matcher.Matchers;
+import com.navercorp.pinpoint.common.util.ClassLoaderUtils;
+import com.navercorp.pinpoint.profiler.util.BytecodeUtils;
+import com.navercorp.pinpoint.profiler.util.JavaAssistUtils;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.instrument.ClassFileTransformer;
+import java.security.ProtectionDomain;
+import java.util.concurrent.Callable;
+
+public class DefaultTransformerRegistryTest {
+
+    private final ClassFileTransformer classNameTransformer = new MockTransformer();
+    private final ClassFileTransformer interfaceTransformer = new MockTransformer();
+    private final ClassFileTransformer superClassTransformer = new MockTransformer();
+    private final ClassFileTransformer annotationTransformer = new MockTransformer();
+
+    @Test
+    public void findTransformer() {
+        DefaultTransformerRegistry registry = new DefaultTransformerRegistry();
+        registry.addTransformer(Matchers.newClassNameMatcher(JavaAssistUtils.javaNameToJvmName(ServiceImpl.class.getName())), classNameTransformer);
+        registry.addTransformer(Matchers.newInterfaceMatcher(Service.class.getName()), interfaceTransformer);
+        registry.addTransformer(Matchers.newSuperClassMatcher(AbstractTask.class.getName()), superClassTransformer);
+        registry.addTransformer(Matchers.newAnnotationMatcher(Marked.class.getName()), annotationTransformer);
+
+        Assert.assertSame(classNameTransformer, findTransformer(registry, ServiceImpl.class));
+        Assert.assertSame(interfaceTransformer, findTransformer(registry, AbstractService.class));
+        // implements the interface through its super class and a sub interface
+        Assert.assertSame(interfaceTransformer, findTransformer(registry, ExtendedServiceImpl.class));
+        Assert.assertSame(superClassTransformer, findTransformer(registry, Task.class));
+        Assert.assertSame(annotationTransformer, findTransformer(registry, MarkedTask.class));
+
+        Assert.assertNull(findTransformer(registry, ExtendedService.class));
+        Assert.assertNull(findTransformer(registry, String.class));
+    }
+
+    @Test
+    public void findTransformer_exactMatchOnly() {
+        DefaultTransformerRegistry registry = new DefaultTransformerRegistry();
+        registry.addTransformer(Matchers.newClassNameMatcher(JavaAssistUtils.javaNameToJvmName(ServiceImpl.class.getName())), classNameTransformer);
+
+        Assert.assertNull(registry.findTransformer(null, JavaAssistUtils.javaNameToJvmName(Task.class.getName()), null));
+    }
+
+    @Test
+    public void findTransformer_exactMatchShadowsHierarchyMatch() {
+        DefaultTransformerRegistry registry = new DefaultTransformerRegistry();
+        registry.addTransformer(Matchers.newInterfaceMatcher(Service.class.getName()), interfaceTransformer);
+        registry.addTransformer(Matchers.newSuperClassMatcher(AbstractService.class.getName()), superClassTransformer);
+        registry.addTransformer(Matchers.newClassNameMatcher(JavaAssistUtils.javaNameToJvmName(ServiceImpl.class.getName())), classNameTransformer);
+
+        Assert.assertSame(classNameTransformer, findTransformer(registry, ServiceImpl.class));
+        // the sub class is not matched by name, the nearest hierarchy match applies
+        Assert.assertSame(superClassTransformer, findTransformer(registry, ExtendedServiceImpl.class));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void addTransformer_duplicatedSuperClass() {
+        DefaultTransformerRegistry registry = new DefaultTransformerRegistry();
+        registry.addTransformer(Matchers.newSuperClassMatcher(AbstractTask.class.getName()), superClassTransformer);
+        registry.addTransformer(Matchers.newSuperClassMatcher(AbstractTask.class.getName()), interfaceTransformer);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void addTransformer_duplicatedHierarchyType() {
+        DefaultTransformerRegistry registry = new DefaultTransformerRegistry();
+        registry.addTransformer(Matchers.newInterfaceMatcher(Service.class.getName()), interfaceTransformer);
+        registry.addTransformer(Matchers.newSuperClassMatcher(Service.class.getName()), superClassTransformer);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void addTransformer_duplicated() {
+        DefaultTransformerRegistry registry = new DefaultTransformerRegistry();
+        registry.addTransformer(Matchers.newInterfaceMatcher(Service.class.getName()), interfaceTransformer);
+        registry.addTransformer(Matchers.newInterfaceMatcher(JavaAssistUtils.javaNameToJvmName(Service.class.getName())), superClassTransformer);
+    }
+
+    private ClassFileTransformer findTransformer(DefaultTransformerRegistry registry, Class<?> clazz) {
+        final ClassLoader classLoader = ClassLoaderUtils.getDefaultClassLoader();
+        final byte[] classFile = BytecodeUtils.getClassFile(classLoader, clazz.getName());
+        return registry.findTransformer(classLoader, JavaAssistUtils.javaNameToJvmName(clazz.getName()), classFile);
+    }
+
+    public interface Service {
+    }
+
+    public interface ExtendedService extends Service {
+    }
+
+    public static abstract class AbstractService implements Service {
+    }
+
+    public static class ServiceImpl extends AbstractService {
+    }
+
+    public static class ExtendedServiceImpl extends ServiceImpl implements ExtendedService {
+    }
+
+    public static abstract class AbstractTask implements Callable<Object> {
+    }
+
+    public static class Task extends AbstractTask {
+        @Override
+        public Object call() {
+            return null;
+        }
+    }
+
+    @Retention(RetentionPolicy.RUNTIME)
+    public @interface Marked {
+    }
+
+    @Marked
+    public static class MarkedTask implements Runnable {
+        @Override
+        public void run() {
+        }
+    }
+
+    private static class MockTransformer implements ClassFileTransformer {
+        @Override
+        public byte[] transform(ClassLoader loader, String className, Class<?> classBeingRedefined, ProtectionDomain protectionDomain, byte[] classfileBuffer) {
+            return null;
+        }
+    }
+}
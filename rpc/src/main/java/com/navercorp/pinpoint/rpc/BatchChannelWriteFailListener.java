@@ -0,0 +1,45 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.rpc;
+
+import java.util.List;
+
+import org.jboss.netty.channel.ChannelFuture;
+import org.jboss.netty.channel.ChannelFutureListener;
+
+/**
+ * Fails every request of a batch when the frame carrying them could not be written.
+ */
+public class BatchChannelWriteFailListener implements ChannelFutureListener {
+
+    private final List<? extends ChannelWriteFailListenableFuture<?>> futures;
+
+    public BatchChannelWriteFailListener(List<? extends ChannelWriteFailListenableFuture<?>> futures) {
+        if (futures == null) {
+            throw new NullPointerException("futures must not be null");
+        }
+        this.futures = futures;
+    }
+
+    @Override
+    public void operationComplete(ChannelFuture future) throws Exception {
+        for (ChannelWriteFailListenableFuture<?> messageFuture : futures) {
+            messageFuture.operationComplete(future);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.rpc;
+
+import com.navercorp.pinpoint.rpc.packet.BatchRequestPacket;
+
+/**
+ * {@link MessageListener} handling the requests of a {@link BatchRequestPacket} together, for instance to process them concurrently.
+ * Listeners that do not implement it receive each request of the batch through {@link #handleRequest(com.navercorp.pinpoint.rpc.packet.RequestPacket, PinpointSocket)}.
+ * Every request must still be answered on its own, with {@link PinpointSocket#response(int, byte[])}.
+ */
+public interface BatchMessageListener extends MessageListener {
+
+    void handleBatchRequest(BatchRequestPacket batchRequestPacket, PinpointSocket pinpointSocket);
+
+}
@@ -24,6 +24,7 @@ import com.navercorp.pinpoint.rpc.stream.ClientStreamChannelMessageListener;
 import com.navercorp.pinpoint.rpc.stream.StreamChannelStateChangeEventHandler;
 
 import java.net.SocketAddress;
+import java.util.List;
 
 /**
  * @Author Taejin Koo
@@ -34,6 +35,14 @@ public interface PinpointSocket {
 
     Future<ResponseMessage> request(byte[] payload);
 
+    /**
+     * Sends every payload in a single frame, with one deadline for the whole batch.
+     * Only use it when the remote socket is known to support it, older versions close the connection on unknown packets.
+     *
+     * @return futures in the same order as the given payloads
+     */
+    List<Future<ResponseMessage>> batchRequest(List<byte[]> payloads);
+
     void response(RequestPacket requestPacket, byte[] payload);
     void response(int requestId, byte[] payload);
 
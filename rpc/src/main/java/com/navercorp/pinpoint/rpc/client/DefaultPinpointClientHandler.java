@@ -36,7 +36,9 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.SocketAddress;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -353,6 +355,33 @@ public class DefaultPinpointClientHandler extends SimpleChannelHandler implement
         write0(request, messageFuture);
         return messageFuture;
     }
+
+    @Override
+    public List<Future<ResponseMessage>> batchRequest(List<byte[]> payloads) {
+        if (payloads == null) {
+            throw new NullPointerException("payloads");
+        }
+
+        boolean isEnable = state.isEnableCommunication();
+        if (!isEnable) {
+            List<Future<ResponseMessage>> closedExceptions = new ArrayList<Future<ResponseMessage>>(payloads.size());
+            for (int i = 0; i < payloads.size(); i++) {
+                DefaultFuture<ResponseMessage> closedException = new DefaultFuture<ResponseMessage>();
+                closedException.setFailure(new PinpointSocketException("invalid state:" + state.getCurrentStateCode() + " channel:" + channel));
+                closedExceptions.add(closedException);
+            }
+            return closedExceptions;
+        }
+
+        List<RequestPacket> requests = new ArrayList<RequestPacket>(payloads.size());
+        for (byte[] payload : payloads) {
+            requests.add(new RequestPacket(payload));
+        }
+        final List<ChannelWriteFailListenableFuture<ResponseMessage>> messageFutures = this.requestManager.register(requests, this.timeoutMillis);
+
+        write0(new BatchRequestPacket(requests), new BatchChannelWriteFailListener(messageFutures));
+        return new ArrayList<Future<ResponseMessage>>(messageFutures);
+    }
     
     @Override
     public ClientStreamChannelContext openStream(byte[] payload, ClientStreamChannelMessageListener messageListener) {
@@ -389,6 +418,9 @@ public class DefaultPinpointClientHandler extends SimpleChannelHandler implement
                 case PacketType.APPLICATION_REQUEST:
                     this.messageListener.handleRequest((RequestPacket) message, pinpointClient);
                     return;
+                case PacketType.APPLICATION_BATCH_REQUEST:
+                    handleBatchRequest((BatchRequestPacket) message);
+                    return;
                 case PacketType.APPLICATION_SEND:
                     this.messageListener.handleSend((SendPacket) message, pinpointClient);
                     return;
@@ -416,6 +448,16 @@ public class DefaultPinpointClientHandler extends SimpleChannelHandler implement
         }
     }
 
+    private void handleBatchRequest(BatchRequestPacket batchRequestPacket) {
+        if (this.messageListener instanceof BatchMessageListener) {
+            ((BatchMessageListener) this.messageListener).handleBatchRequest(batchRequestPacket, pinpointClient);
+            return;
+        }
+        for (RequestPacket requestPacket : batchRequestPacket.getRequestPackets()) {
+            this.messageListener.handleRequest(requestPacket, pinpointClient);
+        }
+    }
+
     private void handleClosedPacket(Channel channel) {
         logger.info("{} handleClosedPacket() started. channel:{}", objectUniqName, channel);
 
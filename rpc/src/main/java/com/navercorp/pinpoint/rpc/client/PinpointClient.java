@@ -25,6 +25,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.net.SocketAddress;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.CopyOnWriteArrayList;
 
@@ -121,6 +122,18 @@ public class PinpointClient implements PinpointSocket {
         return pinpointClientHandler.request(bytes);
     }
 
+    @Override
+    public List<Future<ResponseMessage>> batchRequest(List<byte[]> payloads) {
+        if (pinpointClientHandler == null) {
+            List<Future<ResponseMessage>> futures = new ArrayList<Future<ResponseMessage>>(payloads.size());
+            for (int i = 0; i < payloads.size(); i++) {
+                futures.add(returnFailureFuture());
+            }
+            return futures;
+        }
+        return pinpointClientHandler.batchRequest(payloads);
+    }
+
     @Override
     public void response(RequestPacket requestPacket, byte[] payload) {
         response(requestPacket.getRequestId(), payload);
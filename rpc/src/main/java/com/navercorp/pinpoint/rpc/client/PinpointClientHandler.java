@@ -17,6 +17,7 @@
 package com.navercorp.pinpoint.rpc.client;
 
 import java.net.SocketAddress;
+import java.util.List;
 
 import com.navercorp.pinpoint.rpc.Future;
 import com.navercorp.pinpoint.rpc.ResponseMessage;
@@ -48,6 +49,8 @@ public interface PinpointClientHandler {
 
     Future<ResponseMessage> request(byte[] bytes);
 
+    List<Future<ResponseMessage>> batchRequest(List<byte[]> payloads);
+
     void response(int requestId, byte[] payload);
 
     ClientStreamChannelContext openStream(byte[] payload, ClientStreamChannelMessageListener messageListener);
@@ -26,6 +26,8 @@ import com.navercorp.pinpoint.rpc.common.SocketStateCode;
 import com.navercorp.pinpoint.rpc.stream.*;
 
 import java.net.SocketAddress;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * @author emeroad
@@ -92,6 +94,15 @@ public class ReconnectStateClientHandler implements PinpointClientHandler {
         return reconnectFailureFuture();
     }
 
+    @Override
+    public List<Future<ResponseMessage>> batchRequest(List<byte[]> payloads) {
+        List<Future<ResponseMessage>> futures = new ArrayList<Future<ResponseMessage>>(payloads.size());
+        for (int i = 0; i < payloads.size(); i++) {
+            futures.add(reconnectFailureFuture());
+        }
+        return futures;
+    }
+
     @Override
     public void response(int requestId, byte[] payload) {
 
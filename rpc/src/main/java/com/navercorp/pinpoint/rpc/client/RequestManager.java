@@ -16,6 +16,8 @@
 
 package com.navercorp.pinpoint.rpc.client;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
@@ -25,6 +27,7 @@ import java.util.concurrent.atomic.AtomicInteger;
 import org.jboss.netty.channel.Channel;
 import org.jboss.netty.util.Timeout;
 import org.jboss.netty.util.Timer;
+import org.jboss.netty.util.TimerTask;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -160,6 +163,58 @@ public class RequestManager {
     }
 
 
+    public List<ChannelWriteFailListenableFuture<ResponseMessage>> register(List<RequestPacket> requestPackets) {
+        return register(requestPackets, defaultTimeoutMillis);
+    }
+
+    /**
+     * Registers every request of a batch, with a single timeout task for the whole batch instead of one per request.
+     * Futures completed before the deadline are simply skipped by the timeout task.
+     */
+    public List<ChannelWriteFailListenableFuture<ResponseMessage>> register(List<RequestPacket> requestPackets, long timeoutMillis) {
+        if (requestPackets == null) {
+            throw new NullPointerException("requestPackets must not be null");
+        }
+
+        final List<ChannelWriteFailListenableFuture<ResponseMessage>> futures = new ArrayList<ChannelWriteFailListenableFuture<ResponseMessage>>(requestPackets.size());
+        for (RequestPacket requestPacket : requestPackets) {
+            final int requestId = getNextRequestId();
+            requestPacket.setRequestId(requestId);
+
+            final ChannelWriteFailListenableFuture<ResponseMessage> future = new ChannelWriteFailListenableFuture<ResponseMessage>(timeoutMillis);
+            final DefaultFuture old = this.requestMap.put(requestId, future);
+            if (old != null) {
+                throw new PinpointSocketException("unexpected error. old future exist:" + old + " id:" + requestId);
+            }
+            future.setFailureEventHandler(createFailureEventHandler(requestId));
+            futures.add(future);
+        }
+
+        addBatchTimeoutTask(timeoutMillis, futures);
+        return futures;
+    }
+
+    private void addBatchTimeoutTask(long timeoutMillis, final List<? extends DefaultFuture<ResponseMessage>> futures) {
+        final TimerTask batchTimeoutTask = new TimerTask() {
+            @Override
+            public void run(Timeout timeout) throws Exception {
+                for (DefaultFuture<ResponseMessage> future : futures) {
+                    // no-op for the futures that are already done
+                    future.run(timeout);
+                }
+            }
+        };
+        try {
+            timer.newTimeout(batchTimeoutTask, timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (IllegalStateException e) {
+            // this case is that timer has been shutdown. That maybe just means that socket has been closed.
+            final PinpointSocketException closed = new PinpointSocketException("socket closed");
+            for (DefaultFuture<ResponseMessage> future : futures) {
+                future.setFailure(closed);
+            }
+        }
+    }
+
     public void close() {
         logger.debug("close()");
         final PinpointSocketException closed = new PinpointSocketException("socket closed");
@@ -21,7 +21,10 @@ package com.navercorp.pinpoint.rpc.cluster;
  */
 public enum Role {
 
-    CALLER, CALLEE, ROUTER, UNKNOWN;
+    CALLER, CALLEE, ROUTER,
+    // advertised next to ROUTER by routers accepting APPLICATION_BATCH_REQUEST, peers not knowing it read UNKNOWN
+    BATCH_ROUTER,
+    UNKNOWN;
 
     public static Role getValue(String name) {
         if (name == null) {
@@ -25,6 +25,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import com.navercorp.pinpoint.rpc.client.WriteFailFutureListener;
+import com.navercorp.pinpoint.rpc.packet.BatchRequestPacket;
 import com.navercorp.pinpoint.rpc.packet.ClientClosePacket;
 import com.navercorp.pinpoint.rpc.packet.ControlHandshakePacket;
 import com.navercorp.pinpoint.rpc.packet.ControlHandshakeResponsePacket;
@@ -66,6 +67,8 @@ public class PacketDecoder extends FrameDecoder {
                 return readRequest(packetType, buffer);
             case PacketType.APPLICATION_RESPONSE:
                 return readResponse(packetType, buffer);
+            case PacketType.APPLICATION_BATCH_REQUEST:
+                return readBatchRequest(packetType, buffer);
             case PacketType.APPLICATION_STREAM_CREATE:
                 return readStreamCreate(packetType, buffer);
             case PacketType.APPLICATION_STREAM_CLOSE:
@@ -146,6 +149,10 @@ public class PacketDecoder extends FrameDecoder {
         return ResponsePacket.readBuffer(packetType, buffer);
     }
 
+    private Object readBatchRequest(short packetType, ChannelBuffer buffer) {
+        return BatchRequestPacket.readBuffer(packetType, buffer);
+    }
+
 
 
     private Object readStreamCreate(short packetType, ChannelBuffer buffer) {
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.rpc.packet;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+
+/**
+ * Carries several requests in a single frame. Each request keeps its own request id and is answered with its own
+ * {@link ResponsePacket}, so responses are sent back as soon as each of them completes.
+ *
+ * @see PacketType#APPLICATION_BATCH_REQUEST
+ */
+public class BatchRequestPacket implements Packet {
+
+    private final List<RequestPacket> requestPackets;
+
+    public BatchRequestPacket(List<RequestPacket> requestPackets) {
+        if (requestPackets == null) {
+            throw new NullPointerException("requestPackets must not be null");
+        }
+        this.requestPackets = requestPackets;
+    }
+
+    public List<RequestPacket> getRequestPackets() {
+        return Collections.unmodifiableList(requestPackets);
+    }
+
+    @Override
+    public short getPacketType() {
+        return PacketType.APPLICATION_BATCH_REQUEST;
+    }
+
+    @Override
+    public byte[] getPayload() {
+        // payloads belong to each request
+        return null;
+    }
+
+    @Override
+    public ChannelBuffer toBuffer() {
+        final ChannelBuffer header = ChannelBuffers.buffer(2 + 4);
+        header.writeShort(PacketType.APPLICATION_BATCH_REQUEST);
+        header.writeInt(requestPackets.size());
+
+        final ChannelBuffer[] buffers = new ChannelBuffer[requestPackets.size() + 1];
+        buffers[0] = header;
+        for (int i = 0; i < requestPackets.size(); i++) {
+            final RequestPacket requestPacket = requestPackets.get(i);
+            final ChannelBuffer requestHeader = ChannelBuffers.buffer(4 + 4);
+            requestHeader.writeInt(requestPacket.getRequestId());
+            buffers[i + 1] = PayloadPacket.appendPayload(requestHeader, requestPacket.getPayload());
+        }
+        return ChannelBuffers.wrappedBuffer(true, buffers);
+    }
+
+    public static BatchRequestPacket readBuffer(short packetType, ChannelBuffer buffer) {
+        assert packetType == PacketType.APPLICATION_BATCH_REQUEST;
+
+        if (buffer.readableBytes() < 4) {
+            buffer.resetReaderIndex();
+            return null;
+        }
+
+        final int requestCount = buffer.readInt();
+        if (requestCount < 0) {
+            throw new IllegalArgumentException("invalid requestCount:" + requestCount);
+        }
+        final List<RequestPacket> requestPackets = new ArrayList<RequestPacket>(Math.min(requestCount, 1024));
+        for (int i = 0; i < requestCount; i++) {
+            if (buffer.readableBytes() < 8) {
+                buffer.resetReaderIndex();
+                return null;
+            }
+            final int requestId = buffer.readInt();
+            final byte[] payload = PayloadPacket.readPayloadBytes(buffer);
+            if (payload == null) {
+                return null;
+            }
+            requestPackets.add(new RequestPacket(requestId, payload));
+        }
+        return new BatchRequestPacket(requestPackets);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder sb = new StringBuilder();
+        sb.append("BatchRequestPacket");
+        sb.append("{requestCount=").append(requestPackets.size());
+        sb.append('}');
+        return sb.toString();
+    }
+}
@@ -57,11 +57,11 @@ public class ControlHandshakePacket extends ControlPacket {
         }
 
         final int messageId = buffer.readInt();
-        final ChannelBuffer payload = PayloadPacket.readPayload(buffer);
+        final byte[] payload = PayloadPacket.readPayloadBytes(buffer);
         if (payload == null) {
             return null;
         }
-        final ControlHandshakePacket helloPacket = new ControlHandshakePacket(payload.array());
+        final ControlHandshakePacket helloPacket = new ControlHandshakePacket(payload);
         helloPacket.setRequestId(messageId);
         return helloPacket;
     }
@@ -28,6 +28,8 @@ public class PacketType {
     public static final short APPLICATION_REQUEST = 5;
     public static final short APPLICATION_RESPONSE = 6;
 
+    public static final short APPLICATION_BATCH_REQUEST = 7;
+
 
     public static final short APPLICATION_STREAM_CREATE = 10;
     public static final short APPLICATION_STREAM_CREATE_SUCCESS = 12;
@@ -29,6 +29,7 @@ public class PayloadPacket {
     private static final Logger logger = LoggerFactory.getLogger(PayloadPacket.class);
 
     private static final ChannelBuffer EMPTY_BUFFER = ChannelBuffers.buffer(0);
+    private static final byte[] EMPTY_PAYLOAD = new byte[0];
 
 
     public static ChannelBuffer readPayload(ChannelBuffer buffer) {
@@ -49,6 +50,32 @@ public class PayloadPacket {
         return buffer.readBytes(payloadLength);
     }
 
+    /**
+     * Reads the payload straight into an array of its exact size, without going through an intermediate {@link ChannelBuffer}.
+     * The array is the only copy made of the frame and is handed over to the message handlers.
+     *
+     * @return null if the payload has not been fully received yet
+     */
+    public static byte[] readPayloadBytes(ChannelBuffer buffer) {
+        if (buffer.readableBytes() < 4) {
+            buffer.resetReaderIndex();
+            return null;
+        }
+
+        final int payloadLength = buffer.readInt();
+        if (payloadLength <= 0) {
+            return EMPTY_PAYLOAD;
+        }
+
+        if (buffer.readableBytes() < payloadLength) {
+            buffer.resetReaderIndex();
+            return null;
+        }
+        final byte[] payload = new byte[payloadLength];
+        buffer.readBytes(payload);
+        return payload;
+    }
+
 
     public static ChannelBuffer appendPayload(final ChannelBuffer header, final byte[] payload) {
         if (payload == null) {
@@ -73,11 +73,11 @@ public class RequestPacket extends BasicPacket {
         }
 
         final int messageId = buffer.readInt();
-        final ChannelBuffer payload = PayloadPacket.readPayload(buffer);
+        final byte[] payload = PayloadPacket.readPayloadBytes(buffer);
         if (payload == null) {
             return null;
         }
-        final RequestPacket requestPacket = new RequestPacket(payload.array());
+        final RequestPacket requestPacket = new RequestPacket(payload);
         requestPacket.setRequestId(messageId);
         return requestPacket;
     }
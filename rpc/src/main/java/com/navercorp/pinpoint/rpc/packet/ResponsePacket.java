@@ -70,11 +70,11 @@ public class ResponsePacket extends BasicPacket {
         }
 
         final int messageId = buffer.readInt();
-        ChannelBuffer payload = PayloadPacket.readPayload(buffer);
+        byte[] payload = PayloadPacket.readPayloadBytes(buffer);
         if (payload == null) {
             return null;
         }
-        ResponsePacket responsePacket = new ResponsePacket(payload.array());
+        ResponsePacket responsePacket = new ResponsePacket(payload);
         responsePacket.setRequestId(messageId);
 
         return responsePacket;
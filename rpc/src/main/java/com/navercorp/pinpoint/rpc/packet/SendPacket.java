@@ -54,11 +54,11 @@ public class SendPacket extends BasicPacket {
             return null;
         }
 
-        ChannelBuffer payload = PayloadPacket.readPayload(buffer);
+        byte[] payload = PayloadPacket.readPayloadBytes(buffer);
         if (payload == null) {
             return null;
         }
-        return new SendPacket(payload.array());
+        return new SendPacket(payload);
     }
 
     @Override
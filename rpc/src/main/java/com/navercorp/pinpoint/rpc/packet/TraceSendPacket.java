@@ -67,11 +67,11 @@ public class TraceSendPacket extends SendPacket {
         }
 
         final int traceId = buffer.readInt();
-        ChannelBuffer payload = PayloadPacket.readPayload(buffer);
+        byte[] payload = PayloadPacket.readPayloadBytes(buffer);
         if (payload == null) {
             return null;
         }
-        return new TraceSendPacket(traceId, payload.array());
+        return new TraceSendPacket(traceId, payload);
     }
 
     @Override
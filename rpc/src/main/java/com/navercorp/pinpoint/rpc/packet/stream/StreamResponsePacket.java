@@ -67,12 +67,12 @@ public class StreamResponsePacket extends BasicStreamPacket {
         }
 
         final int streamChannelId = buffer.readInt();
-        final ChannelBuffer payload = PayloadPacket.readPayload(buffer);
+        final byte[] payload = PayloadPacket.readPayloadBytes(buffer);
         if (payload == null) {
             return null;
         }
 
-        final StreamResponsePacket packet = new StreamResponsePacket(streamChannelId, payload.array());
+        final StreamResponsePacket packet = new StreamResponsePacket(streamChannelId, payload);
         return packet;
     }
 
@@ -16,6 +16,8 @@
 
 package com.navercorp.pinpoint.rpc.server;
 
+import com.navercorp.pinpoint.rpc.BatchChannelWriteFailListener;
+import com.navercorp.pinpoint.rpc.BatchMessageListener;
 import com.navercorp.pinpoint.rpc.ChannelWriteFailListenableFuture;
 import com.navercorp.pinpoint.rpc.Future;
 import com.navercorp.pinpoint.rpc.ResponseMessage;
@@ -181,6 +183,22 @@ public class DefaultPinpointServer implements PinpointServer {
         return messageFuture;
     }
 
+    @Override
+    public List<Future<ResponseMessage>> batchRequest(List<byte[]> payloads) {
+        AssertUtils.assertNotNull(payloads, "payloads may not be null.");
+        if (!isEnableDuplexCommunication()) {
+            throw new IllegalStateException("Request fail. Error: Illegal State. pinpointServer:" + toString());
+        }
+
+        List<RequestPacket> requestPackets = new ArrayList<RequestPacket>(payloads.size());
+        for (byte[] payload : payloads) {
+            requestPackets.add(new RequestPacket(payload));
+        }
+        List<ChannelWriteFailListenableFuture<ResponseMessage>> messageFutures = this.requestManager.register(requestPackets);
+        write0(new BatchRequestPacket(requestPackets), new BatchChannelWriteFailListener(messageFutures));
+        return new ArrayList<Future<ResponseMessage>>(messageFutures);
+    }
+
     @Override
     public void response(RequestPacket requestPacket, byte[] payload) {
         response(requestPacket.getRequestId(), payload);
@@ -295,6 +313,10 @@ public class DefaultPinpointServer implements PinpointServer {
                 handleResponse((ResponsePacket) message);
                 return;
             }
+            case PacketType.APPLICATION_BATCH_REQUEST: {
+                handleBatchRequest((BatchRequestPacket) message);
+                return;
+            }
             case PacketType.APPLICATION_STREAM_CREATE:
             case PacketType.APPLICATION_STREAM_CLOSE:
             case PacketType.APPLICATION_STREAM_CREATE_SUCCESS:
@@ -341,6 +363,16 @@ public class DefaultPinpointServer implements PinpointServer {
         messageListener.handleRequest(requestPacket, this);
     }
 
+    private void handleBatchRequest(BatchRequestPacket batchRequestPacket) {
+        if (messageListener instanceof BatchMessageListener) {
+            ((BatchMessageListener) messageListener).handleBatchRequest(batchRequestPacket, this);
+            return;
+        }
+        for (RequestPacket requestPacket : batchRequestPacket.getRequestPackets()) {
+            messageListener.handleRequest(requestPacket, this);
+        }
+    }
+
     private void handleResponse(ResponsePacket responsePacket) {
         this.requestManager.messageReceived(responsePacket, this);
     }
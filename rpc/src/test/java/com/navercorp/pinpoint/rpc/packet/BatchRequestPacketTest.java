@@ -0,0 +1,73 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.rpc.packet;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class BatchRequestPacketTest {
+
+    @Test
+    public void testToBuffer() throws Exception {
+        List<RequestPacket> requestPackets = new ArrayList<RequestPacket>();
+        requestPackets.add(new RequestPacket(1, new byte[]{1, 2, 3}));
+        requestPackets.add(new RequestPacket(2, new byte[0]));
+        requestPackets.add(new RequestPacket(3, new byte[]{4}));
+
+        ChannelBuffer buffer = new BatchRequestPacket(requestPackets).toBuffer();
+        BatchRequestPacket readPacket = read(buffer);
+
+        Assert.assertNotNull(readPacket);
+        Assert.assertEquals(3, readPacket.getRequestPackets().size());
+        for (int i = 0; i < requestPackets.size(); i++) {
+            RequestPacket expected = requestPackets.get(i);
+            RequestPacket actual = readPacket.getRequestPackets().get(i);
+            Assert.assertEquals(expected.getRequestId(), actual.getRequestId());
+            Assert.assertArrayEquals(expected.getPayload(), actual.getPayload());
+        }
+        Assert.assertEquals(0, buffer.readableBytes());
+    }
+
+    @Test
+    public void testPartialBuffer() throws Exception {
+        List<RequestPacket> requestPackets = new ArrayList<RequestPacket>();
+        requestPackets.add(new RequestPacket(1, new byte[]{1, 2, 3}));
+        requestPackets.add(new RequestPacket(2, new byte[]{4, 5}));
+
+        ChannelBuffer buffer = new BatchRequestPacket(requestPackets).toBuffer();
+        int length = buffer.readableBytes();
+
+        for (int partialLength = 2; partialLength < length; partialLength++) {
+            ChannelBuffer partial = ChannelBuffers.copiedBuffer(buffer.slice(0, partialLength));
+            Assert.assertNull(read(partial));
+            Assert.assertEquals("reader index must be reset", 0, partial.readerIndex());
+        }
+    }
+
+    private BatchRequestPacket read(ChannelBuffer buffer) {
+        buffer.markReaderIndex();
+        short packetType = buffer.readShort();
+        Assert.assertEquals(PacketType.APPLICATION_BATCH_REQUEST, packetType);
+        return BatchRequestPacket.readBuffer(packetType, buffer);
+    }
+}
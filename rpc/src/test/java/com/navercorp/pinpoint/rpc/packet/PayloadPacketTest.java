@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.rpc.packet;
+
+import org.jboss.netty.buffer.ChannelBuffer;
+import org.jboss.netty.buffer.ChannelBuffers;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class PayloadPacketTest {
+
+    @Test
+    public void testReadPayloadBytes() throws Exception {
+        byte[] payload = new byte[]{1, 2, 3, 4};
+        ChannelBuffer buffer = new SendPacket(payload).toBuffer();
+
+        buffer.markReaderIndex();
+        Assert.assertEquals(PacketType.APPLICATION_SEND, buffer.readShort());
+        byte[] readPayload = PayloadPacket.readPayloadBytes(buffer);
+
+        Assert.assertArrayEquals(payload, readPayload);
+        Assert.assertEquals(0, buffer.readableBytes());
+    }
+
+    @Test
+    public void testReadEmptyPayloadBytes() throws Exception {
+        ChannelBuffer buffer = new SendPacket(null).toBuffer();
+
+        buffer.markReaderIndex();
+        buffer.readShort();
+        Assert.assertEquals(0, PayloadPacket.readPayloadBytes(buffer).length);
+    }
+
+    @Test
+    public void testReadPartialPayloadBytes() throws Exception {
+        ChannelBuffer buffer = ChannelBuffers.copiedBuffer(new SendPacket(new byte[]{1, 2, 3, 4}).toBuffer());
+        ChannelBuffer partial = buffer.slice(0, buffer.readableBytes() - 1);
+
+        partial.markReaderIndex();
+        partial.readShort();
+        Assert.assertNull(PayloadPacket.readPayloadBytes(partial));
+        Assert.assertEquals(0, partial.readerIndex());
+    }
+}
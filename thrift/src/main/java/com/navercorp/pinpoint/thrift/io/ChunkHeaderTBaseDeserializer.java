@@ -35,11 +35,13 @@ public class ChunkHeaderTBaseDeserializer {
     private final TProtocol protocol;
     private final TMemoryInputTransport trans;
     private final TBaseLocator locator;
+    private final HeaderTBaseReader reader;
 
     ChunkHeaderTBaseDeserializer(TProtocolFactory protocolFactory, TBaseLocator locator) {
         this.trans = new TMemoryInputTransport();
         this.protocol = protocolFactory.getProtocol(trans);
         this.locator = locator;
+        this.reader = new HeaderTBaseReader(protocolFactory, locator);
     }
 
     public List<TBase<?, ?>> deserialize(byte[] bytes, int offset, int length) throws TException {
@@ -78,36 +80,14 @@ public class ChunkHeaderTBaseDeserializer {
             return null;
         }
 
-        final int validate = validate(header);
-
-        TBase<?, ?> base = locator.tBaseLookup(header.getType());
-        base.read(protocol);
-        return base;
-    }
-
-    private int validate(Header header) throws TException {
-        final byte signature = header.getSignature();
-        final int result = HeaderUtils.validateSignature(signature);
-        if (result == HeaderUtils.FAIL) {
-            throw new TException("Invalid Signature:" + header);
-        }
-        return result;
+        final int validate = HeaderTBaseReader.validate(header);
+        return reader.read(protocol, trans, header);
     }
 
     private Header readHeader() throws TException {
         if (trans.getBytesRemainingInBuffer() < Header.HEADER_SIZE) {
             return null;
         }
-
-        final byte signature = protocol.readByte();
-        final byte version = protocol.readByte();
-        final byte type1 = protocol.readByte();
-        final byte type2 = protocol.readByte();
-        final short type = bytesToShort(type1, type2);
-        return new Header(signature, version, type);
-    }
-
-    private short bytesToShort(final byte byte1, final byte byte2) {
-        return (short) (((byte1 & 0xff) << 8) | ((byte2 & 0xff)));
+        return HeaderTBaseReader.readHeader(protocol);
     }
 }
\ No newline at end of file
@@ -43,8 +43,10 @@ class DefaultTBaseLocator implements TBaseLocator {
     private static final short NETWORK_CHECK = 10;
     private static final Header NETWORK_CHECK_HEADER = createHeader(NETWORK_CHECK);
 
-    private static final short SPAN = 40;
+    static final short SPAN = 40;
     private static final Header SPAN_HEADER = createHeader(SPAN);
+    // span with span events compacted by SpanEventCodec
+    static final short ENCODED_SPAN = 41;
 
     private static final short AGENT_INFO = 50;
     private static final Header AGENT_INFO_HEADER = createHeader(AGENT_INFO);
@@ -54,8 +56,10 @@ class DefaultTBaseLocator implements TBaseLocator {
     private static final short AGENT_STAT_BATCH = 56;
     private static final Header AGENT_STAT_BATCH_HEADER = createHeader(AGENT_STAT_BATCH);
 
-    private static final short SPANCHUNK = 70;
+    static final short SPANCHUNK = 70;
     private static final Header SPANCHUNK_HEADER = createHeader(SPANCHUNK);
+    // span chunk with span events compacted by SpanEventCodec
+    static final short ENCODED_SPANCHUNK = 71;
 
     private static final short SPANEVENT = 80;
     private static final Header SPANEVENT_HEADER = createHeader(SPANEVENT);
@@ -79,6 +83,7 @@ class DefaultTBaseLocator implements TBaseLocator {
     public TBase<?, ?> tBaseLookup(short type) throws TException {
         switch (type) {
             case SPAN:
+            case ENCODED_SPAN:
                 return new TSpan();
             case AGENT_INFO:
                 return new TAgentInfo();
@@ -87,6 +92,7 @@ class DefaultTBaseLocator implements TBaseLocator {
             case AGENT_STAT_BATCH:
                 return new TAgentStatBatch();
             case SPANCHUNK:
+            case ENCODED_SPANCHUNK:
                 return new TSpanChunk();
             case SPANEVENT:
                 return new TSpanEvent();
@@ -193,7 +199,7 @@ class DefaultTBaseLocator implements TBaseLocator {
         return false;
     }
     
-    private static Header createHeader(short type) {
+    static Header createHeader(short type) {
         Header header = new Header();
         header.setType(type);
         return header;
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.thrift.io;
+
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.transport.TMemoryInputTransport;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflates serialized TBases (header included) and wraps them in a {@link #COMPRESSED_TYPE} header :
+ * <pre>
+ * header(type=COMPRESSED_TYPE) | i32 length | i32 compressed length | deflated header and TBase
+ * </pre>
+ * A Deflater/Inflater holds native memory until it is ended, so one is created and ended per call
+ * instead of being kept for the lifetime of the (de)serializer.
+ * Caution. not thread safe
+ */
+final class HeaderCompressor {
+
+    static final short COMPRESSED_TYPE = 410;
+
+    // header and lengths of the compressed payload, compressing has to save more than that
+    private static final int COMPRESSED_HEADER_SIZE = Header.HEADER_SIZE + 10;
+    private static final int MAX_LENGTH = 1024 * 1024 * 16;
+
+    private byte[] buffer = new byte[0];
+
+    /**
+     * @return the compressed length, see {@link #getBuffer()}. -1 if compressing does not make the data smaller
+     */
+    int compress(byte[] bytes, int offset, int length) {
+        final int maxCompressedLength = length - COMPRESSED_HEADER_SIZE;
+        if (maxCompressedLength <= 0) {
+            return -1;
+        }
+        if (buffer.length < maxCompressedLength) {
+            buffer = new byte[maxCompressedLength];
+        }
+        final Deflater deflater = new Deflater(Deflater.BEST_SPEED);
+        try {
+            deflater.setInput(bytes, offset, length);
+            deflater.finish();
+            int compressedLength = 0;
+            while (!deflater.finished()) {
+                if (compressedLength == maxCompressedLength) {
+                    return -1;
+                }
+                compressedLength += deflater.deflate(buffer, compressedLength, maxCompressedLength - compressedLength);
+            }
+            return compressedLength;
+        } finally {
+            deflater.end();
+        }
+    }
+
+    byte[] getBuffer() {
+        return buffer;
+    }
+
+    /**
+     * Reads the lengths written after a {@link #COMPRESSED_TYPE} header and inflates the compressed payload.
+     *
+     * @return the serialized header and TBase
+     */
+    byte[] decompress(TProtocol protocol, TMemoryInputTransport trans) throws TException {
+        final int length = protocol.readI32();
+        final int compressedLength = protocol.readI32();
+        if (length <= 0 || length > MAX_LENGTH) {
+            throw new TException("invalid length:" + length);
+        }
+        if (compressedLength <= 0 || compressedLength > trans.getBytesRemainingInBuffer()) {
+            throw new TException("invalid compressed length:" + compressedLength + ", remaining:" + trans.getBytesRemainingInBuffer());
+        }
+        final byte[] bytes = new byte[length];
+        final Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(trans.getBuffer(), trans.getBufferPosition(), compressedLength);
+            final int inflated = inflater.inflate(bytes);
+            if (inflated != length || !inflater.finished()) {
+                throw new TException("invalid compressed data. length:" + length + ", inflated:" + inflated);
+            }
+        } catch (DataFormatException e) {
+            throw new TException("invalid compressed data. " + e.getMessage(), e);
+        } finally {
+            inflater.end();
+        }
+        trans.consumeBuffer(compressedLength);
+        return bytes;
+    }
+}
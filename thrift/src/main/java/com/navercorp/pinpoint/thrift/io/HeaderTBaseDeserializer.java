@@ -36,7 +36,7 @@ public class HeaderTBaseDeserializer {
 
     private final TProtocol protocol;
     private final TMemoryInputTransport trans;
-    private final TBaseLocator locator;
+    private final HeaderTBaseReader reader;
 
     /**
      * Create a new TDeserializer. It will use the TProtocol specified by the
@@ -47,7 +47,7 @@ public class HeaderTBaseDeserializer {
     HeaderTBaseDeserializer(TProtocolFactory protocolFactory, TBaseLocator locator) {
         this.trans = new TMemoryInputTransport();
         this.protocol = protocolFactory.getProtocol(trans);
-        this.locator = locator;
+        this.reader = new HeaderTBaseReader(protocolFactory, locator);
     }
 
     /**
@@ -58,12 +58,10 @@ public class HeaderTBaseDeserializer {
     public TBase<?, ?> deserialize(byte[] bytes) throws TException {
         try {
             trans.reset(bytes);
-            Header header = readHeader();
-            final int validate = validate(header);
+            Header header = HeaderTBaseReader.readHeader(protocol);
+            final int validate = HeaderTBaseReader.validate(header);
             if (validate == HeaderUtils.OK) {
-                TBase<?, ?> base = locator.tBaseLookup(header.getType());
-                base.read(protocol);
-                return base;
+                return reader.read(protocol, trans, header);
             }
             throw new IllegalStateException("invalid validate " + validate);
         } finally {
@@ -78,11 +76,10 @@ public class HeaderTBaseDeserializer {
         trans.reset(buffer);
         try {
             while (trans.getBytesRemainingInBuffer() > 0) {
-                Header header = readHeader();
-                final int validate = validate(header);
+                Header header = HeaderTBaseReader.readHeader(protocol);
+                final int validate = HeaderTBaseReader.validate(header);
                 if (validate == HeaderUtils.OK) {
-                    TBase<?, ?> base = locator.tBaseLookup(header.getType());
-                    base.read(protocol);
+                    TBase<?, ?> base = reader.read(protocol, trans, header);
                     tBaseList.add(base);
                 } else {
                     throw new IllegalStateException("invalid validate " + validate);
@@ -99,28 +96,4 @@ public class HeaderTBaseDeserializer {
         return tBaseList;
     }
 
-    private int validate(Header header) throws TException {
-        final byte signature = header.getSignature();
-        final int result = HeaderUtils.validateSignature(signature);
-        if (result == HeaderUtils.FAIL) {
-            throw new TException("Invalid Signature:" + header);
-        }
-        return result;
-    }
-
-    private Header readHeader() throws TException {
-        final byte signature = protocol.readByte();
-        final byte version = protocol.readByte();
-        
-        // fixed size regardless protocol
-        final byte type1 = protocol.readByte();
-        final byte type2 = protocol.readByte();
-        final short type = bytesToShort(type1, type2);
-        return new Header(signature, version, type);
-    }
-
-    private short bytesToShort(final byte byte1, final byte byte2) {
-        return (short) (((byte1 & 0xff) << 8) | ((byte2 & 0xff)));
-    }
-
 }
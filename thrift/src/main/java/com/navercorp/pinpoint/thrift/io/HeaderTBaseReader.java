@@ -0,0 +1,113 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.thrift.io;
+
+import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TProtocol;
+import org.apache.thrift.protocol.TProtocolFactory;
+import org.apache.thrift.transport.TMemoryInputTransport;
+
+/**
+ * Reads the TBase following a {@link Header}, shared by {@link HeaderTBaseDeserializer} and {@link ChunkHeaderTBaseDeserializer}.
+ * Compressed TBases are inflated and encoded span events are decoded.
+ * Caution. not thread safe
+ */
+final class HeaderTBaseReader {
+
+    private final TBaseLocator locator;
+    private final TProtocolFactory protocolFactory;
+
+    private HeaderCompressor compressor;
+    private TMemoryInputTransport compressedTrans;
+    private TProtocol compressedProtocol;
+
+    HeaderTBaseReader(TProtocolFactory protocolFactory, TBaseLocator locator) {
+        if (protocolFactory == null) {
+            throw new NullPointerException("protocolFactory must not be null");
+        }
+        if (locator == null) {
+            throw new NullPointerException("locator must not be null");
+        }
+        this.protocolFactory = protocolFactory;
+        this.locator = locator;
+    }
+
+    /**
+     * @param trans transport of the protocol, compressed TBases are inflated from its buffer
+     */
+    TBase<?, ?> read(TProtocol protocol, TMemoryInputTransport trans, Header header) throws TException {
+        if (header.getType() == HeaderCompressor.COMPRESSED_TYPE) {
+            return readCompressed(protocol, trans);
+        }
+        return read(protocol, header);
+    }
+
+    private TBase<?, ?> read(TProtocol protocol, Header header) throws TException {
+        TBase<?, ?> base = locator.tBaseLookup(header.getType());
+        base.read(protocol);
+        if (SpanEventCodec.isEncoded(header)) {
+            SpanEventCodec.decode(base);
+        }
+        return base;
+    }
+
+    private TBase<?, ?> readCompressed(TProtocol protocol, TMemoryInputTransport trans) throws TException {
+        if (compressor == null) {
+            compressor = new HeaderCompressor();
+            compressedTrans = new TMemoryInputTransport();
+            compressedProtocol = protocolFactory.getProtocol(compressedTrans);
+        }
+        final byte[] bytes = compressor.decompress(protocol, trans);
+        compressedTrans.reset(bytes);
+        try {
+            final Header header = readHeader(compressedProtocol);
+            validate(header);
+            return read(compressedProtocol, header);
+        } finally {
+            compressedTrans.clear();
+            compressedProtocol.reset();
+        }
+    }
+
+    static int validate(Header header) throws TException {
+        final byte signature = header.getSignature();
+        final int result = HeaderUtils.validateSignature(signature);
+        if (result == HeaderUtils.FAIL) {
+            throw new TException("Invalid Signature:" + header);
+        }
+        if (header.getVersion() != Header.HEADER_VERSION) {
+            throw new TException("Unsupported version:" + header);
+        }
+        return result;
+    }
+
+    static Header readHeader(TProtocol protocol) throws TException {
+        final byte signature = protocol.readByte();
+        final byte version = protocol.readByte();
+
+        // fixed size regardless protocol
+        final byte type1 = protocol.readByte();
+        final byte type2 = protocol.readByte();
+        final short type = bytesToShort(type1, type2);
+        return new Header(signature, version, type);
+    }
+
+    private static short bytesToShort(final byte byte1, final byte byte2) {
+        return (short) (((byte1 & 0xff) << 8) | ((byte2 & 0xff)));
+    }
+}
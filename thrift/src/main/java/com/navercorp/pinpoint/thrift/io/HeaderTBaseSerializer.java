@@ -34,18 +34,31 @@ public class HeaderTBaseSerializer {
 
     private static final String UTF8 = "UTF8";
 
+    private static final Header COMPRESSED_HEADER = new Header(Header.SIGNATURE, Header.HEADER_VERSION, HeaderCompressor.COMPRESSED_TYPE);
+
     private final ResettableByteArrayOutputStream baos;
     private final TProtocol protocol;
     private final TBaseLocator locator;
+    private final int compressThreshold;
+    private final HeaderCompressor compressor;
 
     /**
      * Create a new HeaderTBaseSerializer. 
      */
     HeaderTBaseSerializer(ResettableByteArrayOutputStream bos, TProtocolFactory protocolFactory, TBaseLocator locator) {
+        this(bos, protocolFactory, locator, HeaderTBaseSerializerFactory.DISABLED_COMPRESS_THRESHOLD);
+    }
+
+    /**
+     * @param compressThreshold serialized TBases of at least this many bytes are deflated, disabled if negative
+     */
+    HeaderTBaseSerializer(ResettableByteArrayOutputStream bos, TProtocolFactory protocolFactory, TBaseLocator locator, int compressThreshold) {
         this.baos = bos;
         TIOStreamTransport transport = new TIOStreamTransport(bos);
         this.protocol = protocolFactory.getProtocol(transport);
         this.locator = locator;
+        this.compressThreshold = compressThreshold;
+        this.compressor = compressThreshold < 0 ? null : new HeaderCompressor();
     }
 
     /**
@@ -60,14 +73,17 @@ public class HeaderTBaseSerializer {
         final Header header = locator.headerLookup(base);
         baos.reset();
         writeHeader(header);
-        base.write(protocol);
+        write(header, base);
+        compress(0);
         return baos.toByteArray();
     }
     
     public byte[] continueSerialize(TBase<?, ?> base) throws TException {
         final Header header = locator.headerLookup(base);
+        final int startIndex = baos.size();
         writeHeader(header);
-        base.write(protocol);
+        write(header, base);
+        compress(startIndex);
         return baos.toByteArray();
     }
     
@@ -83,6 +99,38 @@ public class HeaderTBaseSerializer {
         return baos.size();
     }
 
+    private void write(Header header, TBase<?, ?> base) throws TException {
+        if (!SpanEventCodec.isEncoded(header)) {
+            base.write(protocol);
+            return;
+        }
+        SpanEventCodec.encode(base);
+        try {
+            base.write(protocol);
+        } finally {
+            SpanEventCodec.decode(base);
+        }
+    }
+
+    private void compress(int startIndex) throws TException {
+        if (compressor == null) {
+            return;
+        }
+        final int length = baos.size() - startIndex;
+        if (length < compressThreshold) {
+            return;
+        }
+        final int compressedLength = compressor.compress(baos.toByteArray(), startIndex, length);
+        if (compressedLength == -1) {
+            return;
+        }
+        baos.reset(startIndex);
+        writeHeader(COMPRESSED_HEADER);
+        protocol.writeI32(length);
+        protocol.writeI32(compressedLength);
+        baos.write(compressor.getBuffer(), 0, compressedLength);
+    }
+
     private void writeHeader(Header header) throws TException {
         protocol.writeByte(header.getSignature());
         protocol.writeByte(header.getVersion());
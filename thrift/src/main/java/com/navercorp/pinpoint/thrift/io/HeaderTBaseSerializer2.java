@@ -49,12 +49,25 @@ public class HeaderTBaseSerializer2 {
         try {
             final Header header = tBaseLocator.headerLookup(base);
             writeHeader(header);
-            base.write(protocol);
+            write(header, base);
         } finally {
             tOutputStreamTransport.close();
         }
     }
 
+    private void write(Header header, TBase<?, ?> base) throws TException {
+        if (!SpanEventCodec.isEncoded(header)) {
+            base.write(protocol);
+            return;
+        }
+        SpanEventCodec.encode(base);
+        try {
+            base.write(protocol);
+        } finally {
+            SpanEventCodec.decode(base);
+        }
+    }
+
     private void writeHeader(Header header) throws TException {
         protocol.writeByte(header.getSignature());
         protocol.writeByte(header.getVersion());
@@ -29,6 +29,9 @@ public final class HeaderTBaseSerializerFactory implements SerializerFactory<Hea
     public static final int DEFAULT_STREAM_SIZE = 1024 * 8;
     public static final int DEFAULT_UDP_STREAM_MAX_SIZE = 1024 * 64;
     private static final boolean DEFAULT_AUTO_EXPAND = true;
+    public static final int UNLIMITED_STREAM_MAX_SIZE = Integer.MAX_VALUE;
+
+    public static final int DISABLED_COMPRESS_THRESHOLD = -1;
 
     private static final TBaseLocator DEFAULT_TBASE_LOCATOR = new DefaultTBaseLocator();
     private static final TProtocolFactory DEFAULT_PROTOCOL_FACTORY = new TCompactProtocol.Factory();
@@ -38,8 +41,10 @@ public final class HeaderTBaseSerializerFactory implements SerializerFactory<Hea
     private final boolean safetyGuaranteed;
     private final int outputStreamSize;
     private final boolean autoExpand;
+    private final int maxOutputStreamSize;
     private final TProtocolFactory protocolFactory;
     private final TBaseLocator locator;
+    private final int compressThreshold;
 
     public HeaderTBaseSerializerFactory() {
         this(DEFAULT_SAFE_GUARANTEED);
@@ -62,11 +67,28 @@ public final class HeaderTBaseSerializerFactory implements SerializerFactory<Hea
     }
     
     public HeaderTBaseSerializerFactory(boolean safetyGuaranteed, int outputStreamSize, boolean autoExpand, TProtocolFactory protocolFactory, TBaseLocator locator) {
+        this(safetyGuaranteed, outputStreamSize, autoExpand, protocolFactory, locator, DISABLED_COMPRESS_THRESHOLD);
+    }
+
+    /**
+     * @param compressThreshold serialized TBases of at least this many bytes are deflated, {@link #DISABLED_COMPRESS_THRESHOLD} to never compress
+     */
+    public HeaderTBaseSerializerFactory(boolean safetyGuaranteed, int outputStreamSize, boolean autoExpand, TProtocolFactory protocolFactory, TBaseLocator locator, int compressThreshold) {
+        this(safetyGuaranteed, outputStreamSize, autoExpand, UNLIMITED_STREAM_MAX_SIZE, protocolFactory, locator, compressThreshold);
+    }
+
+    /**
+     * @param maxOutputStreamSize size the output stream may expand up to when autoExpand is set
+     * @param compressThreshold serialized TBases of at least this many bytes are deflated, {@link #DISABLED_COMPRESS_THRESHOLD} to never compress
+     */
+    public HeaderTBaseSerializerFactory(boolean safetyGuaranteed, int outputStreamSize, boolean autoExpand, int maxOutputStreamSize, TProtocolFactory protocolFactory, TBaseLocator locator, int compressThreshold) {
         this.safetyGuaranteed = safetyGuaranteed;
         this.outputStreamSize = outputStreamSize;
         this.autoExpand = autoExpand;
+        this.maxOutputStreamSize = maxOutputStreamSize;
         this.protocolFactory = protocolFactory;
         this.locator = locator;
+        this.compressThreshold = compressThreshold;
     }
 
     public boolean isSafetyGuaranteed() {
@@ -77,6 +99,10 @@ public final class HeaderTBaseSerializerFactory implements SerializerFactory<Hea
         return outputStreamSize;
     }
 
+    public int getMaxOutputStreamSize() {
+        return maxOutputStreamSize;
+    }
+
     public TProtocolFactory getProtocolFactory() {
         return protocolFactory;
     }
@@ -85,16 +111,20 @@ public final class HeaderTBaseSerializerFactory implements SerializerFactory<Hea
         return locator;
     }
 
+    public int getCompressThreshold() {
+        return compressThreshold;
+    }
+
     @Override
     public HeaderTBaseSerializer createSerializer() {
         ResettableByteArrayOutputStream baos = null;
         if (safetyGuaranteed) {
-            baos = new PinpointByteArrayOutputStream(outputStreamSize, autoExpand);
+            baos = new PinpointByteArrayOutputStream(outputStreamSize, autoExpand, maxOutputStreamSize);
         } else {
-            baos = new UnsafeByteArrayOutputStream(outputStreamSize, autoExpand);
+            baos = new UnsafeByteArrayOutputStream(outputStreamSize, autoExpand, maxOutputStreamSize);
         }
 
-        return new HeaderTBaseSerializer(baos, protocolFactory, locator);
+        return new HeaderTBaseSerializer(baos, protocolFactory, locator, compressThreshold);
     }
 
 }
@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.thrift.io;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.Arrays;
 
 /**
  * 
@@ -26,6 +27,7 @@ import java.io.OutputStream;
 public class PinpointByteArrayOutputStream extends ResettableByteArrayOutputStream {
 
     private final boolean autoExpand;
+    private final int maxSize;
     
     /**
      * Creates a new byte array output stream. The buffer capacity is
@@ -47,8 +49,19 @@ public class PinpointByteArrayOutputStream extends ResettableByteArrayOutputStre
     }
     
     public PinpointByteArrayOutputStream(int size, boolean autoExpand) {
+        this(size, autoExpand, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxSize size the buffer may expand up to when autoExpand is set
+     */
+    public PinpointByteArrayOutputStream(int size, boolean autoExpand, int maxSize) {
         super(size);
+        if (maxSize < size) {
+            throw new IllegalArgumentException("maxSize must not be smaller than size");
+        }
         this.autoExpand = autoExpand;
+        this.maxSize = maxSize;
     }
 
 //    new BufferOverflowException("The buffer cannot hold more than " + maxElements + " objects.");
@@ -61,6 +74,7 @@ public class PinpointByteArrayOutputStream extends ResettableByteArrayOutputStre
      */
     public synchronized void write(int b) {
         if (autoExpand) {
+            ensureCapacity(count + 1, 1);
             super.write(b);
         } else {
             boolean isOverflow = isOverflow(count + 1);
@@ -84,6 +98,9 @@ public class PinpointByteArrayOutputStream extends ResettableByteArrayOutputStre
      */
     public synchronized void write(byte b[], int off, int len) {
         if (autoExpand) {
+            if (len > 0) {
+                ensureCapacity(count + len, len);
+            }
             super.write(b, off, len);
         } else {
             if ((off < 0) || (off > b.length) || (len < 0) ||
@@ -120,5 +137,15 @@ public class PinpointByteArrayOutputStream extends ResettableByteArrayOutputStre
         }
         return false;
     }
+
+    private void ensureCapacity(int newcount, int len) {
+        if (!isOverflow(newcount)) {
+            return;
+        }
+        if (newcount > maxSize || newcount < 0) {
+            throw new BufferOverflowException("Buffer size cannot expand over " + maxSize + ". (now:" + count + ", input-size:" + len);
+        }
+        buf = Arrays.copyOf(buf, (int) Math.min(Math.max((long) buf.length << 1, newcount), maxSize));
+    }
     
 }
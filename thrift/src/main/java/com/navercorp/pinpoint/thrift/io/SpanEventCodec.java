@@ -0,0 +1,242 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.thrift.io;
+
+import com.navercorp.pinpoint.thrift.dto.TAnnotation;
+import com.navercorp.pinpoint.thrift.dto.TAnnotationValue;
+import com.navercorp.pinpoint.thrift.dto.TSpan;
+import com.navercorp.pinpoint.thrift.dto.TSpanChunk;
+import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
+import org.apache.thrift.TBase;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compacts the span events of a {@link TSpan} or {@link TSpanChunk} in place, before they are written with the
+ * compact protocol, and restores them after they are read.
+ * <ul>
+ *     <li>sequence and startElapsed are written as the difference with the previous span event</li>
+ *     <li>depth, endPoint, destinationId and rpc are left unset when equal to the value of the previous span event</li>
+ *     <li>strings seen earlier in the span event list (string annotation values included) are written as a
+ *     reference to a dictionary built while reading the list</li>
+ * </ul>
+ * Payloads compacted this way are written under the encoded span and span chunk types of their {@link Header}.
+ * Span events must be read back as a whole, in the order they were written.
+ */
+public final class SpanEventCodec {
+
+    private static final short ENCODED_SPAN = DefaultTBaseLocator.ENCODED_SPAN;
+    private static final short ENCODED_SPANCHUNK = DefaultTBaseLocator.ENCODED_SPANCHUNK;
+
+    private static final char MARK = '\u0000';
+    private static final char ESCAPE = '\uFFFF';
+    private static final String NULL_STRING = String.valueOf(MARK);
+
+    // shorter strings are not worth a reference
+    private static final int MIN_DICTIONARY_STRING_LENGTH = 3;
+    // references must not be surrogate chars, they do not survive utf-8 encoding
+    private static final int MAX_DICTIONARY_SIZE = Character.MIN_SURROGATE;
+
+    private static final int DEFAULT_DEPTH = -1;
+
+    private SpanEventCodec() {
+    }
+
+    public static boolean isEncoded(Header header) {
+        if (header == null) {
+            throw new NullPointerException("header must not be null");
+        }
+        final short type = header.getType();
+        return type == ENCODED_SPAN || type == ENCODED_SPANCHUNK;
+    }
+
+    public static void encode(TBase<?, ?> base) {
+        final List<TSpanEvent> spanEventList = getSpanEventList(base);
+        if (spanEventList == null || spanEventList.isEmpty()) {
+            return;
+        }
+        final Map<String, Integer> dictionary = new HashMap<String, Integer>();
+        short prevSequence = 0;
+        int prevStartElapsed = 0;
+        int prevDepth = DEFAULT_DEPTH;
+        String prevEndPoint = null;
+        String prevDestinationId = null;
+        String prevRpc = null;
+        for (TSpanEvent spanEvent : spanEventList) {
+            final short sequence = spanEvent.getSequence();
+            spanEvent.setSequence((short) (sequence - prevSequence));
+            prevSequence = sequence;
+
+            final int startElapsed = spanEvent.getStartElapsed();
+            spanEvent.setStartElapsed(startElapsed - prevStartElapsed);
+            prevStartElapsed = startElapsed;
+
+            final int depth = spanEvent.isSetDepth() ? spanEvent.getDepth() : DEFAULT_DEPTH;
+            if (depth == prevDepth) {
+                spanEvent.unsetDepth();
+            } else {
+                spanEvent.setDepth(depth);
+            }
+            prevDepth = depth;
+
+            final String endPoint = spanEvent.getEndPoint();
+            spanEvent.setEndPoint(encodeString(endPoint, prevEndPoint, dictionary));
+            prevEndPoint = endPoint;
+
+            final String destinationId = spanEvent.getDestinationId();
+            spanEvent.setDestinationId(encodeString(destinationId, prevDestinationId, dictionary));
+            prevDestinationId = destinationId;
+
+            final String rpc = spanEvent.getRpc();
+            spanEvent.setRpc(encodeString(rpc, prevRpc, dictionary));
+            prevRpc = rpc;
+
+            final List<TAnnotation> annotations = spanEvent.getAnnotations();
+            if (annotations != null) {
+                for (TAnnotation annotation : annotations) {
+                    final TAnnotationValue value = annotation.getValue();
+                    if (value != null && value.isSetStringValue()) {
+                        value.setStringValue(encodeString(value.getStringValue(), dictionary));
+                    }
+                }
+            }
+        }
+    }
+
+    private static String encodeString(String value, String prevValue, Map<String, Integer> dictionary) {
+        if (value == null) {
+            // unset means the previous value, null has to be written explicitly
+            return prevValue == null ? null : NULL_STRING;
+        }
+        if (value.equals(prevValue)) {
+            return null;
+        }
+        return encodeString(value, dictionary);
+    }
+
+    private static String encodeString(String value, Map<String, Integer> dictionary) {
+        final Integer index = dictionary.get(value);
+        if (index != null) {
+            return new String(new char[] {MARK, (char) index.intValue()});
+        }
+        addToDictionary(value, dictionary);
+        if (!value.isEmpty() && value.charAt(0) == MARK) {
+            return MARK + String.valueOf(ESCAPE) + value;
+        }
+        return value;
+    }
+
+    private static void addToDictionary(String value, Map<String, Integer> dictionary) {
+        final int size = dictionary.size();
+        if (value.length() >= MIN_DICTIONARY_STRING_LENGTH && size < MAX_DICTIONARY_SIZE) {
+            dictionary.put(value, size);
+        }
+    }
+
+    public static void decode(TBase<?, ?> base) {
+        final List<TSpanEvent> spanEventList = getSpanEventList(base);
+        if (spanEventList == null || spanEventList.isEmpty()) {
+            return;
+        }
+        final List<String> dictionary = new ArrayList<String>();
+        short prevSequence = 0;
+        int prevStartElapsed = 0;
+        int prevDepth = DEFAULT_DEPTH;
+        String prevEndPoint = null;
+        String prevDestinationId = null;
+        String prevRpc = null;
+        for (TSpanEvent spanEvent : spanEventList) {
+            final short sequence = (short) (prevSequence + spanEvent.getSequence());
+            spanEvent.setSequence(sequence);
+            prevSequence = sequence;
+
+            final int startElapsed = prevStartElapsed + spanEvent.getStartElapsed();
+            spanEvent.setStartElapsed(startElapsed);
+            prevStartElapsed = startElapsed;
+
+            final int depth = spanEvent.isSetDepth() ? spanEvent.getDepth() : prevDepth;
+            if (depth == DEFAULT_DEPTH) {
+                spanEvent.unsetDepth();
+            } else {
+                spanEvent.setDepth(depth);
+            }
+            prevDepth = depth;
+
+            final String endPoint = decodeString(spanEvent.getEndPoint(), prevEndPoint, dictionary);
+            spanEvent.setEndPoint(endPoint);
+            prevEndPoint = endPoint;
+
+            final String destinationId = decodeString(spanEvent.getDestinationId(), prevDestinationId, dictionary);
+            spanEvent.setDestinationId(destinationId);
+            prevDestinationId = destinationId;
+
+            final String rpc = decodeString(spanEvent.getRpc(), prevRpc, dictionary);
+            spanEvent.setRpc(rpc);
+            prevRpc = rpc;
+
+            final List<TAnnotation> annotations = spanEvent.getAnnotations();
+            if (annotations != null) {
+                for (TAnnotation annotation : annotations) {
+                    final TAnnotationValue value = annotation.getValue();
+                    if (value != null && value.isSetStringValue()) {
+                        value.setStringValue(decodeString(value.getStringValue(), dictionary));
+                    }
+                }
+            }
+        }
+    }
+
+    private static String decodeString(String value, String prevValue, List<String> dictionary) {
+        if (value == null) {
+            return prevValue;
+        }
+        if (NULL_STRING.equals(value)) {
+            return null;
+        }
+        return decodeString(value, dictionary);
+    }
+
+    private static String decodeString(String value, List<String> dictionary) {
+        if (value.length() >= 2 && value.charAt(0) == MARK) {
+            final char index = value.charAt(1);
+            if (index != ESCAPE) {
+                if (value.length() != 2 || index >= dictionary.size()) {
+                    throw new IllegalStateException("invalid dictionary reference. index:" + (int) index + ", dictionary size:" + dictionary.size());
+                }
+                return dictionary.get(index);
+            }
+            value = value.substring(2);
+        }
+        if (value.length() >= MIN_DICTIONARY_STRING_LENGTH && dictionary.size() < MAX_DICTIONARY_SIZE) {
+            dictionary.add(value);
+        }
+        return value;
+    }
+
+    private static List<TSpanEvent> getSpanEventList(TBase<?, ?> base) {
+        if (base instanceof TSpan) {
+            return ((TSpan) base).getSpanEventList();
+        }
+        if (base instanceof TSpanChunk) {
+            return ((TSpanChunk) base).getSpanEventList();
+        }
+        return null;
+    }
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.thrift.io;
+
+import com.navercorp.pinpoint.thrift.dto.TSpan;
+import com.navercorp.pinpoint.thrift.dto.TSpanChunk;
+import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
+
+/**
+ * Writes spans and span chunks under their own header types so that serializers compact their span events.
+ * Collectors older than the codec do not know these types and drop the packets instead of misreading them.
+ */
+public class SpanEventCodecTBaseLocator extends DefaultTBaseLocator {
+
+    private static final Header SPAN_HEADER = createHeader(ENCODED_SPAN);
+    private static final Header SPANCHUNK_HEADER = createHeader(ENCODED_SPANCHUNK);
+
+    @Override
+    public Header headerLookup(TBase<?, ?> tbase) throws TException {
+        if (tbase instanceof TSpan) {
+            return SPAN_HEADER;
+        }
+        if (tbase instanceof TSpanChunk) {
+            return SPANCHUNK_HEADER;
+        }
+        return super.headerLookup(tbase);
+    }
+}
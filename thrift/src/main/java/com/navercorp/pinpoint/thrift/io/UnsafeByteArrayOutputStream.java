@@ -31,6 +31,7 @@ public class UnsafeByteArrayOutputStream extends ResettableByteArrayOutputStream
     private static final Charset UTF8_CHARSET = Charset.forName(UTF8);
 
 	private final boolean autoExpand;
+    private final int maxSize;
 
     /**
      * Creates a new byte array output stream. The buffer capacity is
@@ -52,8 +53,19 @@ public class UnsafeByteArrayOutputStream extends ResettableByteArrayOutputStream
     }
 
     public UnsafeByteArrayOutputStream(int size, boolean autoExpand) {
+        this(size, autoExpand, Integer.MAX_VALUE);
+    }
+
+    /**
+     * @param maxSize size the buffer may expand up to when autoExpand is set
+     */
+    public UnsafeByteArrayOutputStream(int size, boolean autoExpand, int maxSize) {
         super(size);
+        if (maxSize < size) {
+            throw new IllegalArgumentException("maxSize must not be smaller than size");
+        }
         this.autoExpand = autoExpand;
+        this.maxSize = maxSize;
     }
     
     /**
@@ -65,7 +77,7 @@ public class UnsafeByteArrayOutputStream extends ResettableByteArrayOutputStream
         int newcount = count + 1;
         if (isOverflow(newcount)) {
         	if (autoExpand) {
-        		buf = Arrays.copyOf(buf, Math.max(buf.length << 1, newcount));
+        		expand(newcount, 1);
         	} else {
         		throw new BufferOverflowException("Buffer size cannot exceed " + buf.length + ". (now:" + count + ", input-size:1");
         	}
@@ -94,7 +106,7 @@ public class UnsafeByteArrayOutputStream extends ResettableByteArrayOutputStream
         int newcount = count + len;
         if (isOverflow(newcount)) {
         	if (autoExpand) {
-        		buf = Arrays.copyOf(buf, Math.max(buf.length << 1, newcount));
+        		expand(newcount, len);
         	} else {
         		throw new BufferOverflowException("Buffer size cannot exceed " + buf.length + ". (now:" + count + ", input-size:" + len);
         	}
@@ -213,5 +225,12 @@ public class UnsafeByteArrayOutputStream extends ResettableByteArrayOutputStream
         }
         return false;
     }
+
+    private void expand(int newcount, int len) {
+        if (newcount > maxSize || newcount < 0) {
+            throw new BufferOverflowException("Buffer size cannot expand over " + maxSize + ". (now:" + count + ", input-size:" + len);
+        }
+        buf = Arrays.copyOf(buf, (int) Math.min(Math.max((long) buf.length << 1, newcount), maxSize));
+    }
 	
 }
@@ -26,6 +26,7 @@ import org.apache.thrift.protocol.TProtocolFactory;
 import org.junit.Test;
 
 import com.navercorp.pinpoint.thrift.dto.TSpanChunk;
+import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
 import com.navercorp.pinpoint.thrift.io.ChunkHeaderBufferedTBaseSerializer;
 import com.navercorp.pinpoint.thrift.io.ChunkHeaderTBaseDeserializer;
 import com.navercorp.pinpoint.thrift.io.DefaultTBaseLocator;
@@ -50,4 +51,26 @@ public class ChunkHeaderTBaseDeserializerTest {
         TSpanChunk result = (TSpanChunk) list.get(0);
         assertEquals(3, result.getSpanEventList().size());
     }
+
+    @Test
+    public void deserializeEncoded() throws Exception {
+        final ChunkHeaderTBaseDeserializer deserializer = new ChunkHeaderTBaseDeserializer(DEFAULT_PROTOCOL_FACTORY, DEFAULT_TBASE_LOCATOR);
+
+        HeaderTBaseSerializer serializer = new HeaderTBaseSerializerFactory(true, HeaderTBaseSerializerFactory.DEFAULT_STREAM_SIZE,
+                DEFAULT_PROTOCOL_FACTORY, new SpanEventCodecTBaseLocator()).createSerializer();
+        TSpanChunk chunk = new TSpanMockBuilder().buildChunk(3, 10);
+        short sequence = 0;
+        for (TSpanEvent spanEvent : chunk.getSpanEventList()) {
+            spanEvent.setSequence(sequence);
+            spanEvent.setStartElapsed(sequence * 10);
+            spanEvent.setEndPoint("localhost:3306");
+            sequence++;
+        }
+        TSpanChunk original = chunk.deepCopy();
+        byte[] bytes = serializer.serialize(chunk);
+
+        List<TBase<?, ?>> list = deserializer.deserialize(bytes, 0, bytes.length);
+        assertEquals(1, list.size());
+        assertEquals(original, list.get(0));
+    }
 }
\ No newline at end of file
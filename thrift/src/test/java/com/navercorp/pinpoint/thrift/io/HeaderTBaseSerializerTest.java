@@ -17,12 +17,16 @@
 package com.navercorp.pinpoint.thrift.io;
 
 import com.navercorp.pinpoint.thrift.dto.TAgentInfo;
+import com.navercorp.pinpoint.thrift.dto.TSpan;
+import com.navercorp.pinpoint.thrift.dto.TSpanChunk;
+import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
 import com.navercorp.pinpoint.thrift.io.Header;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializer;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseDeserializerFactory;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializer;
 import com.navercorp.pinpoint.thrift.io.HeaderTBaseSerializerFactory;
 
+import org.apache.thrift.TBase;
 import org.apache.thrift.TException;
 import org.junit.Assert;
 import org.junit.Test;
@@ -30,6 +34,8 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
 
 /**
  * @author emeroad
@@ -54,6 +60,67 @@ public class HeaderTBaseSerializerTest {
         test(serializer, deserializer);
     }
     
+    @Test
+    public void testCompress() throws Exception {
+        HeaderTBaseSerializer serializer = newCompressSerializer(false, 100);
+        HeaderTBaseDeserializer deserializer = new HeaderTBaseDeserializerFactory().createDeserializer();
+
+        TSpan span = new TSpanMockBuilder().build(10, 100);
+        byte[] serialize = serializer.serialize(span);
+        int size = new HeaderTBaseSerializerFactory().createSerializer().serialize(span).length;
+        logger.debug("size:{}, compressed size:{}", size, serialize.length);
+        Assert.assertTrue(serialize.length < size);
+
+        Assert.assertEquals(span, deserializer.deserialize(serialize));
+
+        // below the threshold
+        test(serializer, deserializer);
+    }
+
+    @Test
+    public void testCompress_continueSerialize() throws Exception {
+        HeaderTBaseSerializer serializer = newCompressSerializer(true, 100);
+        HeaderTBaseDeserializer deserializer = new HeaderTBaseDeserializerFactory().createDeserializer();
+
+        TSpanEvent spanEvent = new TSpanMockBuilder().buildEvent(1000);
+        TAgentInfo agentInfo = new TAgentInfo();
+        agentInfo.setAgentId("agentId");
+        agentInfo.setHostname("host");
+        TSpanChunk spanChunk = new TSpanMockBuilder().buildChunk(5, 100);
+
+        serializer.continueSerialize(spanEvent);
+        serializer.continueSerialize(agentInfo);
+        byte[] serialize = serializer.continueSerialize(spanChunk);
+        byte[] bytes = Arrays.copyOf(serialize, serializer.getInterBufferSize());
+
+        List<TBase<?, ?>> tBaseList = deserializer.deserializeList(bytes);
+        Assert.assertEquals(Arrays.<TBase<?, ?>>asList(spanEvent, agentInfo, spanChunk), tBaseList);
+    }
+
+    @Test
+    public void testCompress_chunk() throws Exception {
+        HeaderTBaseSerializer serializer = newCompressSerializer(false, 0);
+        ChunkHeaderTBaseDeserializer deserializer = new ChunkHeaderTBaseDeserializerFactory().createDeserializer();
+
+        TSpan span = new TSpanMockBuilder().build(10, 100);
+        byte[] serialize = serializer.serialize(span);
+        byte[] chunk = new byte[Header.HEADER_SIZE + serialize.length];
+        chunk[0] = Header.SIGNATURE;
+        chunk[1] = 0x10;
+        chunk[2] = BytesUtils.writeShort1((short) 400);
+        chunk[3] = BytesUtils.writeShort2((short) 400);
+        System.arraycopy(serialize, 0, chunk, Header.HEADER_SIZE, serialize.length);
+
+        List<TBase<?, ?>> tBaseList = deserializer.deserialize(chunk, 0, chunk.length);
+        Assert.assertEquals(Collections.<TBase<?, ?>>singletonList(span), tBaseList);
+    }
+
+    private HeaderTBaseSerializer newCompressSerializer(boolean safetyGuaranteed, int compressThreshold) {
+        HeaderTBaseSerializerFactory defaultFactory = HeaderTBaseSerializerFactory.DEFAULT_FACTORY;
+        return new HeaderTBaseSerializerFactory(safetyGuaranteed, HeaderTBaseSerializerFactory.DEFAULT_STREAM_SIZE, true,
+                defaultFactory.getProtocolFactory(), defaultFactory.getLocator(), compressThreshold).createSerializer();
+    }
+
     private void test(HeaderTBaseSerializer serializer, HeaderTBaseDeserializer deserializer) throws TException {
 
         Header header = new Header();
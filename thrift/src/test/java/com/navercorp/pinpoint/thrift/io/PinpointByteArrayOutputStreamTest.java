@@ -44,5 +44,20 @@ public class PinpointByteArrayOutputStreamTest {
 
         pbaos.write(TEST_STRING.getBytes());
     }
+
+    @Test
+    public void expandUpToMaxSize() throws IOException {
+        PinpointByteArrayOutputStream pbaos = new PinpointByteArrayOutputStream(8, true, 14);
+
+        pbaos.write(TEST_STRING.getBytes());
+        Assert.assertEquals(TEST_STRING, pbaos.toString());
+    }
+
+    @Test(expected = BufferOverflowException.class)
+    public void expandOverMaxSize() throws IOException {
+        PinpointByteArrayOutputStream pbaos = new PinpointByteArrayOutputStream(8, true, 13);
+
+        pbaos.write(TEST_STRING.getBytes());
+    }
     
 }
@@ -0,0 +1,144 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.thrift.io;
+
+import com.navercorp.pinpoint.thrift.dto.TAnnotation;
+import com.navercorp.pinpoint.thrift.dto.TAnnotationValue;
+import com.navercorp.pinpoint.thrift.dto.TSpan;
+import com.navercorp.pinpoint.thrift.dto.TSpanChunk;
+import com.navercorp.pinpoint.thrift.dto.TSpanEvent;
+import org.apache.thrift.TBase;
+import org.apache.thrift.TException;
+import org.apache.thrift.protocol.TCompactProtocol;
+import org.junit.Assert;
+import org.junit.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class SpanEventCodecTest {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final HeaderTBaseSerializer serializer = new HeaderTBaseSerializerFactory().createSerializer();
+    private final HeaderTBaseSerializer compactSerializer = new HeaderTBaseSerializerFactory(true, HeaderTBaseSerializerFactory.DEFAULT_STREAM_SIZE,
+            new TCompactProtocol.Factory(), new SpanEventCodecTBaseLocator()).createSerializer();
+    private final HeaderTBaseDeserializer deserializer = new HeaderTBaseDeserializerFactory().createDeserializer();
+
+    @Test
+    public void span() throws Exception {
+        TSpan span = new TSpanMockBuilder().build(0, 0);
+        span.setSpanEventList(createSpanEventList(50));
+        TSpan original = span.deepCopy();
+
+        byte[] bytes = compactSerializer.serialize(span);
+        // span events are restored once written
+        Assert.assertEquals(original, span);
+
+        TBase<?, ?> deserialized = deserializer.deserialize(bytes);
+        Assert.assertEquals(original, deserialized);
+
+        int size = serializer.serialize(span).length;
+        logger.debug("span size:{}, compact size:{}", size, bytes.length);
+        Assert.assertTrue(bytes.length < size);
+    }
+
+    @Test
+    public void spanChunk() throws Exception {
+        TSpanChunk spanChunk = new TSpanMockBuilder().buildChunk(0, 0);
+        spanChunk.setSpanEventList(createSpanEventList(20));
+        TSpanChunk original = spanChunk.deepCopy();
+
+        byte[] bytes = compactSerializer.serialize(spanChunk);
+        Assert.assertEquals(original, spanChunk);
+        Assert.assertEquals(original, deserializer.deserialize(bytes));
+    }
+
+    @Test
+    public void reservedStrings() throws Exception {
+        TSpanEvent first = createSpanEvent(0, 0, 0, "\u0000", "\u0000\u0001", null);
+        TSpanEvent second = createSpanEvent(1, 1, 1, null, "\u0000\u0001", "\u0000\u0001");
+        TSpanEvent third = createSpanEvent(2, 1, 1, "", "\u0000", "\u0000\u0001");
+        TSpan span = new TSpanMockBuilder().build(0, 0);
+        span.setSpanEventList(new ArrayList<TSpanEvent>(Arrays.asList(first, second, third)));
+        TSpan original = span.deepCopy();
+
+        Assert.assertEquals(original, deserializer.deserialize(compactSerializer.serialize(span)));
+    }
+
+    @Test
+    public void defaultVersion() throws Exception {
+        TSpan span = new TSpanMockBuilder().build(0, 0);
+        span.setSpanEventList(createSpanEventList(5));
+
+        Assert.assertEquals(span, deserializer.deserialize(serializer.serialize(span)));
+    }
+
+    @Test
+    public void encodedType() throws Exception {
+        TSpan span = new TSpanMockBuilder().build(0, 0);
+        span.setSpanEventList(createSpanEventList(5));
+
+        byte[] bytes = compactSerializer.serialize(span);
+        Assert.assertEquals(Header.HEADER_VERSION, bytes[1]);
+        Assert.assertEquals(DefaultTBaseLocator.ENCODED_SPAN, (short) (((bytes[2] & 0xff) << 8) | (bytes[3] & 0xff)));
+    }
+
+    @Test(expected = TException.class)
+    public void unsupportedVersion() throws Exception {
+        TSpan span = new TSpanMockBuilder().build(0, 0);
+        span.setSpanEventList(createSpanEventList(5));
+
+        byte[] bytes = serializer.serialize(span);
+        bytes[1] = Header.HEADER_VERSION + 1;
+        deserializer.deserialize(bytes);
+    }
+
+    private List<TSpanEvent> createSpanEventList(int size) {
+        final String[] endPoints = {"localhost:3306", "localhost:6379", null};
+        final List<TSpanEvent> spanEventList = new ArrayList<TSpanEvent>(size);
+        for (int i = 0; i < size; i++) {
+            String endPoint = endPoints[i % endPoints.length];
+            TSpanEvent spanEvent = createSpanEvent(i, i % 4, i * 3, endPoint, endPoint == null ? null : "MYSQL", "select * from member where id = ?");
+            spanEventList.add(spanEvent);
+        }
+        // events are added to spans as they end
+        Collections.reverse(spanEventList);
+        return spanEventList;
+    }
+
+    private TSpanEvent createSpanEvent(int sequence, int depth, int startElapsed, String endPoint, String destinationId, String annotationValue) {
+        TSpanEvent spanEvent = new TSpanEvent();
+        spanEvent.setSequence((short) sequence);
+        spanEvent.setDepth(depth);
+        spanEvent.setStartElapsed(startElapsed);
+        spanEvent.setEndElapsed(1);
+        spanEvent.setServiceType((short) 2101);
+        spanEvent.setEndPoint(endPoint);
+        spanEvent.setDestinationId(destinationId);
+        if (annotationValue != null) {
+            TAnnotation annotation = new TAnnotation(12);
+            annotation.setValue(TAnnotationValue.stringValue(annotationValue));
+            spanEvent.addToAnnotations(annotation);
+        }
+        return spanEvent;
+    }
+}
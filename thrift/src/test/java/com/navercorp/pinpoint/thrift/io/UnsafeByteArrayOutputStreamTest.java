@@ -52,5 +52,20 @@ public class UnsafeByteArrayOutputStreamTest {
 
         ubaos.write(TEST_STRING1.getBytes());
     }
+
+    @Test
+    public void expandUpToMaxSize() throws IOException {
+        UnsafeByteArrayOutputStream ubaos = new UnsafeByteArrayOutputStream(8, true, 14);
+
+        ubaos.write(TEST_STRING1.getBytes());
+        Assert.assertEquals(TEST_STRING1, ubaos.toString());
+    }
+
+    @Test (expected = BufferOverflowException.class)
+    public void expandOverMaxSize() throws IOException {
+        UnsafeByteArrayOutputStream ubaos = new UnsafeByteArrayOutputStream(8, true, 13);
+
+        ubaos.write(TEST_STRING1.getBytes());
+    }
     
 }
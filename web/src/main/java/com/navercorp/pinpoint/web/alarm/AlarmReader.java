@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.web.alarm;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedList;
 import java.util.List;
@@ -37,6 +38,10 @@ import com.navercorp.pinpoint.web.service.AlarmService;
 import com.navercorp.pinpoint.web.vo.Application;
 
 /**
+ * Creates the checkers of the partition's applications. Checkers of the same application and data category share a single
+ * {@link DataCollector}, and the collectors of all groups are run in parallel by the {@link DataCollectorExecutor} before the
+ * checkers are handed over to the processor.
+ *
  * @author minwoo.jung
  */
 public class AlarmReader implements ItemReader<AlarmChecker>, StepExecutionListener {
@@ -49,7 +54,10 @@ public class AlarmReader implements ItemReader<AlarmChecker>, StepExecutionListe
     
     @Autowired
     private AlarmService alarmService;
-    
+
+    @Autowired(required = false)
+    private DataCollectorExecutor dataCollectorExecutor;
+
     private final Queue<AlarmChecker> checkers = new LinkedList<>();
 
     public AlarmReader() {
@@ -60,6 +68,11 @@ public class AlarmReader implements ItemReader<AlarmChecker>, StepExecutionListe
         this.applicationIndexDao = applicationIndexDao;
         this.alarmService = alarmService;
     }
+
+    protected AlarmReader(DataCollectorFactory dataCollectorFactory, ApplicationIndexDao applicationIndexDao, AlarmService alarmService, DataCollectorExecutor dataCollectorExecutor) {
+        this(dataCollectorFactory, applicationIndexDao, alarmService);
+        this.dataCollectorExecutor = dataCollectorExecutor;
+    }
     
     public AlarmChecker read() {
         return checkers.poll();
@@ -81,14 +94,21 @@ public class AlarmReader implements ItemReader<AlarmChecker>, StepExecutionListe
         }
 
         
+        // all collectors of the partition share the same end time. closed time slots of map statistics and response times
+        // are served by the dao caches (TimeSlotCache), agent stats are always read from hbase.
+        long timeSlotEndTime = System.currentTimeMillis();
+        List<DataCollector> collectors = new ArrayList<>();
         for(int i = from; i < to; i++) {
-            addChecker(applicationList.get(i));
+            addChecker(applicationList.get(i), timeSlotEndTime, collectors);
+        }
+
+        if (dataCollectorExecutor != null) {
+            dataCollectorExecutor.collect(collectors);
         }
     }
 
-    private void addChecker(Application application) {
+    private void addChecker(Application application, long timeSlotEndTime, List<DataCollector> collectors) {
         List<Rule> rules = alarmService.selectRuleByApplicationId(application.getName());
-        long timeSlotEndTime = System.currentTimeMillis();
         Map<DataCollectorCategory, DataCollector> collectorMap = new HashMap<>();
         
         for (Rule rule : rules) {
@@ -98,6 +118,7 @@ public class AlarmReader implements ItemReader<AlarmChecker>, StepExecutionListe
             if(collector == null) {
                 collector = dataCollectorFactory.createDataCollector(checkerCategory, application, timeSlotEndTime);
                 collectorMap.put(collector.getDataCollectorCategory(), collector);
+                collectors.add(collector);
             }
             
             AlarmChecker checker = checkerCategory.createChecker(collector, rule);
@@ -0,0 +1,112 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.alarm;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import com.navercorp.pinpoint.web.alarm.collector.DataCollector;
+
+/**
+ * Collects the data of the alarm checker groups (one {@link DataCollector} per application and data category) on a work-stealing pool,
+ * so that checkers sharing a collector only evaluate the collected dataset instead of scanning hbase one application at a time.
+ */
+@Component
+public class DataCollectorExecutor {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Value("#{batchProps['batch.alarm.collector.parallelism'] ?: 0}")
+    private int parallelism;
+
+    private ForkJoinPool forkJoinPool;
+
+    public DataCollectorExecutor() {
+    }
+
+    DataCollectorExecutor(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (parallelism <= 0) {
+            parallelism = Runtime.getRuntime().availableProcessors();
+        }
+        logger.info("DataCollectorExecutor parallelism:{}", parallelism);
+        this.forkJoinPool = new ForkJoinPool(parallelism);
+    }
+
+    @PreDestroy
+    public void stop() {
+        final ForkJoinPool forkJoinPool = this.forkJoinPool;
+        if (forkJoinPool == null) {
+            return;
+        }
+        forkJoinPool.shutdown();
+        try {
+            forkJoinPool.awaitTermination(3000, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs {@link DataCollector#collect()} of every given collector and waits for all of them to finish.
+     * A collector that fails is only logged, its checkers collect again (and fail on their own) when they are evaluated.
+     */
+    public void collect(Collection<DataCollector> collectors) {
+        if (collectors == null) {
+            throw new NullPointerException("collectors must not be null");
+        }
+        if (forkJoinPool == null) {
+            throw new IllegalStateException("DataCollectorExecutor not started");
+        }
+
+        final List<ForkJoinTask<?>> tasks = new ArrayList<>(collectors.size());
+        for (final DataCollector collector : collectors) {
+            final ForkJoinTask<?> task = ForkJoinTask.adapt(new Runnable() {
+                @Override
+                public void run() {
+                    collector.collect();
+                }
+            });
+            tasks.add(forkJoinPool.submit(task));
+        }
+
+        for (ForkJoinTask<?> task : tasks) {
+            try {
+                task.join();
+            } catch (RuntimeException e) {
+                logger.warn("data collect failed. caused:{}", e.getMessage(), e);
+            }
+        }
+    }
+}
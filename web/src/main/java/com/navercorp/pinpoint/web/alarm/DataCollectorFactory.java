@@ -21,15 +21,19 @@ import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
 import com.navercorp.pinpoint.web.dao.stat.AgentStatDao;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
 import com.navercorp.pinpoint.web.alarm.collector.AgentStatDataCollector;
 import com.navercorp.pinpoint.web.alarm.collector.DataCollector;
 import com.navercorp.pinpoint.web.alarm.collector.MapStatisticsCallerDataCollector;
 import com.navercorp.pinpoint.web.alarm.collector.ResponseTimeDataCollector;
+import com.navercorp.pinpoint.web.alarm.collector.StreamAgentStatDataCollector;
+import com.navercorp.pinpoint.web.alarm.collector.StreamResponseTimeDataCollector;
 import com.navercorp.pinpoint.web.dao.hbase.HbaseApplicationIndexDao;
 import com.navercorp.pinpoint.web.dao.hbase.HbaseMapResponseTimeDao;
 import com.navercorp.pinpoint.web.dao.hbase.HbaseMapStatisticsCallerDao;
+import com.navercorp.pinpoint.web.service.AlarmStatService;
 import com.navercorp.pinpoint.web.vo.Application;
 
 /**
@@ -59,11 +63,24 @@ public class DataCollectorFactory {
     @Autowired
     private HbaseMapStatisticsCallerDao mapStatisticsCallerDao;
 
+    @Autowired
+    private AlarmStatService alarmStatService;
+
+    // response times and agent stats are reported by the collectors (collector.alarm.stream.enable) instead of read from hbase
+    @Value("#{batchProps['batch.alarm.stream.enable'] ?: false}")
+    private boolean streamEnable;
+
     public DataCollector createDataCollector(CheckerCategory checker, Application application, long timeSlotEndTime) {
         switch (checker.getDataCollectorCategory()) {
         case RESPONSE_TIME:
+            if (streamEnable) {
+                return new StreamResponseTimeDataCollector(DataCollectorCategory.RESPONSE_TIME, application, hbaseMapResponseTimeDao, alarmStatService, timeSlotEndTime, SLOT_INTERVAL_FIVE_MIN);
+            }
             return new ResponseTimeDataCollector(DataCollectorCategory.RESPONSE_TIME, application, hbaseMapResponseTimeDao, timeSlotEndTime, SLOT_INTERVAL_FIVE_MIN);
         case AGENT_STAT:
+            if (streamEnable) {
+                return new StreamAgentStatDataCollector(DataCollectorCategory.AGENT_STAT, application, jvmGcDao, cpuLoadDao, hbaseApplicationIndexDao, alarmStatService, timeSlotEndTime, SLOT_INTERVAL_FIVE_MIN);
+            }
             return new AgentStatDataCollector(DataCollectorCategory.AGENT_STAT, application, jvmGcDao, cpuLoadDao, hbaseApplicationIndexDao, timeSlotEndTime, SLOT_INTERVAL_FIVE_MIN);
         case CALLER_STAT:
             return new MapStatisticsCallerDataCollector(DataCollectorCategory.CALLER_STAT, application, mapStatisticsCallerDao, timeSlotEndTime, SLOT_INTERVAL_FIVE_MIN);
@@ -57,7 +57,7 @@ public class AgentStatDataCollector extends DataCollector {
     }
 
     @Override
-    public void collect() {
+    public synchronized void collect() {
         if (init.get()) {
             return;
         }
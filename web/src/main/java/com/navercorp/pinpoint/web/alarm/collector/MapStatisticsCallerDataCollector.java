@@ -51,7 +51,7 @@ public class MapStatisticsCallerDataCollector extends DataCollector {
     }
 
     @Override
-    public void collect() {
+    public synchronized void collect() {
         if (init.get()) {
             return;
         }
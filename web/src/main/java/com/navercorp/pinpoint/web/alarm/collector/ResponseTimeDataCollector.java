@@ -53,7 +53,7 @@ public class ResponseTimeDataCollector extends DataCollector {
     }
 
     @Override
-    public void collect() {
+    public synchronized void collect() {
         if (init.get()) {
             return;
         }
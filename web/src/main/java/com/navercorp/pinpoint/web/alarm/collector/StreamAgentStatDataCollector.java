@@ -0,0 +1,97 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.alarm.collector;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.navercorp.pinpoint.common.server.bo.alarm.AgentAlarmStatBo;
+import com.navercorp.pinpoint.common.server.bo.alarm.ApplicationAlarmStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
+import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
+import com.navercorp.pinpoint.web.alarm.DataCollectorFactory.DataCollectorCategory;
+import com.navercorp.pinpoint.web.dao.ApplicationIndexDao;
+import com.navercorp.pinpoint.web.dao.stat.AgentStatDao;
+import com.navercorp.pinpoint.web.service.AlarmStatService;
+import com.navercorp.pinpoint.web.vo.Application;
+
+/**
+ * {@link AgentStatDataCollector} reading the heap and jvm cpu usage reported by the collectors instead of hbase.
+ * The gc count needs the first and last sample of the slot, it is still read from hbase and only when a GC COUNT checker asks for it.
+ */
+public class StreamAgentStatDataCollector extends AgentStatDataCollector {
+
+    private final Application application;
+    private final AlarmStatService alarmStatService;
+    private final AtomicBoolean init = new AtomicBoolean(false);
+
+    private final Map<String, Long> agentHeapUsageRate = new HashMap<>();
+    private final Map<String, Long> agentJvmCpuUsageRate = new HashMap<>();
+
+    public StreamAgentStatDataCollector(DataCollectorCategory category, Application application, AgentStatDao<JvmGcBo> jvmGcDao, AgentStatDao<CpuLoadBo> cpuLoadDao, ApplicationIndexDao applicationIndexDao, AlarmStatService alarmStatService, long timeSlotEndTime, long slotInterval) {
+        super(category, application, jvmGcDao, cpuLoadDao, applicationIndexDao, timeSlotEndTime, slotInterval);
+        this.application = application;
+        this.alarmStatService = alarmStatService;
+    }
+
+    @Override
+    public synchronized void collect() {
+        if (init.get()) {
+            return;
+        }
+
+        ApplicationAlarmStatBo applicationStat = alarmStatService.selectApplicationAlarmStat(application.getName());
+        if (applicationStat != null) {
+            for (AgentAlarmStatBo agentStat : applicationStat.getAgentStats()) {
+                if (agentStat.getHeapMax() != 0) {
+                    agentHeapUsageRate.put(agentStat.getAgentId(), calculatePercent(agentStat.getHeapUsed(), agentStat.getHeapMax()));
+                }
+                if (agentStat.getJvmCpuLoadCount() != 0) {
+                    agentJvmCpuUsageRate.put(agentStat.getAgentId(), calculatePercent(agentStat.getJvmCpuLoad(), 100 * agentStat.getJvmCpuLoadCount()));
+                }
+            }
+        }
+
+        init.set(true);
+    }
+
+    private long calculatePercent(long used, long total) {
+        if (total == 0 || used == 0) {
+            return 0;
+        } else {
+            return (used * 100L) / total;
+        }
+    }
+
+    @Override
+    public Map<String, Long> getHeapUsageRate() {
+        return agentHeapUsageRate;
+    }
+
+    @Override
+    public Map<String, Long> getGCCount() {
+        super.collect();
+        return super.getGCCount();
+    }
+
+    @Override
+    public Map<String, Long> getJvmCpuUsageRate() {
+        return agentJvmCpuUsageRate;
+    }
+
+}
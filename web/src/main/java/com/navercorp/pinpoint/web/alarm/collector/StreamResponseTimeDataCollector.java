@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.alarm.collector;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import com.navercorp.pinpoint.common.server.bo.alarm.ApplicationAlarmStatBo;
+import com.navercorp.pinpoint.web.alarm.DataCollectorFactory.DataCollectorCategory;
+import com.navercorp.pinpoint.web.dao.MapResponseDao;
+import com.navercorp.pinpoint.web.service.AlarmStatService;
+import com.navercorp.pinpoint.web.vo.Application;
+
+/**
+ * {@link ResponseTimeDataCollector} reading the response counts reported by the collectors instead of hbase.
+ * The counts cover the window of the collectors' latest reports rather than the slot ending at <tt>timeSlotEndTime</tt>.
+ */
+public class StreamResponseTimeDataCollector extends ResponseTimeDataCollector {
+
+    private final Application application;
+    private final AlarmStatService alarmStatService;
+    private final AtomicBoolean init = new AtomicBoolean(false);
+
+    private long slowCount = 0;
+    private long errorCount = 0;
+    private long totalCount = 0;
+
+    public StreamResponseTimeDataCollector(DataCollectorCategory category, Application application, MapResponseDao responseDAO, AlarmStatService alarmStatService, long timeSlotEndTime, long slotInterval) {
+        super(category, application, responseDAO, timeSlotEndTime, slotInterval);
+        this.application = application;
+        this.alarmStatService = alarmStatService;
+    }
+
+    @Override
+    public synchronized void collect() {
+        if (init.get()) {
+            return;
+        }
+
+        ApplicationAlarmStatBo applicationStat = alarmStatService.selectApplicationAlarmStat(application.getName());
+        if (applicationStat != null) {
+            slowCount = applicationStat.getSlowCount();
+            errorCount = applicationStat.getErrorCount();
+            totalCount = applicationStat.getTotalCount();
+        }
+
+        init.set(true);
+    }
+
+    private long calculatePercent(long value) {
+        if (totalCount == 0 || value == 0) {
+            return 0;
+        } else {
+            return (value * 100L) / totalCount;
+        }
+    }
+
+    @Override
+    public long getSlowCount() {
+        return slowCount;
+    }
+
+    @Override
+    public long getErrorCount() {
+        return errorCount;
+    }
+
+    @Override
+    public long getTotalCount() {
+        return totalCount;
+    }
+
+    @Override
+    public long getSlowRate() {
+        return calculatePercent(slowCount);
+    }
+
+    @Override
+    public long getErrorRate() {
+        return calculatePercent(errorCount);
+    }
+
+}
@@ -16,6 +16,7 @@
 
 package com.navercorp.pinpoint.web.applicationmap.histogram;
 
+import com.navercorp.pinpoint.common.trace.HistogramSchema;
 import com.navercorp.pinpoint.common.trace.SlotType;
 import com.navercorp.pinpoint.web.applicationmap.rawdata.AgentHistogram;
 import com.navercorp.pinpoint.web.applicationmap.rawdata.AgentHistogramList;
@@ -88,25 +89,15 @@ public class AgentTimeHistogramBuilder {
         }
 
         // create window space. Prior to using a AgentHistogramList, we used a raw data structure.
-        // could've been a list, but since range overflow may occur when applying filters, we use a map instead.
-        // TODO: find better structure
+        // each agent accumulates into a primitive array per window slot, timestamps overflowing the range when applying filters are kept aside.
+        final HistogramSchema schema = application.getServiceType().getHistogramSchema();
         final AgentHistogramList resultAgentHistogramList = new AgentHistogramList();
         for (AgentHistogram agentHistogram : agentHistogramList.getAgentHistogramList()) {
-            List<TimeHistogram> timeHistogramList = new ArrayList<>();
-            for (Long time : window) {
-                timeHistogramList.add(new TimeHistogram(application.getServiceType(), time));
-            }
-            resultAgentHistogramList.addTimeHistogram(agentHistogram.getAgentId(), timeHistogramList);
-        }
-
-        for (AgentHistogram agentHistogram : agentHistogramList.getAgentHistogramList()) {
+            final TimeWindowHistogram windowHistogram = new TimeWindowHistogram(schema, window);
             for (TimeHistogram timeHistogram : agentHistogram.getTimeHistogram()) {
-                final Long time = window.refineTimestamp(timeHistogram.getTimeStamp());
-                Application agentId = agentHistogram.getAgentId();
-                TimeHistogram windowHistogram = new TimeHistogram(timeHistogram.getHistogramSchema(), time);
-                windowHistogram.add(timeHistogram);
-                resultAgentHistogramList.addTimeHistogram(agentId, windowHistogram);
+                windowHistogram.add(timeHistogram.getTimeStamp(), timeHistogram);
             }
+            resultAgentHistogramList.addTimeHistogram(agentHistogram.getAgentId(), windowHistogram.getTimeHistogramList());
         }
 
         return resultAgentHistogramList;
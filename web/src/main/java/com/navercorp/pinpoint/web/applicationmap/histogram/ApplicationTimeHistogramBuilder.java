@@ -57,81 +57,38 @@ public class ApplicationTimeHistogramBuilder {
             throw new NullPointerException("responseHistogramList must not be null");
         }
 
-        Map<Long, TimeHistogram> applicationLevelHistogram = new HashMap<>();
-
+        final TimeWindowHistogram windowHistogram = new TimeWindowHistogram(application.getServiceType().getHistogramSchema(), window);
         for (ResponseTime responseTime : responseHistogramList) {
-            final Long timeStamp = responseTime.getTimeStamp();
-            TimeHistogram timeHistogram = applicationLevelHistogram.get(timeStamp);
-            if (timeHistogram == null) {
-                timeHistogram = new TimeHistogram(application.getServiceType(), timeStamp);
-                applicationLevelHistogram.put(timeStamp, timeHistogram);
-            }
             // add each agent-level data
-            Histogram applicationResponseHistogram = responseTime.getApplicationResponseHistogram();
-            timeHistogram.add(applicationResponseHistogram);
-        }
-
-
-//        Collections.sort(histogramList, TimeHistogram.TIME_STAMP_ASC_COMPARATOR);
-        List<TimeHistogram> histogramList = interpolation(applicationLevelHistogram.values());
-        if (logger.isTraceEnabled()) {
-            for (TimeHistogram histogram : histogramList) {
-                logger.trace("applicationLevel histogram:{}", histogram);
+            final long timeStamp = responseTime.getTimeStamp();
+            for (TimeHistogram agentHistogram : responseTime.getAgentResponseHistogramList()) {
+                windowHistogram.add(timeStamp, agentHistogram);
             }
         }
-        ApplicationTimeHistogram applicationTimeHistogram = new ApplicationTimeHistogram(application, range, histogramList);
-        return applicationTimeHistogram;
+
+        return createApplicationTimeHistogram(windowHistogram);
     }
 
     public ApplicationTimeHistogram build(Collection<LinkCallData> linkCallDataMapList) {
-        Map<Long, TimeHistogram> applicationLevelHistogram = new HashMap<>();
+        final TimeWindowHistogram windowHistogram = new TimeWindowHistogram(application.getServiceType().getHistogramSchema(), window);
         for (LinkCallData linkCallData : linkCallDataMapList) {
             for (TimeHistogram timeHistogram : linkCallData.getTimeHistogram()) {
-                Long timeStamp = timeHistogram.getTimeStamp();
-                TimeHistogram histogram = applicationLevelHistogram.get(timeStamp);
-                if (histogram == null) {
-                    histogram = new TimeHistogram(timeHistogram.getHistogramSchema(), timeStamp);
-                    applicationLevelHistogram.put(timeStamp, histogram);
-                }
-                histogram.add(timeHistogram);
-            }
-        }
-
-        List<TimeHistogram> histogramList = interpolation(applicationLevelHistogram.values());
-        if (logger.isTraceEnabled()) {
-            for (TimeHistogram histogram : histogramList) {
-                logger.trace("applicationLevel histogram:{}", histogram);
+                windowHistogram.add(timeHistogram.getTimeStamp(), timeHistogram);
             }
         }
-        ApplicationTimeHistogram applicationTimeHistogram = new ApplicationTimeHistogram(application, range, histogramList);
-        return applicationTimeHistogram;
 
+        return createApplicationTimeHistogram(windowHistogram);
     }
 
-    private List<TimeHistogram> interpolation(Collection<TimeHistogram> histogramList) {
+    private ApplicationTimeHistogram createApplicationTimeHistogram(TimeWindowHistogram windowHistogram) {
         // upon individual span query, "window time" alone may not be enough
-        //
-        Map<Long, TimeHistogram> resultMap = new HashMap<>();
-        for (Long time : window) {
-            resultMap.put(time, new TimeHistogram(application.getServiceType(), time));
-        }
-
-
-        for (TimeHistogram timeHistogram : histogramList) {
-            long time = window.refineTimestamp(timeHistogram.getTimeStamp());
-
-            TimeHistogram windowHistogram = resultMap.get(time);
-            if (windowHistogram == null) {
-                windowHistogram = new TimeHistogram(application.getServiceType(), time);
-                resultMap.put(time, windowHistogram);
+        List<TimeHistogram> histogramList = windowHistogram.getTimeHistogramList();
+        if (logger.isTraceEnabled()) {
+            for (TimeHistogram histogram : histogramList) {
+                logger.trace("applicationLevel histogram:{}", histogram);
             }
-            windowHistogram.add(timeHistogram);
         }
-
-
-        List<TimeHistogram> resultList = new ArrayList<>(resultMap.values());
-        Collections.sort(resultList, TimeHistogram.TIME_STAMP_ASC_COMPARATOR);
-        return resultList;
+        return new ApplicationTimeHistogram(application, range, histogramList);
     }
 
 }
@@ -30,6 +30,11 @@ import com.fasterxml.jackson.databind.annotation.JsonSerialize;
 @JsonSerialize(using = HistogramSerializer.class)
 public class Histogram {
 
+    /**
+     * number of counters exchanged with primitive arrays by {@link #addCountsTo(long[], int)} and {@link #addCounts(long[], int)}
+     */
+    static final int SLOT_COUNT = 9;
+
     private final HistogramSchema schema;
 
     private long fastCount;
@@ -215,6 +220,36 @@ public class Histogram {
         this.verySlowErrorCount += histogram.getVerySlowErrorCount();
     }
 
+    /**
+     * adds the counters of this histogram to <tt>counts[offset]</tt> ~ <tt>counts[offset + SLOT_COUNT - 1]</tt>
+     */
+    void addCountsTo(final long[] counts, final int offset) {
+        counts[offset] += this.fastCount;
+        counts[offset + 1] += this.normalCount;
+        counts[offset + 2] += this.slowCount;
+        counts[offset + 3] += this.verySlowCount;
+        counts[offset + 4] += this.errorCount;
+        counts[offset + 5] += this.fastErrorCount;
+        counts[offset + 6] += this.normalErrorCount;
+        counts[offset + 7] += this.slowErrorCount;
+        counts[offset + 8] += this.verySlowErrorCount;
+    }
+
+    /**
+     * reverse of {@link #addCountsTo(long[], int)}
+     */
+    void addCounts(final long[] counts, final int offset) {
+        this.fastCount += counts[offset];
+        this.normalCount += counts[offset + 1];
+        this.slowCount += counts[offset + 2];
+        this.verySlowCount += counts[offset + 3];
+        this.errorCount += counts[offset + 4];
+        this.fastErrorCount += counts[offset + 5];
+        this.normalErrorCount += counts[offset + 6];
+        this.slowErrorCount += counts[offset + 7];
+        this.verySlowErrorCount += counts[offset + 8];
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) return true;
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.histogram;
+
+import com.navercorp.pinpoint.common.trace.HistogramSchema;
+import com.navercorp.pinpoint.web.util.TimeWindow;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Histograms of every slot of a {@link TimeWindow}, laid out in a single primitive array
+ * (window slot major, histogram counter minor) instead of a map of {@link TimeHistogram}s keyed by boxed timestamps.
+ * <p>
+ * Timestamps outside of the window are kept aside, as the range may overflow when applying filters.
+ */
+final class TimeWindowHistogram {
+
+    private final HistogramSchema schema;
+    private final TimeWindow window;
+    private final int windowCount;
+    private final long[] counts;
+
+    private Map<Long, TimeHistogram> overflowHistogramMap;
+
+    TimeWindowHistogram(HistogramSchema schema, TimeWindow window) {
+        if (schema == null) {
+            throw new NullPointerException("schema must not be null");
+        }
+        if (window == null) {
+            throw new NullPointerException("window must not be null");
+        }
+        final long windowCount = window.getWindowRangeCount();
+        if (windowCount * Histogram.SLOT_COUNT > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("window yields too many timeslots. windowCount:" + windowCount);
+        }
+        this.schema = schema;
+        this.window = window;
+        this.windowCount = (int) windowCount;
+        this.counts = new long[this.windowCount * Histogram.SLOT_COUNT];
+    }
+
+    void add(long timestamp, Histogram histogram) {
+        if (histogram == null) {
+            throw new NullPointerException("histogram must not be null");
+        }
+        if (this.schema != histogram.getHistogramSchema()) {
+            throw new IllegalArgumentException("schema not equals. this=" + schema + ", histogram=" + histogram);
+        }
+        final long time = window.refineTimestamp(timestamp);
+        final int windowIndex = getWindowIndex(time);
+        if (windowIndex == -1) {
+            getOverflowHistogram(time).add(histogram);
+            return;
+        }
+        histogram.addCountsTo(this.counts, windowIndex * Histogram.SLOT_COUNT);
+    }
+
+    private int getWindowIndex(long time) {
+        final long from = window.getWindowRange().getFrom();
+        final long to = window.getWindowRange().getTo();
+        if (time < from || time > to) {
+            return -1;
+        }
+        return window.getWindowIndex(time);
+    }
+
+    private TimeHistogram getOverflowHistogram(long time) {
+        if (overflowHistogramMap == null) {
+            overflowHistogramMap = new HashMap<>();
+        }
+        TimeHistogram histogram = overflowHistogramMap.get(time);
+        if (histogram == null) {
+            histogram = new TimeHistogram(schema, time);
+            overflowHistogramMap.put(time, histogram);
+        }
+        return histogram;
+    }
+
+    /**
+     * @return a histogram for every slot of the window (empty ones included) and for any overflowed timestamp, sorted by timestamp
+     */
+    List<TimeHistogram> getTimeHistogramList() {
+        final int overflowSize = overflowHistogramMap == null ? 0 : overflowHistogramMap.size();
+        final List<TimeHistogram> histogramList = new ArrayList<>(windowCount + overflowSize);
+
+        long time = window.getWindowRange().getFrom();
+        final long windowSlotSize = window.getWindowSlotSize();
+        for (int windowIndex = 0; windowIndex < windowCount; windowIndex++) {
+            final TimeHistogram histogram = new TimeHistogram(schema, time);
+            histogram.addCounts(this.counts, windowIndex * Histogram.SLOT_COUNT);
+            histogramList.add(histogram);
+            time += windowSlotSize;
+        }
+
+        if (overflowSize > 0) {
+            histogramList.addAll(overflowHistogramMap.values());
+            Collections.sort(histogramList, TimeHistogram.TIME_STAMP_ASC_COMPARATOR);
+        }
+        return histogramList;
+    }
+}
@@ -162,6 +162,16 @@ public class SpanAlign {
         }
     }
 
+    /**
+     * @return elapsed time in microseconds, -1 if it was only recorded in milliseconds
+     */
+    public long getElapsedMicros() {
+        if (isSpan() || !spanEventBo.hasElapsedMicros()) {
+            return -1;
+        }
+        return spanEventBo.getEndElapsedMicros();
+    }
+
     public String getAgentId() {
         return spanBo.getAgentId();
     }
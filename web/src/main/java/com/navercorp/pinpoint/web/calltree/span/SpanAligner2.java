@@ -243,16 +243,20 @@ public class SpanAligner2 {
             return spanAsyncEventMap;
         }
 
-        final List<SpanEventBo> removeList = new ArrayList<>();
+        // keep the synchronous events in a single pass instead of removeAll(), which is quadratic on spans with many async events
+        final List<SpanEventBo> syncSpanEventBoList = new ArrayList<>(spanEventBoList.size());
         for (SpanEventBo spanEvent : spanEventBoList) {
-            if (spanAsyncEventMap.add(spanEvent)) {
-                removeList.add(spanEvent);
+            if (!spanAsyncEventMap.add(spanEvent)) {
+                syncSpanEventBoList.add(spanEvent);
             }
         }
         spanAsyncEventMap.sort();
 
         // clear
-        spanEventBoList.removeAll(removeList);
+        if (syncSpanEventBoList.size() != spanEventBoList.size()) {
+            spanEventBoList.clear();
+            spanEventBoList.addAll(syncSpanEventBoList);
+        }
 
         return spanAsyncEventMap;
     }
@@ -12,6 +12,13 @@ import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
 
 public class SpanAsyncEventMap {
 
+    private static final Comparator<SpanEventBo> SEQUENCE_COMPARATOR = new Comparator<SpanEventBo>() {
+        @Override
+        public int compare(SpanEventBo source, SpanEventBo target) {
+            return source.getSequence() - target.getSequence();
+        }
+    };
+
     final Map<Integer, Map<Short, List<SpanEventBo>>> map = new HashMap<>();
 
     public boolean add(final SpanEventBo spanEvent) {
@@ -42,15 +49,23 @@ public class SpanAsyncEventMap {
     public void sort() {
         for (Map<Short, List<SpanEventBo>> subMap : map.values()) {
             for (List<SpanEventBo> list : subMap.values()) {
-                Collections.sort(list, new Comparator<SpanEventBo>() {
-                    public int compare(SpanEventBo source, SpanEventBo target) {
-                        return source.getSequence() - target.getSequence();
-                    }
-                });
+                // events of a continuation usually arrive in order, within a single span chunk
+                if (!isSorted(list)) {
+                    Collections.sort(list, SEQUENCE_COMPARATOR);
+                }
             }
         }
     }
 
+    private boolean isSorted(List<SpanEventBo> list) {
+        for (int i = 1; i < list.size(); i++) {
+            if (SEQUENCE_COMPARATOR.compare(list.get(i - 1), list.get(i)) > 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     public Collection<List<SpanEventBo>> get(final int asyncId) {
         final Map<Short, List<SpanEventBo>> subMap = map.get(asyncId);
         if (subMap != null) {
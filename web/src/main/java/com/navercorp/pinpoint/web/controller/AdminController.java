@@ -16,7 +16,9 @@
 
 package com.navercorp.pinpoint.web.controller;
 
+import com.navercorp.pinpoint.web.dao.hbase.cache.TimeSlotCache;
 import com.navercorp.pinpoint.web.vo.Application;
+import com.navercorp.pinpoint.web.websocket.PinpointWebSocketScheduler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -27,6 +29,7 @@ import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
 
 import com.navercorp.pinpoint.web.service.AdminService;
+import com.navercorp.pinpoint.web.service.QueryExecutor;
 
 import java.util.List;
 import java.util.Map;
@@ -45,6 +48,15 @@ public class AdminController {
     @Autowired
     private AdminService adminService;
 
+    @Autowired
+    private QueryExecutor queryExecutor;
+
+    @Autowired
+    private TimeSlotCache timeSlotCache;
+
+    @Autowired
+    private PinpointWebSocketScheduler webSocketScheduler;
+
     @RequestMapping(value = "/removeApplicationName")
     @ResponseBody
     public String removeApplicationName(@RequestParam("applicationName") String applicationName) {
@@ -107,4 +119,22 @@ public class AdminController {
         return this.adminService.getInactiveAgents(applicationName, durationDays);
     }
 
+    @RequestMapping(value = "/queryExecutorStatistics")
+    @ResponseBody
+    public Map<String, Object> queryExecutorStatistics() {
+        return this.queryExecutor.getStatistics();
+    }
+
+    @RequestMapping(value = "/timeSlotCacheStatistics")
+    @ResponseBody
+    public Map<String, Object> timeSlotCacheStatistics() {
+        return this.timeSlotCache.getStatistics();
+    }
+
+    @RequestMapping(value = "/webSocketStatistics")
+    @ResponseBody
+    public Map<String, Object> webSocketStatistics() {
+        return this.webSocketScheduler.getStatistics();
+    }
+
 }
\ No newline at end of file
@@ -18,6 +18,7 @@ package com.navercorp.pinpoint.web.controller;
 
 
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import com.navercorp.pinpoint.common.server.bo.stat.ActiveTraceBo;
 import com.navercorp.pinpoint.common.server.bo.stat.AgentStatDataPoint;
@@ -25,6 +26,7 @@ import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcDetailedBo;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
+import com.navercorp.pinpoint.web.service.QueryExecutor;
 import com.navercorp.pinpoint.web.service.stat.ActiveTraceChartService;
 import com.navercorp.pinpoint.web.service.stat.ActiveTraceService;
 import com.navercorp.pinpoint.web.service.stat.AgentStatChartService;
@@ -45,6 +47,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import com.navercorp.pinpoint.web.service.stat.AgentStatService;
 import com.navercorp.pinpoint.web.util.TimeWindow;
@@ -62,6 +65,9 @@ public abstract class AgentStatController<T extends AgentStatDataPoint> {
 
     private final AgentStatChartService agentStatChartService;
 
+    @Autowired
+    private QueryExecutor queryExecutor;
+
     public AgentStatController(AgentStatService<T> agentStatService, AgentStatChartService agentStatChartService) {
         this.agentStatService = agentStatService;
         this.agentStatChartService = agentStatChartService;
@@ -81,19 +87,19 @@ public abstract class AgentStatController<T extends AgentStatDataPoint> {
     @PreAuthorize("hasPermission(new com.navercorp.pinpoint.web.vo.AgentParam(#agentId, #to), 'agentParam', 'inspector')")
     @RequestMapping(value = "/chart", method = RequestMethod.GET)
     @ResponseBody
-    public AgentStatChartGroup getAgentStatChart(
+    public DeferredResult<AgentStatChartGroup> getAgentStatChart(
             @RequestParam("agentId") String agentId,
             @RequestParam("from") long from,
             @RequestParam("to") long to) {
         TimeWindowSampler sampler = new TimeWindowSlotCentricSampler();
         TimeWindow timeWindow = new TimeWindow(new Range(from, to), sampler);
-        return this.agentStatChartService.selectAgentChart(agentId, timeWindow);
+        return selectAgentChart(agentId, timeWindow);
     }
 
     @PreAuthorize("hasPermission(new com.navercorp.pinpoint.web.vo.AgentParam(#agentId, #to), 'agentParam', 'inspector')")
     @RequestMapping(value = "/chart", method = RequestMethod.GET, params = {"interval"})
     @ResponseBody
-    public AgentStatChartGroup getAgentStatChart(
+    public DeferredResult<AgentStatChartGroup> getAgentStatChart(
             @RequestParam("agentId") String agentId,
             @RequestParam("from") long from,
             @RequestParam("to") long to,
@@ -107,7 +113,16 @@ public abstract class AgentStatController<T extends AgentStatDataPoint> {
             }
         };
         TimeWindow timeWindow = new TimeWindow(new Range(from, to), sampler);
-        return this.agentStatChartService.selectAgentChart(agentId, timeWindow);
+        return selectAgentChart(agentId, timeWindow);
+    }
+
+    private DeferredResult<AgentStatChartGroup> selectAgentChart(final String agentId, final TimeWindow timeWindow) {
+        return queryExecutor.execute(new Callable<AgentStatChartGroup>() {
+            @Override
+            public AgentStatChartGroup call() throws Exception {
+                return agentStatChartService.selectAgentChart(agentId, timeWindow);
+            }
+        });
     }
 
     @Controller
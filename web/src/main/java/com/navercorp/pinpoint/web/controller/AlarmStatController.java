@@ -0,0 +1,59 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.controller;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseBody;
+
+import com.navercorp.pinpoint.common.server.bo.alarm.AlarmStatReportBo;
+import com.navercorp.pinpoint.web.service.AlarmStatService;
+
+/**
+ * Receives the alarm stat reports of the collectors (<tt>collector.alarm.stream.enable</tt>).
+ */
+@Controller
+@RequestMapping(value = "/alarmStat")
+public class AlarmStatController {
+
+    @Autowired
+    private AlarmStatService alarmStatService;
+
+    @RequestMapping(method = RequestMethod.POST)
+    @ResponseBody
+    public Map<String, String> report(@RequestBody AlarmStatReportBo report) {
+        Map<String, String> result = new HashMap<>();
+
+        if (StringUtils.isEmpty(report.getCollectorId())) {
+            result.put("errorCode", "500");
+            result.put("errorMessage", "there is not collectorId in the alarm stat report");
+            return result;
+        }
+
+        alarmStatService.report(report);
+
+        result.put("result", "SUCCESS");
+        return result;
+    }
+}
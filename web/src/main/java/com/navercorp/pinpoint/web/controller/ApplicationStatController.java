@@ -0,0 +1,93 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.controller;
+
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatType;
+import com.navercorp.pinpoint.web.service.QueryExecutor;
+import com.navercorp.pinpoint.web.service.stat.ApplicationStatChartService;
+import com.navercorp.pinpoint.web.util.TimeWindow;
+import com.navercorp.pinpoint.web.util.TimeWindowSampler;
+import com.navercorp.pinpoint.web.util.TimeWindowSlotCentricSampler;
+import com.navercorp.pinpoint.web.vo.Range;
+import com.navercorp.pinpoint.web.vo.stat.chart.AgentStatChartGroup;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Application-wide stat charts, served from the rollups stored by the collectors.
+ */
+@Controller
+@RequestMapping("/getApplicationStat")
+public class ApplicationStatController {
+
+    @Autowired
+    private ApplicationStatChartService applicationStatChartService;
+
+    @Autowired
+    private QueryExecutor queryExecutor;
+
+    @PreAuthorize("hasPermission(#applicationId, 'application', 'inspector')")
+    @RequestMapping(value = "/chart", method = RequestMethod.GET)
+    @ResponseBody
+    public DeferredResult<AgentStatChartGroup> getApplicationStatChart(
+            @RequestParam("applicationId") String applicationId,
+            @RequestParam("statType") AgentStatType statType,
+            @RequestParam("from") long from,
+            @RequestParam("to") long to) {
+        TimeWindowSampler sampler = new TimeWindowSlotCentricSampler();
+        TimeWindow timeWindow = new TimeWindow(new Range(from, to), sampler);
+        return selectApplicationChart(applicationId, statType, timeWindow);
+    }
+
+    @PreAuthorize("hasPermission(#applicationId, 'application', 'inspector')")
+    @RequestMapping(value = "/chart", method = RequestMethod.GET, params = {"interval"})
+    @ResponseBody
+    public DeferredResult<AgentStatChartGroup> getApplicationStatChart(
+            @RequestParam("applicationId") String applicationId,
+            @RequestParam("statType") AgentStatType statType,
+            @RequestParam("from") long from,
+            @RequestParam("to") long to,
+            @RequestParam("interval") Integer interval) {
+        final int minSamplingInterval = 5;
+        final long intervalMs = interval < minSamplingInterval ? minSamplingInterval * 1000L : interval * 1000L;
+        TimeWindowSampler sampler = new TimeWindowSampler() {
+            @Override
+            public long getWindowSize(Range range) {
+                return intervalMs;
+            }
+        };
+        TimeWindow timeWindow = new TimeWindow(new Range(from, to), sampler);
+        return selectApplicationChart(applicationId, statType, timeWindow);
+    }
+
+    private DeferredResult<AgentStatChartGroup> selectApplicationChart(final String applicationId, final AgentStatType statType, final TimeWindow timeWindow) {
+        return queryExecutor.execute(new Callable<AgentStatChartGroup>() {
+            @Override
+            public AgentStatChartGroup call() throws Exception {
+                return applicationStatChartService.selectApplicationChart(applicationId, statType, timeWindow);
+            }
+        });
+    }
+}
@@ -17,6 +17,7 @@
 package com.navercorp.pinpoint.web.controller;
 
 import java.util.List;
+import java.util.concurrent.Callable;
 
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -26,6 +27,7 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
 
 import com.navercorp.pinpoint.common.service.ServiceTypeRegistryService;
 import com.navercorp.pinpoint.common.util.DateUtils;
@@ -35,6 +37,7 @@ import com.navercorp.pinpoint.web.applicationmap.FilterMapWrap;
 import com.navercorp.pinpoint.web.filter.Filter;
 import com.navercorp.pinpoint.web.filter.FilterBuilder;
 import com.navercorp.pinpoint.web.service.FilteredMapService;
+import com.navercorp.pinpoint.web.service.QueryExecutor;
 import com.navercorp.pinpoint.web.util.LimitUtils;
 import com.navercorp.pinpoint.web.util.TimeUtils;
 import com.navercorp.pinpoint.web.vo.LimitedScanResult;
@@ -59,6 +62,9 @@ public class FilteredMapController {
     @Autowired
     private ServiceTypeRegistryService registry;
 
+    @Autowired
+    private QueryExecutor queryExecutor;
+
     /**
    * filtered server map data query within from ~ to timeframe
      *
@@ -72,7 +78,7 @@ public class FilteredMapController {
      */
     @RequestMapping(value = "/getFilteredServerMapData", method = RequestMethod.GET, params="serviceTypeCode")
     @ResponseBody
-    public FilterMapWrap getFilteredServerMapData(
+    public DeferredResult<FilterMapWrap> getFilteredServerMapData(
                                             @RequestParam("applicationName") String applicationName,
                                             @RequestParam("serviceTypeCode") short serviceTypeCode,
                                             @RequestParam("from") long from,
@@ -98,40 +104,45 @@ public class FilteredMapController {
      */
     @RequestMapping(value = "/getFilteredServerMapData", method = RequestMethod.GET, params="serviceTypeName")
     @ResponseBody
-    public FilterMapWrap getFilteredServerMapData(
-                                            @RequestParam("applicationName") String applicationName,
+    public DeferredResult<FilterMapWrap> getFilteredServerMapData(
+                                            @RequestParam("applicationName") final String applicationName,
                                             @RequestParam("serviceTypeName") String serviceTypeName,
-                                            @RequestParam("from") long from,
-                                            @RequestParam("to") long to,
-                                            @RequestParam("originTo") long originTo,
+                                            @RequestParam("from") final long from,
+                                            @RequestParam("to") final long to,
+                                            @RequestParam("originTo") final long originTo,
                                             @RequestParam(value = "filter", required = false) String filterText,
                                             @RequestParam(value = "hint", required = false) String filterHint,
                                             @RequestParam(value = "limit", required = false, defaultValue = "10000") int limit) {
-        limit = LimitUtils.checkRange(limit);
+        final int checkedLimit = LimitUtils.checkRange(limit);
         final Filter filter = filterBuilder.build(filterText, filterHint);
         final Range range = new Range(from, to);
-        final LimitedScanResult<List<TransactionId>> limitedScanResult = filteredMapService.selectTraceIdsFromApplicationTraceIndex(applicationName, range, limit);
-
-        final long lastScanTime = limitedScanResult.getLimitedTime();
-        // original range: needed for visual chart data sampling
-        final Range originalRange = new Range(from, originTo);
-        // needed to figure out already scanned ranged
-        final Range scannerRange = new Range(lastScanTime, to);
-        logger.debug("originalRange:{} scannerRange:{} ", originalRange, scannerRange);
-        ApplicationMap map = filteredMapService.selectApplicationMap(limitedScanResult.getScanData(), originalRange, scannerRange, filter);
-
-        if (logger.isDebugEnabled()) {
-            logger.debug("getFilteredServerMapData range scan(limit:{}) range:{} lastFetchedTimestamp:{}", limit, range.prettyToString(), DateUtils.longToDateStr(lastScanTime));
-        }
+        return queryExecutor.execute(new Callable<FilterMapWrap>() {
+            @Override
+            public FilterMapWrap call() throws Exception {
+                final LimitedScanResult<List<TransactionId>> limitedScanResult = filteredMapService.selectTraceIdsFromApplicationTraceIndex(applicationName, range, checkedLimit);
+
+                final long lastScanTime = limitedScanResult.getLimitedTime();
+                // original range: needed for visual chart data sampling
+                final Range originalRange = new Range(from, originTo);
+                // needed to figure out already scanned ranged
+                final Range scannerRange = new Range(lastScanTime, to);
+                logger.debug("originalRange:{} scannerRange:{} ", originalRange, scannerRange);
+                ApplicationMap map = filteredMapService.selectApplicationMap(limitedScanResult.getScanData(), originalRange, scannerRange, filter);
+
+                if (logger.isDebugEnabled()) {
+                    logger.debug("getFilteredServerMapData range scan(limit:{}) range:{} lastFetchedTimestamp:{}", checkedLimit, range.prettyToString(), DateUtils.longToDateStr(lastScanTime));
+                }
 
-        FilterMapWrap mapWrap = new FilterMapWrap(map);
-        mapWrap.setLastFetchedTimestamp(lastScanTime);
-        return mapWrap;
+                FilterMapWrap mapWrap = new FilterMapWrap(map);
+                mapWrap.setLastFetchedTimestamp(lastScanTime);
+                return mapWrap;
+            }
+        });
     }
 
     @RequestMapping(value = "/getFilteredServerMapDataMadeOfDotGroup", method = RequestMethod.GET, params="serviceTypeCode")
     @ResponseBody
-    public FilterMapWrap getFilteredServerMapDataMadeOfDotGroup(
+    public DeferredResult<FilterMapWrap> getFilteredServerMapDataMadeOfDotGroup(
             @RequestParam("applicationName") String applicationName,
             @RequestParam("serviceTypeCode") short serviceTypeCode,
             @RequestParam("from") long from,
@@ -149,14 +160,14 @@ public class FilteredMapController {
 
     @RequestMapping(value = "/getFilteredServerMapDataMadeOfDotGroup", method = RequestMethod.GET, params="serviceTypeName")
     @ResponseBody
-    public FilterMapWrap getFilteredServerMapDataMadeOfDotGroup(
-            @RequestParam("applicationName") String applicationName,
+    public DeferredResult<FilterMapWrap> getFilteredServerMapDataMadeOfDotGroup(
+            @RequestParam("applicationName") final String applicationName,
             @RequestParam("serviceTypeName") String serviceTypeName,
-            @RequestParam("from") long from,
-            @RequestParam("to") long to,
-            @RequestParam("originTo") long originTo,
-            @RequestParam("xGroupUnit") int xGroupUnit,
-            @RequestParam("yGroupUnit") int yGroupUnit,
+            @RequestParam("from") final long from,
+            @RequestParam("to") final long to,
+            @RequestParam("originTo") final long originTo,
+            @RequestParam("xGroupUnit") final int xGroupUnit,
+            @RequestParam("yGroupUnit") final int yGroupUnit,
             @RequestParam(value = "filter", required = false) String filterText,
             @RequestParam(value = "hint", required = false) String filterHint,
             @RequestParam(value = "limit", required = false, defaultValue = "10000") int limit) {
@@ -167,26 +178,31 @@ public class FilteredMapController {
             throw new IllegalArgumentException("yGroupUnit(" + yGroupUnit + ") must be positive number");
         }
 
-        limit = LimitUtils.checkRange(limit);
+        final int checkedLimit = LimitUtils.checkRange(limit);
         final Filter filter = filterBuilder.build(filterText, filterHint);
         final Range range = new Range(from, to);
-        final LimitedScanResult<List<TransactionId>> limitedScanResult = filteredMapService.selectTraceIdsFromApplicationTraceIndex(applicationName, range, limit);
-
-        final long lastScanTime = limitedScanResult.getLimitedTime();
-        // original range: needed for visual chart data sampling
-        final Range originalRange = new Range(from, originTo);
-        // needed to figure out already scanned ranged
-        final Range scannerRange = new Range(lastScanTime, to);
-        logger.debug("originalRange:{} scannerRange:{} ", originalRange, scannerRange);
-        ApplicationMap map = filteredMapService.selectApplicationMapWithScatterData(limitedScanResult.getScanData(), originalRange, scannerRange, xGroupUnit, yGroupUnit, filter);
-
-        if (logger.isDebugEnabled()) {
-            logger.debug("getFilteredServerMapData range scan(limit:{}) range:{} lastFetchedTimestamp:{}", limit, range.prettyToString(), DateUtils.longToDateStr(lastScanTime));
-        }
+        return queryExecutor.execute(new Callable<FilterMapWrap>() {
+            @Override
+            public FilterMapWrap call() throws Exception {
+                final LimitedScanResult<List<TransactionId>> limitedScanResult = filteredMapService.selectTraceIdsFromApplicationTraceIndex(applicationName, range, checkedLimit);
+
+                final long lastScanTime = limitedScanResult.getLimitedTime();
+                // original range: needed for visual chart data sampling
+                final Range originalRange = new Range(from, originTo);
+                // needed to figure out already scanned ranged
+                final Range scannerRange = new Range(lastScanTime, to);
+                logger.debug("originalRange:{} scannerRange:{} ", originalRange, scannerRange);
+                ApplicationMap map = filteredMapService.selectApplicationMapWithScatterData(limitedScanResult.getScanData(), originalRange, scannerRange, xGroupUnit, yGroupUnit, filter);
+
+                if (logger.isDebugEnabled()) {
+                    logger.debug("getFilteredServerMapData range scan(limit:{}) range:{} lastFetchedTimestamp:{}", checkedLimit, range.prettyToString(), DateUtils.longToDateStr(lastScanTime));
+                }
 
-        FilterMapWrap mapWrap = new FilterMapWrap(map);
-        mapWrap.setLastFetchedTimestamp(lastScanTime);
-        return mapWrap;
+                FilterMapWrap mapWrap = new FilterMapWrap(map);
+                mapWrap.setLastFetchedTimestamp(lastScanTime);
+                return mapWrap;
+            }
+        });
     }
 
     /**
@@ -201,7 +217,7 @@ public class FilteredMapController {
      */
     @RequestMapping(value = "/getLastFilteredServerMapData", method = RequestMethod.GET, params="serviceTypeCode")
     @ResponseBody
-    public FilterMapWrap getLastFilteredServerMapData(
+    public DeferredResult<FilterMapWrap> getLastFilteredServerMapData(
             @RequestParam("applicationName") String applicationName,
             @RequestParam("serviceTypeCode") short serviceTypeCode,
             @RequestParam("period") long period,
@@ -224,7 +240,7 @@ public class FilteredMapController {
      */
     @RequestMapping(value = "/getLastFilteredServerMapData", method = RequestMethod.GET, params="serviceTypeName")
     @ResponseBody
-    public FilterMapWrap getLastFilteredServerMapData(
+    public DeferredResult<FilterMapWrap> getLastFilteredServerMapData(
             @RequestParam("applicationName") String applicationName,
             @RequestParam("serviceTypeName") String serviceTypeName,
             @RequestParam("period") long period,
@@ -21,6 +21,7 @@ import com.navercorp.pinpoint.web.applicationmap.ApplicationMap;
 import com.navercorp.pinpoint.web.applicationmap.MapWrap;
 import com.navercorp.pinpoint.web.service.ApplicationFactory;
 import com.navercorp.pinpoint.web.service.MapService;
+import com.navercorp.pinpoint.web.service.QueryExecutor;
 import com.navercorp.pinpoint.web.util.Limiter;
 import com.navercorp.pinpoint.web.util.TimeUtils;
 import com.navercorp.pinpoint.web.view.ApplicationTimeHistogramViewModel;
@@ -35,6 +36,9 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.util.concurrent.Callable;
 
 /**
  * @author emeroad
@@ -58,6 +62,9 @@ public class MapController {
     @Autowired
     private ApplicationFactory applicationFactory;
 
+    @Autowired
+    private QueryExecutor queryExecutor;
+
     private static final String DEFAULT_SEARCH_DEPTH = "8";
     private static final int DEFAULT_MAX_SEARCH_DEPTH = 8;
 
@@ -72,7 +79,7 @@ public class MapController {
      */
     @RequestMapping(value = "/getServerMapData", method = RequestMethod.GET, params="serviceTypeCode")
     @ResponseBody
-    public MapWrap getServerMapData(
+    public DeferredResult<MapWrap> getServerMapData(
                                     @RequestParam("applicationName") String applicationName,
                                     @RequestParam("serviceTypeCode") short serviceTypeCode,
                                     @RequestParam("from") long from,
@@ -103,7 +110,7 @@ public class MapController {
      */
     @RequestMapping(value = "/getServerMapData", method = RequestMethod.GET, params="serviceTypeName")
     @ResponseBody
-    public MapWrap getServerMapData(
+    public DeferredResult<MapWrap> getServerMapData(
                                     @RequestParam("applicationName") String applicationName,
                                     @RequestParam("serviceTypeName") String serviceTypeName,
                                     @RequestParam("from") long from,
@@ -121,7 +128,7 @@ public class MapController {
         return selectApplicationMap(application, range, searchOption);
     }
 
-    private MapWrap selectApplicationMap(Application application, Range range, SearchOption searchOption) {
+    private DeferredResult<MapWrap> selectApplicationMap(final Application application, final Range range, final SearchOption searchOption) {
         if (application == null) {
             throw new NullPointerException("application must not be null");
         }
@@ -134,9 +141,13 @@ public class MapController {
 
         logger.info("getServerMap() application:{} range:{} searchOption:{}", application, range, searchOption);
 
-        ApplicationMap map = mapService.selectApplicationMap(application, range, searchOption);
-        
-        return new MapWrap(map);
+        return queryExecutor.execute(new Callable<MapWrap>() {
+            @Override
+            public MapWrap call() throws Exception {
+                ApplicationMap map = mapService.selectApplicationMap(application, range, searchOption);
+                return new MapWrap(map);
+            }
+        });
     }
 
     private void assertSearchOption(SearchOption searchOption) {
@@ -166,7 +177,7 @@ public class MapController {
      */
     @RequestMapping(value = "/getLastServerMapData", method = RequestMethod.GET, params="serviceTypeCode")
     @ResponseBody
-    public MapWrap getLastServerMapData(
+    public DeferredResult<MapWrap> getLastServerMapData(
                                         @RequestParam("applicationName") String applicationName,
                                         @RequestParam("serviceTypeCode") short serviceTypeCode,
                                         @RequestParam("period") long period,
@@ -197,7 +208,7 @@ public class MapController {
      */
     @RequestMapping(value = "/getLastServerMapData", method = RequestMethod.GET, params="serviceTypeName")
     @ResponseBody
-    public MapWrap getLastServerMapData(
+    public DeferredResult<MapWrap> getLastServerMapData(
                                         @RequestParam("applicationName") String applicationName,
                                         @RequestParam("serviceTypeName") String serviceTypeName,
                                         @RequestParam("period") long period,
@@ -219,7 +230,7 @@ public class MapController {
 
     @RequestMapping(value = "/getResponseTimeHistogramData", method = RequestMethod.GET, params = "serviceTypeName")
     @ResponseBody
-    public ApplicationTimeHistogramViewModel getResponseTimeHistogramData(
+    public DeferredResult<ApplicationTimeHistogramViewModel> getResponseTimeHistogramData(
             @RequestParam("applicationName") String applicationName,
             @RequestParam("serviceTypeName") String serviceTypeName,
             @RequestParam("from") long from,
@@ -227,11 +238,14 @@ public class MapController {
         final Range range = new Range(from, to);
         dateLimit.limit(range);
 
-        Application application = applicationFactory.createApplicationByTypeName(applicationName, serviceTypeName);
-
-        ApplicationTimeHistogramViewModel applicationTimeHistogramViewModel = mapService.selectResponseTimeHistogramData(application, range);
+        final Application application = applicationFactory.createApplicationByTypeName(applicationName, serviceTypeName);
 
-        return applicationTimeHistogramViewModel;
+        return queryExecutor.execute(new Callable<ApplicationTimeHistogramViewModel>() {
+            @Override
+            public ApplicationTimeHistogramViewModel call() throws Exception {
+                return mapService.selectResponseTimeHistogramData(application, range);
+            }
+        });
     }
 
 }
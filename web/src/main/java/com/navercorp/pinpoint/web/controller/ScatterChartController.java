@@ -24,6 +24,7 @@ import com.navercorp.pinpoint.web.filter.Filter;
 import com.navercorp.pinpoint.web.filter.FilterBuilder;
 import com.navercorp.pinpoint.web.scatter.ScatterData;
 import com.navercorp.pinpoint.web.service.FilteredMapService;
+import com.navercorp.pinpoint.web.service.QueryExecutor;
 import com.navercorp.pinpoint.web.service.ScatterChartService;
 import com.navercorp.pinpoint.web.util.LimitUtils;
 import com.navercorp.pinpoint.web.view.ServerTime;
@@ -42,11 +43,13 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.context.request.async.DeferredResult;
 import org.springframework.web.servlet.ModelAndView;
 
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Callable;
 
 /**
  * @author netspider
@@ -67,6 +70,9 @@ public class ScatterChartController {
     @Autowired
     private FilterBuilder filterBuilder;
 
+    @Autowired
+    private QueryExecutor queryExecutor;
+
     private static final String PREFIX_TRANSACTION_ID = "I";
     private static final String PREFIX_TIME = "T";
     private static final String PREFIX_RESPONSE_TIME = "R";
@@ -97,15 +103,19 @@ public class ScatterChartController {
      */
     @RequestMapping(value = "/transactionmetadata", method = RequestMethod.POST)
     @ResponseBody
-    public TransactionMetaDataViewModel transactionmetadata(@RequestParam Map<String, String> requestParam) {
-        TransactionMetaDataViewModel viewModel = new TransactionMetaDataViewModel();
-        TransactionMetadataQuery query = parseSelectTransaction(requestParam);
-        if (query.size() > 0) {
-            List<SpanBo> metadata = scatter.selectTransactionMetadata(query);
-            viewModel.setSpanBoList(metadata);
-        }
-
-        return viewModel;
+    public DeferredResult<TransactionMetaDataViewModel> transactionmetadata(@RequestParam Map<String, String> requestParam) {
+        final TransactionMetadataQuery query = parseSelectTransaction(requestParam);
+        return queryExecutor.execute(new Callable<TransactionMetaDataViewModel>() {
+            @Override
+            public TransactionMetaDataViewModel call() throws Exception {
+                TransactionMetaDataViewModel viewModel = new TransactionMetaDataViewModel();
+                if (query.size() > 0) {
+                    List<SpanBo> metadata = scatter.selectTransactionMetadata(query);
+                    viewModel.setSpanBoList(metadata);
+                }
+                return viewModel;
+            }
+        });
     }
 
     private TransactionMetadataQuery parseSelectTransaction(Map<String, String> requestParam) {
@@ -137,17 +147,17 @@ public class ScatterChartController {
      * @return
      */
     @RequestMapping(value = "/getScatterData", method = RequestMethod.GET)
-    public ModelAndView getScatterData(
-            @RequestParam("application") String applicationName,
-            @RequestParam("from") long from,
-            @RequestParam("to") long to,
-            @RequestParam("xGroupUnit") int xGroupUnit,
-            @RequestParam("yGroupUnit") int yGroupUnit,
+    public DeferredResult<ModelAndView> getScatterData(
+            @RequestParam("application") final String applicationName,
+            @RequestParam("from") final long from,
+            @RequestParam("to") final long to,
+            @RequestParam("xGroupUnit") final int xGroupUnit,
+            @RequestParam("yGroupUnit") final int yGroupUnit,
             @RequestParam("limit") int limit,
-            @RequestParam(value = "backwardDirection", required = false, defaultValue = "true") boolean backwardDirection,
-            @RequestParam(value = "filter", required = false) String filterText,
-            @RequestParam(value = "_callback", required = false) String jsonpCallback,
-            @RequestParam(value = "v", required = false, defaultValue = "1") int version) {
+            @RequestParam(value = "backwardDirection", required = false, defaultValue = "true") final boolean backwardDirection,
+            @RequestParam(value = "filter", required = false) final String filterText,
+            @RequestParam(value = "_callback", required = false) final String jsonpCallback,
+            @RequestParam(value = "v", required = false, defaultValue = "1") final int version) {
         if (xGroupUnit <= 0) {
             throw new IllegalArgumentException("xGroupUnit(" + xGroupUnit + ") must be positive number");
         }
@@ -155,8 +165,16 @@ public class ScatterChartController {
             throw new IllegalArgumentException("yGroupUnit(" + yGroupUnit + ") may not be negative number");
         }
 
-        limit = LimitUtils.checkRange(limit);
+        final int checkedLimit = LimitUtils.checkRange(limit);
+        return queryExecutor.execute(new Callable<ModelAndView>() {
+            @Override
+            public ModelAndView call() throws Exception {
+                return createScatterDataView(applicationName, from, to, xGroupUnit, yGroupUnit, checkedLimit, backwardDirection, filterText, jsonpCallback, version);
+            }
+        });
+    }
 
+    private ModelAndView createScatterDataView(String applicationName, long from, long to, int xGroupUnit, int yGroupUnit, int limit, boolean backwardDirection, String filterText, String jsonpCallback, int version) {
         StopWatch watch = new StopWatch();
         watch.start("getScatterData");
 
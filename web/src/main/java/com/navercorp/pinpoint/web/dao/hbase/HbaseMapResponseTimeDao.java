@@ -20,7 +20,9 @@ import com.navercorp.pinpoint.common.hbase.HBaseTables;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.hbase.RowMapper;
 import com.navercorp.pinpoint.common.util.ApplicationMapStatisticsUtils;
+import com.navercorp.pinpoint.common.util.TimeSlot;
 import com.navercorp.pinpoint.web.dao.MapResponseDao;
+import com.navercorp.pinpoint.web.dao.hbase.cache.TimeSlotCache;
 import com.navercorp.pinpoint.web.vo.Application;
 import com.navercorp.pinpoint.web.vo.Range;
 import com.navercorp.pinpoint.web.vo.RangeFactory;
@@ -60,6 +62,9 @@ public class HbaseMapResponseTimeDao implements MapResponseDao {
     @Autowired
     private RangeFactory rangeFactory;
 
+    @Autowired
+    private TimeSlotCache timeSlotCache;
+
     @Autowired
     @Qualifier("statisticsSelfRowKeyDistributor")
     private RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
@@ -74,9 +79,11 @@ public class HbaseMapResponseTimeDao implements MapResponseDao {
             logger.debug("selectResponseTime applicationName:{}, {}", application, range);
         }
 
-        Scan scan = createScan(application, range, HBaseTables.MAP_STATISTICS_SELF_VER2_CF_COUNTER);
-
-        List<ResponseTime> responseTimeList = hbaseOperations2.findParallel(HBaseTables.MAP_STATISTICS_SELF_VER2, scan, rowKeyDistributorByHashPrefix, responseTimeMapper, MAP_STATISTICS_SELF_VER2_NUM_PARTITIONS);
+        final Map<Long, List<ResponseTime>> timeSlotMap = selectTimeSlotMap(application, range);
+        final List<ResponseTime> responseTimeList = new ArrayList<>();
+        for (List<ResponseTime> timeSlotResponseTimeList : timeSlotMap.values()) {
+            responseTimeList.addAll(timeSlotResponseTimeList);
+        }
         if (logger.isDebugEnabled()) {
             logger.debug("Self data {}", responseTimeList);
         }
@@ -88,6 +95,31 @@ public class HbaseMapResponseTimeDao implements MapResponseDao {
         return new ArrayList<>();
     }
 
+    private Map<Long, List<ResponseTime>> selectTimeSlotMap(final Application application, Range range) {
+        final TimeSlot timeSlot = rangeFactory.getTimeSlot();
+        final long firstSlot = timeSlot.getTimeSlot(range.getFrom());
+        final long lastSlot = timeSlot.getTimeSlot(range.getTo());
+        final String cacheKey = "Self^" + application.getName() + '^' + application.getServiceTypeCode();
+        return timeSlotCache.getFragments(cacheKey, firstSlot, lastSlot, timeSlot.getResolution(), new TimeSlotCache.FragmentLoader<List<ResponseTime>>() {
+            @Override
+            public Map<Long, List<ResponseTime>> load(long firstSlot, long lastSlot) {
+                Scan scan = createScan(application, new Range(firstSlot, lastSlot), HBaseTables.MAP_STATISTICS_SELF_VER2_CF_COUNTER);
+                List<ResponseTime> responseTimeList = hbaseOperations2.findParallel(HBaseTables.MAP_STATISTICS_SELF_VER2, scan, rowKeyDistributorByHashPrefix, responseTimeMapper, MAP_STATISTICS_SELF_VER2_NUM_PARTITIONS);
+
+                final Map<Long, List<ResponseTime>> timeSlotMap = new HashMap<>();
+                for (ResponseTime responseTime : responseTimeList) {
+                    List<ResponseTime> timeSlotResponseTimeList = timeSlotMap.get(responseTime.getTimeStamp());
+                    if (timeSlotResponseTimeList == null) {
+                        timeSlotResponseTimeList = new ArrayList<>(1);
+                        timeSlotMap.put(responseTime.getTimeStamp(), timeSlotResponseTimeList);
+                    }
+                    timeSlotResponseTimeList.add(responseTime);
+                }
+                return timeSlotMap;
+            }
+        });
+    }
+
     private Scan createScan(Application application, Range range, byte[] family) {
         range = rangeFactory.createStatisticsRange(range);
         if (logger.isDebugEnabled()) {
@@ -21,8 +21,10 @@ import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
 import com.navercorp.pinpoint.common.hbase.ResultsExtractor;
 import com.navercorp.pinpoint.common.hbase.RowMapper;
 import com.navercorp.pinpoint.common.util.ApplicationMapStatisticsUtils;
+import com.navercorp.pinpoint.common.util.TimeSlot;
 import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataMap;
 import com.navercorp.pinpoint.web.dao.MapStatisticsCalleeDao;
+import com.navercorp.pinpoint.web.dao.hbase.cache.TimeSlotCache;
 import com.navercorp.pinpoint.web.mapper.*;
 import com.navercorp.pinpoint.web.util.TimeWindow;
 import com.navercorp.pinpoint.web.util.TimeWindowDownSampler;
@@ -38,6 +40,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collections;
+import java.util.Map;
+
 /**
  * @author netspider
  * @author emeroad
@@ -60,6 +65,9 @@ public class HbaseMapStatisticsCalleeDao implements MapStatisticsCalleeDao {
     @Autowired
     private RangeFactory rangeFactory;
 
+    @Autowired
+    private TimeSlotCache timeSlotCache;
+
     @Autowired
     @Qualifier("statisticsCalleeRowKeyDistributor")
     private RowKeyDistributorByHashPrefix rowKeyDistributorByHashPrefix;
@@ -75,10 +83,11 @@ public class HbaseMapStatisticsCalleeDao implements MapStatisticsCalleeDao {
         }
 
         final TimeWindow timeWindow = new TimeWindow(range, TimeWindowDownSampler.SAMPLER);
-        // find distributed key - ver2.
-        final Scan scan = createScan(calleeApplication, range, HBaseTables.MAP_STATISTICS_CALLER_VER2_CF_COUNTER);
-        ResultsExtractor<LinkDataMap> resultExtractor = new RowMapReduceResultExtractor<>(mapStatisticsCalleeMapper, new MapStatisticsTimeWindowReducer(timeWindow));
-        LinkDataMap linkDataMap = hbaseOperations2.findParallel(HBaseTables.MAP_STATISTICS_CALLER_VER2, scan, rowKeyDistributorByHashPrefix, resultExtractor, MAP_STATISTICS_CALLER_VER2_NUM_PARTITIONS);
+        final Map<Long, LinkDataMap> timeSlotMap = selectTimeSlotMap(calleeApplication, range);
+        final LinkDataMap linkDataMap = new LinkDataMap(timeWindow);
+        for (LinkDataMap timeSlotLinkDataMap : timeSlotMap.values()) {
+            linkDataMap.addLinkDataMap(timeSlotLinkDataMap);
+        }
         logger.debug("Callee data. {}, {}", linkDataMap, range);
         if (linkDataMap != null && linkDataMap.size() > 0) {
             return linkDataMap;
@@ -88,6 +97,26 @@ public class HbaseMapStatisticsCalleeDao implements MapStatisticsCalleeDao {
     }
 
 
+    private Map<Long, LinkDataMap> selectTimeSlotMap(final Application calleeApplication, Range range) {
+        final TimeSlot timeSlot = rangeFactory.getTimeSlot();
+        final long firstSlot = timeSlot.getTimeSlot(range.getFrom());
+        final long lastSlot = timeSlot.getTimeSlot(range.getTo());
+        final String cacheKey = "Callee^" + calleeApplication.getName() + '^' + calleeApplication.getServiceTypeCode();
+        return timeSlotCache.getFragments(cacheKey, firstSlot, lastSlot, timeSlot.getResolution(), new TimeSlotCache.FragmentLoader<LinkDataMap>() {
+            @Override
+            public Map<Long, LinkDataMap> load(long firstSlot, long lastSlot) {
+                // find distributed key - ver2.
+                final Scan scan = createScan(calleeApplication, new Range(firstSlot, lastSlot), HBaseTables.MAP_STATISTICS_CALLER_VER2_CF_COUNTER);
+                final ResultsExtractor<Map<Long, LinkDataMap>> resultExtractor = new MapStatisticsTimeSlotResultExtractor(mapStatisticsCalleeMapper);
+                final Map<Long, LinkDataMap> timeSlotMap = hbaseOperations2.findParallel(HBaseTables.MAP_STATISTICS_CALLER_VER2, scan, rowKeyDistributorByHashPrefix, resultExtractor, MAP_STATISTICS_CALLER_VER2_NUM_PARTITIONS);
+                if (timeSlotMap == null) {
+                    return Collections.emptyMap();
+                }
+                return timeSlotMap;
+            }
+        });
+    }
+
     private Scan createScan(Application application, Range range, byte[] family) {
         range = rangeFactory.createStatisticsRange(range);
 
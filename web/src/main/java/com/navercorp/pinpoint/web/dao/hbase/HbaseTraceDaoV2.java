@@ -139,7 +139,7 @@ public class HbaseTraceDaoV2 implements TraceDao {
             final Get get = createGet(transactionId, columnFamily, filter);
             multiGet.add(get);
         }
-        return template2.get(HBaseTables.TRACE_V2, multiGet, spanMapperV2);
+        return template2.getParallel(HBaseTables.TRACE_V2, multiGet, spanMapperV2);
     }
 
     private Get createGet(TransactionId transactionId, byte[] columnFamily, Filter filter) {
@@ -0,0 +1,183 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.dao.hbase.cache;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caches query results split into fragments per time slot (one hbase row worth of statistics).
+ * <p>
+ * Statistics of a time slot never change once the collectors are done flushing it, so fragments of <i>closed</i>
+ * time slots are kept in an ehcache bounded by heap size and LRU evicted, and only the slots that are missing or still open are read
+ * from hbase. Callers stitch the returned fragments back together for the requested range.
+ *
+ * @see #getFragments(String, long, long, long, FragmentLoader)
+ */
+@Component
+public class TimeSlotCache {
+
+    public static final String CACHE_NAME = "timeSlotFragment";
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Value("#{pinpointWebProps['web.timeslot.cache.enable'] ?: false}")
+    private boolean enable;
+
+    // time slots ending later than (now - closeDelay) may still receive data from the collectors
+    @Value("#{pinpointWebProps['web.timeslot.cache.closeDelay'] ?: 120000}")
+    private long closeDelay;
+
+    @Autowired
+    private CacheManager cacheManager;
+
+    private Cache cache;
+
+    private final AtomicLong hitCount = new AtomicLong();
+    private final AtomicLong missCount = new AtomicLong();
+    private final AtomicLong openSlotCount = new AtomicLong();
+
+    @PostConstruct
+    public void init() {
+        logger.info("TimeSlotCache enable:{}, closeDelay:{}ms", enable, closeDelay);
+        if (enable) {
+            this.cache = cacheManager.getCache(CACHE_NAME);
+            if (this.cache == null) {
+                throw new IllegalStateException(CACHE_NAME + " cache not found");
+            }
+        }
+    }
+
+    public boolean isEnable() {
+        return enable;
+    }
+
+    /**
+     * Returns the fragments of all time slots between <tt>firstSlot</tt> and <tt>lastSlot</tt> (both inclusive) that have data, keyed by time slot.
+     * Missing and open time slots are loaded with a single call to the given loader.
+     *
+     * @param keyPrefix identifies the query (table, application, agent...), must not contain the time slot
+     * @param firstSlot timestamp of the first time slot
+     * @param lastSlot timestamp of the last time slot
+     * @param slotSize size of a time slot in milliseconds
+     * @param loader loads fragments from the storage
+     * @return fragments keyed by time slot. Fragments may be shared with other requests and must not be modified.
+     */
+    public <V> Map<Long, V> getFragments(String keyPrefix, long firstSlot, long lastSlot, long slotSize, FragmentLoader<V> loader) {
+        if (keyPrefix == null) {
+            throw new NullPointerException("keyPrefix must not be null");
+        }
+        if (loader == null) {
+            throw new NullPointerException("loader must not be null");
+        }
+        if (slotSize <= 0) {
+            throw new IllegalArgumentException("slotSize must be greater than 0");
+        }
+        if (firstSlot > lastSlot) {
+            throw new IllegalArgumentException("firstSlot must not be greater than lastSlot");
+        }
+        if (!enable) {
+            return loader.load(firstSlot, lastSlot);
+        }
+
+        final long closeTime = System.currentTimeMillis() - closeDelay;
+        final Map<Long, V> fragments = new HashMap<>();
+        long loadFrom = -1;
+        long loadTo = -1;
+        for (long slot = firstSlot; slot <= lastSlot; slot += slotSize) {
+            if (isClosed(slot, slotSize, closeTime)) {
+                final Cache.ValueWrapper cached = cache.get(createKey(keyPrefix, slot));
+                if (cached != null) {
+                    hitCount.incrementAndGet();
+                    @SuppressWarnings("unchecked")
+                    final V fragment = (V) cached.get();
+                    if (fragment != null) {
+                        fragments.put(slot, fragment);
+                    }
+                    continue;
+                }
+                missCount.incrementAndGet();
+            } else {
+                openSlotCount.incrementAndGet();
+            }
+            if (loadFrom == -1) {
+                loadFrom = slot;
+            }
+            loadTo = slot;
+        }
+        if (loadFrom == -1) {
+            return fragments;
+        }
+
+        if (logger.isDebugEnabled()) {
+            logger.debug("load time slots. key:{}, {}~{}", keyPrefix, loadFrom, loadTo);
+        }
+        final Map<Long, V> loaded = loader.load(loadFrom, loadTo);
+        for (long slot = loadFrom; slot <= loadTo; slot += slotSize) {
+            final V fragment = loaded.get(slot);
+            if (fragment != null) {
+                fragments.put(slot, fragment);
+            }
+            if (isClosed(slot, slotSize, closeTime)) {
+                // empty time slots are cached as well so that sparse data does not hit hbase on every request
+                cache.put(createKey(keyPrefix, slot), fragment);
+            }
+        }
+        return fragments;
+    }
+
+    private boolean isClosed(long slot, long slotSize, long closeTime) {
+        return slot + slotSize <= closeTime;
+    }
+
+    private String createKey(String keyPrefix, long slot) {
+        return keyPrefix + '^' + slot;
+    }
+
+    public Map<String, Object> getStatistics() {
+        final long hit = hitCount.get();
+        final long miss = missCount.get();
+        final long total = hit + miss;
+
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("enable", enable);
+        statistics.put("hitCount", hit);
+        statistics.put("missCount", miss);
+        statistics.put("openSlotCount", openSlotCount.get());
+        statistics.put("hitRatio", total == 0 ? 0D : (double) hit / total);
+        return statistics;
+    }
+
+    public interface FragmentLoader<V> {
+        /**
+         * Loads the fragments of the time slots between <tt>firstSlot</tt> and <tt>lastSlot</tt> (both inclusive), keyed by time slot.
+         * Time slots without data may be absent from the returned map.
+         */
+        Map<Long, V> load(long firstSlot, long lastSlot);
+    }
+}
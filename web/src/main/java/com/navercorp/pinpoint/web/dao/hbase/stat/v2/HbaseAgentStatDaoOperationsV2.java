@@ -18,17 +18,24 @@ package com.navercorp.pinpoint.web.dao.hbase.stat.v2;
 
 import com.navercorp.pinpoint.common.hbase.HBaseTables;
 import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.hbase.ResultsExtractor;
 import com.navercorp.pinpoint.common.server.bo.codec.stat.AgentStatDecoder;
 import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatHbaseOperationFactory;
 import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatUtils;
 import com.navercorp.pinpoint.common.server.bo.stat.AgentStatDataPoint;
 import com.navercorp.pinpoint.common.server.bo.stat.AgentStatType;
+import com.navercorp.pinpoint.web.dao.hbase.cache.TimeSlotCache;
 import com.navercorp.pinpoint.web.mapper.RangeTimestampFilter;
 import com.navercorp.pinpoint.web.mapper.TimestampFilter;
 import com.navercorp.pinpoint.web.mapper.stat.AgentStatMapperV2;
+import com.navercorp.pinpoint.web.mapper.stat.AgentStatSampler;
 import com.navercorp.pinpoint.web.mapper.stat.SampledAgentStatResultExtractor;
+import com.navercorp.pinpoint.web.util.TimeWindow;
+import com.navercorp.pinpoint.web.util.TimeWindowSampler;
 import com.navercorp.pinpoint.web.vo.Range;
 import com.navercorp.pinpoint.web.vo.stat.SampledAgentStatDataPoint;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
 import org.apache.hadoop.hbase.client.Scan;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -36,7 +43,9 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.Map;
 
 /**
  * @author HyunGil Jeong
@@ -55,6 +64,9 @@ public class HbaseAgentStatDaoOperationsV2 {
     @Autowired
     private AgentStatHbaseOperationFactory operationFactory;
 
+    @Autowired
+    private TimeSlotCache timeSlotCache;
+
     <T extends AgentStatDataPoint> List<T> getAgentStatList(AgentStatType agentStatType, AgentStatMapperV2<T> mapper, String agentId, Range range) {
         if (agentId == null) {
             throw new NullPointerException("agentId must not be null");
@@ -111,11 +123,104 @@ public class HbaseAgentStatDaoOperationsV2 {
         return hbaseOperations2.findParallel(HBaseTables.AGENT_STAT_VER2, scan, this.operationFactory.getRowKeyDistributor(), resultExtractor, AGENT_STAT_VER2_NUM_PARTITIONS);
     }
 
+    /**
+     * Samples the stats of the given time window. Sampled points of window slots that are no longer written to are kept
+     * in the {@link TimeSlotCache}, so that only the most recent window slots are read again when the same charts are refreshed.
+     */
+    <T extends AgentStatDataPoint, S extends SampledAgentStatDataPoint> List<S> getSampledAgentStatList(final AgentStatType agentStatType, final AgentStatDecoder<T> decoder, final AgentStatSampler<T, S> sampler, final String agentId, TimeWindow timeWindow) {
+        if (agentId == null) {
+            throw new NullPointerException("agentId must not be null");
+        }
+        if (timeWindow == null) {
+            throw new NullPointerException("timeWindow must not be null");
+        }
+        if (sampler == null) {
+            throw new NullPointerException("sampler must not be null");
+        }
+        long scanFrom = timeWindow.getWindowRange().getFrom();
+        long scanTo = timeWindow.getWindowRange().getTo() + timeWindow.getWindowSlotSize();
+        Range range = new Range(scanFrom, scanTo);
+        if (!timeSlotCache.isEnable()) {
+            AgentStatMapperV2<T> mapper = this.createRowMapper(decoder, range);
+            SampledAgentStatResultExtractor<T, S> resultExtractor = new SampledAgentStatResultExtractor<>(timeWindow, mapper, sampler);
+            return this.getSampledAgentStatList(agentStatType, resultExtractor, agentId, range);
+        }
+
+        // window slots are aligned to their size, so a sampled point can be reused by any query with the same slot size
+        final long windowSlotSize = timeWindow.getWindowSlotSize();
+        final Range windowRange = timeWindow.getWindowRange();
+        final String cacheKey = "AgentStat^" + agentStatType.name() + '^' + agentId + '^' + windowSlotSize;
+        Map<Long, S> sampledPointMap = timeSlotCache.getFragments(cacheKey, windowRange.getFrom(), windowRange.getTo(), windowSlotSize, new TimeSlotCache.FragmentLoader<S>() {
+            @Override
+            public Map<Long, S> load(long firstSlot, long lastSlot) {
+                // samplers compare each window slot with the last data point before it, so read a little further back
+                long lookBack = Math.max(windowSlotSize, HBaseTables.AGENT_STAT_TIMESPAN_MS);
+                Range loadRange = new Range(firstSlot - lookBack, lastSlot + windowSlotSize);
+                TimeWindow loadWindow = new TimeWindow(loadRange, new FixedTimeWindowSampler(windowSlotSize));
+                AgentStatMapperV2<T> mapper = createRowMapper(decoder, loadRange);
+                SampledAgentStatMapResultExtractor<T, S> resultExtractor = new SampledAgentStatMapResultExtractor<>(loadWindow, mapper, sampler);
+                Scan scan = createScan(agentStatType, agentId, loadRange);
+                return hbaseOperations2.findParallel(HBaseTables.AGENT_STAT_VER2, scan, operationFactory.getRowKeyDistributor(), resultExtractor, AGENT_STAT_VER2_NUM_PARTITIONS);
+            }
+        });
+        if (sampledPointMap.isEmpty()) {
+            return Collections.emptyList();
+        }
+
+        List<S> sampledPoints = new ArrayList<>(sampledPointMap.size());
+        for (Long windowSlot : timeWindow) {
+            S sampledPoint = sampledPointMap.get(windowSlot);
+            if (sampledPoint != null) {
+                sampledPoints.add(sampledPoint);
+            }
+        }
+        return sampledPoints;
+    }
+
     <T extends AgentStatDataPoint> AgentStatMapperV2<T> createRowMapper(AgentStatDecoder<T> decoder, Range range) {
         TimestampFilter filter = new RangeTimestampFilter(range);
         return new AgentStatMapperV2<>(this.operationFactory, decoder, filter);
     }
 
+    private static class FixedTimeWindowSampler implements TimeWindowSampler {
+
+        private final long windowSize;
+
+        private FixedTimeWindowSampler(long windowSize) {
+            this.windowSize = windowSize;
+        }
+
+        @Override
+        public long getWindowSize(Range range) {
+            return windowSize;
+        }
+    }
+
+    private static class SampledAgentStatMapResultExtractor<T extends AgentStatDataPoint, S extends SampledAgentStatDataPoint> implements ResultsExtractor<Map<Long, S>> {
+
+        private final TimeWindow timeWindow;
+        private final AgentStatMapperV2<T> rowMapper;
+        private final AgentStatSampler<T, S> sampler;
+
+        private SampledAgentStatMapResultExtractor(TimeWindow timeWindow, AgentStatMapperV2<T> rowMapper, AgentStatSampler<T, S> sampler) {
+            this.timeWindow = timeWindow;
+            this.rowMapper = rowMapper;
+            this.sampler = sampler;
+        }
+
+        @Override
+        public Map<Long, S> extractData(ResultScanner results) throws Exception {
+            int rowNum = 0;
+            AgentStatSampler.Sampling<T, S> sampling = sampler.createSampling(timeWindow);
+            for (Result result : results) {
+                for (T dataPoint : rowMapper.mapRow(result, rowNum++)) {
+                    sampling.add(dataPoint);
+                }
+            }
+            return sampling.getSampledDataPointMap();
+        }
+    }
+
     private Scan createScan(AgentStatType agentStatType, String agentId, Range range) {
         long scanRange = range.getTo() - range.getFrom();
         long expectedNumRows = ((scanRange - 1) / HBaseTables.AGENT_STAT_TIMESPAN_MS) + 1;
@@ -0,0 +1,100 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.dao.hbase.stat.v2;
+
+import com.navercorp.pinpoint.common.hbase.HBaseTables;
+import com.navercorp.pinpoint.common.hbase.HbaseOperations2;
+import com.navercorp.pinpoint.common.server.bo.codec.stat.ApplicationStatDecoder;
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatHbaseOperationFactory;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatType;
+import com.navercorp.pinpoint.common.server.bo.stat.ApplicationStatBo;
+import com.navercorp.pinpoint.web.dao.stat.ApplicationStatDao;
+import com.navercorp.pinpoint.web.mapper.RangeTimestampFilter;
+import com.navercorp.pinpoint.web.mapper.stat.AgentStatMapperV2;
+import com.navercorp.pinpoint.web.vo.Range;
+import org.apache.hadoop.hbase.client.Scan;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Repository;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads application stat rollups written by the collectors, merging partial rollups of the same time slot.
+ */
+@Repository
+public class HbaseApplicationStatDao implements ApplicationStatDao {
+
+    private static final int APPLICATION_STAT_NUM_PARTITIONS = 32;
+    private static final int MAX_SCAN_CACHE_SIZE = 256;
+
+    @Autowired
+    private HbaseOperations2 hbaseOperations2;
+
+    @Autowired
+    private AgentStatHbaseOperationFactory operationFactory;
+
+    @Autowired
+    private ApplicationStatDecoder applicationStatDecoder;
+
+    @Override
+    public List<ApplicationStatBo> getApplicationStatList(String applicationId, AgentStatType agentStatType, Range range) {
+        if (applicationId == null) {
+            throw new NullPointerException("applicationId must not be null");
+        }
+        if (agentStatType == null) {
+            throw new NullPointerException("agentStatType must not be null");
+        }
+        if (range == null) {
+            throw new NullPointerException("range must not be null");
+        }
+
+        Scan scan = createScan(applicationId, agentStatType, range);
+        AgentStatMapperV2<ApplicationStatBo> mapper = new AgentStatMapperV2<>(operationFactory, applicationStatDecoder, new RangeTimestampFilter(range));
+        List<List<ApplicationStatBo>> intermediate = hbaseOperations2.findParallel(HBaseTables.APPLICATION_STAT_AGGRE, scan, operationFactory.getRowKeyDistributor(), mapper, APPLICATION_STAT_NUM_PARTITIONS);
+
+        List<ApplicationStatBo> partials = new ArrayList<>();
+        for (List<ApplicationStatBo> each : intermediate) {
+            partials.addAll(each);
+        }
+        Collections.sort(partials, AgentStatMapperV2.REVERSE_TIMESTAMP_COMPARATOR);
+
+        // merge rollups written by different collectors, or flushed more than once, for the same time slot
+        Map<Long, ApplicationStatBo> merged = new LinkedHashMap<>(partials.size());
+        for (ApplicationStatBo partial : partials) {
+            ApplicationStatBo applicationStatBo = merged.get(partial.getTimestamp());
+            if (applicationStatBo == null) {
+                merged.put(partial.getTimestamp(), partial);
+            } else {
+                applicationStatBo.merge(partial);
+            }
+        }
+        return new ArrayList<>(merged.values());
+    }
+
+    private Scan createScan(String applicationId, AgentStatType agentStatType, Range range) {
+        long expectedNumRows = ((range.getRange() - 1) / HBaseTables.AGENT_STAT_TIMESPAN_MS) + 2;
+        Scan scan = operationFactory.createScan(applicationId, agentStatType, range.getFrom(), range.getTo());
+        scan.setCaching((int) Math.min(expectedNumRows, MAX_SCAN_CACHE_SIZE));
+        scan.setId("ApplicationStat_" + agentStatType);
+        scan.addFamily(HBaseTables.AGENT_STAT_CF_STATISTICS);
+        return scan;
+    }
+}
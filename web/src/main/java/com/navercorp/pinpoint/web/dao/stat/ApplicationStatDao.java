@@ -0,0 +1,31 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.dao.stat;
+
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatType;
+import com.navercorp.pinpoint.common.server.bo.stat.ApplicationStatBo;
+import com.navercorp.pinpoint.web.vo.Range;
+
+import java.util.List;
+
+public interface ApplicationStatDao {
+
+    /**
+     * @return rollups of the given application, a single rollup per time slot, sorted by timestamp in descending order
+     */
+    List<ApplicationStatBo> getApplicationStatList(String applicationId, AgentStatType agentStatType, Range range);
+}
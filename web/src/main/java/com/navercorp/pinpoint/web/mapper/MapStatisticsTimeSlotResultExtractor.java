@@ -0,0 +1,78 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.mapper;
+
+import com.navercorp.pinpoint.common.hbase.ResultsExtractor;
+import com.navercorp.pinpoint.common.hbase.RowMapper;
+import com.navercorp.pinpoint.web.applicationmap.histogram.TimeHistogram;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkCallData;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkData;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataMap;
+import org.apache.hadoop.hbase.client.Result;
+import org.apache.hadoop.hbase.client.ResultScanner;
+import org.springframework.util.Assert;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Maps map statistics rows without merging them into a single time window, keeping a {@link LinkDataMap} per time slot.
+ */
+public class MapStatisticsTimeSlotResultExtractor implements ResultsExtractor<Map<Long, LinkDataMap>> {
+
+    private final RowMapper<LinkDataMap> rowMapper;
+
+    public MapStatisticsTimeSlotResultExtractor(RowMapper<LinkDataMap> rowMapper) {
+        Assert.notNull(rowMapper, "RowMapper is required");
+        this.rowMapper = rowMapper;
+    }
+
+    @Override
+    public Map<Long, LinkDataMap> extractData(ResultScanner results) throws Exception {
+        final Map<Long, LinkDataMap> timeSlotMap = new HashMap<>();
+        int rowNum = 0;
+        for (Result result : results) {
+            final LinkDataMap linkDataMap = this.rowMapper.mapRow(result, rowNum++);
+            final Long timeSlot = getTimeSlot(linkDataMap);
+            if (timeSlot == null) {
+                // every link of this row has been filtered out
+                continue;
+            }
+            final LinkDataMap timeSlotLinkDataMap = timeSlotMap.get(timeSlot);
+            if (timeSlotLinkDataMap == null) {
+                timeSlotMap.put(timeSlot, linkDataMap);
+            } else {
+                timeSlotLinkDataMap.addLinkDataMap(linkDataMap);
+            }
+        }
+        return timeSlotMap;
+    }
+
+    /**
+     * a row holds the statistics of a single time slot, every histogram of the mapped row shares the row's timestamp.
+     */
+    private Long getTimeSlot(LinkDataMap linkDataMap) {
+        for (LinkData linkData : linkDataMap.getLinkDataList()) {
+            for (LinkCallData linkCallData : linkData.getLinkCallDataMap().getLinkDataList()) {
+                for (TimeHistogram timeHistogram : linkCallData.getTimeHistogram()) {
+                    return timeHistogram.getTimeStamp();
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -35,119 +35,121 @@ public abstract class AbstractAgentStatSampler<T extends AgentStatDataPoint, S e
     private static final int INITIAL_TIME_WINDOW_INDEX = -1;
 
     @Override
-    public final List<S> sampleDataPoints(TimeWindow timeWindow, List<T> dataPoints) {
-        Map<Long, List<T>> dataPointPartitions = partitionDataPoints(dataPoints);
-
-        Map<Long, SortedMap<Long, S>> sampledPointProjection = mapProjection(timeWindow, dataPointPartitions);
-
-        List<S> sampledDataPoints = new ArrayList<>(sampledPointProjection.size());
-        for (SortedMap<Long, S> sampledPointCandidates : sampledPointProjection.values()) {
-            sampledDataPoints.add(reduceSampledPoints(sampledPointCandidates));
+    public final Sampling<T, S> createSampling(TimeWindow timeWindow) {
+        if (timeWindow == null) {
+            throw new NullPointerException("timeWindow must not be null");
         }
-        return sampledDataPoints;
+        return new PartitionedSampling(timeWindow);
     }
 
     /**
-     * Returns a map of data points partitioned by the start timestamp of the agent. This is mainly to distinguish
-     * between different agent life cycles, and prevent stats from being mixed up when there are multiple agents with
-     * the same agent id.
+     * Returns the sampled data point of the most recently started agent out of multiple candidates.
      *
-     * @param dataPoints a list of data points to partition
-     * @return a map of data points partitioned by agent start timestamps
+     * @param sampledPointCandidates a sorted map of sampled data points in ascending order of agent start timestamp
+     * @return sampled data point of the most recently started agent
      */
-    private Map<Long, List<T>> partitionDataPoints(List<T> dataPoints) {
-        Map<Long, List<T>> dataPointPartitions = new HashMap<>();
-        for (T jvmGcBo : dataPoints) {
-            long startTimestamp = jvmGcBo.getStartTimestamp();
-            List<T> dataPointPartition = dataPointPartitions.get(startTimestamp);
-            if (dataPointPartition == null) {
-                dataPointPartition = new ArrayList<>(dataPoints.size());
-                dataPointPartitions.put(startTimestamp, dataPointPartition);
-            }
-            dataPointPartition.add(jvmGcBo);
-        }
-        return dataPointPartitions;
+    protected S reduceSampledPoints(SortedMap<Long, S> sampledPointCandidates) {
+        Long lastKey = sampledPointCandidates.lastKey();
+        return sampledPointCandidates.get(lastKey);
     }
 
+    protected abstract S sampleDataPoints(int timeWindowIndex, long timestamp, List<T> dataPoints, T previousDataPoint);
+
     /**
-     * Collapses multiple projections of sampled data points into a single map with key sorted by timeslot timestamp,
-     * and values being sampled data points of different agent life cycles mapped by their agent start timestamp.
-     *
-     * @param timeWindow the TimeWindow used to create the timeslot map
-     * @param dataPointPartitions a map of data points partitioned by their agent start timestamp
-     * @return a map of timeslots with sampled data points mapped by their agent start timestamp as values
+     * Data points are partitioned by the start timestamp of the agent. This is mainly to distinguish between different
+     * agent life cycles, and prevent stats from being mixed up when there are multiple agents with the same agent id.
+     * <p>
+     * Only the data points of the current time window of each partition are kept, and are sampled as soon as a data point
+     * of the next time window shows up.
      */
-    private Map<Long, SortedMap<Long, S>> mapProjection(TimeWindow timeWindow, Map<Long, List<T>> dataPointPartitions) {
-        Map<Long, SortedMap<Long, S>> sampledPointProjection = new TreeMap<>();
-        for (Map.Entry<Long, List<T>> dataPointPartitionEntry : dataPointPartitions.entrySet()) {
-            Long startTimestamp = dataPointPartitionEntry.getKey();
-            List<T> dataPointPartition = dataPointPartitionEntry.getValue();
-            Map<Long, S> sampledDataPointPartition = sampleDataPointPartition(timeWindow, dataPointPartition);
-
-            for (Map.Entry<Long, S> e : sampledDataPointPartition.entrySet()) {
-                Long timeslotTimestamp = e.getKey();
-                S sampledDataPoint = e.getValue();
-                SortedMap<Long, S> timeslotSampleEntry = sampledPointProjection.get(timeslotTimestamp);
-                if (timeslotSampleEntry == null) {
-                    timeslotSampleEntry = new TreeMap<>();
-                    sampledPointProjection.put(timeslotTimestamp, timeslotSampleEntry);
-                }
-                timeslotSampleEntry.put(startTimestamp, sampledDataPoint);
+    private class PartitionedSampling implements Sampling<T, S> {
+
+        private final TimeWindow timeWindow;
+        private final Map<Long, Partition> partitions = new HashMap<>();
+        // sampled data points keyed by timeslot timestamp, then by agent start timestamp
+        private final SortedMap<Long, SortedMap<Long, S>> sampledPointProjection = new TreeMap<>();
+
+        private PartitionedSampling(TimeWindow timeWindow) {
+            this.timeWindow = timeWindow;
+        }
+
+        @Override
+        public void add(T dataPoint) {
+            long startTimestamp = dataPoint.getStartTimestamp();
+            Partition partition = partitions.get(startTimestamp);
+            if (partition == null) {
+                partition = new Partition(startTimestamp);
+                partitions.put(startTimestamp, partition);
             }
+            partition.add(dataPoint);
         }
-        return sampledPointProjection;
-    }
 
-    /**
-     * Returns a map of timeslot timestamps with sampled data points as value.
-     *
-     * @param timeWindow the TimeWindow used to create the timeslot map
-     * @param dataPoints a list of data points to sample
-     * @return a map of timeslots with sampled data points as values
-     */
-    private Map<Long, S> sampleDataPointPartition(TimeWindow timeWindow, List<T> dataPoints) {
-        Map<Long, S> sampledDataPoints = new HashMap<>((int) timeWindow.getWindowRangeCount());
-        T previous;
-        List<T> currentBatch = new ArrayList<>();
-        int currentTimeWindowIndex = INITIAL_TIME_WINDOW_INDEX;
-        long currentTimeslotTimestamp = 0;
-        for (T dataPoint : dataPoints) {
-            long timestamp = dataPoint.getTimestamp();
-            int timeWindowIndex = timeWindow.getWindowIndex(timestamp);
-            if (currentTimeWindowIndex == INITIAL_TIME_WINDOW_INDEX || currentTimeWindowIndex == timeWindowIndex) {
-                currentBatch.add(dataPoint);
-            } else if (timeWindowIndex < currentTimeWindowIndex) {
-                previous = dataPoint;
-                // currentBatch shouldn't be empty at this point
-                S sampledBatch = sampleDataPoints(currentTimeWindowIndex, currentTimeslotTimestamp, currentBatch, previous);
-                sampledDataPoints.put(currentTimeslotTimestamp, sampledBatch);
-                currentBatch = new ArrayList<>(currentBatch.size());
-                currentBatch.add(dataPoint);
-            } else {
-                // Results should be sorted in a descending order of their actual timestamp values
-                // as they are stored using reverse timestamp.
-                throw new IllegalStateException("Out of order AgentStatDataPoint");
+        @Override
+        public List<S> getSampledDataPoints() {
+            return new ArrayList<>(getSampledDataPointMap().values());
+        }
+
+        @Override
+        public SortedMap<Long, S> getSampledDataPointMap() {
+            for (Partition partition : partitions.values()) {
+                partition.flush(null);
+            }
+            partitions.clear();
+
+            SortedMap<Long, S> sampledDataPointMap = new TreeMap<>();
+            for (Map.Entry<Long, SortedMap<Long, S>> entry : sampledPointProjection.entrySet()) {
+                sampledDataPointMap.put(entry.getKey(), reduceSampledPoints(entry.getValue()));
             }
-            currentTimeslotTimestamp = timeWindow.refineTimestamp(timestamp);
-            currentTimeWindowIndex = timeWindowIndex;
+            return sampledDataPointMap;
         }
-        if (!currentBatch.isEmpty()) {
-            S sampledBatch = sampleDataPoints(currentTimeWindowIndex, currentTimeslotTimestamp, currentBatch, null);
-            sampledDataPoints.put(currentTimeslotTimestamp, sampledBatch);
+
+        private void putSampledPoint(long timeslotTimestamp, long startTimestamp, S sampledDataPoint) {
+            SortedMap<Long, S> timeslotSampleEntry = sampledPointProjection.get(timeslotTimestamp);
+            if (timeslotSampleEntry == null) {
+                timeslotSampleEntry = new TreeMap<>();
+                sampledPointProjection.put(timeslotTimestamp, timeslotSampleEntry);
+            }
+            timeslotSampleEntry.put(startTimestamp, sampledDataPoint);
         }
-        return sampledDataPoints;
-    }
 
-    /**
-     * Returns the sampled data point of the most recently started agent out of multiple candidates.
-     *
-     * @param sampledPointCandidates a sorted map of sampled data points in ascending order of agent start timestamp
-     * @return sampled data point of the most recently started agent
-     */
-    protected S reduceSampledPoints(SortedMap<Long, S> sampledPointCandidates) {
-        Long lastKey = sampledPointCandidates.lastKey();
-        return sampledPointCandidates.get(lastKey);
-    }
+        private class Partition {
 
-    protected abstract S sampleDataPoints(int timeWindowIndex, long timestamp, List<T> dataPoints, T previousDataPoint);
+            private final long startTimestamp;
+            private List<T> currentBatch = new ArrayList<>();
+            private int currentTimeWindowIndex = INITIAL_TIME_WINDOW_INDEX;
+            private long currentTimeslotTimestamp;
+
+            private Partition(long startTimestamp) {
+                this.startTimestamp = startTimestamp;
+            }
+
+            private void add(T dataPoint) {
+                long timestamp = dataPoint.getTimestamp();
+                int timeWindowIndex = timeWindow.getWindowIndex(timestamp);
+                if (currentTimeWindowIndex == INITIAL_TIME_WINDOW_INDEX || currentTimeWindowIndex == timeWindowIndex) {
+                    currentBatch.add(dataPoint);
+                } else if (timeWindowIndex < currentTimeWindowIndex) {
+                    // currentBatch shouldn't be empty at this point
+                    flush(dataPoint);
+                    currentBatch.add(dataPoint);
+                } else {
+                    // Results should be sorted in a descending order of their actual timestamp values
+                    // as they are stored using reverse timestamp.
+                    throw new IllegalStateException("Out of order AgentStatDataPoint");
+                }
+                currentTimeslotTimestamp = timeWindow.refineTimestamp(timestamp);
+                currentTimeWindowIndex = timeWindowIndex;
+            }
+
+            private void flush(T previous) {
+                if (currentBatch.isEmpty()) {
+                    return;
+                }
+                S sampledBatch = sampleDataPoints(currentTimeWindowIndex, currentTimeslotTimestamp, currentBatch, previous);
+                putSampledPoint(currentTimeslotTimestamp, startTimestamp, sampledBatch);
+                // samplers may hold on to the batch
+                currentBatch = new ArrayList<>(currentBatch.size());
+            }
+        }
+    }
 }
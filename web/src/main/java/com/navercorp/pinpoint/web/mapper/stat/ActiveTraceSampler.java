@@ -22,13 +22,11 @@ import com.navercorp.pinpoint.common.trace.HistogramSchema;
 import com.navercorp.pinpoint.common.trace.SlotType;
 import com.navercorp.pinpoint.web.vo.chart.Point;
 import com.navercorp.pinpoint.web.vo.chart.UncollectedPoint;
-import com.navercorp.pinpoint.web.vo.stat.chart.DownSampler;
-import com.navercorp.pinpoint.web.vo.stat.chart.DownSamplers;
+import com.navercorp.pinpoint.web.vo.stat.chart.LongSampleAccumulator;
 import com.navercorp.pinpoint.web.vo.stat.SampledActiveTrace;
 import com.navercorp.pinpoint.web.vo.chart.TitledPoint;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 
@@ -38,8 +36,6 @@ import java.util.Map;
 @Component
 public class ActiveTraceSampler extends AbstractAgentStatSampler<ActiveTraceBo, SampledActiveTrace> {
 
-    public static final DownSampler<Integer> INTEGER_DOWN_SAMPLER = DownSamplers.getIntegerDownSampler(ActiveTraceBo.UNCOLLECTED_ACTIVE_TRACE_COUNT);
-
     @Override
     public SampledActiveTrace sampleDataPoints(int timeWindowIndex, long timestamp, List<ActiveTraceBo> dataPoints, ActiveTraceBo previousDataPoint) {
         SampledActiveTrace sampledActiveTrace = new SampledActiveTrace();
@@ -50,10 +46,10 @@ public class ActiveTraceSampler extends AbstractAgentStatSampler<ActiveTraceBo,
             sampledActiveTrace.setSlowCounts(new UncollectedPoint<>(timestamp, ActiveTraceBo.UNCOLLECTED_ACTIVE_TRACE_COUNT));
             sampledActiveTrace.setVerySlowCounts(new UncollectedPoint<>(timestamp, ActiveTraceBo.UNCOLLECTED_ACTIVE_TRACE_COUNT));
         } else {
-            List<Integer> fastCounts = new ArrayList<>(dataPoints.size());
-            List<Integer> normalCounts = new ArrayList<>(dataPoints.size());
-            List<Integer> slowCounts = new ArrayList<>(dataPoints.size());
-            List<Integer> verySlowCounts = new ArrayList<>(dataPoints.size());
+            LongSampleAccumulator fastCounts = newAccumulator();
+            LongSampleAccumulator normalCounts = newAccumulator();
+            LongSampleAccumulator slowCounts = newAccumulator();
+            LongSampleAccumulator verySlowCounts = newAccumulator();
             for (ActiveTraceBo activeTraceBo : dataPoints) {
                 Map<SlotType, Integer> activeTraceCounts = activeTraceBo.getActiveTraceCounts();
                 if (activeTraceCounts.get(SlotType.FAST) != ActiveTraceBo.UNCOLLECTED_ACTIVE_TRACE_COUNT) {
@@ -77,17 +73,23 @@ public class ActiveTraceSampler extends AbstractAgentStatSampler<ActiveTraceBo,
         return sampledActiveTrace;
     }
 
-    private Point<Long, Integer> createSampledTitledPoint(String title, long timestamp, List<Integer> values) {
+    private LongSampleAccumulator newAccumulator() {
+        return new LongSampleAccumulator(ActiveTraceBo.UNCOLLECTED_ACTIVE_TRACE_COUNT);
+    }
+
+    private Point<Long, Integer> createSampledTitledPoint(String title, long timestamp, LongSampleAccumulator values) {
         if (values.isEmpty()) {
             return new UncollectedPoint<>(timestamp, ActiveTraceBo.UNCOLLECTED_ACTIVE_TRACE_COUNT);
         } else {
+            // values are all ints, only the sum may overflow
+            final long sum = values.getSum();
             return new TitledPoint<>(
                     title,
                     timestamp,
-                    INTEGER_DOWN_SAMPLER.sampleMin(values),
-                    INTEGER_DOWN_SAMPLER.sampleMax(values),
-                    INTEGER_DOWN_SAMPLER.sampleAvg(values, 1),
-                    INTEGER_DOWN_SAMPLER.sampleSum(values));
+                    (int) values.getMin(),
+                    (int) values.getMax(),
+                    values.getAvg(1),
+                    sum > Integer.MAX_VALUE ? Integer.MAX_VALUE : (int) sum);
         }
     }
 }
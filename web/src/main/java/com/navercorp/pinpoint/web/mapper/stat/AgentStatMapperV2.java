@@ -68,6 +68,10 @@ public class AgentStatMapperV2<T extends AgentStatDataPoint> implements AgentSta
 
         List<T> dataPoints = new ArrayList<>();
 
+        // shared by every cell of the row so that decoding buffers are reused
+        AgentStatDecodingContext decodingContext = new AgentStatDecodingContext();
+        decodingContext.setAgentId(agentId);
+        decodingContext.setBaseTimestamp(baseTimestamp);
         for (Cell cell : result.rawCells()) {
             if (CellUtil.matchingFamily(cell, HBaseTables.AGENT_STAT_CF_STATISTICS)) {
                 Buffer qualifierBuffer = new OffsetFixedBuffer(cell.getQualifierArray(), cell.getQualifierOffset(), cell.getQualifierLength());
@@ -75,9 +79,6 @@ public class AgentStatMapperV2<T extends AgentStatDataPoint> implements AgentSta
 
                 long timestampDelta = this.decoder.decodeQualifier(qualifierBuffer);
 
-                AgentStatDecodingContext decodingContext = new AgentStatDecodingContext();
-                decodingContext.setAgentId(agentId);
-                decodingContext.setBaseTimestamp(baseTimestamp);
                 decodingContext.setTimestampDelta(timestampDelta);
                 List<T> candidates = this.decoder.decodeValue(valueBuffer, decodingContext);
                 for (T candidate : candidates) {
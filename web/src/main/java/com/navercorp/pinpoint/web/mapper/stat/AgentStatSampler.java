@@ -21,11 +21,28 @@ import com.navercorp.pinpoint.web.util.TimeWindow;
 import com.navercorp.pinpoint.web.vo.stat.SampledAgentStatDataPoint;
 
 import java.util.List;
+import java.util.SortedMap;
 
 /**
  * @author HyunGil Jeong
  */
 public interface AgentStatSampler<T extends AgentStatDataPoint, S extends SampledAgentStatDataPoint> {
 
-    List<S> sampleDataPoints(TimeWindow timeWindow, List<T> dataPoints);
+    /**
+     * Returns a sampling that data points are streamed into as they are read, in descending order of their timestamp.
+     * Only the data points of the current time window of each agent life cycle are kept.
+     */
+    Sampling<T, S> createSampling(TimeWindow timeWindow);
+
+    interface Sampling<T extends AgentStatDataPoint, S extends SampledAgentStatDataPoint> {
+
+        void add(T dataPoint);
+
+        List<S> getSampledDataPoints();
+
+        /**
+         * @return sampled data points keyed by the timestamp of their time window slot, in ascending order
+         */
+        SortedMap<Long, S> getSampledDataPointMap();
+    }
 }
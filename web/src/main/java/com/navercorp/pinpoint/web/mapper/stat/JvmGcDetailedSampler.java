@@ -19,12 +19,11 @@ package com.navercorp.pinpoint.web.mapper.stat;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcDetailedBo;
 import com.navercorp.pinpoint.web.vo.chart.Point;
 import com.navercorp.pinpoint.web.vo.chart.UncollectedPoint;
-import com.navercorp.pinpoint.web.vo.stat.chart.DownSampler;
-import com.navercorp.pinpoint.web.vo.stat.chart.DownSamplers;
+import com.navercorp.pinpoint.web.vo.stat.chart.DoubleSampleAccumulator;
+import com.navercorp.pinpoint.web.vo.stat.chart.LongSampleAccumulator;
 import com.navercorp.pinpoint.web.vo.stat.SampledJvmGcDetailed;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -34,19 +33,17 @@ import java.util.List;
 public class JvmGcDetailedSampler extends AbstractAgentStatSampler<JvmGcDetailedBo, SampledJvmGcDetailed> {
 
     private static final int NUM_DECIMAL_PLACES = 1;
-    public static final DownSampler<Long> LONG_DOWN_SAMPLER = DownSamplers.getLongDownSampler(JvmGcDetailedBo.UNCOLLECTED_VALUE);
-    public static final DownSampler<Double> DOUBLE_DOWN_SAMPLER = DownSamplers.getDoubleDownSampler(JvmGcDetailedBo.UNCOLLECTED_PERCENTAGE, NUM_DECIMAL_PLACES);
 
     @Override
     public SampledJvmGcDetailed sampleDataPoints(int timeWindowIndex, long timestamp, List<JvmGcDetailedBo> dataPoints, JvmGcDetailedBo previousDataPoint) {
-        List<Long> gcNewCounts = new ArrayList<>(dataPoints.size());
-        List<Long> gcNewTimes = new ArrayList<>(dataPoints.size());
-        List<Double> codeCacheUseds = new ArrayList<>(dataPoints.size());
-        List<Double> newGenUseds = new ArrayList<>(dataPoints.size());
-        List<Double> oldGenUseds = new ArrayList<>(dataPoints.size());
-        List<Double> survivorSpaceUseds = new ArrayList<>(dataPoints.size());
-        List<Double> permGenUseds = new ArrayList<>(dataPoints.size());
-        List<Double> metaspaceUseds = new ArrayList<>(dataPoints.size());
+        LongSampleAccumulator gcNewCounts = newLongAccumulator();
+        LongSampleAccumulator gcNewTimes = newLongAccumulator();
+        DoubleSampleAccumulator codeCacheUseds = newDoubleAccumulator();
+        DoubleSampleAccumulator newGenUseds = newDoubleAccumulator();
+        DoubleSampleAccumulator oldGenUseds = newDoubleAccumulator();
+        DoubleSampleAccumulator survivorSpaceUseds = newDoubleAccumulator();
+        DoubleSampleAccumulator permGenUseds = newDoubleAccumulator();
+        DoubleSampleAccumulator metaspaceUseds = newDoubleAccumulator();
         for (JvmGcDetailedBo jvmGcDetailedBo : dataPoints) {
             if (jvmGcDetailedBo.getGcNewCount() != JvmGcDetailedBo.UNCOLLECTED_VALUE) {
                 gcNewCounts.add(jvmGcDetailedBo.getGcNewCount());
@@ -85,29 +82,37 @@ public class JvmGcDetailedSampler extends AbstractAgentStatSampler<JvmGcDetailed
         return sampledJvmGcDetailed;
     }
 
-    private Point<Long, Long> createLongPoint(long timestamp, List<Long> values) {
+    private LongSampleAccumulator newLongAccumulator() {
+        return new LongSampleAccumulator(JvmGcDetailedBo.UNCOLLECTED_VALUE);
+    }
+
+    private DoubleSampleAccumulator newDoubleAccumulator() {
+        return new DoubleSampleAccumulator(JvmGcDetailedBo.UNCOLLECTED_PERCENTAGE, NUM_DECIMAL_PLACES);
+    }
+
+    private Point<Long, Long> createLongPoint(long timestamp, LongSampleAccumulator values) {
         if (values.isEmpty()) {
             return new UncollectedPoint<>(timestamp, JvmGcDetailedBo.UNCOLLECTED_VALUE);
         } else {
             return new Point<>(
                     timestamp,
-                    LONG_DOWN_SAMPLER.sampleMin(values),
-                    LONG_DOWN_SAMPLER.sampleMax(values),
-                    LONG_DOWN_SAMPLER.sampleAvg(values, 0),
-                    LONG_DOWN_SAMPLER.sampleSum(values));
+                    values.getMin(),
+                    values.getMax(),
+                    values.getAvg(0),
+                    values.getSum());
         }
     }
 
-    private Point<Long, Double> createDoublePoint(long timestamp, List<Double> values) {
+    private Point<Long, Double> createDoublePoint(long timestamp, DoubleSampleAccumulator values) {
         if (values.isEmpty()) {
             return new UncollectedPoint<>(timestamp, JvmGcDetailedBo.UNCOLLECTED_PERCENTAGE);
         } else {
             return new Point<>(
                     timestamp,
-                    DOUBLE_DOWN_SAMPLER.sampleMin(values),
-                    DOUBLE_DOWN_SAMPLER.sampleMax(values),
-                    DOUBLE_DOWN_SAMPLER.sampleAvg(values),
-                    DOUBLE_DOWN_SAMPLER.sampleSum(values));
+                    values.getMin(),
+                    values.getMax(),
+                    values.getAvg(),
+                    values.getSum());
         }
     }
 }
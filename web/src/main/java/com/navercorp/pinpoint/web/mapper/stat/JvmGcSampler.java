@@ -20,12 +20,10 @@ import com.navercorp.pinpoint.common.server.bo.JvmGcType;
 import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
 import com.navercorp.pinpoint.web.vo.chart.Point;
 import com.navercorp.pinpoint.web.vo.chart.UncollectedPoint;
-import com.navercorp.pinpoint.web.vo.stat.chart.DownSampler;
-import com.navercorp.pinpoint.web.vo.stat.chart.DownSamplers;
+import com.navercorp.pinpoint.web.vo.stat.chart.LongSampleAccumulator;
 import com.navercorp.pinpoint.web.vo.stat.SampledJvmGc;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -34,17 +32,15 @@ import java.util.List;
 @Component
 public class JvmGcSampler extends AbstractAgentStatSampler<JvmGcBo, SampledJvmGc> {
 
-    public static final DownSampler<Long> LONG_DOWN_SAMPLER = DownSamplers.getLongDownSampler(JvmGcBo.UNCOLLECTED_VALUE);
-
     @Override
     public SampledJvmGc sampleDataPoints(int timeWindowIndex, long timestamp, List<JvmGcBo> dataPoints, JvmGcBo previousDataPoint) {
         JvmGcType jvmGcType = JvmGcType.UNKNOWN;
-        List<Long> heapUseds = new ArrayList<>(dataPoints.size());
-        List<Long> heapMaxes = new ArrayList<>(dataPoints.size());
-        List<Long> nonHeapUseds = new ArrayList<>(dataPoints.size());
-        List<Long> nonHeapMaxes = new ArrayList<>(dataPoints.size());
-        List<Long> gcOldCounts = new ArrayList<>(dataPoints.size());
-        List<Long> gcOldTimes = new ArrayList<>(dataPoints.size());
+        LongSampleAccumulator heapUseds = newAccumulator();
+        LongSampleAccumulator heapMaxes = newAccumulator();
+        LongSampleAccumulator nonHeapUseds = newAccumulator();
+        LongSampleAccumulator nonHeapMaxes = newAccumulator();
+        LongSampleAccumulator gcOldCounts = newAccumulator();
+        LongSampleAccumulator gcOldTimes = newAccumulator();
         // dataPoints are in descending order
         JvmGcBo previousBo = previousDataPoint;
         for (int i = dataPoints.size() - 1; i >= 0; --i) {
@@ -129,16 +125,20 @@ public class JvmGcSampler extends AbstractAgentStatSampler<JvmGcBo, SampledJvmGc
         }
     }
 
-    private Point<Long, Long> createSampledPoint(long timestamp, List<Long> values) {
+    private LongSampleAccumulator newAccumulator() {
+        return new LongSampleAccumulator(JvmGcBo.UNCOLLECTED_VALUE);
+    }
+
+    private Point<Long, Long> createSampledPoint(long timestamp, LongSampleAccumulator values) {
         if (values.isEmpty()) {
             return new UncollectedPoint<>(timestamp, JvmGcBo.UNCOLLECTED_VALUE);
         } else {
             return new Point<>(
                     timestamp,
-                    LONG_DOWN_SAMPLER.sampleMin(values),
-                    LONG_DOWN_SAMPLER.sampleMax(values),
-                    LONG_DOWN_SAMPLER.sampleAvg(values, 0),
-                    LONG_DOWN_SAMPLER.sampleSum(values));
+                    values.getMin(),
+                    values.getMax(),
+                    values.getAvg(0),
+                    values.getSum());
         }
     }
 }
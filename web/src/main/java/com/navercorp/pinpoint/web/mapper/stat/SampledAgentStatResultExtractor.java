@@ -23,12 +23,12 @@ import com.navercorp.pinpoint.web.vo.stat.SampledAgentStatDataPoint;
 import org.apache.hadoop.hbase.client.Result;
 import org.apache.hadoop.hbase.client.ResultScanner;
 
-import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 
 
 /**
+ * Samples data points as rows are read, without collecting every data point of the scanned range first.
+ *
  * @author HyunGil Jeong
  */
 public class SampledAgentStatResultExtractor<T extends AgentStatDataPoint, S extends SampledAgentStatDataPoint> implements ResultsExtractor<List<S>> {
@@ -49,17 +49,13 @@ public class SampledAgentStatResultExtractor<T extends AgentStatDataPoint, S ext
     @Override
     public List<S> extractData(ResultScanner results) throws Exception {
         int rowNum = 0;
-        List<T> aggregatedDataPoints = new ArrayList<>();
+        AgentStatSampler.Sampling<T, S> sampling = sampler.createSampling(timeWindow);
         for (Result result : results) {
-            aggregatedDataPoints.addAll(this.rowMapper.mapRow(result, rowNum++));
-        }
-        List<S> sampledDataPoints;
-        if (aggregatedDataPoints.isEmpty()) {
-            sampledDataPoints = Collections.emptyList();
-        } else {
-            sampledDataPoints = sampler.sampleDataPoints(timeWindow, aggregatedDataPoints);
+            for (T dataPoint : this.rowMapper.mapRow(result, rowNum++)) {
+                sampling.add(dataPoint);
+            }
         }
-        return sampledDataPoints;
+        return sampling.getSampledDataPoints();
     }
 
 }
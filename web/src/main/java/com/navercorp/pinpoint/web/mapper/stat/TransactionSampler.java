@@ -20,12 +20,10 @@ import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatUtils;
 import com.navercorp.pinpoint.common.server.bo.stat.TransactionBo;
 import com.navercorp.pinpoint.web.vo.chart.Point;
 import com.navercorp.pinpoint.web.vo.chart.UncollectedPoint;
-import com.navercorp.pinpoint.web.vo.stat.chart.DownSampler;
-import com.navercorp.pinpoint.web.vo.stat.chart.DownSamplers;
+import com.navercorp.pinpoint.web.vo.stat.chart.DoubleSampleAccumulator;
 import com.navercorp.pinpoint.web.vo.stat.SampledTransaction;
 import org.springframework.stereotype.Component;
 
-import java.util.ArrayList;
 import java.util.List;
 
 /**
@@ -36,15 +34,14 @@ public class TransactionSampler extends AbstractAgentStatSampler<TransactionBo,
 
     private static final double UNCOLLECTED_TPS = -1D;
     private static final int NUM_DECIMAL_PLACES = 1;
-    public static final DownSampler<Double> DOUBLE_DOWN_SAMPLER = DownSamplers.getDoubleDownSampler(UNCOLLECTED_TPS, NUM_DECIMAL_PLACES);
 
     @Override
     public SampledTransaction sampleDataPoints(int timeWindowIndex, long timestamp, List<TransactionBo> dataPoints, TransactionBo previousDataPoint) {
-        List<Double> sampledNews = new ArrayList<>(dataPoints.size());
-        List<Double> sampledContinuations = new ArrayList<>(dataPoints.size());
-        List<Double> unsampledNews = new ArrayList<>(dataPoints.size());
-        List<Double> unsampledContinuations = new ArrayList<>(dataPoints.size());
-        List<Double> totals = new ArrayList<>(dataPoints.size());
+        DoubleSampleAccumulator sampledNews = newAccumulator();
+        DoubleSampleAccumulator sampledContinuations = newAccumulator();
+        DoubleSampleAccumulator unsampledNews = newAccumulator();
+        DoubleSampleAccumulator unsampledContinuations = newAccumulator();
+        DoubleSampleAccumulator totals = newAccumulator();
         for (TransactionBo transactionBo : dataPoints) {
             long collectInterval = transactionBo.getCollectInterval();
             if (collectInterval > 0) {
@@ -92,16 +89,20 @@ public class TransactionSampler extends AbstractAgentStatSampler<TransactionBo,
         return AgentStatUtils.calculateRate(count, intervalMs, NUM_DECIMAL_PLACES, UNCOLLECTED_TPS);
     }
 
-    private Point<Long, Double> createPoint(long timestamp, List<Double> values) {
+    private DoubleSampleAccumulator newAccumulator() {
+        return new DoubleSampleAccumulator(UNCOLLECTED_TPS, NUM_DECIMAL_PLACES);
+    }
+
+    private Point<Long, Double> createPoint(long timestamp, DoubleSampleAccumulator values) {
         if (values.isEmpty()) {
             return new UncollectedPoint<>(timestamp, UNCOLLECTED_TPS);
         } else {
             return new Point<>(
                     timestamp,
-                    DOUBLE_DOWN_SAMPLER.sampleMin(values),
-                    DOUBLE_DOWN_SAMPLER.sampleMax(values),
-                    DOUBLE_DOWN_SAMPLER.sampleAvg(values),
-                    DOUBLE_DOWN_SAMPLER.sampleSum(values));
+                    values.getMin(),
+                    values.getMax(),
+                    values.getAvg(),
+                    values.getSum());
         }
     }
 }
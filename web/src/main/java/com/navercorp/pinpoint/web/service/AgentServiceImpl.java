@@ -19,6 +19,8 @@ package com.navercorp.pinpoint.web.service;
 import com.navercorp.pinpoint.rpc.Future;
 import com.navercorp.pinpoint.rpc.PinpointSocket;
 import com.navercorp.pinpoint.rpc.ResponseMessage;
+import com.navercorp.pinpoint.rpc.cluster.ClusterOption;
+import com.navercorp.pinpoint.rpc.cluster.Role;
 import com.navercorp.pinpoint.rpc.stream.ClientStreamChannel;
 import com.navercorp.pinpoint.rpc.stream.ClientStreamChannelContext;
 import com.navercorp.pinpoint.rpc.stream.ClientStreamChannelMessageListener;
@@ -219,15 +221,23 @@ public class AgentServiceImpl implements AgentService {
     public Map<AgentInfo, PinpointRouteResponse> invoke(List<AgentInfo> agentInfoList, byte[] payload, long timeout)
             throws TException {
         Map<AgentInfo, Future<ResponseMessage>> futureMap = new HashMap<>();
+        Map<PinpointSocket, List<AgentInfo>> socketAgentMap = new HashMap<>();
         for (AgentInfo agentInfo : agentInfoList) {
-            TCommandTransfer transferObject = createCommandTransferObject(agentInfo, payload);
             PinpointSocket socket = clusterManager.getSocket(agentInfo);
-            if (socket != null) {
-                Future<ResponseMessage> future = socket.request(serializeRequest(transferObject));
-                futureMap.put(agentInfo, future);
-            } else {
+            if (socket == null) {
                 futureMap.put(agentInfo, null);
+                continue;
+            }
+            List<AgentInfo> socketAgentList = socketAgentMap.get(socket);
+            if (socketAgentList == null) {
+                socketAgentList = new ArrayList<>();
+                socketAgentMap.put(socket, socketAgentList);
             }
+            socketAgentList.add(agentInfo);
+        }
+
+        for (Map.Entry<PinpointSocket, List<AgentInfo>> socketAgentEntry : socketAgentMap.entrySet()) {
+            request(socketAgentEntry.getKey(), socketAgentEntry.getValue(), payload, futureMap);
         }
 
         long startTime = System.currentTimeMillis();
@@ -243,6 +253,38 @@ public class AgentServiceImpl implements AgentService {
         return result;
     }
 
+    /**
+     * Agents connected through the same collector are requested in a single batch frame when the collector supports it,
+     * so that the collector routes them concurrently instead of one round trip at a time.
+     */
+    private void request(PinpointSocket socket, List<AgentInfo> agentInfoList, byte[] payload, Map<AgentInfo, Future<ResponseMessage>> futureMap) throws TException {
+        if (agentInfoList.size() == 1 || !isBatchRouter(socket)) {
+            for (AgentInfo agentInfo : agentInfoList) {
+                TCommandTransfer transferObject = createCommandTransferObject(agentInfo, payload);
+                futureMap.put(agentInfo, socket.request(serializeRequest(transferObject)));
+            }
+            return;
+        }
+
+        List<byte[]> requestPayloadList = new ArrayList<>(agentInfoList.size());
+        for (AgentInfo agentInfo : agentInfoList) {
+            TCommandTransfer transferObject = createCommandTransferObject(agentInfo, payload);
+            requestPayloadList.add(serializeRequest(transferObject));
+        }
+        List<Future<ResponseMessage>> futureList = socket.batchRequest(requestPayloadList);
+        for (int i = 0; i < agentInfoList.size(); i++) {
+            futureMap.put(agentInfoList.get(i), futureList.get(i));
+        }
+    }
+
+    private boolean isBatchRouter(PinpointSocket socket) {
+        ClusterOption remoteClusterOption = socket.getRemoteClusterOption();
+        if (remoteClusterOption == null || remoteClusterOption.getRoles() == null) {
+            return false;
+        }
+        return remoteClusterOption.getRoles().contains(Role.BATCH_ROUTER);
+    }
+
     @Override
     public ClientStreamChannelContext openStream(AgentInfo agentInfo, TBase<?, ?> tBase, ClientStreamChannelMessageListener messageListener) throws TException {
         byte[] payload = serializeRequest(tBase);
@@ -323,7 +365,7 @@ public class AgentServiceImpl implements AgentService {
             return new FailedPinpointRouteResponse(TRouteResult.NOT_FOUND, null);
         }
 
-        boolean completed = future.await(DEFAULT_FUTURE_TIMEOUT);
+        boolean completed = future.await(timeout);
         if (completed) {
             DefaultPinpointRouteResponse response = new DefaultPinpointRouteResponse(future.getResult().getMessage());
             response.parse(commandDeserializerFactory);
@@ -0,0 +1,34 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service;
+
+import com.navercorp.pinpoint.common.server.bo.alarm.AlarmStatReportBo;
+import com.navercorp.pinpoint.common.server.bo.alarm.ApplicationAlarmStatBo;
+
+/**
+ * Keeps the latest alarm stat report of every collector for the alarm batch (<tt>batch.alarm.stream.enable</tt>).
+ */
+public interface AlarmStatService {
+
+    void report(AlarmStatReportBo report);
+
+    /**
+     * @return the stats of the application added up over the latest report of every collector, null if no collector reported the application
+     */
+    ApplicationAlarmStatBo selectApplicationAlarmStat(String applicationName);
+
+}
@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.navercorp.pinpoint.common.server.bo.alarm.AgentAlarmStatBo;
+import com.navercorp.pinpoint.common.server.bo.alarm.AlarmStatReportBo;
+import com.navercorp.pinpoint.common.server.bo.alarm.ApplicationAlarmStatBo;
+
+/**
+ * Each report replaces the previous report of its collector. Reports that have not been replaced within <tt>reportTimeout</tt>
+ * (measured on receipt, collector clocks are not compared) belong to collectors that stopped and are dropped.
+ */
+@Service
+public class AlarmStatServiceImpl implements AlarmStatService {
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Value("#{pinpointWebProps['web.alarm.stream.reportTimeout'] ?: 60000}")
+    private long reportTimeout;
+
+    private final ConcurrentMap<String, CollectorReport> collectorReportMap = new ConcurrentHashMap<>();
+
+    public AlarmStatServiceImpl() {
+    }
+
+    AlarmStatServiceImpl(long reportTimeout) {
+        this.reportTimeout = reportTimeout;
+    }
+
+    @Override
+    public void report(AlarmStatReportBo report) {
+        report(report, System.currentTimeMillis());
+    }
+
+    void report(AlarmStatReportBo report, long receivedTime) {
+        if (report == null) {
+            throw new NullPointerException("report must not be null");
+        }
+        if (report.getCollectorId() == null) {
+            throw new IllegalArgumentException("collectorId must not be null");
+        }
+        if (logger.isDebugEnabled()) {
+            logger.debug("alarm stat report received. {}", report);
+        }
+        final CollectorReport collectorReport = new CollectorReport(report, receivedTime);
+        while (true) {
+            final CollectorReport previous = collectorReportMap.putIfAbsent(report.getCollectorId(), collectorReport);
+            if (previous == null) {
+                return;
+            }
+            if (previous.report.getReportTime() > report.getReportTime()) {
+                // delayed request, a later report has already been received
+                return;
+            }
+            if (collectorReportMap.replace(report.getCollectorId(), previous, collectorReport)) {
+                return;
+            }
+        }
+    }
+
+    @Override
+    public ApplicationAlarmStatBo selectApplicationAlarmStat(String applicationName) {
+        return selectApplicationAlarmStat(applicationName, System.currentTimeMillis());
+    }
+
+    ApplicationAlarmStatBo selectApplicationAlarmStat(String applicationName, long now) {
+        if (applicationName == null) {
+            throw new NullPointerException("applicationName must not be null");
+        }
+        ApplicationAlarmStatBo sum = null;
+        final Map<String, AgentAlarmStatBo> agentStatMap = new HashMap<>();
+        final Iterator<CollectorReport> iterator = collectorReportMap.values().iterator();
+        while (iterator.hasNext()) {
+            final CollectorReport collectorReport = iterator.next();
+            if (now - collectorReport.receivedTime > reportTimeout) {
+                logger.info("alarm stat report expired. {}", collectorReport.report);
+                iterator.remove();
+                continue;
+            }
+            final ApplicationAlarmStatBo applicationStat = collectorReport.applicationStatMap.get(applicationName);
+            if (applicationStat == null) {
+                continue;
+            }
+            if (sum == null) {
+                sum = new ApplicationAlarmStatBo();
+                sum.setApplicationName(applicationName);
+            }
+            sum.setTotalCount(sum.getTotalCount() + applicationStat.getTotalCount());
+            sum.setSlowCount(sum.getSlowCount() + applicationStat.getSlowCount());
+            sum.setErrorCount(sum.getErrorCount() + applicationStat.getErrorCount());
+            addAgentStats(agentStatMap, applicationStat.getAgentStats());
+        }
+        if (sum != null) {
+            sum.setAgentStats(new ArrayList<>(agentStatMap.values()));
+        }
+        return sum;
+    }
+
+    private void addAgentStats(Map<String, AgentAlarmStatBo> agentStatMap, List<AgentAlarmStatBo> agentStats) {
+        if (agentStats == null) {
+            return;
+        }
+        for (AgentAlarmStatBo agentStat : agentStats) {
+            // stats of an agent may be spread over collectors behind a load balancer
+            AgentAlarmStatBo sum = agentStatMap.get(agentStat.getAgentId());
+            if (sum == null) {
+                sum = new AgentAlarmStatBo();
+                sum.setAgentId(agentStat.getAgentId());
+                agentStatMap.put(agentStat.getAgentId(), sum);
+            }
+            sum.setHeapUsed(sum.getHeapUsed() + agentStat.getHeapUsed());
+            sum.setHeapMax(sum.getHeapMax() + agentStat.getHeapMax());
+            sum.setJvmCpuLoad(sum.getJvmCpuLoad() + agentStat.getJvmCpuLoad());
+            sum.setJvmCpuLoadCount(sum.getJvmCpuLoadCount() + agentStat.getJvmCpuLoadCount());
+        }
+    }
+
+    private static class CollectorReport {
+
+        private final AlarmStatReportBo report;
+        private final long receivedTime;
+        private final Map<String, ApplicationAlarmStatBo> applicationStatMap;
+
+        private CollectorReport(AlarmStatReportBo report, long receivedTime) {
+            this.report = report;
+            this.receivedTime = receivedTime;
+            this.applicationStatMap = new HashMap<>();
+            if (report.getApplicationStats() != null) {
+                for (ApplicationAlarmStatBo applicationStat : report.getApplicationStats()) {
+                    applicationStatMap.put(applicationStat.getApplicationName(), applicationStat);
+                }
+            }
+        }
+    }
+}
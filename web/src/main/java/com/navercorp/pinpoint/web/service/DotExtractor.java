@@ -69,6 +69,16 @@ public class DotExtractor {
         logger.trace("Application:{} Dot:{}", spanApplication, dot);
     }
 
+    public void addDotExtractor(DotExtractor dotExtractor) {
+        if (dotExtractor == null) {
+            throw new NullPointerException("dotExtractor must not be null");
+        }
+        for (Map.Entry<Application, List<Dot>> entry : dotExtractor.dotMap.entrySet()) {
+            final List<Dot> dotList = getDotList(entry.getKey());
+            dotList.addAll(entry.getValue());
+        }
+    }
+
     private List<Dot> getDotList(Application spanApplication) {
         List<Dot> dotList = this.dotMap.get(spanApplication);
         if (dotList == null) {
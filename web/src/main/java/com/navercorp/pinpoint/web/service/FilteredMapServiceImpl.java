@@ -23,6 +23,8 @@ import com.navercorp.pinpoint.common.service.ServiceTypeRegistryService;
 import com.navercorp.pinpoint.common.trace.HistogramSchema;
 import com.navercorp.pinpoint.common.trace.HistogramSlot;
 import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.common.util.ExecutorFactory;
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
 import com.navercorp.pinpoint.common.util.TransactionId;
 import com.navercorp.pinpoint.web.applicationmap.ApplicationMap;
 import com.navercorp.pinpoint.web.applicationmap.ApplicationMapBuilder;
@@ -48,15 +50,26 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.util.StopWatch;
 
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
 
 /**
  * @author netspider
@@ -89,6 +102,41 @@ public class FilteredMapServiceImpl implements FilteredMapService {
 
     private static final Object V = new Object();
 
+    // transactions are fetched and aggregated in partitions of this size on the filtered map executor
+    @Value("#{pinpointWebProps['web.filteredmap.partitionSize'] ?: 500}")
+    private int partitionSize;
+
+    @Value("#{pinpointWebProps['web.filteredmap.threads'] ?: 8}")
+    private int filteredMapThreads;
+
+    @Value("#{pinpointWebProps['web.filteredmap.queueSize'] ?: 1024}")
+    private int filteredMapQueueSize;
+
+    private ThreadPoolExecutor filteredMapExecutor;
+
+    @PostConstruct
+    public void start() {
+        if (partitionSize <= 0) {
+            throw new IllegalArgumentException("partitionSize must be greater than 0");
+        }
+        logger.info("start filtered map executor threads:{}, queueSize:{}, partitionSize:{}", filteredMapThreads, filteredMapQueueSize, partitionSize);
+        this.filteredMapExecutor = ExecutorFactory.newFixedThreadPool(filteredMapThreads, filteredMapQueueSize, new PinpointThreadFactory("Pinpoint-web-filteredmap", true));
+    }
+
+    @PreDestroy
+    public void stop() {
+        logger.info("stop filtered map executor");
+        final ThreadPoolExecutor executor = this.filteredMapExecutor;
+        if (executor != null) {
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(3000, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
     @Override
     public LimitedScanResult<List<TransactionId>> selectTraceIdsFromApplicationTraceIndex(String applicationName, Range range, int limit) {
         return selectTraceIdsFromApplicationTraceIndex(applicationName, range, limit, true);
@@ -222,12 +270,11 @@ public class FilteredMapServiceImpl implements FilteredMapService {
         StopWatch watch = new StopWatch();
         watch.start();
 
-        final List<List<SpanBo>> filterList = selectFilteredSpan(transactionIdList, filter);
+        final PartialFilteredMap filteredMap = selectFilteredMap(transactionIdList, originalRange, scanRange, filter);
 
-        DotExtractor dotExtractor = createDotExtractor(scanRange, filterList);
-        ApplicationMap map = createMap(originalRange, scanRange, filterList);
+        ApplicationMap map = createMap(originalRange, filteredMap);
 
-        ApplicationMapWithScatterScanResult applicationMapWithScatterScanResult = new ApplicationMapWithScatterScanResult(map, dotExtractor.getApplicationScatterScanResult());
+        ApplicationMapWithScatterScanResult applicationMapWithScatterScanResult = new ApplicationMapWithScatterScanResult(map, filteredMap.dotExtractor.getApplicationScatterScanResult());
 
         watch.stop();
         logger.debug("Select filtered application map elapsed. {}ms", watch.getTotalTimeMillis());
@@ -247,12 +294,11 @@ public class FilteredMapServiceImpl implements FilteredMapService {
         StopWatch watch = new StopWatch();
         watch.start();
 
-        final List<List<SpanBo>> filterList = selectFilteredSpan(transactionIdList, filter);
+        final PartialFilteredMap filteredMap = selectFilteredMap(transactionIdList, originalRange, scanRange, filter);
 
-        DotExtractor dotExtractor = createDotExtractor(scanRange, filterList);
-        ApplicationMap map = createMap(originalRange, scanRange, filterList);
+        ApplicationMap map = createMap(originalRange, filteredMap);
 
-        ApplicationMapWithScatterData applicationMapWithScatterData = new ApplicationMapWithScatterData(map, dotExtractor.getApplicationScatterData(originalRange.getFrom(), originalRange.getTo(), xGroupUnit, yGroupUnit));
+        ApplicationMapWithScatterData applicationMapWithScatterData = new ApplicationMapWithScatterData(map, filteredMap.dotExtractor.getApplicationScatterData(originalRange.getFrom(), originalRange.getTo(), xGroupUnit, yGroupUnit));
 
         watch.stop();
         logger.debug("Select filtered application map elapsed. {}ms", watch.getTotalTimeMillis());
@@ -260,20 +306,86 @@ public class FilteredMapServiceImpl implements FilteredMapService {
         return applicationMapWithScatterData;
     }
 
-    private List<List<SpanBo>> selectFilteredSpan(List<TransactionId> transactionIdList, Filter filter) {
+    PartialFilteredMap selectFilteredMap(List<TransactionId> transactionIdList, final Range range, final Range scanRange, final Filter filter) {
         // filters out recursive calls by looking at each objects
         // do not filter here if we change to a tree-based collision check in the future. 
         final List<TransactionId> recursiveFilterList = recursiveCallFilter(transactionIdList);
 
-        // FIXME might be better to simply traverse the List<Span> and create a process chain for execution
-        final List<List<SpanBo>> originalList = this.traceDao.selectAllSpans(recursiveFilterList);
+        final List<List<TransactionId>> partitionList = Lists.partition(recursiveFilterList, partitionSize);
+        if (partitionList.size() <= 1) {
+            return createPartialFilteredMap(recursiveFilterList, range, scanRange, filter);
+        }
+
+        // each partition fetches, filters and aggregates its own transactions.
+        // partials are merged as soon as they complete, so only one span list per running partition is held in memory.
+        final CompletionService<PartialFilteredMap> completionService = new ExecutorCompletionService<>(filteredMapExecutor);
+        final List<Future<PartialFilteredMap>> futureList = new ArrayList<>(partitionList.size());
+        // partitions the saturated executor did not accept are run on the request thread
+        final List<List<TransactionId>> inlinePartitionList = new ArrayList<>();
+        try {
+            for (final List<TransactionId> partition : partitionList) {
+                if (!inlinePartitionList.isEmpty()) {
+                    inlinePartitionList.add(partition);
+                    continue;
+                }
+                try {
+                    Future<PartialFilteredMap> future = completionService.submit(new Callable<PartialFilteredMap>() {
+                        @Override
+                        public PartialFilteredMap call() throws Exception {
+                            return createPartialFilteredMap(partition, range, scanRange, filter);
+                        }
+                    });
+                    futureList.add(future);
+                } catch (RejectedExecutionException e) {
+                    logger.info("filtered map executor is busy, running {} of {} partitions inline", partitionList.size() - futureList.size(), partitionList.size());
+                    inlinePartitionList.add(partition);
+                }
+            }
 
-        return filterList2(originalList, filter);
+            final PartialFilteredMap filteredMap = new PartialFilteredMap(range, scanRange, applicationFactory);
+            for (List<TransactionId> partition : inlinePartitionList) {
+                if (Thread.currentThread().isInterrupted()) {
+                    throw new InterruptedException();
+                }
+                filteredMap.addPartialFilteredMap(createPartialFilteredMap(partition, range, scanRange, filter));
+            }
+            for (int i = 0; i < futureList.size(); i++) {
+                final PartialFilteredMap partialFilteredMap = completionService.take().get();
+                filteredMap.addPartialFilteredMap(partialFilteredMap);
+            }
+            return filteredMap;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("filtered map interrupted", e);
+        } catch (ExecutionException e) {
+            final Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            if (cause instanceof Error) {
+                throw (Error) cause;
+            }
+            throw new IllegalStateException("filtered map failed. " + cause, cause);
+        } finally {
+            // no-op for completed partitions, stops the remaining ones on failure
+            for (Future<PartialFilteredMap> future : futureList) {
+                future.cancel(true);
+            }
+        }
     }
 
-    private DotExtractor createDotExtractor(Range scanRange, List<List<SpanBo>> filterList) {
-        final DotExtractor dotExtractor = new DotExtractor(scanRange, applicationFactory);
+    private PartialFilteredMap createPartialFilteredMap(List<TransactionId> transactionIdList, Range range, Range scanRange, Filter filter) {
+        // FIXME might be better to simply traverse the List<Span> and create a process chain for execution
+        final List<List<SpanBo>> originalList = this.traceDao.selectAllSpans(transactionIdList);
+        final List<List<SpanBo>> filterList = filterList2(originalList, filter);
 
+        final PartialFilteredMap partialFilteredMap = new PartialFilteredMap(range, scanRange, applicationFactory);
+        addDot(partialFilteredMap.dotExtractor, filterList);
+        addLinkData(partialFilteredMap, range, filterList);
+        return partialFilteredMap;
+    }
+
+    private void addDot(DotExtractor dotExtractor, List<List<SpanBo>> filterList) {
         for (List<SpanBo> transaction : filterList) {
             for (SpanBo span : transaction) {
                 final Application spanApplication = this.applicationFactory.createApplication(span.getApplicationId(), span.getApplicationServiceType());
@@ -284,19 +396,13 @@ public class FilteredMapServiceImpl implements FilteredMapService {
                 dotExtractor.addDot(span);
             }
         }
-
-        return dotExtractor;
     }
 
-    private ApplicationMap createMap(Range range, Range scanRange, List<List<SpanBo>> filterList) {
+    private void addLinkData(PartialFilteredMap partialFilteredMap, Range range, List<List<SpanBo>> filterList) {
 
         // TODO inject TimeWindow from elsewhere 
         final TimeWindow window = new TimeWindow(range, TimeWindowDownSampler.SAMPLER);
 
-
-        final LinkDataDuplexMap linkDataDuplexMap = new LinkDataDuplexMap();
-
-        final ResponseHistogramBuilder mapHistogramSummary = new ResponseHistogramBuilder(range);
         /*
          * Convert to statistical data
          */
@@ -308,7 +414,7 @@ public class FilteredMapServiceImpl implements FilteredMapService {
                 final Application spanApplication = this.applicationFactory.createApplication(span.getApplicationId(), span.getApplicationServiceType());
 
                 // records the Span's response time statistics
-                recordSpanResponseTime(spanApplication, span, mapHistogramSummary, span.getCollectorAcceptTime());
+                recordSpanResponseTime(spanApplication, span, partialFilteredMap.responseHistogramBuilder, span.getCollectorAcceptTime());
 
                 if (!spanApplication.getServiceType().isRecordStatistics() || spanApplication.getServiceType().isRpcClient()) {
                     // span's serviceType is probably not set correctly
@@ -326,21 +432,21 @@ public class FilteredMapServiceImpl implements FilteredMapService {
                     if (logger.isTraceEnabled()) {
                         logger.trace("span user:{} {} -> span:{} {}", parentApplication, span.getAgentId(), spanApplication, span.getAgentId());
                     }
-                    final LinkDataMap sourceLinkData = linkDataDuplexMap.getSourceLinkDataMap();
+                    final LinkDataMap sourceLinkData = partialFilteredMap.linkDataDuplexMap.getSourceLinkDataMap();
                     sourceLinkData.addLinkData(parentApplication, span.getAgentId(), spanApplication,  span.getAgentId(), timestamp, slotTime, 1);
 
                     if (logger.isTraceEnabled()) {
                         logger.trace("span target user:{} {} -> span:{} {}", parentApplication, span.getAgentId(), spanApplication, span.getAgentId());
                     }
                     // Inbound data
-                    final LinkDataMap targetLinkDataMap = linkDataDuplexMap.getTargetLinkDataMap();
+                    final LinkDataMap targetLinkDataMap = partialFilteredMap.linkDataDuplexMap.getTargetLinkDataMap();
                     targetLinkDataMap.addLinkData(parentApplication, span.getAgentId(), spanApplication, span.getAgentId(), timestamp, slotTime, 1);
                 } else {
                     // Inbound data
                     if (logger.isTraceEnabled()) {
                         logger.trace("span target parent:{} {} -> span:{} {}", parentApplication, span.getAgentId(), spanApplication, span.getAgentId());
                     }
-                    final LinkDataMap targetLinkDataMap = linkDataDuplexMap.getTargetLinkDataMap();
+                    final LinkDataMap targetLinkDataMap = partialFilteredMap.linkDataDuplexMap.getTargetLinkDataMap();
                     targetLinkDataMap.addLinkData(parentApplication, span.getAgentId(), spanApplication, span.getAgentId(), timestamp, slotTime, 1);
                 }
 
@@ -348,13 +454,16 @@ public class FilteredMapServiceImpl implements FilteredMapService {
                     continue;
                 }
                 
-                addNodeFromSpanEvent(span, window, linkDataDuplexMap, transactionSpanMap);
+                addNodeFromSpanEvent(span, window, partialFilteredMap.linkDataDuplexMap, transactionSpanMap);
             }
         }
-        
+    }
+
+    private ApplicationMap createMap(Range range, PartialFilteredMap filteredMap) {
         ApplicationMapBuilder applicationMapBuilder = new ApplicationMapBuilder(range);
+        final ResponseHistogramBuilder mapHistogramSummary = filteredMap.responseHistogramBuilder;
         mapHistogramSummary.build();
-        ApplicationMap map = applicationMapBuilder.build(linkDataDuplexMap, agentInfoService, mapHistogramSummary);
+        ApplicationMap map = applicationMapBuilder.build(filteredMap.linkDataDuplexMap, agentInfoService, mapHistogramSummary);
 
         if(serverMapDataFilter != null) {
             map = serverMapDataFilter.dataFiltering(map);
@@ -498,5 +607,23 @@ public class FilteredMapServiceImpl implements FilteredMapService {
         return transactionIdList;
     }
 
+    /**
+     * link data, response histograms and scatter dots of a subset of the transactions.
+     */
+    static class PartialFilteredMap {
+        final LinkDataDuplexMap linkDataDuplexMap = new LinkDataDuplexMap();
+        final ResponseHistogramBuilder responseHistogramBuilder;
+        final DotExtractor dotExtractor;
+
+        private PartialFilteredMap(Range range, Range scanRange, ApplicationFactory applicationFactory) {
+            this.responseHistogramBuilder = new ResponseHistogramBuilder(range);
+            this.dotExtractor = new DotExtractor(scanRange, applicationFactory);
+        }
 
+        private void addPartialFilteredMap(PartialFilteredMap partialFilteredMap) {
+            this.linkDataDuplexMap.addLinkDataDuplexMap(partialFilteredMap.linkDataDuplexMap);
+            this.responseHistogramBuilder.addResponseHistogramBuilder(partialFilteredMap.responseHistogramBuilder);
+            this.dotExtractor.addDotExtractor(partialFilteredMap.dotExtractor);
+        }
+    }
 }
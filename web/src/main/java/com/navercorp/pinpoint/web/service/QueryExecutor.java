@@ -0,0 +1,417 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service;
+
+import com.navercorp.pinpoint.common.util.ExecutorFactory;
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import org.apache.commons.lang3.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import javax.servlet.http.HttpServletRequest;
+import java.security.Principal;
+import java.util.ArrayDeque;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Runs heavy queries (server map, scatter, agent stat charts) on a dedicated, bounded thread pool
+ * instead of the servlet container threads, so that a few slow queries cannot starve the whole web ui.
+ * <p>
+ * Queries are handed back to Spring MVC as {@link DeferredResult}s. At most {@code maxConcurrentPerUser} queries of
+ * a single user run at the same time; further queries of that user wait in a per-user queue (up to {@code maxPendingPerUser})
+ * until one of the running queries finishes, and are only rejected once that queue is full.
+ * Waiting and running time together are bounded by {@code timeout}, after which the query is cancelled.
+ * Queries are also cancelled when the request completes before they do (client disconnect).
+ * <p>
+ * Users are identified by the authenticated principal, then the remote address. X-Forwarded-For is only trusted
+ * when the request comes from one of the {@code trustedProxies}, in which case the right-most address that is not
+ * a trusted proxy is used. Users whose requests can not be told apart share one quota, in which case
+ * {@code maxConcurrentPerUser} should be raised accordingly.
+ * The queue of a user is dropped once it has nothing running or pending.
+ */
+@Service
+public class QueryExecutor {
+
+    private static final String X_FORWARDED_FOR = "X-Forwarded-For";
+    private static final String UNKNOWN_USER = "UNKNOWN";
+
+    private static final int WAITING = 0;
+    private static final int SUBMITTED = 1;
+    private static final int RUNNING = 2;
+    private static final int DONE = 3;
+    private static final int CANCELLED = 4;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    @Value("#{pinpointWebProps['web.query.executor.threads'] ?: 32}")
+    private int threads;
+
+    @Value("#{pinpointWebProps['web.query.executor.queueSize'] ?: 256}")
+    private int queueSize;
+
+    @Value("#{pinpointWebProps['web.query.executor.maxConcurrentPerUser'] ?: 4}")
+    private int maxConcurrentPerUser;
+
+    @Value("#{pinpointWebProps['web.query.executor.maxPendingPerUser'] ?: 16}")
+    private int maxPendingPerUser;
+
+    @Value("#{pinpointWebProps['web.query.executor.timeout'] ?: 180000}")
+    private long timeout;
+
+    // comma separated addresses of the reverse proxies allowed to set X-Forwarded-For
+    @Value("#{pinpointWebProps['web.query.executor.trustedProxies'] ?: ''}")
+    private String trustedProxies;
+
+    private Set<String> trustedProxySet = Collections.emptySet();
+
+    private final ConcurrentMap<String, UserQueue> userQueueMap = new ConcurrentHashMap<>();
+
+    private final AtomicLong executedCount = new AtomicLong();
+    private final AtomicLong queuedCount = new AtomicLong();
+    private final AtomicLong rejectedCount = new AtomicLong();
+    private final AtomicLong cancelledCount = new AtomicLong();
+    private final AtomicLong totalQueueTime = new AtomicLong();
+    private final AtomicLong maxQueueTime = new AtomicLong();
+
+    private ThreadPoolExecutor executor;
+
+    @PostConstruct
+    public void start() {
+        logger.info("start QueryExecutor threads:{}, queueSize:{}, maxConcurrentPerUser:{}, maxPendingPerUser:{}, timeout:{}ms",
+                threads, queueSize, maxConcurrentPerUser, maxPendingPerUser, timeout);
+        this.trustedProxySet = parseTrustedProxies(trustedProxies);
+        this.executor = ExecutorFactory.newFixedThreadPool(threads, queueSize, new PinpointThreadFactory("Pinpoint-web-query", true));
+    }
+
+    @PreDestroy
+    public void stop() {
+        logger.info("stop QueryExecutor");
+        final ThreadPoolExecutor executor = this.executor;
+        if (executor != null) {
+            executor.shutdownNow();
+            try {
+                executor.awaitTermination(3000, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Submits the query on behalf of the user of the current request.
+     * Must be called from the request thread.
+     */
+    public <T> DeferredResult<T> execute(Callable<T> query) {
+        if (query == null) {
+            throw new NullPointerException("query must not be null");
+        }
+        final String user = getCurrentUser();
+        final DeferredResult<T> deferredResult = new DeferredResult<>(timeout);
+
+        UserQueue userQueue;
+        QueryTask<T> queryTask;
+        boolean runNow;
+        while (true) {
+            userQueue = getUserQueue(user);
+            synchronized (userQueue) {
+                if (userQueue.removed) {
+                    // dropped while idle, look up its replacement
+                    continue;
+                }
+                queryTask = new QueryTask<>(query, deferredResult, userQueue);
+                if (userQueue.running < maxConcurrentPerUser) {
+                    userQueue.running++;
+                    runNow = true;
+                } else if (userQueue.pending.size() < maxPendingPerUser) {
+                    userQueue.pending.add(queryTask);
+                    runNow = false;
+                } else {
+                    rejectedCount.incrementAndGet();
+                    logger.info("too many pending queries. user:{}, maxConcurrent:{}, maxPending:{}", user, maxConcurrentPerUser, maxPendingPerUser);
+                    deferredResult.setErrorResult(new QueryRejectedException("too many pending queries. max:" + maxPendingPerUser));
+                    return deferredResult;
+                }
+            }
+            break;
+        }
+
+        deferredResult.onTimeout(new Runnable() {
+            @Override
+            public void run() {
+                deferredResult.setErrorResult(new TimeoutException("query timed out. timeout:" + timeout + "ms"));
+            }
+        });
+        deferredResult.onCompletion(new Runnable() {
+            @Override
+            public void run() {
+                queryTask.cancel();
+            }
+        });
+
+        if (runNow) {
+            if (!submit(queryTask)) {
+                release(userQueue);
+            }
+        } else {
+            queuedCount.incrementAndGet();
+            logger.debug("query queued. user:{}", user);
+        }
+        return deferredResult;
+    }
+
+    /**
+     * Hands the executor slot of the user over to its oldest pending query, or frees it if nothing is pending.
+     */
+    private void release(UserQueue userQueue) {
+        while (true) {
+            final QueryTask<?> next;
+            synchronized (userQueue) {
+                next = userQueue.pending.poll();
+                if (next == null) {
+                    userQueue.running--;
+                    if (userQueue.running == 0) {
+                        // nothing running or pending, do not keep the queue of every user ever seen
+                        userQueue.removed = true;
+                        userQueueMap.remove(userQueue.user, userQueue);
+                    }
+                    return;
+                }
+            }
+            if (submit(next)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * @return false if the query was not handed to the executor, in which case the caller still owns its slot.
+     */
+    private boolean submit(QueryTask<?> queryTask) {
+        if (!queryTask.state.compareAndSet(WAITING, SUBMITTED)) {
+            return false;
+        }
+        try {
+            executor.execute(queryTask.future);
+            return true;
+        } catch (RejectedExecutionException e) {
+            queryTask.state.set(DONE);
+            rejectedCount.incrementAndGet();
+            logger.warn("query rejected. user:{}, queueSize:{}", queryTask.userQueue.user, executor.getQueue().size());
+            queryTask.deferredResult.setErrorResult(new QueryRejectedException("query executor is busy. please try again later."));
+            return false;
+        }
+    }
+
+    private UserQueue getUserQueue(String user) {
+        final UserQueue userQueue = userQueueMap.get(user);
+        if (userQueue != null) {
+            return userQueue;
+        }
+        final UserQueue newUserQueue = new UserQueue(user);
+        final UserQueue before = userQueueMap.putIfAbsent(user, newUserQueue);
+        if (before != null) {
+            return before;
+        }
+        return newUserQueue;
+    }
+
+    private String getCurrentUser() {
+        final RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        if (!(requestAttributes instanceof ServletRequestAttributes)) {
+            return UNKNOWN_USER;
+        }
+        final HttpServletRequest request = ((ServletRequestAttributes) requestAttributes).getRequest();
+        return getUser(request);
+    }
+
+    String getUser(HttpServletRequest request) {
+        final Principal principal = request.getUserPrincipal();
+        if (principal != null && StringUtils.isNotEmpty(principal.getName())) {
+            return principal.getName();
+        }
+        final String remoteAddr = request.getRemoteAddr();
+        if (StringUtils.isEmpty(remoteAddr)) {
+            return UNKNOWN_USER;
+        }
+        if (!trustedProxySet.contains(remoteAddr)) {
+            return remoteAddr;
+        }
+        // addresses are appended by each proxy, only the ones added by trusted proxies can be believed
+        final String[] forwardedFor = StringUtils.split(request.getHeader(X_FORWARDED_FOR), ',');
+        if (forwardedFor == null) {
+            return remoteAddr;
+        }
+        String client = remoteAddr;
+        for (int i = forwardedFor.length - 1; i >= 0; i--) {
+            client = StringUtils.trim(forwardedFor[i]);
+            if (!trustedProxySet.contains(client)) {
+                break;
+            }
+        }
+        return StringUtils.isEmpty(client) ? remoteAddr : client;
+    }
+
+    static Set<String> parseTrustedProxies(String trustedProxies) {
+        final String[] addresses = StringUtils.split(trustedProxies, ',');
+        if (addresses == null || addresses.length == 0) {
+            return Collections.emptySet();
+        }
+        final Set<String> trustedProxySet = new HashSet<>();
+        for (String address : addresses) {
+            final String trimmed = StringUtils.trim(address);
+            if (StringUtils.isNotEmpty(trimmed)) {
+                trustedProxySet.add(trimmed);
+            }
+        }
+        return trustedProxySet;
+    }
+
+    private void recordQueueTime(long queueTime) {
+        totalQueueTime.addAndGet(queueTime);
+        while (true) {
+            final long currentMax = maxQueueTime.get();
+            if (queueTime <= currentMax || maxQueueTime.compareAndSet(currentMax, queueTime)) {
+                return;
+            }
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        final Map<String, Object> statistics = new LinkedHashMap<>();
+        final long executed = executedCount.get();
+        statistics.put("activeCount", executor.getActiveCount());
+        statistics.put("queueSize", executor.getQueue().size());
+        statistics.put("executedCount", executed);
+        statistics.put("queuedCount", queuedCount.get());
+        statistics.put("rejectedCount", rejectedCount.get());
+        statistics.put("cancelledCount", cancelledCount.get());
+        statistics.put("avgQueueTime", executed == 0 ? 0 : totalQueueTime.get() / executed);
+        statistics.put("maxQueueTime", maxQueueTime.get());
+        return statistics;
+    }
+
+    private static class UserQueue {
+
+        private final String user;
+        // guarded by this
+        private int running;
+        private boolean removed;
+        private final Queue<QueryTask<?>> pending = new ArrayDeque<>();
+
+        private UserQueue(String user) {
+            this.user = user;
+        }
+    }
+
+    private class QueryTask<T> implements Runnable {
+
+        private final Callable<T> query;
+        private final DeferredResult<T> deferredResult;
+        private final UserQueue userQueue;
+        private final FutureTask<Void> future = new FutureTask<>(this, null);
+        private final AtomicInteger state = new AtomicInteger(WAITING);
+        private final AtomicBoolean released = new AtomicBoolean(false);
+        private final long submitTime = System.currentTimeMillis();
+
+        private QueryTask(Callable<T> query, DeferredResult<T> deferredResult, UserQueue userQueue) {
+            this.query = query;
+            this.deferredResult = deferredResult;
+            this.userQueue = userQueue;
+        }
+
+        @Override
+        public void run() {
+            if (!state.compareAndSet(SUBMITTED, RUNNING)) {
+                return;
+            }
+            T result = null;
+            Exception error = null;
+            try {
+                if (deferredResult.isSetOrExpired()) {
+                    return;
+                }
+                executedCount.incrementAndGet();
+                recordQueueTime(System.currentTimeMillis() - submitTime);
+                try {
+                    result = query.call();
+                } catch (Exception e) {
+                    error = e;
+                }
+            } finally {
+                state.compareAndSet(RUNNING, DONE);
+                // release before handing over the result so that the next query of the same user is started
+                release();
+            }
+            if (error != null) {
+                deferredResult.setErrorResult(error);
+            } else {
+                deferredResult.setResult(result);
+            }
+        }
+
+        /**
+         * Called when the request completes. Queries that are already done, or are handing over their result, are left alone.
+         */
+        private void cancel() {
+            if (state.compareAndSet(WAITING, CANCELLED)) {
+                synchronized (userQueue) {
+                    userQueue.pending.remove(this);
+                }
+                cancelledCount.incrementAndGet();
+            } else if (state.compareAndSet(SUBMITTED, CANCELLED)) {
+                future.cancel(false);
+                release();
+                cancelledCount.incrementAndGet();
+            } else if (state.compareAndSet(RUNNING, CANCELLED)) {
+                // run() releases the slot once the interrupted query returns
+                future.cancel(true);
+                cancelledCount.incrementAndGet();
+            }
+        }
+
+        private void release() {
+            if (released.compareAndSet(false, true)) {
+                QueryExecutor.this.release(userQueue);
+            }
+        }
+    }
+
+}
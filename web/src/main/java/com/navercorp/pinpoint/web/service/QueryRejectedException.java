@@ -0,0 +1,30 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service;
+
+/**
+ * Thrown when a query cannot be accepted by the {@link QueryExecutor}, either because its work queue is full
+ * or because the user already has too many queries waiting behind the ones running.
+ * Queries over the per-user running limit are queued, they are only rejected once the user's pending queue is full.
+ */
+public class QueryRejectedException extends RuntimeException {
+
+    public QueryRejectedException(String message) {
+        super(message);
+    }
+
+}
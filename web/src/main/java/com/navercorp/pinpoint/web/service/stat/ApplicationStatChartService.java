@@ -0,0 +1,62 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service.stat;
+
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatType;
+import com.navercorp.pinpoint.common.server.bo.stat.ApplicationStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.ApplicationStatField;
+import com.navercorp.pinpoint.web.dao.stat.ApplicationStatDao;
+import com.navercorp.pinpoint.web.util.TimeWindow;
+import com.navercorp.pinpoint.web.vo.Range;
+import com.navercorp.pinpoint.web.vo.stat.chart.AgentStatChartGroup;
+import com.navercorp.pinpoint.web.vo.stat.chart.ApplicationStatChartGroup;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+
+/**
+ * Application-wide stat charts, read from the rollups computed by the collectors instead of the stats of every agent.
+ */
+@Service
+public class ApplicationStatChartService {
+
+    private final ApplicationStatDao applicationStatDao;
+
+    @Autowired
+    public ApplicationStatChartService(ApplicationStatDao applicationStatDao) {
+        this.applicationStatDao = applicationStatDao;
+    }
+
+    public AgentStatChartGroup selectApplicationChart(String applicationId, AgentStatType agentStatType, TimeWindow timeWindow) {
+        if (applicationId == null) {
+            throw new NullPointerException("applicationId must not be null");
+        }
+        if (agentStatType == null) {
+            throw new NullPointerException("agentStatType must not be null");
+        }
+        if (timeWindow == null) {
+            throw new NullPointerException("timeWindow must not be null");
+        }
+        if (ApplicationStatField.getFieldCount(agentStatType) == 0) {
+            throw new IllegalArgumentException("agentStatType not rolled up per application : " + agentStatType);
+        }
+        Range range = new Range(timeWindow.getWindowRange().getFrom(), timeWindow.getWindowRange().getTo() + timeWindow.getWindowSlotSize() - 1);
+        List<ApplicationStatBo> applicationStatBos = this.applicationStatDao.getApplicationStatList(applicationId, agentStatType, range);
+        return new ApplicationStatChartGroup(timeWindow, agentStatType, applicationStatBos);
+    }
+}
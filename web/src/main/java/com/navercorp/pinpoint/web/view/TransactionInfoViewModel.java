@@ -249,7 +249,7 @@ public class TransactionInfoViewModel {
             if (record.isMethod()) {
                 executeTime = DateUtils.longToDateStr(record.getBegin(), "HH:mm:ss SSS"); // time format
                 gap = String.valueOf(record.getGap());
-                elapsedTime = String.valueOf(record.getElapsed());
+                elapsedTime = formatElapsedTime(record);
                 barWidth = String.format("%1d", (int)(((end - begin) * barRatio) + 0.9));
                 executionMilliseconds = String.valueOf(record.getExecutionMilliseconds());
             }
@@ -262,6 +262,15 @@ public class TransactionInfoViewModel {
             isAuthorized = record.isAuthorized();
         }
 
+        private String formatElapsedTime(Record record) {
+            final long elapsedMicros = record.getElapsedMicros();
+            if (elapsedMicros == -1) {
+                return String.valueOf(record.getElapsed());
+            }
+            // milliseconds with microsecond precision
+            return String.format("%d.%03d", elapsedMicros / 1000, elapsedMicros % 1000);
+        }
+
         public String getDepth() {
             return depth;
         }
@@ -44,4 +44,8 @@ public class RangeFactory {
         return Range.createUncheckedRange(startTime, endTime);
     }
 
+    public TimeSlot getTimeSlot() {
+        return timeSlot;
+    }
+
 }
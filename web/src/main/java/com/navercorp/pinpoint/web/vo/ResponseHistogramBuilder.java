@@ -68,6 +68,27 @@ public class ResponseHistogramBuilder {
         responseTime.addResponseTime(agentId, timeHistogram);
     }
 
+    /**
+     * merges the histograms of another builder sharing the same range. Both builders must not have been built yet.
+     */
+    public void addResponseHistogramBuilder(ResponseHistogramBuilder responseHistogramBuilder) {
+        if (responseHistogramBuilder == null) {
+            throw new NullPointerException("responseHistogramBuilder must not be null");
+        }
+        if (this.responseTimeApplicationMap == null || responseHistogramBuilder.responseTimeApplicationMap == null) {
+            throw new IllegalStateException("already built");
+        }
+        for (Map<Application, ResponseTime> copyResponseTimeMap : responseHistogramBuilder.responseTimeApplicationMap.values()) {
+            for (Map.Entry<Application, ResponseTime> copyEntry : copyResponseTimeMap.entrySet()) {
+                final ResponseTime copyResponseTime = copyEntry.getValue();
+                final ResponseTime responseTime = getResponseTime(copyEntry.getKey(), copyResponseTime.getTimeStamp());
+                for (Map.Entry<String, TimeHistogram> agentHistogram : copyResponseTime.getAgentHistogram()) {
+                    responseTime.addResponseTime(agentHistogram.getKey(), agentHistogram.getValue());
+                }
+            }
+        }
+    }
+
     private ResponseTime getResponseTime(Application application, Long timeStamp) {
         Map<Application, ResponseTime> responseTimeMap = responseTimeApplicationMap.get(timeStamp);
         if (responseTimeMap == null) {
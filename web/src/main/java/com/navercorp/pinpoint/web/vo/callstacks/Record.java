@@ -40,6 +40,7 @@ public class Record {
     private final String arguments;
     private final long begin;
     private final long elapsed;
+    private long elapsedMicros = -1;
     private final long gap;
     private final long executionMilliseconds;
     private final String agent;
@@ -128,6 +129,17 @@ public class Record {
         return elapsed;
     }
 
+    /**
+     * @return elapsed time in microseconds, -1 if it was only recorded in milliseconds
+     */
+    public long getElapsedMicros() {
+        return elapsedMicros;
+    }
+
+    public void setElapsedMicros(long elapsedMicros) {
+        this.elapsedMicros = elapsedMicros;
+    }
+
     public long getGap() {
         return gap;
     }
@@ -235,6 +247,8 @@ public class Record {
         builder.append(begin);
         builder.append(", elapsed=");
         builder.append(elapsed);
+        builder.append(", elapsedMicros=");
+        builder.append(elapsedMicros);
         builder.append(", gap=");
         builder.append(gap);
         builder.append(", executionMilliseconds=");
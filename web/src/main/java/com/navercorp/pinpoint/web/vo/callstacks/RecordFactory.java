@@ -80,6 +80,7 @@ public class RecordFactory {
                 true);
         record.setSimpleClassName(api.getClassName());
         record.setFullApiDescription(api.getDescription());
+        record.setElapsedMicros(align.getElapsedMicros());
 
         return record;
     }
@@ -0,0 +1,128 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.vo.stat.chart;
+
+import com.navercorp.pinpoint.common.server.bo.serializer.stat.AgentStatUtils;
+import com.navercorp.pinpoint.common.server.bo.stat.AgentStatType;
+import com.navercorp.pinpoint.common.server.bo.stat.ApplicationStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.ApplicationStatField;
+import com.navercorp.pinpoint.web.util.TimeWindow;
+import com.navercorp.pinpoint.web.vo.chart.Chart;
+import com.navercorp.pinpoint.web.vo.chart.Point;
+import com.navercorp.pinpoint.web.vo.chart.TimeSeriesChartBuilder;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Application-wide charts built from application stat rollups.
+ * <p>
+ * For each time window, min/max are those of every agent, avg is the average value of an agent,
+ * and sum is the average of the application total (sum of every agent) over the time slots of the window.
+ */
+public class ApplicationStatChartGroup implements AgentStatChartGroup {
+
+    private static final Double UNCOLLECTED_VALUE = -1D;
+    private static final int NUM_DECIMAL_PLACES = 2;
+
+    private final Map<ChartType, Chart> applicationStatCharts;
+
+    public enum ApplicationStatChartType implements ChartType {
+        JVM_CPU_LOAD,
+        SYSTEM_CPU_LOAD,
+        HEAP_USED,
+        NON_HEAP_USED,
+        TPS,
+        ACTIVE_TRACE_COUNT
+    }
+
+    public ApplicationStatChartGroup(TimeWindow timeWindow, AgentStatType agentStatType, List<ApplicationStatBo> applicationStatBos) {
+        this.applicationStatCharts = new HashMap<>();
+
+        // rollups of each time window, sorted by window timestamp
+        Map<Long, List<ApplicationStatBo>> windowMap = new TreeMap<>();
+        for (ApplicationStatBo applicationStatBo : applicationStatBos) {
+            long windowTimestamp = timeWindow.refineTimestamp(applicationStatBo.getTimestamp());
+            List<ApplicationStatBo> windowRollups = windowMap.get(windowTimestamp);
+            if (windowRollups == null) {
+                windowRollups = new ArrayList<>();
+                windowMap.put(windowTimestamp, windowRollups);
+            }
+            windowRollups.add(applicationStatBo);
+        }
+
+        for (ApplicationStatField field : ApplicationStatField.getFields(agentStatType)) {
+            List<Point<Long, Double>> points = new ArrayList<>(windowMap.size());
+            for (Map.Entry<Long, List<ApplicationStatBo>> entry : windowMap.entrySet()) {
+                Point<Long, Double> point = createPoint(entry.getKey(), entry.getValue(), field);
+                if (point != null) {
+                    points.add(point);
+                }
+            }
+            ChartType chartType = ApplicationStatChartType.valueOf(field.name());
+            this.applicationStatCharts.put(chartType, new TimeSeriesChartBuilder<>(timeWindow, UNCOLLECTED_VALUE).build(points));
+        }
+    }
+
+    private Point<Long, Double> createPoint(long windowTimestamp, List<ApplicationStatBo> windowRollups, ApplicationStatField field) {
+        final int fieldIndex = field.getIndex();
+        long count = 0;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        long sum = 0;
+        int numTimeSlots = 0;
+        for (ApplicationStatBo applicationStatBo : windowRollups) {
+            if (fieldIndex >= applicationStatBo.getFieldCount() || applicationStatBo.getCount(fieldIndex) == 0) {
+                continue;
+            }
+            count += applicationStatBo.getCount(fieldIndex);
+            min = Math.min(min, applicationStatBo.getMin(fieldIndex));
+            max = Math.max(max, applicationStatBo.getMax(fieldIndex));
+            sum += applicationStatBo.getSum(fieldIndex);
+            numTimeSlots++;
+        }
+        if (count == 0) {
+            return null;
+        }
+        return new Point<>(
+                windowTimestamp,
+                toValue(field, min),
+                toValue(field, max),
+                round(toValue(field, sum) / count),
+                round(toValue(field, sum) / numTimeSlots));
+    }
+
+    private double toValue(ApplicationStatField field, long value) {
+        if (field.isDecimal()) {
+            return AgentStatUtils.convertLongToDouble(value);
+        }
+        return value;
+    }
+
+    private double round(double value) {
+        return new BigDecimal(value).setScale(NUM_DECIMAL_PLACES, BigDecimal.ROUND_HALF_UP).doubleValue();
+    }
+
+    @Override
+    public Map<ChartType, Chart> getCharts() {
+        return this.applicationStatCharts;
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.vo.stat.chart;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Streaming, primitive counterpart of {@link DownSamplers#getDoubleDownSampler(double, int)}.
+ * Values are folded in as they are read instead of being collected into a list of boxed values first.
+ * <p>
+ * Not thread-safe, create one for each sampled value of a time window.
+ */
+public class DoubleSampleAccumulator {
+
+    private final double defaultValue;
+    private final int numDecimals;
+
+    private int count;
+    private double min;
+    private double max;
+    private double sum;
+    private double avg;
+
+    public DoubleSampleAccumulator(double defaultValue, int numDecimals) {
+        this.defaultValue = defaultValue;
+        this.numDecimals = numDecimals;
+    }
+
+    public void add(double value) {
+        if (count == 0) {
+            min = value;
+            max = value;
+        } else {
+            // Collections.min/max semantics of the down samplers
+            if (Double.compare(value, min) < 0) {
+                min = value;
+            }
+            if (Double.compare(value, max) > 0) {
+                max = value;
+            }
+        }
+        ++count;
+        avg += (value - avg) / count;
+        sum += value;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public double getMin() {
+        if (count == 0) {
+            return defaultValue;
+        }
+        return roundToScale(min, numDecimals);
+    }
+
+    public double getMax() {
+        if (count == 0) {
+            return defaultValue;
+        }
+        return roundToScale(max, numDecimals);
+    }
+
+    public double getAvg() {
+        if (count == 0) {
+            return defaultValue;
+        }
+        return roundToScale(avg, numDecimals);
+    }
+
+    public double getSum() {
+        if (count == 0) {
+            return defaultValue;
+        }
+        return sum;
+    }
+
+    static double roundToScale(double value, int numDecimals) {
+        return BigDecimal.valueOf(value).setScale(numDecimals, RoundingMode.HALF_UP).doubleValue();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.vo.stat.chart;
+
+/**
+ * Streaming, primitive counterpart of {@link DownSamplers#getLongDownSampler(long)}.
+ * Values are folded in as they are read instead of being collected into a list of boxed values first.
+ * <p>
+ * Not thread-safe, create one for each sampled value of a time window.
+ */
+public class LongSampleAccumulator {
+
+    private final long defaultValue;
+
+    private int count;
+    private long min;
+    private long max;
+    private long sum;
+    private boolean sumOverflow;
+    private double avg;
+
+    public LongSampleAccumulator(long defaultValue) {
+        this.defaultValue = defaultValue;
+    }
+
+    public void add(long value) {
+        if (count == 0) {
+            min = value;
+            max = value;
+        } else {
+            if (value < min) {
+                min = value;
+            }
+            if (value > max) {
+                max = value;
+            }
+        }
+        ++count;
+        // same running average as the down samplers so that sampled values do not change
+        avg += (value - avg) / count;
+        if (!sumOverflow) {
+            long newSum = sum + value;
+            // Checks long overflow - from JDK8 Math.addExact(long, long)
+            if (((sum ^ newSum) & (value ^ newSum)) < 0) {
+                sumOverflow = true;
+            }
+            sum = newSum;
+        }
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public int getCount() {
+        return count;
+    }
+
+    public long getMin() {
+        if (count == 0) {
+            return defaultValue;
+        }
+        return min;
+    }
+
+    public long getMax() {
+        if (count == 0) {
+            return defaultValue;
+        }
+        return max;
+    }
+
+    public double getAvg() {
+        if (count == 0) {
+            return defaultValue;
+        }
+        return avg;
+    }
+
+    public double getAvg(int numDecimals) {
+        return DoubleSampleAccumulator.roundToScale(getAvg(), numDecimals);
+    }
+
+    public long getSum() {
+        if (count == 0) {
+            return defaultValue;
+        }
+        if (sumOverflow) {
+            return Long.MAX_VALUE;
+        }
+        return sum;
+    }
+}
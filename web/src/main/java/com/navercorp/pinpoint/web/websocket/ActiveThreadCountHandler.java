@@ -16,13 +16,10 @@
 
 package com.navercorp.pinpoint.web.websocket;
 
-import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
-import com.navercorp.pinpoint.rpc.util.ClassUtils;
 import com.navercorp.pinpoint.rpc.util.MapUtils;
 import com.navercorp.pinpoint.rpc.util.StringUtils;
 import com.navercorp.pinpoint.web.security.ServerMapDataFilter;
 import com.navercorp.pinpoint.web.service.AgentService;
-import com.navercorp.pinpoint.web.util.SimpleOrderedThreadPool;
 import com.navercorp.pinpoint.web.websocket.message.PinpointWebSocketMessage;
 import com.navercorp.pinpoint.web.websocket.message.PinpointWebSocketMessageConverter;
 import com.navercorp.pinpoint.web.websocket.message.PinpointWebSocketMessageType;
@@ -67,48 +64,45 @@ public class ActiveThreadCountHandler extends TextWebSocketHandler implements Pi
 
     private final AtomicBoolean onTimerTask = new AtomicBoolean(false);
 
-    private SimpleOrderedThreadPool webSocketFlushExecutor;
+    private final PinpointWebSocketScheduler webSocketScheduler;
 
-    private java.util.Timer flushTimer;
+    private PinpointWebSocketScheduler.ScheduledTask flushTask;
     private static final long DEFAULT_FLUSH_DELAY = 1000;
     private final long flushDelay;
 
-    private java.util.Timer healthCheckTimer;
+    private PinpointWebSocketScheduler.ScheduledTask healthCheckTask;
     private static final long DEFAULT_HEALTH_CHECk_DELAY = 60 * 1000;
     private final long healthCheckDelay;
 
-    private java.util.Timer reactiveTimer;
-    
     @Autowired(required=false)
     ServerMapDataFilter serverMapDataFilter;
 
-    public ActiveThreadCountHandler(AgentService agentService) {
-        this(DEFAULT_REQUEST_MAPPING, agentService);
+    public ActiveThreadCountHandler(AgentService agentService, PinpointWebSocketScheduler webSocketScheduler) {
+        this(DEFAULT_REQUEST_MAPPING, agentService, webSocketScheduler);
     }
 
-    public ActiveThreadCountHandler(String requestMapping, AgentService agentService) {
-        this(requestMapping, agentService, DEFAULT_FLUSH_DELAY);
+    public ActiveThreadCountHandler(String requestMapping, AgentService agentService, PinpointWebSocketScheduler webSocketScheduler) {
+        this(requestMapping, agentService, webSocketScheduler, DEFAULT_FLUSH_DELAY);
     }
 
-    public ActiveThreadCountHandler(String requestMapping, AgentService agentService, long flushDelay) {
-        this(requestMapping, agentService, flushDelay, DEFAULT_HEALTH_CHECk_DELAY);
+    public ActiveThreadCountHandler(String requestMapping, AgentService agentService, PinpointWebSocketScheduler webSocketScheduler, long flushDelay) {
+        this(requestMapping, agentService, webSocketScheduler, flushDelay, DEFAULT_HEALTH_CHECk_DELAY);
     }
 
-    public ActiveThreadCountHandler(String requestMapping, AgentService agentService, long flushDelay, long healthCheckDelay) {
+    public ActiveThreadCountHandler(String requestMapping, AgentService agentService, PinpointWebSocketScheduler webSocketScheduler, long flushDelay, long healthCheckDelay) {
+        if (webSocketScheduler == null) {
+            throw new NullPointerException("webSocketScheduler must not be null");
+        }
         this.requestMapping = requestMapping;
         this.agentService = agentService;
+        this.webSocketScheduler = webSocketScheduler;
         this.flushDelay = flushDelay;
         this.healthCheckDelay = healthCheckDelay;
     }
 
     @Override
     public void start() {
-        PinpointThreadFactory flushThreadFactory = new PinpointThreadFactory(ClassUtils.simpleClassName(this) + "-Flush-Thread", true);
-        webSocketFlushExecutor = new SimpleOrderedThreadPool(Runtime.getRuntime().availableProcessors(), 65535, flushThreadFactory);
-
-        flushTimer = new java.util.Timer(ClassUtils.simpleClassName(this) + "-Flush-Timer", true);
-        healthCheckTimer = new java.util.Timer(ClassUtils.simpleClassName(this) + "-HealthCheck-Timer", true);
-        reactiveTimer = new java.util.Timer(ClassUtils.simpleClassName(this) + "-Reactive-Timer", true);
+        // timers and send queues are shared through webSocketScheduler, tasks are only scheduled while sessions are open
     }
 
     @Override
@@ -120,20 +114,21 @@ public class ActiveThreadCountHandler extends TextWebSocketHandler implements Pi
         }
         aggregatorRepository.clear();
 
-        if (flushTimer != null) {
-            flushTimer.cancel();
-        }
-
-        if (healthCheckTimer != null) {
-            healthCheckTimer.cancel();
+        synchronized (lock) {
+            onTimerTask.set(false);
+            cancelTimerTasks();
         }
+    }
 
-        if (reactiveTimer != null) {
-            reactiveTimer.cancel();
+    private void cancelTimerTasks() {
+        if (flushTask != null) {
+            flushTask.cancel();
+            flushTask = null;
         }
 
-        if (webSocketFlushExecutor != null) {
-            webSocketFlushExecutor.shutdown();
+        if (healthCheckTask != null) {
+            healthCheckTask.cancel();
+            healthCheckTask = null;
         }
     }
 
@@ -151,8 +146,8 @@ public class ActiveThreadCountHandler extends TextWebSocketHandler implements Pi
             sessionRepository.add(newSession);
             boolean turnOn = onTimerTask.compareAndSet(false, true);
             if (turnOn) {
-                flushTimer.schedule(new ActiveThreadTimerTask(flushDelay), flushDelay);
-                healthCheckTimer.schedule(new HealthCheckTimerTask(), DEFAULT_HEALTH_CHECk_DELAY);
+                flushTask = webSocketScheduler.scheduleAtFixedRate(new ActiveThreadTimerTask(), flushDelay, flushDelay);
+                healthCheckTask = webSocketScheduler.scheduleAtFixedRate(new HealthCheckTimerTask(), DEFAULT_HEALTH_CHECk_DELAY, healthCheckDelay);
             }
         }
 
@@ -169,8 +164,12 @@ public class ActiveThreadCountHandler extends TextWebSocketHandler implements Pi
             sessionRepository.remove(closeSession);
             if (sessionRepository.isEmpty()) {
                 boolean turnOff = onTimerTask.compareAndSet(true, false);
+                if (turnOff) {
+                    cancelTimerTasks();
+                }
             }
         }
+        webSocketScheduler.close(closeSession);
 
         super.afterConnectionClosed(closeSession, status);
     }
@@ -255,7 +254,7 @@ public class ActiveThreadCountHandler extends TextWebSocketHandler implements Pi
 
         PinpointWebSocketResponseAggregator responseAggregator = aggregatorRepository.get(applicationName);
         if (responseAggregator == null) {
-            responseAggregator = new ActiveThreadCountResponseAggregator(applicationName, agentService, reactiveTimer);
+            responseAggregator = new ActiveThreadCountResponseAggregator(applicationName, agentService, webSocketScheduler);
             responseAggregator.start();
             aggregatorRepository.put(applicationName, responseAggregator);
         }
@@ -282,112 +281,71 @@ public class ActiveThreadCountHandler extends TextWebSocketHandler implements Pi
         }
     }
 
-    private class ActiveThreadTimerTask extends java.util.TimerTask {
-
-        private final long startTimeMillis;
-        private final long delay;
-
-        private int times = 0;
-
-        public ActiveThreadTimerTask(long delay) {
-            this(System.currentTimeMillis(), delay, 0);
-        }
-
-        public ActiveThreadTimerTask(long startTimeMillis, long delay, int times) {
-            this.startTimeMillis = startTimeMillis;
-            this.delay = delay;
-            this.times = times;
-        }
+    private class ActiveThreadTimerTask implements Runnable {
 
         @Override
         public void run() {
-            try {
-                logger.info("ActiveThreadTimerTask started.");
-
-                Collection<PinpointWebSocketResponseAggregator> values = aggregatorRepository.values();
-                for (final PinpointWebSocketResponseAggregator aggregator : values) {
-                    try {
-                        aggregator.flush(webSocketFlushExecutor);
-                    } catch (Exception e) {
-                        logger.warn("failed while flushing ActiveThreadCount to aggregator. applicationName:{}, error:{}", aggregator.getApplicationName(), e.getMessage(), e);
-                    }
-                }
-            } finally {
-                long waitTimeMillis = getWaitTimeMillis();
-
-                if (flushTimer != null && onTimerTask.get()) {
-                    flushTimer.schedule(new ActiveThreadTimerTask(startTimeMillis, delay, times), waitTimeMillis);
+            logger.info("ActiveThreadTimerTask started.");
+
+            Collection<PinpointWebSocketResponseAggregator> values = aggregatorRepository.values();
+            for (final PinpointWebSocketResponseAggregator aggregator : values) {
+                try {
+                    aggregator.flush();
+                } catch (Exception e) {
+                    logger.warn("failed while flushing ActiveThreadCount to aggregator. applicationName:{}, error:{}", aggregator.getApplicationName(), e.getMessage(), e);
                 }
             }
         }
-
-        private long getWaitTimeMillis() {
-            long waitTime = -1L;
-
-            long currentTime = System.currentTimeMillis();
-            while (waitTime <= 0) {
-                waitTime = startTimeMillis + (delay * times) - currentTime;
-                times++;
-            }
-
-            return waitTime;
-        }
     }
 
-    private class HealthCheckTimerTask extends java.util.TimerTask {
+    private class HealthCheckTimerTask implements Runnable {
 
         @Override
         public void run() {
-            try {
-                logger.info("HealthCheckTimerTask started.");
-
-                // check session state.
-                List<WebSocketSession> webSocketSessionList = new ArrayList<>(sessionRepository);
-                for (WebSocketSession session : webSocketSessionList) {
-                    if (!session.isOpen()) {
-                        continue;
-                    }
+            logger.info("HealthCheckTimerTask started.");
 
-                    Object untilWait = session.getAttributes().get(HEALTH_CHECK_WAIT_KEY);
-                    if (untilWait instanceof AtomicBoolean) {
-                        if (((AtomicBoolean) untilWait).get()) {
-                            closeSession(session, CloseStatus.SESSION_NOT_RELIABLE);
-                        }
-                    } else {
-                        session.getAttributes().put(HEALTH_CHECK_WAIT_KEY, new AtomicBoolean(false));
-                    }
+            // check session state.
+            List<WebSocketSession> webSocketSessionList = new ArrayList<>(sessionRepository);
+            for (WebSocketSession session : webSocketSessionList) {
+                if (!session.isOpen()) {
+                    continue;
                 }
 
-                // send healthCheck packet
-                String pingTextMessage = messageConverter.getPingTextMessage();
-                TextMessage pingMessage = new TextMessage(pingTextMessage);
-
-                webSocketSessionList = new ArrayList<>(sessionRepository);
-                for (WebSocketSession session : webSocketSessionList) {
-                    if (!session.isOpen()) {
-                        continue;
+                Object untilWait = session.getAttributes().get(HEALTH_CHECK_WAIT_KEY);
+                if (untilWait instanceof AtomicBoolean) {
+                    if (((AtomicBoolean) untilWait).get()) {
+                        closeSession(session, CloseStatus.SESSION_NOT_RELIABLE);
                     }
+                } else {
+                    session.getAttributes().put(HEALTH_CHECK_WAIT_KEY, new AtomicBoolean(false));
+                }
+            }
 
-                    Object untilWait = session.getAttributes().get(HEALTH_CHECK_WAIT_KEY);
-                    if (untilWait instanceof AtomicBoolean) {
-                        ((AtomicBoolean) untilWait).compareAndSet(false, true);
-                    } else {
-                        session.getAttributes().put(HEALTH_CHECK_WAIT_KEY, new AtomicBoolean(true));
-                    }
+            // send healthCheck packet
+            String pingTextMessage = messageConverter.getPingTextMessage();
+            TextMessage pingMessage = new TextMessage(pingTextMessage);
 
-                    sendPingMessage(session, pingMessage);
+            webSocketSessionList = new ArrayList<>(sessionRepository);
+            for (WebSocketSession session : webSocketSessionList) {
+                if (!session.isOpen()) {
+                    continue;
                 }
-            } finally {
-                if (healthCheckTimer != null && onTimerTask.get()) {
-                    healthCheckTimer.schedule(new HealthCheckTimerTask(), healthCheckDelay);
+
+                Object untilWait = session.getAttributes().get(HEALTH_CHECK_WAIT_KEY);
+                if (untilWait instanceof AtomicBoolean) {
+                    ((AtomicBoolean) untilWait).compareAndSet(false, true);
+                } else {
+                    session.getAttributes().put(HEALTH_CHECK_WAIT_KEY, new AtomicBoolean(true));
                 }
+
+                sendPingMessage(session, pingMessage);
             }
         }
 
 
         private void sendPingMessage(WebSocketSession session, TextMessage pingMessage) {
             try {
-                webSocketFlushExecutor.execute(new OrderedWebSocketFlushRunnable(session, pingMessage, true));
+                webSocketScheduler.sendPing(session, pingMessage);
             } catch (RuntimeException e) {
                 logger.warn("failed while to execute. error:{}.", e.getMessage(), e);
             }
@@ -32,11 +32,9 @@ import org.springframework.web.socket.WebSocketSession;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Timer;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.CopyOnWriteArrayList;
-import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -52,7 +50,7 @@ public class ActiveThreadCountResponseAggregator implements PinpointWebSocketRes
 
     private final String applicationName;
     private final AgentService agentService;
-    private final Timer timer;
+    private final PinpointWebSocketScheduler webSocketScheduler;
 
     private final Object workerManagingLock = new Object();
     private final List<WebSocketSession> webSocketSessions = new CopyOnWriteArrayList<>();
@@ -69,11 +67,11 @@ public class ActiveThreadCountResponseAggregator implements PinpointWebSocketRes
 
     private Map<String, AgentActiveThreadCount> activeThreadCountMap = new HashMap<>();
 
-    public ActiveThreadCountResponseAggregator(String applicationName, AgentService agentService, Timer timer) {
+    public ActiveThreadCountResponseAggregator(String applicationName, AgentService agentService, PinpointWebSocketScheduler webSocketScheduler) {
         this.applicationName = applicationName;
         this.agentService = agentService;
 
-        this.timer = timer;
+        this.webSocketScheduler = webSocketScheduler;
 
         this.messageConverter = new PinpointWebSocketMessageConverter();
     }
@@ -81,7 +79,7 @@ public class ActiveThreadCountResponseAggregator implements PinpointWebSocketRes
     @Override
     public void start() {
         synchronized (workerManagingLock) {
-            workerActiveManager = new WorkerActiveManager(this, agentService, timer);
+            workerActiveManager = new WorkerActiveManager(this, agentService, webSocketScheduler);
         }
     }
 
@@ -206,11 +204,6 @@ public class ActiveThreadCountResponseAggregator implements PinpointWebSocketRes
 
     @Override
     public void flush() throws Exception {
-        flush(null);
-    }
-
-    @Override
-    public void flush(Executor executor) throws Exception {
         if ((flushCount.getAndIncrement() % flushLogRecordRate) == 0) {
             logger.info("flush started. applicationName:{}", applicationName);
         }
@@ -236,11 +229,7 @@ public class ActiveThreadCountResponseAggregator implements PinpointWebSocketRes
 
         TextMessage webSocketTextMessage = createWebSocketTextMessage(response);
         if (webSocketTextMessage != null) {
-            if (executor == null) {
-                flush0(webSocketTextMessage);
-            } else {
-                flushAsync0(webSocketTextMessage, executor);
-            }
+            flush0(webSocketTextMessage);
         }
     }
 
@@ -257,25 +246,19 @@ public class ActiveThreadCountResponseAggregator implements PinpointWebSocketRes
 
     private void flush0(TextMessage webSocketMessage) {
         for (WebSocketSession webSocketSession : webSocketSessions) {
+            if (webSocketSession == null) {
+                logger.warn("failed caused webSocketSession is null. applicationName:{}", applicationName);
+                continue;
+            }
             try {
                 logger.debug("flush webSocketSession:{}, response:{}", webSocketSession, webSocketMessage);
-                webSocketSession.sendMessage(webSocketMessage);
+                webSocketScheduler.send(webSocketSession, webSocketMessage);
             } catch (Exception e) {
                 logger.warn("failed while flushing message to webSocket. session:{}, message:{}, error:{}", webSocketSession, webSocketMessage, e.getMessage(), e);
             }
         }
     }
 
-    private void flushAsync0(TextMessage webSocketMessage, Executor executor) {
-        for (WebSocketSession webSocketSession : webSocketSessions) {
-            if (webSocketSession == null) {
-                logger.warn("failed caused webSocketSession is null. applicationName:{}", applicationName);
-                continue;
-            }
-            executor.execute(new OrderedWebSocketFlushRunnable(webSocketSession, webSocketMessage));
-        }
-    }
-
     @Override
     public String getApplicationName() {
         return applicationName;
@@ -20,8 +20,6 @@ import com.navercorp.pinpoint.web.vo.AgentActiveThreadCount;
 import com.navercorp.pinpoint.web.vo.AgentInfo;
 import org.springframework.web.socket.WebSocketSession;
 
-import java.util.concurrent.Executor;
-
 /**
  * @Author Taejin Koo
  */
@@ -33,8 +31,6 @@ public interface PinpointWebSocketResponseAggregator {
 
     void flush() throws Exception;
 
-    void flush(Executor executor) throws Exception;
-
     void response(AgentActiveThreadCount activeThreadCount);
 
     void addWebSocketSession(WebSocketSession webSocketSession);
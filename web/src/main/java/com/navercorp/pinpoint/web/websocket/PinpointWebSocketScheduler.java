@@ -0,0 +1,272 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.websocket;
+
+import com.navercorp.pinpoint.common.util.PinpointThreadFactory;
+import com.navercorp.pinpoint.rpc.util.TimerFactory;
+import org.jboss.netty.util.HashedWheelTimer;
+import org.jboss.netty.util.Timeout;
+import org.jboss.netty.util.TimerTask;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Scheduling layer shared by all {@link PinpointWebSocketHandler}s.
+ * <p>
+ * Tasks are registered in a single hashed wheel timer. Each expired task is handed over on its own to a worker pool
+ * so that a slow task does not delay the timer or the other tasks. Messages are sent through a per-session sender that only
+ * keeps the latest pending frame, so a slow client gets stale frames dropped instead of an ever growing queue.
+ */
+public class PinpointWebSocketScheduler {
+
+    private static final String SESSION_SENDER_KEY = "pinpoint.webSocketSessionSender";
+
+    private static final long DEFAULT_TICK_DURATION = 100;
+    private static final int DEFAULT_TICKS_PER_WHEEL = 512;
+
+    private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+    private final long tickDuration;
+    private final int workerThreadSize;
+
+    private final Object senderLock = new Object();
+
+    private final AtomicLong lastTickLag = new AtomicLong();
+    private final AtomicLong maxTickLag = new AtomicLong();
+    private final AtomicInteger sendBacklog = new AtomicInteger();
+    private final AtomicLong sentFrameCount = new AtomicLong();
+    private final AtomicLong droppedFrameCount = new AtomicLong();
+
+    private HashedWheelTimer timer;
+    private ExecutorService workerExecutor;
+
+    public PinpointWebSocketScheduler() {
+        this(DEFAULT_TICK_DURATION, Runtime.getRuntime().availableProcessors());
+    }
+
+    public PinpointWebSocketScheduler(long tickDuration, int workerThreadSize) {
+        if (tickDuration <= 0) {
+            throw new IllegalArgumentException("tickDuration must be greater than 0");
+        }
+        if (workerThreadSize <= 0) {
+            throw new IllegalArgumentException("workerThreadSize must be greater than 0");
+        }
+        this.tickDuration = tickDuration;
+        this.workerThreadSize = workerThreadSize;
+    }
+
+    @PostConstruct
+    public void start() {
+        this.timer = TimerFactory.createHashedWheelTimer("Pinpoint-WebSocket-Timer", tickDuration, TimeUnit.MILLISECONDS, DEFAULT_TICKS_PER_WHEEL);
+        this.timer.start();
+        PinpointThreadFactory workerThreadFactory = new PinpointThreadFactory("Pinpoint-WebSocket-Worker", true);
+        this.workerExecutor = new ThreadPoolExecutor(workerThreadSize, workerThreadSize, 0L, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<Runnable>(), workerThreadFactory);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (timer != null) {
+            timer.stop();
+        }
+        if (workerExecutor != null) {
+            workerExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Runs <tt>task</tt> once after <tt>delayMillis</tt>.
+     */
+    public ScheduledTask schedule(Runnable task, long delayMillis) {
+        DelayedTask delayedTask = new DelayedTask(task, -1);
+        delayedTask.schedule(delayMillis);
+        return delayedTask;
+    }
+
+    /**
+     * Runs <tt>task</tt> every <tt>periodMillis</tt>, starting after <tt>initialDelayMillis</tt>. Runs never overlap and
+     * are aligned to the initial start time, runs missed while the previous one was still running are skipped.
+     */
+    public ScheduledTask scheduleAtFixedRate(Runnable task, long initialDelayMillis, long periodMillis) {
+        if (periodMillis <= 0) {
+            throw new IllegalArgumentException("periodMillis must be greater than 0");
+        }
+        DelayedTask delayedTask = new DelayedTask(task, periodMillis);
+        delayedTask.schedule(initialDelayMillis);
+        return delayedTask;
+    }
+
+    /**
+     * Sends <tt>message</tt> replacing any message still waiting to be sent to the session.
+     */
+    public void send(WebSocketSession session, TextMessage message) {
+        getSender(session).send(message);
+    }
+
+    /**
+     * Sends a ping <tt>message</tt>. Pings are not replaced by data frames, and the session is closed if sending fails.
+     */
+    public void sendPing(WebSocketSession session, TextMessage message) {
+        getSender(session).sendPing(message);
+    }
+
+    /**
+     * Drops the messages still waiting to be sent to the closed <tt>session</tt>.
+     */
+    public void close(WebSocketSession session) {
+        if (session == null) {
+            throw new NullPointerException("session must not be null");
+        }
+        final Object sender;
+        synchronized (senderLock) {
+            sender = session.getAttributes().remove(SESSION_SENDER_KEY);
+        }
+        if (sender instanceof WebSocketSessionSender) {
+            ((WebSocketSessionSender) sender).close();
+        }
+    }
+
+    private WebSocketSessionSender getSender(WebSocketSession session) {
+        if (session == null) {
+            throw new NullPointerException("session must not be null");
+        }
+        final Map<String, Object> attributes = session.getAttributes();
+        synchronized (senderLock) {
+            Object sender = attributes.get(SESSION_SENDER_KEY);
+            if (sender instanceof WebSocketSessionSender) {
+                return (WebSocketSessionSender) sender;
+            }
+            WebSocketSessionSender newSender = new WebSocketSessionSender(session, workerExecutor, sendBacklog, sentFrameCount, droppedFrameCount);
+            attributes.put(SESSION_SENDER_KEY, newSender);
+            return newSender;
+        }
+    }
+
+    private void recordTickLag(long tickLag) {
+        lastTickLag.set(tickLag);
+        long max = maxTickLag.get();
+        while (tickLag > max && !maxTickLag.compareAndSet(max, tickLag)) {
+            max = maxTickLag.get();
+        }
+    }
+
+    public Map<String, Object> getStatistics() {
+        Map<String, Object> statistics = new LinkedHashMap<>();
+        statistics.put("tickDuration", tickDuration);
+        statistics.put("lastTickLag", lastTickLag.get());
+        statistics.put("maxTickLag", maxTickLag.get());
+        statistics.put("sendBacklog", sendBacklog.get());
+        statistics.put("sentFrameCount", sentFrameCount.get());
+        statistics.put("droppedFrameCount", droppedFrameCount.get());
+        return statistics;
+    }
+
+    public interface ScheduledTask {
+        void cancel();
+    }
+
+    private class DelayedTask implements TimerTask, Runnable, ScheduledTask {
+
+        private final Runnable task;
+        private final long period;
+
+        private volatile boolean cancelled = false;
+        private volatile Timeout timeout;
+        private volatile long deadline;
+        private long firstDeadline = -1L;
+        private int times = 0;
+
+        private DelayedTask(Runnable task, long period) {
+            if (task == null) {
+                throw new NullPointerException("task must not be null");
+            }
+            this.task = task;
+            this.period = period;
+        }
+
+        private void schedule(long delayMillis) {
+            this.deadline = System.currentTimeMillis() + delayMillis;
+            if (this.firstDeadline == -1L) {
+                this.firstDeadline = this.deadline;
+            }
+            try {
+                this.timeout = timer.newTimeout(this, delayMillis, TimeUnit.MILLISECONDS);
+            } catch (IllegalStateException e) {
+                logger.warn("failed while scheduling task. timer stopped. task:{}", task);
+            }
+        }
+
+        @Override
+        public void run(Timeout timeout) throws Exception {
+            if (cancelled) {
+                return;
+            }
+            recordTickLag(System.currentTimeMillis() - deadline);
+            try {
+                workerExecutor.execute(this);
+            } catch (RejectedExecutionException e) {
+                logger.warn("failed while executing task. task:{}, error:{}", task, e.getMessage());
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                task.run();
+            } catch (Exception e) {
+                logger.warn("failed while running task. task:{}, error:{}", task, e.getMessage(), e);
+            } finally {
+                if (period > 0 && !cancelled) {
+                    schedule(getNextDelayMillis());
+                }
+            }
+        }
+
+        private long getNextDelayMillis() {
+            final long currentTimeMillis = System.currentTimeMillis();
+            long delay = -1L;
+            while (delay <= 0) {
+                times++;
+                delay = firstDeadline + (period * times) - currentTimeMillis;
+            }
+            return delay;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+            Timeout timeout = this.timeout;
+            if (timeout != null) {
+                timeout.cancel();
+            }
+        }
+    }
+}
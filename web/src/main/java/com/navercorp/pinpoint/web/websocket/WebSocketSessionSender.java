@@ -0,0 +1,162 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.websocket;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Sends messages to a single {@link WebSocketSession}, one at a time and in order.
+ * <p>
+ * At most one data frame and one ping frame are pending at any time - a data frame still pending when a newer one
+ * arrives is stale and gets dropped.
+ */
+final class WebSocketSessionSender implements Runnable {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(WebSocketSessionSender.class);
+
+    private final WebSocketSession webSocketSession;
+    private final Executor executor;
+
+    private final AtomicInteger sendBacklog;
+    private final AtomicLong sentFrameCount;
+    private final AtomicLong droppedFrameCount;
+
+    private final AtomicReference<TextMessage> pendingMessage = new AtomicReference<>();
+    private final AtomicReference<TextMessage> pendingPingMessage = new AtomicReference<>();
+    private final AtomicBoolean sending = new AtomicBoolean(false);
+
+    WebSocketSessionSender(WebSocketSession webSocketSession, Executor executor, AtomicInteger sendBacklog, AtomicLong sentFrameCount, AtomicLong droppedFrameCount) {
+        this.webSocketSession = webSocketSession;
+        this.executor = executor;
+        this.sendBacklog = sendBacklog;
+        this.sentFrameCount = sentFrameCount;
+        this.droppedFrameCount = droppedFrameCount;
+    }
+
+    void send(TextMessage message) {
+        enqueue(pendingMessage, message);
+    }
+
+    void sendPing(TextMessage pingMessage) {
+        enqueue(pendingPingMessage, pingMessage);
+    }
+
+    /**
+     * Drops the frames still pending, called once the session is closed.
+     */
+    void close() {
+        discardPending();
+    }
+
+    private void enqueue(AtomicReference<TextMessage> pending, TextMessage message) {
+        if (message == null) {
+            throw new NullPointerException("message must not be null");
+        }
+        if (!webSocketSession.isOpen()) {
+            return;
+        }
+        TextMessage staleMessage = pending.getAndSet(message);
+        if (staleMessage == null) {
+            sendBacklog.incrementAndGet();
+        } else {
+            droppedFrameCount.incrementAndGet();
+        }
+        trySend();
+    }
+
+    private void trySend() {
+        if (!sending.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            executor.execute(this);
+        } catch (RejectedExecutionException e) {
+            sending.set(false);
+            LOGGER.warn("failed while to execute. error:{}.", e.getMessage());
+            discardPending();
+        }
+    }
+
+    private void discardPending() {
+        discard(pendingPingMessage);
+        discard(pendingMessage);
+    }
+
+    private void discard(AtomicReference<TextMessage> pending) {
+        if (pending.getAndSet(null) != null) {
+            sendBacklog.decrementAndGet();
+            droppedFrameCount.incrementAndGet();
+        }
+    }
+
+    @Override
+    public void run() {
+        try {
+            if (!webSocketSession.isOpen()) {
+                discardPending();
+                return;
+            }
+            TextMessage pingMessage = pendingPingMessage.getAndSet(null);
+            if (pingMessage != null) {
+                sendBacklog.decrementAndGet();
+                sendMessage(pingMessage, true);
+            }
+            TextMessage message = pendingMessage.getAndSet(null);
+            if (message != null) {
+                sendBacklog.decrementAndGet();
+                sendMessage(message, false);
+            }
+        } finally {
+            sending.set(false);
+        }
+        if (pendingPingMessage.get() != null || pendingMessage.get() != null) {
+            trySend();
+        }
+    }
+
+    private void sendMessage(TextMessage message, boolean sessionCloseOnError) {
+        try {
+            webSocketSession.sendMessage(message);
+            sentFrameCount.incrementAndGet();
+        } catch (Exception e) {
+            LOGGER.warn("failed while flushing message to webSocket. session:{}, message:{}, error:{}", webSocketSession, message, e.getMessage(), e);
+            if (sessionCloseOnError) {
+                closeSession();
+            }
+        }
+    }
+
+    private void closeSession() {
+        try {
+            webSocketSession.close(CloseStatus.SERVER_ERROR);
+        } catch (Exception e) {
+            LOGGER.warn(e.getMessage(), e);
+        }
+    }
+}
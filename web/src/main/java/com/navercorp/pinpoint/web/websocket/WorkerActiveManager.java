@@ -27,8 +27,6 @@ import java.util.Collections;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.Timer;
-import java.util.TimerTask;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CopyOnWriteArraySet;
 import java.util.concurrent.atomic.AtomicBoolean;
@@ -48,7 +46,7 @@ public class WorkerActiveManager {
     private final String applicationName;
     private final AgentService agentService;
 
-    private final Timer timer;
+    private final PinpointWebSocketScheduler webSocketScheduler;
 
     private final AtomicBoolean isStopped = new AtomicBoolean();
 
@@ -60,13 +58,13 @@ public class WorkerActiveManager {
     private final AtomicBoolean onAgentCheckTimerTask = new AtomicBoolean(false);
     private final List<String> defaultAgentIdList = new CopyOnWriteArrayList<>();
 
-    public WorkerActiveManager(PinpointWebSocketResponseAggregator responseAggregator, AgentService agentService, Timer timer) {
+    public WorkerActiveManager(PinpointWebSocketResponseAggregator responseAggregator, AgentService agentService, PinpointWebSocketScheduler webSocketScheduler) {
         this.responseAggregator = responseAggregator;
 
         this.applicationName = responseAggregator.getApplicationName();
         this.agentService = agentService;
 
-        this.timer = timer;
+        this.webSocketScheduler = webSocketScheduler;
     }
 
     public void close() {
@@ -100,7 +98,7 @@ public class WorkerActiveManager {
             boolean turnOn = onReconnectTimerTask.compareAndSet(false, true);
             logger.info("addReactiveWorker turnOn:{}", turnOn);
             if (turnOn) {
-                timer.schedule(new ReactiveTimerTask(), DEFAULT_RECONNECT_DELAY);
+                webSocketScheduler.schedule(new ReactiveTimerTask(), DEFAULT_RECONNECT_DELAY);
             }
         }
     }
@@ -110,11 +108,11 @@ public class WorkerActiveManager {
 
         boolean turnOn = onAgentCheckTimerTask.compareAndSet(false, true);
         if (turnOn) {
-            timer.schedule(new AgentCheckTimerTask(), DEFAULT_AGENT_CHECk_DELAY);
+            webSocketScheduler.schedule(new AgentCheckTimerTask(), DEFAULT_AGENT_CHECk_DELAY);
         }
     }
 
-    private class ReactiveTimerTask extends TimerTask {
+    private class ReactiveTimerTask implements Runnable {
 
         @Override
         public void run() {
@@ -141,7 +139,7 @@ public class WorkerActiveManager {
 
     }
 
-    private class AgentCheckTimerTask extends TimerTask {
+    private class AgentCheckTimerTask implements Runnable {
 
         @Override
         public void run() {
@@ -169,8 +167,8 @@ public class WorkerActiveManager {
                     }
                 }
             } finally {
-                if (timer != null && onAgentCheckTimerTask.get() && !isStopped.get()) {
-                    timer.schedule(new AgentCheckTimerTask(), DEFAULT_AGENT_CHECk_DELAY);
+                if (onAgentCheckTimerTask.get() && !isStopped.get()) {
+                    webSocketScheduler.schedule(new AgentCheckTimerTask(), DEFAULT_AGENT_CHECk_DELAY);
                 }
             }
         }
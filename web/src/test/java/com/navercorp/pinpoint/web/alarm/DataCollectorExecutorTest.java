@@ -0,0 +1,85 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.alarm;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.navercorp.pinpoint.web.alarm.DataCollectorFactory.DataCollectorCategory;
+import com.navercorp.pinpoint.web.alarm.collector.DataCollector;
+
+public class DataCollectorExecutorTest {
+
+    private DataCollectorExecutor executor;
+
+    @Before
+    public void setUp() {
+        executor = new DataCollectorExecutor(4);
+        executor.start();
+    }
+
+    @After
+    public void tearDown() {
+        executor.stop();
+    }
+
+    @Test
+    public void collectAll() {
+        final AtomicInteger collectCount = new AtomicInteger();
+        List<DataCollector> collectors = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            collectors.add(new DataCollector(DataCollectorCategory.RESPONSE_TIME) {
+                @Override
+                public void collect() {
+                    collectCount.incrementAndGet();
+                }
+            });
+        }
+
+        executor.collect(collectors);
+        assertEquals(10, collectCount.get());
+    }
+
+    @Test
+    public void failedCollectorDoesNotStopOthers() {
+        final AtomicInteger collectCount = new AtomicInteger();
+        List<DataCollector> collectors = new ArrayList<>();
+        collectors.add(new DataCollector(DataCollectorCategory.AGENT_STAT) {
+            @Override
+            public void collect() {
+                throw new IllegalStateException("test");
+            }
+        });
+        collectors.add(new DataCollector(DataCollectorCategory.CALLER_STAT) {
+            @Override
+            public void collect() {
+                collectCount.incrementAndGet();
+            }
+        });
+
+        executor.collect(collectors);
+        assertEquals(1, collectCount.get());
+    }
+}
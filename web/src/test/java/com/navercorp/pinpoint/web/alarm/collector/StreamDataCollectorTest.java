@@ -0,0 +1,144 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.alarm.collector;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.navercorp.pinpoint.common.server.bo.alarm.AgentAlarmStatBo;
+import com.navercorp.pinpoint.common.server.bo.alarm.ApplicationAlarmStatBo;
+import com.navercorp.pinpoint.common.server.bo.stat.CpuLoadBo;
+import com.navercorp.pinpoint.common.server.bo.stat.JvmGcBo;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.web.alarm.CheckerCategory;
+import com.navercorp.pinpoint.web.alarm.DataCollectorFactory;
+import com.navercorp.pinpoint.web.alarm.DataCollectorFactory.DataCollectorCategory;
+import com.navercorp.pinpoint.web.alarm.checker.AlarmChecker;
+import com.navercorp.pinpoint.web.alarm.checker.HeapUsageRateChecker;
+import com.navercorp.pinpoint.web.alarm.checker.SlowRateChecker;
+import com.navercorp.pinpoint.web.alarm.vo.Rule;
+import com.navercorp.pinpoint.web.dao.ApplicationIndexDao;
+import com.navercorp.pinpoint.web.dao.MapResponseDao;
+import com.navercorp.pinpoint.web.dao.stat.AgentStatDao;
+import com.navercorp.pinpoint.web.service.AlarmStatService;
+import com.navercorp.pinpoint.web.vo.Application;
+import com.navercorp.pinpoint.web.vo.Range;
+
+public class StreamDataCollectorTest {
+
+    private static final String SERVICE_NAME = "local_service";
+    private static final String SERVICE_TYPE = "tomcat";
+
+    private final Application application = new Application(SERVICE_NAME, ServiceType.STAND_ALONE);
+
+    private AlarmStatService alarmStatService;
+    private MapResponseDao mapResponseDao;
+    private AgentStatDao<JvmGcBo> jvmGcDao;
+    private AgentStatDao<CpuLoadBo> cpuLoadDao;
+    private ApplicationIndexDao applicationIndexDao;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        alarmStatService = mock(AlarmStatService.class);
+        mapResponseDao = mock(MapResponseDao.class);
+        jvmGcDao = mock(AgentStatDao.class);
+        cpuLoadDao = mock(AgentStatDao.class);
+        applicationIndexDao = mock(ApplicationIndexDao.class);
+
+        AgentAlarmStatBo agentStat = new AgentAlarmStatBo();
+        agentStat.setAgentId("local_tomcat");
+        agentStat.setHeapUsed(70);
+        agentStat.setHeapMax(100);
+        List<AgentAlarmStatBo> agentStats = new ArrayList<>();
+        agentStats.add(agentStat);
+
+        ApplicationAlarmStatBo applicationStat = new ApplicationAlarmStatBo();
+        applicationStat.setApplicationName(SERVICE_NAME);
+        applicationStat.setTotalCount(10);
+        applicationStat.setSlowCount(4);
+        applicationStat.setAgentStats(agentStats);
+        when(alarmStatService.selectApplicationAlarmStat(SERVICE_NAME)).thenReturn(applicationStat);
+    }
+
+    @Test
+    public void responseTime() {
+        StreamResponseTimeDataCollector collector = new StreamResponseTimeDataCollector(DataCollectorCategory.RESPONSE_TIME, application, mapResponseDao, alarmStatService, System.currentTimeMillis(), DataCollectorFactory.SLOT_INTERVAL_FIVE_MIN);
+        AlarmChecker checker = new SlowRateChecker(collector, new Rule(SERVICE_NAME, SERVICE_TYPE, CheckerCategory.SLOW_RATE.getName(), 40, "testGroup", false, false, ""));
+
+        checker.check();
+        Assert.assertTrue(checker.isDetected());
+        Assert.assertEquals(10, collector.getTotalCount());
+        Assert.assertEquals(40, collector.getSlowRate());
+        verify(mapResponseDao, never()).selectResponseTime(any(Application.class), any(Range.class));
+    }
+
+    @Test
+    public void noReport() {
+        Application unknown = new Application("unknown", ServiceType.STAND_ALONE);
+        StreamResponseTimeDataCollector collector = new StreamResponseTimeDataCollector(DataCollectorCategory.RESPONSE_TIME, unknown, mapResponseDao, alarmStatService, System.currentTimeMillis(), DataCollectorFactory.SLOT_INTERVAL_FIVE_MIN);
+
+        collector.collect();
+        Assert.assertEquals(0, collector.getTotalCount());
+        Assert.assertEquals(0, collector.getErrorRate());
+    }
+
+    @Test
+    public void agentStat() {
+        StreamAgentStatDataCollector collector = new StreamAgentStatDataCollector(DataCollectorCategory.AGENT_STAT, application, jvmGcDao, cpuLoadDao, applicationIndexDao, alarmStatService, System.currentTimeMillis(), DataCollectorFactory.SLOT_INTERVAL_FIVE_MIN);
+        AlarmChecker checker = new HeapUsageRateChecker(collector, new Rule(SERVICE_NAME, SERVICE_TYPE, CheckerCategory.HEAP_USAGE_RATE.getName(), 70, "testGroup", false, false, ""));
+
+        checker.check();
+        Assert.assertTrue(checker.isDetected());
+        Assert.assertTrue(collector.getJvmCpuUsageRate().isEmpty());
+        verify(applicationIndexDao, never()).selectAgentIds(anyString());
+        verify(jvmGcDao, never()).getAgentStatList(anyString(), any(Range.class));
+    }
+
+    @Test
+    public void gcCountIsReadFromHbase() {
+        JvmGcBo first = new JvmGcBo();
+        first.setGcOldCount(3);
+        JvmGcBo last = new JvmGcBo();
+        last.setGcOldCount(1);
+        List<JvmGcBo> jvmGcBos = new ArrayList<>();
+        jvmGcBos.add(first);
+        jvmGcBos.add(last);
+        when(applicationIndexDao.selectAgentIds(SERVICE_NAME)).thenReturn(Collections.singletonList("local_tomcat"));
+        when(jvmGcDao.getAgentStatList(anyString(), any(Range.class))).thenReturn(jvmGcBos);
+        when(cpuLoadDao.getAgentStatList(anyString(), any(Range.class))).thenReturn(Collections.<CpuLoadBo>emptyList());
+
+        StreamAgentStatDataCollector collector = new StreamAgentStatDataCollector(DataCollectorCategory.AGENT_STAT, application, jvmGcDao, cpuLoadDao, applicationIndexDao, alarmStatService, System.currentTimeMillis(), DataCollectorFactory.SLOT_INTERVAL_FIVE_MIN);
+        collector.collect();
+
+        Assert.assertEquals(Long.valueOf(2), collector.getGCCount().get("local_tomcat"));
+        // heap usage stays the reported one
+        Assert.assertEquals(Long.valueOf(70), collector.getHeapUsageRate().get("local_tomcat"));
+    }
+}
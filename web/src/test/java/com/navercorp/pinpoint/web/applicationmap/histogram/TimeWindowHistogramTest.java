@@ -0,0 +1,81 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.applicationmap.histogram;
+
+import com.navercorp.pinpoint.common.trace.BaseHistogramSchema;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.web.util.TimeWindow;
+import com.navercorp.pinpoint.web.util.TimeWindowDownSampler;
+import com.navercorp.pinpoint.web.vo.Range;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.List;
+
+public class TimeWindowHistogramTest {
+
+    private static final long ONE_MINUTE = 60 * 1000;
+
+    @Test
+    public void interpolation() {
+        TimeWindow window = new TimeWindow(new Range(0, 10 * ONE_MINUTE), TimeWindowDownSampler.SAMPLER);
+        TimeWindowHistogram windowHistogram = new TimeWindowHistogram(ServiceType.STAND_ALONE.getHistogramSchema(), window);
+
+        windowHistogram.add(ONE_MINUTE, createHistogram(ONE_MINUTE, 1000, false));
+        windowHistogram.add(ONE_MINUTE + 1, createHistogram(ONE_MINUTE + 1, 3000, false));
+
+        List<TimeHistogram> histogramList = windowHistogram.getTimeHistogramList();
+        Assert.assertEquals(window.getWindowRangeCount(), histogramList.size());
+        Assert.assertEquals(0, histogramList.get(0).getTotalCount());
+
+        TimeHistogram histogram = histogramList.get(1);
+        Assert.assertEquals(ONE_MINUTE, histogram.getTimeStamp());
+        Assert.assertEquals(1, histogram.getFastCount());
+        Assert.assertEquals(1, histogram.getNormalCount());
+        Assert.assertEquals(2, histogram.getTotalCount());
+    }
+
+    @Test
+    public void overflow() {
+        TimeWindow window = new TimeWindow(new Range(0, 10 * ONE_MINUTE), TimeWindowDownSampler.SAMPLER);
+        TimeWindowHistogram windowHistogram = new TimeWindowHistogram(ServiceType.STAND_ALONE.getHistogramSchema(), window);
+
+        final long overflowTime = 20 * ONE_MINUTE;
+        windowHistogram.add(overflowTime, createHistogram(overflowTime, 1000, false));
+
+        List<TimeHistogram> histogramList = windowHistogram.getTimeHistogramList();
+        Assert.assertEquals(window.getWindowRangeCount() + 1, histogramList.size());
+        TimeHistogram last = histogramList.get(histogramList.size() - 1);
+        Assert.assertEquals(overflowTime, last.getTimeStamp());
+        Assert.assertEquals(1, last.getFastCount());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void schemaMismatch() {
+        TimeWindow window = new TimeWindow(new Range(0, 10 * ONE_MINUTE), TimeWindowDownSampler.SAMPLER);
+        TimeWindowHistogram windowHistogram = new TimeWindowHistogram(ServiceType.STAND_ALONE.getHistogramSchema(), window);
+
+        TimeHistogram histogram = new TimeHistogram(BaseHistogramSchema.FAST_SCHEMA, 0);
+        windowHistogram.add(0, histogram);
+    }
+
+    private TimeHistogram createHistogram(long timestamp, int elapsed, boolean error) {
+        TimeHistogram histogram = new TimeHistogram(ServiceType.STAND_ALONE, timestamp);
+        histogram.addCallCountByElapsedTime(elapsed, error);
+        return histogram;
+    }
+}
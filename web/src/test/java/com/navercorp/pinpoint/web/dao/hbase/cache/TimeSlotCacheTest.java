@@ -0,0 +1,109 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.dao.hbase.cache;
+
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TimeSlotCacheTest {
+
+    private static final long SLOT_SIZE = 60000;
+
+    private TimeSlotCache timeSlotCache;
+
+    @Before
+    public void setUp() {
+        timeSlotCache = new TimeSlotCache();
+        ReflectionTestUtils.setField(timeSlotCache, "enable", true);
+        ReflectionTestUtils.setField(timeSlotCache, "closeDelay", 0L);
+        ReflectionTestUtils.setField(timeSlotCache, "cacheManager", new ConcurrentMapCacheManager(TimeSlotCache.CACHE_NAME));
+        timeSlotCache.init();
+    }
+
+    @Test
+    public void closedTimeSlotsAreCached() {
+        final long currentSlot = (System.currentTimeMillis() / SLOT_SIZE) * SLOT_SIZE;
+        // the last time slot stays open even if the current one gets closed while testing
+        final long lastSlot = currentSlot + SLOT_SIZE;
+        final long firstSlot = currentSlot - (3 * SLOT_SIZE);
+        RecordingLoader loader = new RecordingLoader();
+
+        Map<Long, String> first = timeSlotCache.getFragments("key", firstSlot, lastSlot, SLOT_SIZE, loader);
+        Assert.assertEquals(5, first.size());
+        Assert.assertEquals(1, loader.loadedRanges.size());
+        Assert.assertArrayEquals(new long[]{firstSlot, lastSlot}, loader.loadedRanges.get(0));
+
+        // closed time slots are not loaded again
+        Map<Long, String> second = timeSlotCache.getFragments("key", firstSlot, lastSlot, SLOT_SIZE, loader);
+        Assert.assertEquals(first, second);
+        Assert.assertEquals(2, loader.loadedRanges.size());
+        Assert.assertEquals(currentSlot, loader.loadedRanges.get(1)[0]);
+        Assert.assertEquals(lastSlot, loader.loadedRanges.get(1)[1]);
+
+        Map<String, Object> statistics = timeSlotCache.getStatistics();
+        Assert.assertEquals(3L, statistics.get("hitCount"));
+    }
+
+    @Test
+    public void emptyTimeSlotsAreCached() {
+        final long lastSlot = ((System.currentTimeMillis() / SLOT_SIZE) * SLOT_SIZE) - (10 * SLOT_SIZE);
+        final long firstSlot = lastSlot - SLOT_SIZE;
+        RecordingLoader loader = new RecordingLoader();
+        loader.empty = true;
+
+        Assert.assertTrue(timeSlotCache.getFragments("key", firstSlot, lastSlot, SLOT_SIZE, loader).isEmpty());
+        Assert.assertTrue(timeSlotCache.getFragments("key", firstSlot, lastSlot, SLOT_SIZE, loader).isEmpty());
+        Assert.assertEquals(1, loader.loadedRanges.size());
+    }
+
+    @Test
+    public void disabled() {
+        ReflectionTestUtils.setField(timeSlotCache, "enable", false);
+        final long lastSlot = ((System.currentTimeMillis() / SLOT_SIZE) * SLOT_SIZE) - (10 * SLOT_SIZE);
+        RecordingLoader loader = new RecordingLoader();
+
+        timeSlotCache.getFragments("key", lastSlot, lastSlot, SLOT_SIZE, loader);
+        timeSlotCache.getFragments("key", lastSlot, lastSlot, SLOT_SIZE, loader);
+        Assert.assertEquals(2, loader.loadedRanges.size());
+    }
+
+    private static class RecordingLoader implements TimeSlotCache.FragmentLoader<String> {
+
+        private final List<long[]> loadedRanges = new ArrayList<>();
+        private boolean empty;
+
+        @Override
+        public Map<Long, String> load(long firstSlot, long lastSlot) {
+            loadedRanges.add(new long[]{firstSlot, lastSlot});
+            Map<Long, String> fragments = new HashMap<>();
+            if (!empty) {
+                for (long slot = firstSlot; slot <= lastSlot; slot += SLOT_SIZE) {
+                    fragments.put(slot, "fragment-" + slot);
+                }
+            }
+            return fragments;
+        }
+    }
+}
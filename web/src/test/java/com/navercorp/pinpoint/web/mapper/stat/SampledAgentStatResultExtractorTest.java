@@ -37,6 +37,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.SortedMap;
 
 import static org.mockito.Mockito.when;
 
@@ -153,6 +154,34 @@ public class SampledAgentStatResultExtractorTest {
         }
     }
 
+    @Test
+    public void sampling_should_key_sampled_data_points_by_timeslot() {
+        // Given
+        final int numValues = 100;
+        final long initialTimestamp = System.currentTimeMillis();
+        final long finalTimestamp = initialTimestamp + (DEFAULT_TIME_INTERVAL * numValues);
+        final TimeWindow timeWindow = new TimeWindow(new Range(initialTimestamp, finalTimestamp), TEN_TO_ONE_SAMPLER);
+        final List<TestAgentStatDataPoint> dataPoints = createDataPoints(finalTimestamp, DEFAULT_TIME_INTERVAL, numValues);
+        final Map<Long, List<TestAgentStatDataPoint>> expectedDataPointSlotMap = getExpectedDataPointSlotMap(timeWindow, dataPoints);
+
+        AgentStatSampler.Sampling<TestAgentStatDataPoint, TestSampledAgentStatDataPoint> sampling = new TestAgentStatSampler().createSampling(timeWindow);
+        // When
+        for (TestAgentStatDataPoint dataPoint : dataPoints) {
+            sampling.add(dataPoint);
+        }
+        SortedMap<Long, TestSampledAgentStatDataPoint> sampledDataPointMap = sampling.getSampledDataPointMap();
+        // Then
+        long previousTimeslot = Long.MIN_VALUE;
+        for (Map.Entry<Long, TestSampledAgentStatDataPoint> entry : sampledDataPointMap.entrySet()) {
+            long timeslot = entry.getKey();
+            Assert.assertTrue(timeslot > previousTimeslot);
+            Assert.assertEquals(timeslot, entry.getValue().getBaseTimestamp());
+            Assert.assertEquals(expectedDataPointSlotMap.get(timeslot), entry.getValue().getDataPointsToSample());
+            previousTimeslot = timeslot;
+        }
+        Assert.assertEquals(new ArrayList<>(sampledDataPointMap.values()), sampling.getSampledDataPoints());
+    }
+
     private Map<Long, List<TestAgentStatDataPoint>> getExpectedDataPointSlotMap(TimeWindow timeWindow, List<TestAgentStatDataPoint> dataPoints) {
         Map<Long, List<TestAgentStatDataPoint>> slotMap = new HashMap<>();
         for (long timeslotTimestamp : timeWindow) {
@@ -0,0 +1,199 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.service;
+
+import com.navercorp.pinpoint.rpc.DefaultFuture;
+import com.navercorp.pinpoint.rpc.Future;
+import com.navercorp.pinpoint.rpc.PinpointSocket;
+import com.navercorp.pinpoint.rpc.ResponseMessage;
+import com.navercorp.pinpoint.rpc.cluster.ClusterOption;
+import com.navercorp.pinpoint.rpc.cluster.Role;
+import com.navercorp.pinpoint.thrift.dto.command.TCommandEcho;
+import com.navercorp.pinpoint.thrift.dto.command.TCommandTransfer;
+import com.navercorp.pinpoint.thrift.dto.command.TCommandTransferResponse;
+import com.navercorp.pinpoint.thrift.dto.command.TRouteResult;
+import com.navercorp.pinpoint.thrift.io.CommandHeaderTBaseDeserializerFactory;
+import com.navercorp.pinpoint.thrift.io.CommandHeaderTBaseSerializerFactory;
+import com.navercorp.pinpoint.thrift.util.SerializationUtils;
+import com.navercorp.pinpoint.web.cluster.ClusterManager;
+import com.navercorp.pinpoint.web.cluster.PinpointRouteResponse;
+import com.navercorp.pinpoint.web.vo.AgentInfo;
+import org.apache.thrift.TBase;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Matchers.any;
+import static org.mockito.Matchers.anyListOf;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class AgentServiceImplTest {
+
+    private static final String APPLICATION_NAME = "applicationName";
+
+    private final CommandHeaderTBaseSerializerFactory serializerFactory = new CommandHeaderTBaseSerializerFactory();
+    private final CommandHeaderTBaseDeserializerFactory deserializerFactory = new CommandHeaderTBaseDeserializerFactory();
+
+    private AgentServiceImpl agentService;
+    private ClusterManager clusterManager;
+
+    @Before
+    public void setUp() {
+        clusterManager = mock(ClusterManager.class);
+        agentService = new AgentServiceImpl();
+        ReflectionTestUtils.setField(agentService, "clusterManager", clusterManager);
+        ReflectionTestUtils.setField(agentService, "commandSerializerFactory", serializerFactory);
+        ReflectionTestUtils.setField(agentService, "commandDeserializerFactory", deserializerFactory);
+    }
+
+    @Test
+    public void agentsOfBatchRouterShouldBeRequestedInSingleBatch() throws Exception {
+        AgentInfo agent1 = createAgentInfo("agent1");
+        AgentInfo agent2 = createAgentInfo("agent2");
+        AgentInfo agent3 = createAgentInfo("agent3");
+        AgentInfo unknownAgent = createAgentInfo("unknownAgent");
+
+        PinpointSocket batchSocket = createBatchRouterSocket();
+        PinpointSocket socket = createSocket(Role.ROUTER);
+        when(clusterManager.getSocket(agent1)).thenReturn(batchSocket);
+        when(clusterManager.getSocket(agent2)).thenReturn(batchSocket);
+        when(clusterManager.getSocket(agent3)).thenReturn(socket);
+
+        byte[] payload = serialize(new TCommandEcho("echo"));
+        Map<AgentInfo, PinpointRouteResponse> result = agentService.invoke(Arrays.asList(agent1, agent2, agent3, unknownAgent), payload, 1000);
+
+        ArgumentCaptor<List> captor = ArgumentCaptor.forClass(List.class);
+        verify(batchSocket).batchRequest(captor.capture());
+        verify(batchSocket, times(0)).request(any(byte[].class));
+        List<byte[]> requestPayloads = captor.getValue();
+        assertEquals(2, requestPayloads.size());
+        assertEquals("agent1", deserializeCommandTransfer(requestPayloads.get(0)).getAgentId());
+        assertEquals("agent2", deserializeCommandTransfer(requestPayloads.get(1)).getAgentId());
+
+        verify(socket, times(1)).request(any(byte[].class));
+        verify(socket, times(0)).batchRequest(anyListOf(byte[].class));
+
+        assertEquals(4, result.size());
+        assertEquals(TRouteResult.OK, result.get(agent1).getRouteResult());
+        assertEquals(TRouteResult.OK, result.get(agent2).getRouteResult());
+        assertEquals(TRouteResult.OK, result.get(agent3).getRouteResult());
+        assertEquals(TRouteResult.NOT_FOUND, result.get(unknownAgent).getRouteResult());
+    }
+
+    @Test
+    public void agentsOfLegacyRouterShouldBeRequestedOneByOne() throws Exception {
+        AgentInfo agent1 = createAgentInfo("agent1");
+        AgentInfo agent2 = createAgentInfo("agent2");
+
+        PinpointSocket socket = createSocket(Role.ROUTER);
+        when(clusterManager.getSocket(agent1)).thenReturn(socket);
+        when(clusterManager.getSocket(agent2)).thenReturn(socket);
+
+        byte[] payload = serialize(new TCommandEcho("echo"));
+        Map<AgentInfo, PinpointRouteResponse> result = agentService.invoke(Arrays.asList(agent1, agent2), payload, 1000);
+
+        verify(socket, times(2)).request(any(byte[].class));
+        verify(socket, times(0)).batchRequest(anyListOf(byte[].class));
+        assertEquals(TRouteResult.OK, result.get(agent1).getRouteResult());
+        assertEquals(TRouteResult.OK, result.get(agent2).getRouteResult());
+    }
+
+    @Test
+    public void singleAgentOfBatchRouterShouldNotBeBatched() throws Exception {
+        AgentInfo agent = createAgentInfo("agent");
+
+        PinpointSocket batchSocket = createBatchRouterSocket();
+        when(clusterManager.getSocket(agent)).thenReturn(batchSocket);
+
+        Map<AgentInfo, PinpointRouteResponse> result = agentService.invoke(Arrays.asList(agent), serialize(new TCommandEcho("echo")), 1000);
+
+        verify(batchSocket, times(1)).request(any(byte[].class));
+        verify(batchSocket, times(0)).batchRequest(anyListOf(byte[].class));
+        assertEquals(TRouteResult.OK, result.get(agent).getRouteResult());
+    }
+
+    private AgentInfo createAgentInfo(String agentId) {
+        AgentInfo agentInfo = new AgentInfo();
+        agentInfo.setApplicationName(APPLICATION_NAME);
+        agentInfo.setAgentId(agentId);
+        agentInfo.setStartTimestamp(1000L);
+        return agentInfo;
+    }
+
+    private PinpointSocket createBatchRouterSocket() {
+        PinpointSocket socket = createSocket(Role.ROUTER, Role.BATCH_ROUTER);
+        when(socket.batchRequest(anyListOf(byte[].class))).thenAnswer(new Answer<List<Future<ResponseMessage>>>() {
+            @Override
+            public List<Future<ResponseMessage>> answer(InvocationOnMock invocation) throws Throwable {
+                List<?> payloads = (List<?>) invocation.getArguments()[0];
+                List<Future<ResponseMessage>> futures = new ArrayList<>(payloads.size());
+                for (int i = 0; i < payloads.size(); i++) {
+                    futures.add(createCompletedFuture());
+                }
+                return futures;
+            }
+        });
+        return socket;
+    }
+
+    private PinpointSocket createSocket(Role... roles) {
+        PinpointSocket socket = mock(PinpointSocket.class);
+        when(socket.getRemoteClusterOption()).thenReturn(new ClusterOption(true, "collector", Arrays.asList(roles)));
+        when(socket.request(any(byte[].class))).thenAnswer(new Answer<Future<ResponseMessage>>() {
+            @Override
+            public Future<ResponseMessage> answer(InvocationOnMock invocation) throws Throwable {
+                return createCompletedFuture();
+            }
+        });
+        return socket;
+    }
+
+    private Future<ResponseMessage> createCompletedFuture() {
+        TCommandTransferResponse transferResponse = new TCommandTransferResponse();
+        transferResponse.setRouteResult(TRouteResult.OK);
+        transferResponse.setPayload(serialize(new TCommandEcho("echo")));
+
+        ResponseMessage responseMessage = new ResponseMessage();
+        responseMessage.setMessage(serialize(transferResponse));
+
+        DefaultFuture<ResponseMessage> future = new DefaultFuture<>();
+        future.setResult(responseMessage);
+        return future;
+    }
+
+    private byte[] serialize(TBase<?, ?> tBase) {
+        return SerializationUtils.serialize(tBase, serializerFactory, null);
+    }
+
+    private TCommandTransfer deserializeCommandTransfer(byte[] payload) {
+        return (TCommandTransfer) SerializationUtils.deserialize(payload, deserializerFactory, null);
+    }
+
+}
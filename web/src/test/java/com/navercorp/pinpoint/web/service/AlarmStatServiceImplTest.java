@@ -0,0 +1,98 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import com.navercorp.pinpoint.common.server.bo.alarm.AgentAlarmStatBo;
+import com.navercorp.pinpoint.common.server.bo.alarm.AlarmStatReportBo;
+import com.navercorp.pinpoint.common.server.bo.alarm.ApplicationAlarmStatBo;
+
+public class AlarmStatServiceImplTest {
+
+    private static final String APPLICATION_NAME = "app";
+    private static final long REPORT_TIMEOUT = 60000;
+
+    @Test
+    public void sumOfCollectors() {
+        AlarmStatServiceImpl alarmStatService = new AlarmStatServiceImpl(REPORT_TIMEOUT);
+        final long now = 1000000;
+        alarmStatService.report(createReport("collector1", now, 10, 1, createAgentStat("agent1", 50, 100)), now);
+        alarmStatService.report(createReport("collector2", now, 20, 2, createAgentStat("agent1", 30, 100)), now);
+
+        ApplicationAlarmStatBo applicationStat = alarmStatService.selectApplicationAlarmStat(APPLICATION_NAME, now);
+        Assert.assertEquals(30, applicationStat.getTotalCount());
+        Assert.assertEquals(3, applicationStat.getErrorCount());
+        Assert.assertEquals(1, applicationStat.getAgentStats().size());
+        Assert.assertEquals(80, applicationStat.getAgentStats().get(0).getHeapUsed());
+        Assert.assertEquals(200, applicationStat.getAgentStats().get(0).getHeapMax());
+
+        Assert.assertNull(alarmStatService.selectApplicationAlarmStat("unknown", now));
+    }
+
+    @Test
+    public void latestReportOfCollector() {
+        AlarmStatServiceImpl alarmStatService = new AlarmStatServiceImpl(REPORT_TIMEOUT);
+        final long now = 1000000;
+        alarmStatService.report(createReport("collector1", now, 10, 0), now);
+        alarmStatService.report(createReport("collector1", now + 10000, 15, 0), now + 10000);
+        // delayed request of an older report
+        alarmStatService.report(createReport("collector1", now + 5000, 12, 0), now + 10000);
+
+        Assert.assertEquals(15, alarmStatService.selectApplicationAlarmStat(APPLICATION_NAME, now + 10000).getTotalCount());
+    }
+
+    @Test
+    public void expiredReport() {
+        AlarmStatServiceImpl alarmStatService = new AlarmStatServiceImpl(REPORT_TIMEOUT);
+        final long now = 1000000;
+        alarmStatService.report(createReport("collector1", now, 10, 0), now);
+        alarmStatService.report(createReport("collector2", now + REPORT_TIMEOUT, 20, 0), now + REPORT_TIMEOUT);
+
+        Assert.assertEquals(30, alarmStatService.selectApplicationAlarmStat(APPLICATION_NAME, now + REPORT_TIMEOUT).getTotalCount());
+        Assert.assertEquals(20, alarmStatService.selectApplicationAlarmStat(APPLICATION_NAME, now + REPORT_TIMEOUT + 1).getTotalCount());
+    }
+
+    private AlarmStatReportBo createReport(String collectorId, long reportTime, long totalCount, long errorCount, AgentAlarmStatBo... agentStats) {
+        ApplicationAlarmStatBo applicationStat = new ApplicationAlarmStatBo();
+        applicationStat.setApplicationName(APPLICATION_NAME);
+        applicationStat.setTotalCount(totalCount);
+        applicationStat.setErrorCount(errorCount);
+        List<AgentAlarmStatBo> agentStatList = new ArrayList<>();
+        Collections.addAll(agentStatList, agentStats);
+        applicationStat.setAgentStats(agentStatList);
+
+        AlarmStatReportBo report = new AlarmStatReportBo();
+        report.setCollectorId(collectorId);
+        report.setReportTime(reportTime);
+        report.setApplicationStats(Collections.singletonList(applicationStat));
+        return report;
+    }
+
+    private AgentAlarmStatBo createAgentStat(String agentId, long heapUsed, long heapMax) {
+        AgentAlarmStatBo agentStat = new AgentAlarmStatBo();
+        agentStat.setAgentId(agentId);
+        agentStat.setHeapUsed(heapUsed);
+        agentStat.setHeapMax(heapMax);
+        return agentStat;
+    }
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service;
+
+import com.navercorp.pinpoint.common.server.bo.SpanBo;
+import com.navercorp.pinpoint.common.server.bo.SpanEventBo;
+import com.navercorp.pinpoint.common.service.DefaultServiceTypeRegistryService;
+import com.navercorp.pinpoint.common.service.ServiceTypeRegistryService;
+import com.navercorp.pinpoint.common.trace.ServiceType;
+import com.navercorp.pinpoint.common.util.TransactionId;
+import com.navercorp.pinpoint.web.applicationmap.histogram.TimeHistogram;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkData;
+import com.navercorp.pinpoint.web.applicationmap.rawdata.LinkDataMap;
+import com.navercorp.pinpoint.web.dao.TraceDao;
+import com.navercorp.pinpoint.web.filter.Filter;
+import com.navercorp.pinpoint.web.vo.Application;
+import com.navercorp.pinpoint.web.vo.Range;
+import com.navercorp.pinpoint.web.vo.ResponseTime;
+import com.navercorp.pinpoint.web.vo.scatter.ApplicationScatterScanResult;
+import com.navercorp.pinpoint.web.vo.scatter.Dot;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+public class FilteredMapServiceImplTest {
+
+    private static final long FROM = 1500000000000L;
+    private static final Range RANGE = new Range(FROM, FROM + 300000);
+
+    private final ServiceTypeRegistryService registry = new DefaultServiceTypeRegistryService();
+    private final List<FilteredMapServiceImpl> serviceList = new ArrayList<>();
+
+    @After
+    public void tearDown() {
+        for (FilteredMapServiceImpl service : serviceList) {
+            service.stop();
+        }
+    }
+
+    @Test
+    public void mergeEqualsSerial() {
+        final List<TransactionId> transactionIdList = createTransactionIdList(50);
+
+        FilteredMapServiceImpl serial = newService(new SpanTraceDao(), 1000, 2, 10);
+        FilteredMapServiceImpl parallel = newService(new SpanTraceDao(), 7, 4, 10);
+
+        Map<String, Long> expected = summary(serial.selectFilteredMap(transactionIdList, RANGE, RANGE, Filter.NONE));
+        Map<String, Long> actual = summary(parallel.selectFilteredMap(transactionIdList, RANGE, RANGE, Filter.NONE));
+        Assert.assertFalse(expected.isEmpty());
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void runRejectedPartitionsInline() {
+        final List<TransactionId> transactionIdList = createTransactionIdList(20);
+
+        FilteredMapServiceImpl serial = newService(new SpanTraceDao(), 1000, 2, 10);
+        SpanTraceDao slowTraceDao = new SpanTraceDao() {
+            @Override
+            public List<List<SpanBo>> answer(InvocationOnMock invocation) throws Throwable {
+                Thread.sleep(50);
+                return super.answer(invocation);
+            }
+        };
+        // one running and one queued partition, the other 18 are rejected
+        FilteredMapServiceImpl saturated = newService(slowTraceDao, 1, 1, 1);
+
+        Map<String, Long> expected = summary(serial.selectFilteredMap(transactionIdList, RANGE, RANGE, Filter.NONE));
+        Map<String, Long> actual = summary(saturated.selectFilteredMap(transactionIdList, RANGE, RANGE, Filter.NONE));
+        Assert.assertEquals(expected, actual);
+    }
+
+    @Test
+    public void partitionFailure() {
+        final IllegalStateException failure = new IllegalStateException("hbase failure");
+        SpanTraceDao failingTraceDao = new SpanTraceDao() {
+            @Override
+            public List<List<SpanBo>> answer(InvocationOnMock invocation) throws Throwable {
+                List<?> transactionIdList = (List<?>) invocation.getArguments()[0];
+                if (transactionIdList.contains(new TransactionId("agent", 0, 3))) {
+                    throw failure;
+                }
+                return super.answer(invocation);
+            }
+        };
+        FilteredMapServiceImpl service = newService(failingTraceDao, 2, 2, 10);
+
+        try {
+            service.selectFilteredMap(createTransactionIdList(10), RANGE, RANGE, Filter.NONE);
+            Assert.fail("partition failure not propagated");
+        } catch (IllegalStateException e) {
+            Assert.assertSame(failure, e);
+        }
+    }
+
+    @Test
+    public void cancelPartitionsOnInterrupt() throws Exception {
+        final CountDownLatch started = new CountDownLatch(2);
+        final AtomicInteger interruptedCount = new AtomicInteger();
+        SpanTraceDao blockingTraceDao = new SpanTraceDao() {
+            @Override
+            public List<List<SpanBo>> answer(InvocationOnMock invocation) throws Throwable {
+                started.countDown();
+                try {
+                    Thread.sleep(10000);
+                } catch (InterruptedException e) {
+                    interruptedCount.incrementAndGet();
+                    throw e;
+                }
+                return super.answer(invocation);
+            }
+        };
+        final FilteredMapServiceImpl service = newService(blockingTraceDao, 1, 2, 10);
+        final AtomicReference<Throwable> error = new AtomicReference<>();
+        Thread requestThread = new Thread(new Runnable() {
+            @Override
+            public void run() {
+                try {
+                    service.selectFilteredMap(createTransactionIdList(4), RANGE, RANGE, Filter.NONE);
+                } catch (Throwable th) {
+                    error.set(th);
+                }
+            }
+        });
+        requestThread.start();
+        Assert.assertTrue(started.await(3000, TimeUnit.MILLISECONDS));
+
+        requestThread.interrupt();
+        requestThread.join(3000);
+
+        Assert.assertTrue(error.get() instanceof IllegalStateException);
+        // both running partitions are stopped, the queued ones never start
+        for (int i = 0; i < 300 && interruptedCount.get() < 2; i++) {
+            Thread.sleep(10);
+        }
+        Assert.assertEquals(2, interruptedCount.get());
+    }
+
+    private FilteredMapServiceImpl newService(SpanTraceDao spanTraceDao, int partitionSize, int threads, int queueSize) {
+        TraceDao traceDao = Mockito.mock(TraceDao.class);
+        Mockito.when(traceDao.selectAllSpans(Matchers.anyListOf(TransactionId.class))).thenAnswer(spanTraceDao);
+
+        DefaultApplicationFactory applicationFactory = new DefaultApplicationFactory();
+        ReflectionTestUtils.setField(applicationFactory, "registry", registry);
+
+        FilteredMapServiceImpl service = new FilteredMapServiceImpl();
+        ReflectionTestUtils.setField(service, "traceDao", traceDao);
+        ReflectionTestUtils.setField(service, "registry", registry);
+        ReflectionTestUtils.setField(service, "applicationFactory", applicationFactory);
+        ReflectionTestUtils.setField(service, "partitionSize", partitionSize);
+        ReflectionTestUtils.setField(service, "filteredMapThreads", threads);
+        ReflectionTestUtils.setField(service, "filteredMapQueueSize", queueSize);
+        service.start();
+        serviceList.add(service);
+        return service;
+    }
+
+    private List<TransactionId> createTransactionIdList(int size) {
+        List<TransactionId> transactionIdList = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            transactionIdList.add(new TransactionId("agent", 0, i));
+        }
+        return transactionIdList;
+    }
+
+    private Map<String, Long> summary(FilteredMapServiceImpl.PartialFilteredMap filteredMap) {
+        Map<String, Long> summary = new TreeMap<>();
+        addLinkData(summary, "source", filteredMap.linkDataDuplexMap.getSourceLinkDataMap());
+        addLinkData(summary, "target", filteredMap.linkDataDuplexMap.getTargetLinkDataMap());
+
+        filteredMap.responseHistogramBuilder.build();
+        for (Application application : new Application[] {newApplication("app", ServiceType.STAND_ALONE), newApplication("db", ServiceType.UNKNOWN_DB_EXECUTE_QUERY)}) {
+            List<ResponseTime> responseTimeList = filteredMap.responseHistogramBuilder.getResponseTimeList(application);
+            if (responseTimeList == null) {
+                continue;
+            }
+            long count = 0;
+            for (ResponseTime responseTime : responseTimeList) {
+                for (TimeHistogram histogram : responseTime.getAgentResponseHistogramList()) {
+                    count += histogram.getTotalCount();
+                }
+            }
+            summary.put("histogram:" + application, count);
+        }
+
+        for (ApplicationScatterScanResult scanResult : filteredMap.dotExtractor.getApplicationScatterScanResult()) {
+            long count = 0;
+            for (List<Dot> dotList : scanResult.getScatterScanResult().getScatter().values()) {
+                count += dotList.size();
+            }
+            summary.put("dot:" + scanResult.getApplication(), count);
+        }
+        return summary;
+    }
+
+    private void addLinkData(Map<String, Long> summary, String prefix, LinkDataMap linkDataMap) {
+        for (LinkData linkData : linkDataMap.getLinkDataList()) {
+            summary.put(prefix + ":" + linkData.getFromApplication() + "->" + linkData.getToApplication(), linkData.getTotalCount());
+        }
+    }
+
+    private Application newApplication(String name, ServiceType serviceType) {
+        return new Application(name, serviceType);
+    }
+
+    private static class SpanTraceDao implements Answer<List<List<SpanBo>>> {
+
+        @Override
+        public List<List<SpanBo>> answer(InvocationOnMock invocation) throws Throwable {
+            List<?> transactionIdList = (List<?>) invocation.getArguments()[0];
+            List<List<SpanBo>> transactionList = new ArrayList<>(transactionIdList.size());
+            for (Object transactionId : transactionIdList) {
+                List<SpanBo> transaction = new ArrayList<>();
+                transaction.add(createSpan((TransactionId) transactionId));
+                transactionList.add(transaction);
+            }
+            return transactionList;
+        }
+
+        private SpanBo createSpan(TransactionId transactionId) {
+            final int sequence = (int) transactionId.getTransactionSequence();
+
+            SpanBo span = new SpanBo();
+            span.setTransactionId(transactionId);
+            span.setAgentId("agent" + (sequence % 2));
+            span.setApplicationId("app");
+            span.setServiceType(ServiceType.STAND_ALONE.getCode());
+            span.setApplicationServiceType(ServiceType.STAND_ALONE.getCode());
+            span.setSpanId(sequence + 1);
+            span.setParentSpanId(-1);
+            span.setStartTime(FROM + sequence * 1000);
+            span.setCollectorAcceptTime(FROM + sequence * 1000);
+            span.setElapsed(sequence * 10);
+
+            SpanEventBo spanEvent = new SpanEventBo();
+            spanEvent.setServiceType(ServiceType.UNKNOWN_DB_EXECUTE_QUERY.getCode());
+            spanEvent.setDestinationId("db");
+            spanEvent.setEndPoint("db:3306");
+            spanEvent.setStartElapsed(1);
+            spanEvent.setEndElapsed(sequence);
+            span.addSpanEvent(spanEvent);
+            return span;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.service;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import javax.servlet.http.HttpServletRequest;
+import java.security.Principal;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+public class QueryExecutorTest {
+
+    private QueryExecutor queryExecutor;
+
+    @Before
+    public void setUp() {
+        queryExecutor = new QueryExecutor();
+        ReflectionTestUtils.setField(queryExecutor, "threads", 2);
+        ReflectionTestUtils.setField(queryExecutor, "queueSize", 2);
+        ReflectionTestUtils.setField(queryExecutor, "maxConcurrentPerUser", 1);
+        ReflectionTestUtils.setField(queryExecutor, "maxPendingPerUser", 1);
+        ReflectionTestUtils.setField(queryExecutor, "timeout", 3000L);
+        queryExecutor.start();
+    }
+
+    @After
+    public void tearDown() {
+        queryExecutor.stop();
+    }
+
+    @Test
+    public void execute() throws Exception {
+        DeferredResult<String> deferredResult = queryExecutor.execute(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return "result";
+            }
+        });
+
+        Assert.assertEquals("result", awaitResult(deferredResult));
+    }
+
+    @Test
+    public void queueWhenUserLimitExceeded() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(1);
+        DeferredResult<String> running = queryExecutor.execute(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                latch.await(3000, TimeUnit.MILLISECONDS);
+                return "running";
+            }
+        });
+
+        DeferredResult<String> queued = queryExecutor.execute(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return "queued";
+            }
+        });
+        DeferredResult<String> rejected = queryExecutor.execute(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return "rejected";
+            }
+        });
+        Assert.assertFalse(queued.hasResult());
+        Assert.assertTrue(rejected.getResult() instanceof QueryRejectedException);
+
+        latch.countDown();
+        Assert.assertEquals("running", awaitResult(running));
+        Assert.assertEquals("queued", awaitResult(queued));
+
+        DeferredResult<String> accepted = queryExecutor.execute(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return "accepted";
+            }
+        });
+        Assert.assertEquals("accepted", awaitResult(accepted));
+    }
+
+    @Test
+    public void removeIdleUserQueue() throws Exception {
+        DeferredResult<String> deferredResult = queryExecutor.execute(new Callable<String>() {
+            @Override
+            public String call() throws Exception {
+                return "result";
+            }
+        });
+        Assert.assertEquals("result", awaitResult(deferredResult));
+
+        Map<?, ?> userQueueMap = (Map<?, ?>) ReflectionTestUtils.getField(queryExecutor, "userQueueMap");
+        Assert.assertTrue(userQueueMap.isEmpty());
+    }
+
+    @Test
+    public void userFromPrincipal() {
+        HttpServletRequest request = mockRequest("10.0.0.1", "1.1.1.1");
+        Principal principal = Mockito.mock(Principal.class);
+        Mockito.when(principal.getName()).thenReturn("user");
+        Mockito.when(request.getUserPrincipal()).thenReturn(principal);
+
+        Assert.assertEquals("user", queryExecutor.getUser(request));
+    }
+
+    @Test
+    public void ignoreForwardedForFromUntrustedAddress() {
+        HttpServletRequest request = mockRequest("10.0.0.1", "1.1.1.1");
+
+        Assert.assertEquals("10.0.0.1", queryExecutor.getUser(request));
+    }
+
+    @Test
+    public void forwardedForFromTrustedProxy() {
+        ReflectionTestUtils.setField(queryExecutor, "trustedProxySet", QueryExecutor.parseTrustedProxies("10.0.0.1, 10.0.0.2"));
+
+        // the left-most address is set by the client and can not be trusted
+        HttpServletRequest request = mockRequest("10.0.0.1", "1.1.1.1, 2.2.2.2, 10.0.0.2");
+        Assert.assertEquals("2.2.2.2", queryExecutor.getUser(request));
+
+        HttpServletRequest noForwardedFor = mockRequest("10.0.0.1", null);
+        Assert.assertEquals("10.0.0.1", queryExecutor.getUser(noForwardedFor));
+    }
+
+    private HttpServletRequest mockRequest(String remoteAddr, String forwardedFor) {
+        HttpServletRequest request = Mockito.mock(HttpServletRequest.class);
+        Mockito.when(request.getRemoteAddr()).thenReturn(remoteAddr);
+        Mockito.when(request.getHeader("X-Forwarded-For")).thenReturn(forwardedFor);
+        return request;
+    }
+
+    private Object awaitResult(DeferredResult<?> deferredResult) throws InterruptedException {
+        for (int i = 0; i < 300; i++) {
+            if (deferredResult.hasResult()) {
+                return deferredResult.getResult();
+            }
+            Thread.sleep(10);
+        }
+        throw new AssertionError("no result");
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.navercorp.pinpoint.web.vo.stat.chart;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Accumulators must sample the same values as the down samplers they replace.
+ */
+public class SampleAccumulatorTest {
+
+    private static final long DEFAULT_VALUE = -1;
+    private static final int NUM_DECIMALS = 1;
+    private static final int NUM_TEST_RUNS = 20;
+
+    private final Random random = new Random();
+
+    @Test
+    public void longAccumulator_should_sample_same_values_as_down_sampler() {
+        DownSampler<Long> downSampler = DownSamplers.getLongDownSampler(DEFAULT_VALUE);
+        for (int i = 0; i < NUM_TEST_RUNS; ++i) {
+            final int numValues = random.nextInt(100) + 1;
+            List<Long> values = new ArrayList<>(numValues);
+            LongSampleAccumulator accumulator = new LongSampleAccumulator(DEFAULT_VALUE);
+            for (int j = 0; j < numValues; ++j) {
+                long value = random.nextInt(1000000);
+                values.add(value);
+                accumulator.add(value);
+            }
+            Assert.assertEquals(downSampler.sampleMin(values).longValue(), accumulator.getMin());
+            Assert.assertEquals(downSampler.sampleMax(values).longValue(), accumulator.getMax());
+            Assert.assertEquals(downSampler.sampleAvg(values), accumulator.getAvg(), 0);
+            Assert.assertEquals(downSampler.sampleAvg(values, 0), accumulator.getAvg(0), 0);
+            Assert.assertEquals(downSampler.sampleSum(values).longValue(), accumulator.getSum());
+        }
+    }
+
+    @Test
+    public void longAccumulator_should_cap_overflowing_sum() {
+        LongSampleAccumulator accumulator = new LongSampleAccumulator(DEFAULT_VALUE);
+        accumulator.add(Long.MAX_VALUE);
+        accumulator.add(1L);
+        Assert.assertEquals(Long.MAX_VALUE, accumulator.getSum());
+    }
+
+    @Test
+    public void doubleAccumulator_should_sample_same_values_as_down_sampler() {
+        DownSampler<Double> downSampler = DownSamplers.getDoubleDownSampler(DEFAULT_VALUE, NUM_DECIMALS);
+        for (int i = 0; i < NUM_TEST_RUNS; ++i) {
+            final int numValues = random.nextInt(100) + 1;
+            List<Double> values = new ArrayList<>(numValues);
+            DoubleSampleAccumulator accumulator = new DoubleSampleAccumulator(DEFAULT_VALUE, NUM_DECIMALS);
+            for (int j = 0; j < numValues; ++j) {
+                double value = random.nextDouble() * 100;
+                values.add(value);
+                accumulator.add(value);
+            }
+            Assert.assertEquals(downSampler.sampleMin(values), accumulator.getMin(), 0);
+            Assert.assertEquals(downSampler.sampleMax(values), accumulator.getMax(), 0);
+            Assert.assertEquals(downSampler.sampleAvg(values), accumulator.getAvg(), 0);
+            Assert.assertEquals(downSampler.sampleSum(values), accumulator.getSum(), 0);
+        }
+    }
+
+    @Test
+    public void accumulators_should_return_default_value_when_empty() {
+        LongSampleAccumulator longAccumulator = new LongSampleAccumulator(DEFAULT_VALUE);
+        Assert.assertTrue(longAccumulator.isEmpty());
+        Assert.assertEquals(DEFAULT_VALUE, longAccumulator.getMin());
+        Assert.assertEquals(DEFAULT_VALUE, longAccumulator.getSum());
+
+        DoubleSampleAccumulator doubleAccumulator = new DoubleSampleAccumulator(DEFAULT_VALUE, NUM_DECIMALS);
+        Assert.assertTrue(doubleAccumulator.isEmpty());
+        Assert.assertEquals(DEFAULT_VALUE, doubleAccumulator.getMax(), 0);
+        Assert.assertEquals(DEFAULT_VALUE, doubleAccumulator.getAvg(), 0);
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright 2017 NAVER Corp.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+
+package com.navercorp.pinpoint.web.websocket;
+
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.stubbing.Answer;
+import org.springframework.web.socket.TextMessage;
+import org.springframework.web.socket.WebSocketSession;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.Matchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class PinpointWebSocketSchedulerTest {
+
+    private PinpointWebSocketScheduler scheduler;
+
+    @Before
+    public void setUp() {
+        scheduler = new PinpointWebSocketScheduler(10, 2);
+        scheduler.start();
+    }
+
+    @After
+    public void tearDown() {
+        scheduler.stop();
+    }
+
+    @Test
+    public void scheduleAtFixedRate() throws Exception {
+        final CountDownLatch latch = new CountDownLatch(3);
+        PinpointWebSocketScheduler.ScheduledTask task = scheduler.scheduleAtFixedRate(new Runnable() {
+            @Override
+            public void run() {
+                latch.countDown();
+            }
+        }, 10, 20);
+
+        Assert.assertTrue(latch.await(3000, TimeUnit.MILLISECONDS));
+        task.cancel();
+    }
+
+    @Test
+    public void staleMessagesAreDropped() throws Exception {
+        final CountDownLatch firstMessageSending = new CountDownLatch(1);
+        final CountDownLatch releaseFirstMessage = new CountDownLatch(1);
+        final CountDownLatch lastMessageSent = new CountDownLatch(1);
+        final List<String> sentMessages = new CopyOnWriteArrayList<>();
+
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.isOpen()).thenReturn(true);
+        when(session.getAttributes()).thenReturn(new HashMap<String, Object>());
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                TextMessage message = (TextMessage) invocation.getArguments()[0];
+                if (sentMessages.isEmpty()) {
+                    firstMessageSending.countDown();
+                    releaseFirstMessage.await(3000, TimeUnit.MILLISECONDS);
+                }
+                sentMessages.add(message.getPayload());
+                if ("3".equals(message.getPayload())) {
+                    lastMessageSent.countDown();
+                }
+                return null;
+            }
+        }).when(session).sendMessage(any(TextMessage.class));
+
+        scheduler.send(session, new TextMessage("1"));
+        Assert.assertTrue(firstMessageSending.await(3000, TimeUnit.MILLISECONDS));
+        // client is slow, "2" gets replaced by "3" before it is sent
+        scheduler.send(session, new TextMessage("2"));
+        scheduler.send(session, new TextMessage("3"));
+        releaseFirstMessage.countDown();
+
+        Assert.assertTrue(lastMessageSent.await(3000, TimeUnit.MILLISECONDS));
+        Assert.assertEquals(2, sentMessages.size());
+        Assert.assertEquals("1", sentMessages.get(0));
+        Assert.assertEquals("3", sentMessages.get(1));
+        Assert.assertEquals(1L, scheduler.getStatistics().get("droppedFrameCount"));
+    }
+
+    @Test
+    public void closeDiscardsPendingMessages() throws Exception {
+        final CountDownLatch firstMessageSending = new CountDownLatch(1);
+        final CountDownLatch releaseFirstMessage = new CountDownLatch(1);
+        final List<String> sentMessages = new CopyOnWriteArrayList<>();
+
+        WebSocketSession session = mockSession();
+        doAnswer(new Answer<Void>() {
+            @Override
+            public Void answer(InvocationOnMock invocation) throws Throwable {
+                TextMessage message = (TextMessage) invocation.getArguments()[0];
+                firstMessageSending.countDown();
+                releaseFirstMessage.await(3000, TimeUnit.MILLISECONDS);
+                sentMessages.add(message.getPayload());
+                return null;
+            }
+        }).when(session).sendMessage(any(TextMessage.class));
+
+        scheduler.send(session, new TextMessage("1"));
+        Assert.assertTrue(firstMessageSending.await(3000, TimeUnit.MILLISECONDS));
+        scheduler.send(session, new TextMessage("2"));
+        Assert.assertEquals(1, scheduler.getStatistics().get("sendBacklog"));
+
+        scheduler.close(session);
+        Assert.assertEquals(0, scheduler.getStatistics().get("sendBacklog"));
+        releaseFirstMessage.countDown();
+
+        for (int i = 0; i < 300 && sentMessages.isEmpty(); i++) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(50);
+        Assert.assertEquals(1, sentMessages.size());
+        Assert.assertEquals(0, scheduler.getStatistics().get("sendBacklog"));
+    }
+
+    @Test
+    public void rejectedMessagesAreNotCounted() throws Exception {
+        WebSocketSession session = mockSession();
+        scheduler.stop();
+
+        scheduler.send(session, new TextMessage("1"));
+
+        Assert.assertEquals(0, scheduler.getStatistics().get("sendBacklog"));
+        Assert.assertEquals(1L, scheduler.getStatistics().get("droppedFrameCount"));
+    }
+
+    private WebSocketSession mockSession() {
+        WebSocketSession session = mock(WebSocketSession.class);
+        when(session.isOpen()).thenReturn(true);
+        when(session.getAttributes()).thenReturn(new HashMap<String, Object>());
+        return session;
+    }
+}